@@ -0,0 +1,113 @@
+package com.test.routing.loadgen;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** The application under test, started as a separate JVM on a free loopback port. */
+final class AppProcess implements AutoCloseable {
+
+  private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+  private static final long POLL_MILLIS = 10;
+
+  private final Process process;
+  private final long startNanos;
+  private final URI baseUrl;
+  private final Path log;
+
+  private AppProcess(Process process, long startNanos, URI baseUrl, Path log) {
+    this.process = process;
+    this.startNanos = startNanos;
+    this.baseUrl = baseUrl;
+    this.log = log;
+  }
+
+  /**
+   * Starts the application without waiting for it.
+   *
+   * @param launch the JVM arguments and the jar, e.g. {@code -Xmx1g -jar app.jar}
+   * @param dataUrl the URL the application loads its dataset from
+   * @param appArgs extra application arguments
+   */
+  static AppProcess start(List<String> launch, URI dataUrl, List<String> appArgs)
+      throws IOException {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(launch);
+    command.add("--server.port=" + port);
+    command.add("--countries.json.url=" + dataUrl);
+    command.addAll(appArgs);
+
+    Path log = Files.createTempFile("routing-loadgen-app", ".log");
+    long startNanos = System.nanoTime();
+    Process process =
+        new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    return new AppProcess(process, startNanos, URI.create("http://127.0.0.1:" + port), log);
+  }
+
+  /** Returns the launch arguments that run the given jar. */
+  static List<String> jarLaunch(List<String> jvmArgs, Path jar) {
+    if (!Files.isRegularFile(jar)) {
+      throw new IllegalArgumentException("Application jar " + jar + " not found, build it first");
+    }
+    List<String> launch = new ArrayList<>(jvmArgs);
+    launch.add("-jar");
+    launch.add(jar.toString());
+    return launch;
+  }
+
+  URI baseUrl() {
+    return baseUrl;
+  }
+
+  Path log() {
+    return log;
+  }
+
+  /**
+   * Polls the path until it answers 200 and returns the time since the process was started.
+   *
+   * @throws IllegalStateException if the process exits or does not answer within two minutes
+   */
+  Duration awaitOk(HttpClient client, String path) throws IOException, InterruptedException {
+    HttpRequest request =
+        HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(Duration.ofSeconds(1)).build();
+    long deadline = startNanos + STARTUP_TIMEOUT.toNanos();
+    while (System.nanoTime() < deadline) {
+      if (!process.isAlive()) {
+        throw new IllegalStateException("Application exited during startup, see " + log);
+      }
+      try {
+        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+          return Duration.ofNanos(System.nanoTime() - startNanos);
+        }
+      } catch (IOException e) {
+        // Not listening yet
+      }
+      Thread.sleep(POLL_MILLIS);
+    }
+    throw new IllegalStateException("Application did not answer " + path + ", see " + log);
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    process.destroy();
+    if (!process.waitFor(10, TimeUnit.SECONDS)) {
+      process.destroyForcibly().waitFor();
+    }
+  }
+}
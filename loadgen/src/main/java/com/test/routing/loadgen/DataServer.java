@@ -0,0 +1,46 @@
+package com.test.routing.loadgen;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+
+import com.sun.net.httpserver.HttpServer;
+
+/** Serves the dataset file on a loopback port so the application under test loads it offline. */
+final class DataServer implements AutoCloseable {
+
+  private final HttpServer server;
+
+  private DataServer(HttpServer server) {
+    this.server = server;
+  }
+
+  static DataServer start(byte[] json) throws IOException {
+    HttpServer server =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/countries.json",
+        exchange -> {
+          exchange.getResponseHeaders().set("Content-Type", "application/json");
+          exchange.sendResponseHeaders(200, json.length);
+          try (OutputStream body = exchange.getResponseBody()) {
+            body.write(json);
+          }
+        });
+    server.start();
+    return new DataServer(server);
+  }
+
+  URI url() {
+    InetSocketAddress address = server.getAddress();
+    return URI.create(
+        "http://" + address.getHostString() + ":" + address.getPort() + "/countries.json");
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+}
@@ -0,0 +1,102 @@
+package com.test.routing.loadgen;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The countries of a dataset file as the load generator sees them: cca3 codes in file order, the
+ * connected component of every country, and every code the service would accept in any scheme.
+ */
+final class Dataset {
+
+  private static final String[] CODE_FIELDS = {"cca3", "cca2", "ccn3", "cioc"};
+
+  private final byte[] json;
+  private final List<String> codes;
+  private final int[] components;
+  private final Set<String> knownCodes;
+
+  private Dataset(byte[] json, List<String> codes, int[] components, Set<String> knownCodes) {
+    this.json = json;
+    this.codes = codes;
+    this.components = components;
+    this.knownCodes = knownCodes;
+  }
+
+  static Dataset load(Path file) throws IOException {
+    return parse(Files.readAllBytes(file));
+  }
+
+  static Dataset parse(byte[] json) throws IOException {
+    JsonNode root = new ObjectMapper().readTree(json);
+    List<String> codes = new ArrayList<>();
+    Map<String, Integer> ids = new HashMap<>();
+    Set<String> knownCodes = new HashSet<>();
+    for (JsonNode country : root) {
+      String code = country.path("cca3").asText("");
+      if (code.isEmpty()) {
+        continue;
+      }
+      ids.put(code, codes.size());
+      codes.add(code);
+      for (String field : CODE_FIELDS) {
+        String value = country.path(field).asText("");
+        if (!value.isEmpty()) {
+          knownCodes.add(value.toUpperCase(Locale.ROOT));
+        }
+      }
+    }
+
+    // Union-find over the borders gives the connected components
+    int[] parent = new int[codes.size()];
+    Arrays.setAll(parent, i -> i);
+    for (JsonNode country : root) {
+      Integer from = ids.get(country.path("cca3").asText(""));
+      if (from == null) {
+        continue;
+      }
+      for (JsonNode border : country.path("borders")) {
+        Integer to = ids.get(border.asText());
+        if (to != null) {
+          parent[find(parent, from)] = find(parent, to);
+        }
+      }
+    }
+    int[] components = new int[codes.size()];
+    Arrays.setAll(components, i -> find(parent, i));
+    return new Dataset(json, List.copyOf(codes), components, Set.copyOf(knownCodes));
+  }
+
+  private static int find(int[] parent, int id) {
+    while (parent[id] != id) {
+      parent[id] = parent[parent[id]];
+      id = parent[id];
+    }
+    return id;
+  }
+
+  /** Returns the raw file, served to the application under test. */
+  byte[] json() {
+    return json;
+  }
+
+  /** Returns the cca3 codes in file order. */
+  List<String> codes() {
+    return codes;
+  }
+
+  /** Returns true if a land route can exist between the countries at the two indexes. */
+  boolean connected(int first, int second) {
+    return components[first] == components[second];
+  }
+
+  /** Returns true if the upper-cased code is accepted by the service in any scheme. */
+  boolean isKnown(String code) {
+    return knownCodes.contains(code);
+  }
+}
@@ -0,0 +1,63 @@
+package com.test.routing.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Entry point of the load generator. Serves the dataset on a loopback port, starts the application
+ * jar against it, runs an unmeasured warm-up followed by the measured open-loop run, and prints the
+ * report. Everything runs locally, so releases can be compared on one machine.
+ */
+public final class LoadGenerator {
+
+  private LoadGenerator() {}
+
+  public static void main(String[] args) throws Exception {
+    LoadSettings settings;
+    try {
+      settings = LoadSettings.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.print(LoadSettings.USAGE);
+      System.exit(2);
+      return;
+    }
+
+    Dataset dataset = Dataset.load(settings.data());
+    QueryMix mix = new QueryMix(dataset, settings);
+    HttpClient client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    try (DataServer data = settings.target() == null ? DataServer.start(dataset.json()) : null;
+        AppProcess app =
+            settings.target() == null
+                ? AppProcess.start(
+                    AppProcess.jarLaunch(settings.jvmArgs(), settings.jar()),
+                    data.url(),
+                    settings.appArgs())
+                : null) {
+      URI baseUrl = app == null ? settings.target() : app.baseUrl();
+      if (app != null) {
+        // Readiness waits for the application's JIT warm-up, like a load balancer would
+        Duration ready = app.awaitOk(client, "/actuator/health/readiness");
+        System.out.printf(
+            "Started %s at %s with %d countries, ready after %d ms, log in %s%n",
+            settings.jar(), baseUrl, dataset.codes().size(), ready.toMillis(), app.log());
+      }
+
+      OpenLoopRunner runner = new OpenLoopRunner(client, baseUrl, mix, settings.timeout());
+      SplittableRandom random = new SplittableRandom(settings.seed());
+      if (!settings.warmup().isZero()) {
+        System.out.printf("Warming up for %s%n", settings.warmup());
+        runner.run(settings.rps(), settings.warmup(), random);
+      }
+      System.out.printf("Measuring for %s%n", settings.duration());
+      runner.run(settings.rps(), settings.duration(), random).print(System.out);
+    }
+  }
+}
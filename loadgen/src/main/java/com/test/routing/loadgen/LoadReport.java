@@ -0,0 +1,111 @@
+package com.test.routing.loadgen;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Result of one load run.
+ *
+ * @param targetRps the configured arrival rate
+ * @param elapsed the time the schedule ran
+ * @param arrivals the number of queries scheduled
+ * @param requests the number of HTTP requests that ended, batches count every member
+ * @param maxLagNanos the largest delay of a send behind its scheduled time
+ * @param unfinished queries still running when the report was taken
+ * @param kinds the results per query kind
+ */
+record LoadReport(
+    int targetRps,
+    Duration elapsed,
+    long arrivals,
+    long requests,
+    long maxLagNanos,
+    long unfinished,
+    Map<QueryKind, KindResult> kinds) {
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+  LoadReport {
+    // Defensive copy to ensure immutability
+    kinds = Map.copyOf(kinds);
+  }
+
+  /**
+   * Latency and outcomes of one query kind.
+   *
+   * @param latency latencies in microseconds from the scheduled send time
+   * @param outcomes counts indexed by {@link Outcome#ordinal()}
+   */
+  record KindResult(Histogram latency, long[] outcomes) {
+
+    long count() {
+      return latency.getTotalCount();
+    }
+  }
+
+  /** Arrivals per second actually offered. */
+  double offeredRate() {
+    return arrivals / seconds();
+  }
+
+  /** HTTP responses per second. */
+  double throughput() {
+    return requests / seconds();
+  }
+
+  private double seconds() {
+    return Math.max(1e-9, elapsed.toNanos() / 1e9);
+  }
+
+  void print(PrintStream out) {
+    out.printf(
+        "Target %d/s for %.1f s: %d arrivals (%.1f/s offered), %d HTTP responses (%.1f/s),"
+            + " max dispatch lag %.2f ms, %d unfinished%n",
+        targetRps,
+        seconds(),
+        arrivals,
+        offeredRate(),
+        requests,
+        throughput(),
+        maxLagNanos / 1e6,
+        unfinished);
+
+    StringBuilder header = new StringBuilder(String.format("%-12s %9s", "kind", "count"));
+    for (Outcome outcome : Outcome.values()) {
+      header.append(String.format(" %8s", outcome.label()));
+    }
+    for (double percentile : PERCENTILES) {
+      header.append(String.format(" %9s", "p" + format(percentile)));
+    }
+    header.append(String.format(" %9s", "max"));
+    out.println(header);
+
+    for (QueryKind kind : QueryKind.values()) {
+      KindResult result = kinds.get(kind);
+      if (result == null || result.count() == 0) {
+        continue;
+      }
+      StringBuilder row =
+          new StringBuilder(String.format("%-12s %9d", kind.label(), result.count()));
+      for (long count : result.outcomes()) {
+        row.append(String.format(" %8d", count));
+      }
+      for (double percentile : PERCENTILES) {
+        row.append(
+            String.format(" %9.3f", result.latency().getValueAtPercentile(percentile) / 1e3));
+      }
+      row.append(String.format(" %9.3f", result.latency().getMaxValue() / 1e3));
+      out.println(row);
+    }
+    out.println("Latencies in ms, measured from the scheduled send time");
+  }
+
+  private static String format(double percentile) {
+    return percentile == Math.rint(percentile)
+        ? String.valueOf((long) percentile)
+        : String.valueOf(percentile);
+  }
+}
@@ -0,0 +1,99 @@
+package com.test.routing.loadgen;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings of one load run, parsed from {@code --name=value} arguments.
+ *
+ * @param jar the application jar started for the run
+ * @param data the dataset file served to the application
+ * @param target the base URL of an already running instance; if set, no application is started
+ * @param rps the target arrival rate per second
+ * @param duration the length of the measured run
+ * @param warmup the length of the unmeasured run before it
+ * @param zipfExponent the skew of the country popularity, 0 for uniform
+ * @param unreachableShare the share of arrivals that are pairs in different components
+ * @param unknownShare the share of arrivals that contain an unknown code
+ * @param batchShare the share of arrivals that are batches
+ * @param batchSize the number of pairs sent together by a batch
+ * @param timeout the timeout of a single request
+ * @param seed the seed of the query sequence
+ * @param jvmArgs extra JVM arguments for the application
+ * @param appArgs extra application arguments, e.g. {@code --routing.admission.enabled=false}
+ */
+record LoadSettings(
+    Path jar,
+    Path data,
+    URI target,
+    int rps,
+    Duration duration,
+    Duration warmup,
+    double zipfExponent,
+    double unreachableShare,
+    double unknownShare,
+    double batchShare,
+    int batchSize,
+    Duration timeout,
+    long seed,
+    List<String> jvmArgs,
+    List<String> appArgs) {
+
+  LoadSettings {
+    // Defensive copy to ensure immutability
+    jvmArgs = List.copyOf(jvmArgs);
+    appArgs = List.copyOf(appArgs);
+  }
+
+  static final String USAGE =
+      """
+      Options (defaults in brackets):
+        --jar=PATH            application jar [../routing-service/target/task-test-1.0-SNAPSHOT.jar]
+        --data=PATH           dataset served to the application [../routing-core/src/main/resources/com/test/routing/core/countries.json]
+        --target=URL          drive a running instance instead of starting one
+        --rps=N               target arrivals per second [200]
+        --duration=30s        measured run length, s or m suffix [30s]
+        --warmup=10s          unmeasured run before it [10s]
+        --zipf=S              popularity skew, 0 is uniform [1.0]
+        --unreachable=F       share of pairs in different components [0.1]
+        --unknown=F           share of requests with an unknown code [0.05]
+        --batch=F             share of arrivals that are batches [0.05]
+        --batch-size=N        pairs per batch [10]
+        --timeout=5s          per request timeout [5s]
+        --seed=N              query sequence seed [42]
+        --jvm-args="..."      extra JVM arguments for the application
+        --app-args="..."      extra application arguments
+      """;
+
+  static LoadSettings parse(String... args) {
+    Options options = Options.parse(args);
+    String target = options.take("target", null);
+    LoadSettings settings =
+        new LoadSettings(
+            Path.of(options.take("jar", "../routing-service/target/task-test-1.0-SNAPSHOT.jar")),
+            Path.of(
+                options.take(
+                    "data",
+                    "../routing-core/src/main/resources/com/test/routing/core/countries.json")),
+            target == null ? null : URI.create(target),
+            Integer.parseInt(options.take("rps", "200")),
+            options.takeDuration("duration", "30s"),
+            options.takeDuration("warmup", "10s"),
+            Double.parseDouble(options.take("zipf", "1.0")),
+            Double.parseDouble(options.take("unreachable", "0.1")),
+            Double.parseDouble(options.take("unknown", "0.05")),
+            Double.parseDouble(options.take("batch", "0.05")),
+            Integer.parseInt(options.take("batch-size", "10")),
+            options.takeDuration("timeout", "5s"),
+            Long.parseLong(options.take("seed", "42")),
+            options.takeWords("jvm-args"),
+            options.takeWords("app-args"));
+    options.finish();
+    if (settings.rps() <= 0 || settings.batchSize() <= 0) {
+      throw new IllegalArgumentException("--rps and --batch-size must be positive");
+    }
+    return settings;
+  }
+}
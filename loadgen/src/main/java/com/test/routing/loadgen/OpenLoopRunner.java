@@ -0,0 +1,125 @@
+package com.test.routing.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Recorder;
+
+/**
+ * Sends queries on a fixed arrival schedule regardless of how fast responses come back. Latency is
+ * measured from the scheduled send time rather than the actual one, so a stalled server or a
+ * lagging dispatcher shows up in the percentiles instead of silently lowering the offered load.
+ */
+final class OpenLoopRunner {
+
+  private final HttpClient client;
+  private final URI baseUrl;
+  private final QueryMix mix;
+  private final Duration timeout;
+
+  OpenLoopRunner(HttpClient client, URI baseUrl, QueryMix mix, Duration timeout) {
+    this.client = client;
+    this.baseUrl = baseUrl;
+    this.mix = mix;
+    this.timeout = timeout;
+  }
+
+  /** Runs the schedule for the given time and waits for the outstanding requests. */
+  LoadReport run(int rps, Duration duration, SplittableRandom random) throws InterruptedException {
+    Map<QueryKind, KindStats> stats = new EnumMap<>(QueryKind.class);
+    for (QueryKind kind : QueryKind.values()) {
+      stats.put(kind, new KindStats());
+    }
+    AtomicLong inFlight = new AtomicLong();
+    LongAdder responses = new LongAdder();
+
+    double interval = 1_000_000_000.0 / rps;
+    long start = System.nanoTime();
+    long end = start + duration.toNanos();
+    long arrivals = 0;
+    long maxLag = 0;
+    while (true) {
+      long scheduled = start + (long) (arrivals * interval);
+      if (scheduled >= end) {
+        break;
+      }
+      long wait;
+      while ((wait = scheduled - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      maxLag = Math.max(maxLag, -wait);
+
+      Query query = mix.next(random);
+      inFlight.incrementAndGet();
+      send(query.paths(), responses)
+          .whenComplete(
+              (outcome, failure) -> {
+                stats.get(query.kind()).record(System.nanoTime() - scheduled, outcome);
+                inFlight.decrementAndGet();
+              });
+      arrivals++;
+    }
+    long elapsed = System.nanoTime() - start;
+
+    // Requests still running after their own timeout plus a grace period are reported unfinished
+    long drainDeadline = System.nanoTime() + timeout.toNanos() + 1_000_000_000L;
+    while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+      Thread.sleep(10);
+    }
+
+    Map<QueryKind, LoadReport.KindResult> results = new EnumMap<>(QueryKind.class);
+    stats.forEach((kind, kindStats) -> results.put(kind, kindStats.result()));
+    return new LoadReport(
+        rps, Duration.ofNanos(elapsed), arrivals, responses.sum(), maxLag, inFlight.get(), results);
+  }
+
+  /** Sends the paths concurrently and completes with the worst outcome once all have ended. */
+  private CompletableFuture<Outcome> send(List<String> paths, LongAdder responses) {
+    CompletableFuture<Outcome> combined = CompletableFuture.completedFuture(Outcome.SUCCESS);
+    for (String path : paths) {
+      HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(timeout).build();
+      CompletableFuture<Outcome> single =
+          client
+              .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+              .handle(
+                  (response, failure) -> {
+                    responses.increment();
+                    return Outcome.of(response, failure);
+                  });
+      combined = combined.thenCombine(single, Outcome::worst);
+    }
+    return combined;
+  }
+
+  /** Latency histogram and outcome counters of one query kind, safe for concurrent recording. */
+  private static final class KindStats {
+
+    private final Recorder latency = new Recorder(3);
+    private final AtomicLongArray outcomes = new AtomicLongArray(Outcome.values().length);
+
+    void record(long nanos, Outcome outcome) {
+      latency.recordValue(Math.max(1, nanos / 1000));
+      outcomes.incrementAndGet((outcome == null ? Outcome.FAILED : outcome).ordinal());
+    }
+
+    LoadReport.KindResult result() {
+      long[] counts = new long[outcomes.length()];
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] = outcomes.get(i);
+      }
+      return new LoadReport.KindResult(latency.getIntervalHistogram(), counts);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.test.routing.loadgen;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/** Command line options of the form {@code --name=value}, consumed one by one. */
+final class Options {
+
+  private final Map<String, String> values = new HashMap<>();
+
+  private Options() {}
+
+  static Options parse(String... args) {
+    Options options = new Options();
+    for (String arg : args) {
+      int split = arg.indexOf('=');
+      if (!arg.startsWith("--") || split < 0) {
+        throw new IllegalArgumentException("Expected --name=value but got " + arg);
+      }
+      options.values.put(arg.substring(2, split), arg.substring(split + 1));
+    }
+    return options;
+  }
+
+  /** Removes the option and returns its value, or the fallback if it was not given. */
+  String take(String name, String fallback) {
+    String value = values.remove(name);
+    return value == null ? fallback : value;
+  }
+
+  /** Parses durations such as {@code 30s} or {@code 2m}. */
+  Duration takeDuration(String name, String fallback) {
+    return Duration.parse("PT" + take(name, fallback).toUpperCase(Locale.ROOT));
+  }
+
+  /** Splits the value at whitespace. */
+  List<String> takeWords(String name) {
+    String value = take(name, "");
+    return value.isBlank() ? List.of() : List.of(value.trim().split("\\s+"));
+  }
+
+  /** Fails if options were given that nobody took. */
+  void finish() {
+    if (!values.isEmpty()) {
+      throw new IllegalArgumentException("Unknown options " + values.keySet());
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.test.routing.loadgen;
+
+import java.net.http.HttpResponse;
+
+/** How a request ended, ordered from best to worst. */
+enum Outcome {
+  SUCCESS("2xx"),
+  CLIENT_ERROR("4xx"),
+  SHED("503"),
+  SERVER_ERROR("5xx"),
+  FAILED("failed");
+
+  private final String label;
+
+  Outcome(String label) {
+    this.label = label;
+  }
+
+  String label() {
+    return label;
+  }
+
+  /** Classifies a response, or the transport failure or timeout that replaced it. */
+  static Outcome of(HttpResponse<?> response, Throwable failure) {
+    if (failure != null || response == null) {
+      return FAILED;
+    }
+    int status = response.statusCode();
+    if (status == 503) {
+      return SHED;
+    }
+    if (status >= 500) {
+      return SERVER_ERROR;
+    }
+    return status >= 400 ? CLIENT_ERROR : SUCCESS;
+  }
+
+  static Outcome worst(Outcome first, Outcome second) {
+    return first.compareTo(second) >= 0 ? first : second;
+  }
+}
@@ -0,0 +1,17 @@
+package com.test.routing.loadgen;
+
+import java.util.List;
+
+/**
+ * One arrival of the open-loop schedule.
+ *
+ * @param kind the kind of query
+ * @param paths the request paths sent together, a single one unless the query is a batch
+ */
+record Query(QueryKind kind, List<String> paths) {
+
+  Query {
+    // Defensive copy to ensure immutability
+    paths = List.copyOf(paths);
+  }
+}
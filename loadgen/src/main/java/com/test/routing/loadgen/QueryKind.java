@@ -0,0 +1,23 @@
+package com.test.routing.loadgen;
+
+/** The kinds of request the load generator mixes. */
+enum QueryKind {
+  /** Origin and destination drawn independently from a Zipfian popularity ranking. */
+  PAIR("pair"),
+  /** Two countries in different components, answered without a search. */
+  UNREACHABLE("unreachable"),
+  /** A code that is not part of the dataset. */
+  UNKNOWN("unknown"),
+  /** Several Zipfian pairs sent at once; latency is that of the slowest. */
+  BATCH("batch");
+
+  private final String label;
+
+  QueryKind(String label) {
+    this.label = label;
+  }
+
+  String label() {
+    return label;
+  }
+}
@@ -0,0 +1,125 @@
+package com.test.routing.loadgen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates the request sequence of a load run. Country popularity follows a Zipfian ranking over a
+ * seeded shuffle of the dataset, so the hot pairs are stable across runs with the same seed but not
+ * simply the first countries of the file. Zipfian pairs are drawn among countries that share a
+ * component. Each arrival is an unreachable pair, an unknown code or a batch of Zipfian pairs with
+ * the configured shares, otherwise a single Zipfian pair.
+ */
+final class QueryMix {
+
+  private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+  private final Dataset dataset;
+  private final int[] ranking;
+  private final ZipfSampler popularity;
+  private final double unreachableShare;
+  private final double unknownShare;
+  private final double batchShare;
+  private final int batchSize;
+
+  QueryMix(Dataset dataset, LoadSettings settings) {
+    int n = dataset.codes().size();
+    if (n < 2) {
+      throw new IllegalArgumentException("The dataset needs at least two countries");
+    }
+    if (settings.unreachableShare() + settings.unknownShare() + settings.batchShare() > 1) {
+      throw new IllegalArgumentException("Query shares add up to more than 1");
+    }
+    this.dataset = dataset;
+    this.ranking = shuffledIndexes(n, new SplittableRandom(settings.seed()));
+    this.popularity = new ZipfSampler(n, settings.zipfExponent());
+    this.unreachableShare = settings.unreachableShare();
+    this.unknownShare = settings.unknownShare();
+    this.batchShare = settings.batchShare();
+    this.batchSize = settings.batchSize();
+  }
+
+  Query next(SplittableRandom random) {
+    double draw = random.nextDouble();
+    if (draw < unreachableShare) {
+      return new Query(QueryKind.UNREACHABLE, List.of(unreachablePair(random)));
+    }
+    draw -= unreachableShare;
+    if (draw < unknownShare) {
+      return new Query(QueryKind.UNKNOWN, List.of(unknownPair(random)));
+    }
+    draw -= unknownShare;
+    if (draw < batchShare) {
+      List<String> paths = new ArrayList<>(batchSize);
+      for (int i = 0; i < batchSize; i++) {
+        paths.add(zipfianPair(random));
+      }
+      return new Query(QueryKind.BATCH, paths);
+    }
+    return new Query(QueryKind.PAIR, List.of(zipfianPair(random)));
+  }
+
+  private String zipfianPair(SplittableRandom random) {
+    // Redraw until the pair is routable so that unreachable pairs only come from their own share;
+    // bounded because popular islands have no partner at all
+    int origin = 0;
+    int destination = 0;
+    for (int attempt = 0; attempt < 1000; attempt++) {
+      origin = ranking[popularity.sample(random)];
+      destination = ranking[popularity.sample(random)];
+      if (origin != destination && dataset.connected(origin, destination)) {
+        break;
+      }
+    }
+    return path(code(origin), code(destination));
+  }
+
+  private String unreachablePair(SplittableRandom random) {
+    int n = ranking.length;
+    // Bounded so a dataset that is a single component degrades to random pairs
+    for (int attempt = 0; attempt < 1000; attempt++) {
+      int origin = random.nextInt(n);
+      int destination = random.nextInt(n);
+      if (!dataset.connected(origin, destination)) {
+        return path(code(origin), code(destination));
+      }
+    }
+    return zipfianPair(random);
+  }
+
+  private String unknownPair(SplittableRandom random) {
+    String unknown;
+    do {
+      char[] letters = new char[3];
+      for (int i = 0; i < letters.length; i++) {
+        letters[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+      }
+      unknown = new String(letters);
+    } while (dataset.isKnown(unknown));
+    String known = code(ranking[popularity.sample(random)]);
+    return random.nextBoolean() ? path(unknown, known) : path(known, unknown);
+  }
+
+  private String code(int index) {
+    return dataset.codes().get(index);
+  }
+
+  private static String path(String origin, String destination) {
+    return "/routing/" + origin + "/" + destination;
+  }
+
+  private static int[] shuffledIndexes(int n, SplittableRandom random) {
+    int[] indexes = new int[n];
+    for (int i = 0; i < n; i++) {
+      indexes[i] = i;
+    }
+    for (int i = n - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int swap = indexes[i];
+      indexes[i] = indexes[j];
+      indexes[j] = swap;
+    }
+    return indexes;
+  }
+}
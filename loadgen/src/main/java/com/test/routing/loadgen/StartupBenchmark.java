@@ -0,0 +1,116 @@
+package com.test.routing.loadgen;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the time from launching the application to its first successful {@code /routing}
+ * response, once with the executable jar and once with the AOT-processed jar and AppCDS archive
+ * built by {@code mvn -Pstartup package}. Runs alternate between the two so that a noisy machine
+ * affects both alike.
+ */
+public final class StartupBenchmark {
+
+  static final String USAGE =
+      """
+      Options (defaults in brackets):
+        --jar=PATH        executable jar [../routing-service/target/task-test-1.0-SNAPSHOT.jar]
+        --cds=DIR         output of the startup profile [../routing-service/target/cds]
+        --data=PATH       dataset served to the application [../routing-core/src/main/resources/com/test/routing/core/countries.json]
+        --runs=N          starts per variant [5]
+        --route=PATH      request that has to succeed [/routing/CZE/ITA]
+        --jvm-args="..."  extra JVM arguments for both variants
+      """;
+
+  /** The two ways of starting the application. */
+  enum Variant {
+    BASELINE("executable jar"),
+    OPTIMIZED("AOT + AppCDS");
+
+    private final String label;
+
+    Variant(String label) {
+      this.label = label;
+    }
+  }
+
+  private StartupBenchmark() {}
+
+  public static void main(String[] args) throws Exception {
+    Options options;
+    Path jar;
+    Path cds;
+    Path data;
+    int runs;
+    String route;
+    List<String> jvmArgs;
+    try {
+      options = Options.parse(args);
+      jar = Path.of(options.take("jar", "../routing-service/target/task-test-1.0-SNAPSHOT.jar"));
+      cds =
+          Path.of(options.take("cds", "../routing-service/target/cds"))
+              .toAbsolutePath()
+              .normalize();
+      data =
+          Path.of(
+              options.take(
+                  "data",
+                  "../routing-core/src/main/resources/com/test/routing/core/countries.json"));
+      runs = Integer.parseInt(options.take("runs", "5"));
+      route = options.take("route", "/routing/CZE/ITA");
+      jvmArgs = options.takeWords("jvm-args");
+      options.finish();
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.print(USAGE);
+      System.exit(2);
+      return;
+    }
+
+    Path archive = cds.resolve("app.jsa");
+    if (!Files.isRegularFile(archive)) {
+      System.err.println("No archive at " + archive + ", run mvn -Pstartup package first");
+      System.exit(2);
+      return;
+    }
+    Map<Variant, List<String>> launches = new EnumMap<>(Variant.class);
+    launches.put(Variant.BASELINE, AppProcess.jarLaunch(jvmArgs, jar));
+    List<String> optimizedArgs = new ArrayList<>(jvmArgs);
+    // The archive only matches the jar path it was trained with, which is absolute
+    optimizedArgs.add("-XX:SharedArchiveFile=" + archive);
+    optimizedArgs.add("-Dspring.aot.enabled=true");
+    launches.put(
+        Variant.OPTIMIZED,
+        AppProcess.jarLaunch(
+            optimizedArgs, cds.resolve(jar.getFileName().toString().replace(".jar", "-cds.jar"))));
+
+    HttpClient client = HttpClient.newHttpClient();
+    Map<Variant, List<Duration>> results = new EnumMap<>(Variant.class);
+    try (DataServer server = DataServer.start(Files.readAllBytes(data))) {
+      for (int run = 1; run <= runs; run++) {
+        for (Variant variant : Variant.values()) {
+          try (AppProcess app = AppProcess.start(launches.get(variant), server.url(), List.of())) {
+            Duration elapsed = app.awaitOk(client, route);
+            results.computeIfAbsent(variant, v -> new ArrayList<>()).add(elapsed);
+            System.out.printf("run %d %-15s %6d ms%n", run, variant.label, elapsed.toMillis());
+          }
+        }
+      }
+    }
+
+    System.out.printf("Time to first %s over %d runs:%n", route, runs);
+    for (Variant variant : Variant.values()) {
+      long[] millis =
+          results.get(variant).stream().mapToLong(Duration::toMillis).sorted().toArray();
+      System.out.printf(
+          "  %-15s median %6d ms, min %6d ms, max %6d ms%n",
+          variant.label, millis[millis.length / 2], millis[0], millis[millis.length - 1]);
+    }
+  }
+}
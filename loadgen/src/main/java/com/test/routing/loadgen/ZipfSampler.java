@@ -0,0 +1,39 @@
+package com.test.routing.loadgen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent by binary search over
+ * the precomputed cumulative distribution. An exponent of 0 gives a uniform distribution.
+ */
+final class ZipfSampler {
+
+  private final double[] cumulative;
+
+  ZipfSampler(int n, double exponent) {
+    if (n <= 0) {
+      throw new IllegalArgumentException("Zipf sampler needs at least one rank");
+    }
+    cumulative = new double[n];
+    double sum = 0;
+    for (int rank = 0; rank < n; rank++) {
+      sum += 1 / Math.pow(rank + 1, exponent);
+      cumulative[rank] = sum;
+    }
+    for (int rank = 0; rank < n; rank++) {
+      cumulative[rank] /= sum;
+    }
+  }
+
+  int sample(SplittableRandom random) {
+    int index = Arrays.binarySearch(cumulative, random.nextDouble());
+    int rank = index >= 0 ? index : -index - 1;
+    return Math.min(rank, cumulative.length - 1);
+  }
+
+  /** Returns the probability of drawing the given rank. */
+  double probability(int rank) {
+    return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+  }
+}
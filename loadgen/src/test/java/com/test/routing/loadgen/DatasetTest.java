@@ -0,0 +1,50 @@
+package com.test.routing.loadgen;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class DatasetTest {
+
+  static final String JSON =
+      """
+      [
+        {"cca3": "CZE", "cca2": "CZ", "ccn3": "203", "cioc": "CZE", "borders": ["AUT"]},
+        {"cca3": "AUT", "cca2": "AT", "ccn3": "040", "cioc": "AUT", "borders": ["CZE", "ITA"]},
+        {"cca3": "ITA", "cca2": "IT", "ccn3": "380", "cioc": "ITA", "borders": ["AUT"]},
+        {"cca3": "JPN", "cca2": "JP", "ccn3": "392", "cioc": "JPN", "borders": []},
+        {"cca3": "NZL", "cca2": "NZ", "ccn3": "554", "cioc": "NZL"}
+      ]
+      """;
+
+  static Dataset sample() throws Exception {
+    return Dataset.parse(JSON.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void shouldListCodesInFileOrder() throws Exception {
+    assertEquals(List.of("CZE", "AUT", "ITA", "JPN", "NZL"), sample().codes());
+  }
+
+  @Test
+  void shouldGroupCountriesIntoComponents() throws Exception {
+    Dataset dataset = sample();
+
+    assertTrue(dataset.connected(0, 2));
+    assertFalse(dataset.connected(0, 3));
+    assertFalse(dataset.connected(3, 4));
+  }
+
+  @Test
+  void shouldKnowCodesOfEveryScheme() throws Exception {
+    Dataset dataset = sample();
+
+    assertTrue(dataset.isKnown("CZE"));
+    assertTrue(dataset.isKnown("CZ"));
+    assertTrue(dataset.isKnown("040"));
+    assertFalse(dataset.isKnown("XYZ"));
+  }
+}
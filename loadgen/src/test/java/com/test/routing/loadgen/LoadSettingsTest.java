@@ -0,0 +1,46 @@
+package com.test.routing.loadgen;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LoadSettingsTest {
+
+  @Test
+  void shouldUseDefaults() {
+    LoadSettings settings = LoadSettings.parse();
+
+    assertEquals(200, settings.rps());
+    assertEquals(Duration.ofSeconds(30), settings.duration());
+    assertNull(settings.target());
+    assertEquals(List.of(), settings.jvmArgs());
+  }
+
+  @Test
+  void shouldParseOptions() {
+    LoadSettings settings =
+        LoadSettings.parse(
+            "--rps=1000",
+            "--duration=2m",
+            "--target=http://localhost:8080",
+            "--zipf=0.8",
+            "--jvm-args=-Xmx512m -XX:+UseZGC");
+
+    assertEquals(1000, settings.rps());
+    assertEquals(Duration.ofMinutes(2), settings.duration());
+    assertEquals(URI.create("http://localhost:8080"), settings.target());
+    assertEquals(0.8, settings.zipfExponent());
+    assertEquals(List.of("-Xmx512m", "-XX:+UseZGC"), settings.jvmArgs());
+  }
+
+  @Test
+  void shouldRejectUnknownOrMalformedOptions() {
+    assertThrows(IllegalArgumentException.class, () -> LoadSettings.parse("--speed=3"));
+    assertThrows(IllegalArgumentException.class, () -> LoadSettings.parse("rps=3"));
+    assertThrows(IllegalArgumentException.class, () -> LoadSettings.parse("--rps=0"));
+  }
+}
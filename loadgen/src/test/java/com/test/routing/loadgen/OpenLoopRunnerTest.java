@@ -0,0 +1,79 @@
+package com.test.routing.loadgen;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+class OpenLoopRunnerTest {
+
+  private HttpServer server;
+  private URI baseUrl;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    // Known pairs succeed, everything else is answered like an unknown or unreachable pair
+    server.createContext(
+        "/routing/",
+        exchange -> {
+          String path = exchange.getRequestURI().getPath();
+          boolean known = path.matches("/routing/(CZE|AUT|ITA)/(CZE|AUT|ITA)");
+          exchange.sendResponseHeaders(known ? 200 : 400, -1);
+          exchange.close();
+        });
+    server.start();
+    baseUrl = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void shouldKeepArrivalRateAndClassifyResponses() throws Exception {
+    QueryMix mix =
+        new QueryMix(
+            DatasetTest.sample(),
+            LoadSettings.parse("--zipf=0", "--unreachable=0", "--unknown=0.5", "--batch=0"));
+    OpenLoopRunner runner =
+        new OpenLoopRunner(HttpClient.newHttpClient(), baseUrl, mix, Duration.ofSeconds(2));
+
+    LoadReport report = runner.run(200, Duration.ofSeconds(1), new SplittableRandom(1));
+
+    assertEquals(200, report.arrivals());
+    assertEquals(200, report.requests());
+    assertEquals(0, report.unfinished());
+    LoadReport.KindResult unknown = report.kinds().get(QueryKind.UNKNOWN);
+    assertEquals(unknown.count(), unknown.outcomes()[Outcome.CLIENT_ERROR.ordinal()]);
+    LoadReport.KindResult pairs = report.kinds().get(QueryKind.PAIR);
+    assertEquals(200, unknown.count() + pairs.count());
+    assertTrue(pairs.outcomes()[Outcome.SUCCESS.ordinal()] > 0);
+  }
+
+  @Test
+  void shouldRecordBatchOnceWithAllMembersSent() throws Exception {
+    QueryMix mix =
+        new QueryMix(
+            DatasetTest.sample(),
+            LoadSettings.parse("--unreachable=0", "--unknown=0", "--batch=1", "--batch-size=4"));
+    OpenLoopRunner runner =
+        new OpenLoopRunner(HttpClient.newHttpClient(), baseUrl, mix, Duration.ofSeconds(2));
+
+    LoadReport report = runner.run(50, Duration.ofSeconds(1), new SplittableRandom(1));
+
+    assertEquals(50, report.kinds().get(QueryKind.BATCH).count());
+    assertEquals(200, report.requests());
+  }
+}
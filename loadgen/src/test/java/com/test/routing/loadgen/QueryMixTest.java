@@ -0,0 +1,97 @@
+package com.test.routing.loadgen;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class QueryMixTest {
+
+  @Test
+  void shouldGenerateConfiguredShares() throws Exception {
+    Dataset dataset = DatasetTest.sample();
+    QueryMix mix =
+        new QueryMix(
+            dataset,
+            LoadSettings.parse(
+                "--unreachable=0.2", "--unknown=0.1", "--batch=0.1", "--batch-size=3"));
+
+    Map<QueryKind, Integer> counts = new EnumMap<>(QueryKind.class);
+    SplittableRandom random = new SplittableRandom(3);
+    for (int i = 0; i < 10_000; i++) {
+      Query query = mix.next(random);
+      counts.merge(query.kind(), 1, Integer::sum);
+      assertEquals(query.kind() == QueryKind.BATCH ? 3 : 1, query.paths().size());
+    }
+
+    assertEquals(0.6, counts.get(QueryKind.PAIR) / 10_000.0, 0.03);
+    assertEquals(0.2, counts.get(QueryKind.UNREACHABLE) / 10_000.0, 0.03);
+    assertEquals(0.1, counts.get(QueryKind.UNKNOWN) / 10_000.0, 0.03);
+    assertEquals(0.1, counts.get(QueryKind.BATCH) / 10_000.0, 0.03);
+  }
+
+  @Test
+  void shouldPickUnreachableAndUnknownPairsCorrectly() throws Exception {
+    Dataset dataset = DatasetTest.sample();
+    QueryMix mix =
+        new QueryMix(
+            dataset, LoadSettings.parse("--unreachable=0.5", "--unknown=0.5", "--batch=0"));
+
+    SplittableRandom random = new SplittableRandom(5);
+    for (int i = 0; i < 1000; i++) {
+      Query query = mix.next(random);
+      String[] parts = query.paths().get(0).split("/");
+      int origin = dataset.codes().indexOf(parts[2]);
+      int destination = dataset.codes().indexOf(parts[3]);
+      if (query.kind() == QueryKind.UNREACHABLE) {
+        assertFalse(dataset.connected(origin, destination));
+      } else {
+        assertEquals(QueryKind.UNKNOWN, query.kind());
+        assertTrue(origin < 0 ^ destination < 0);
+        assertFalse(dataset.isKnown(origin < 0 ? parts[2] : parts[3]));
+      }
+    }
+  }
+
+  @Test
+  void shouldDrawRoutableZipfianPairs() throws Exception {
+    Dataset dataset = DatasetTest.sample();
+    QueryMix mix = new QueryMix(dataset, LoadSettings.parse("--unknown=0", "--unreachable=0"));
+
+    SplittableRandom random = new SplittableRandom(11);
+    for (int i = 0; i < 1000; i++) {
+      for (String path : mix.next(random).paths()) {
+        String[] parts = path.split("/");
+        int origin = dataset.codes().indexOf(parts[2]);
+        int destination = dataset.codes().indexOf(parts[3]);
+        assertNotEquals(origin, destination);
+        assertTrue(dataset.connected(origin, destination));
+      }
+    }
+  }
+
+  @Test
+  void shouldRepeatSequenceForSameSeed() throws Exception {
+    Dataset dataset = DatasetTest.sample();
+    QueryMix first = new QueryMix(dataset, LoadSettings.parse("--seed=9"));
+    QueryMix second = new QueryMix(dataset, LoadSettings.parse("--seed=9"));
+    SplittableRandom a = new SplittableRandom(1);
+    SplittableRandom b = new SplittableRandom(1);
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(first.next(a), second.next(b));
+    }
+  }
+
+  @Test
+  void shouldRejectSharesAboveOne() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new QueryMix(
+                DatasetTest.sample(), LoadSettings.parse("--unreachable=0.6", "--unknown=0.6")));
+  }
+}
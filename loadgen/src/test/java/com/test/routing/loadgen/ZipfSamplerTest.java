@@ -0,0 +1,49 @@
+package com.test.routing.loadgen;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class ZipfSamplerTest {
+
+  @Test
+  void shouldFavourLowRanks() {
+    ZipfSampler sampler = new ZipfSampler(100, 1.0);
+    int[] counts = new int[100];
+    SplittableRandom random = new SplittableRandom(1);
+    for (int i = 0; i < 100_000; i++) {
+      counts[sampler.sample(random)]++;
+    }
+
+    assertTrue(counts[0] > counts[1]);
+    assertTrue(counts[1] > counts[10]);
+    assertEquals(sampler.probability(0), counts[0] / 100_000.0, 0.01);
+  }
+
+  @Test
+  void shouldBeUniformWithZeroExponent() {
+    ZipfSampler sampler = new ZipfSampler(4, 0);
+
+    for (int rank = 0; rank < 4; rank++) {
+      assertEquals(0.25, sampler.probability(rank), 1e-9);
+    }
+  }
+
+  @Test
+  void shouldStayWithinRange() {
+    ZipfSampler sampler = new ZipfSampler(3, 2.0);
+    SplittableRandom random = new SplittableRandom(7);
+
+    for (int i = 0; i < 10_000; i++) {
+      int rank = sampler.sample(random);
+      assertTrue(rank >= 0 && rank < 3);
+    }
+  }
+
+  @Test
+  void shouldRejectEmptyRange() {
+    assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+  }
+}
@@ -0,0 +1,27 @@
+package com.test.routing.core;
+
+import java.util.List;
+
+import com.test.routing.graph.CountryAttributes;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.NameIndex;
+
+/**
+ * One loaded dataset: the graph snapshot with the indexes built next to it.
+ *
+ * @param snapshot the graph snapshot
+ * @param attributes the attribute bitsets of the countries
+ * @param names the name index, empty for data loaded from a binary snapshot
+ * @param countries the countries in load order, as needed to write the data again
+ */
+public record CountryData(
+    GraphSnapshot snapshot,
+    CountryAttributes attributes,
+    NameIndex names,
+    List<CountryRecord> countries) {
+
+  public CountryData {
+    // Defensive copy to ensure immutability
+    countries = List.copyOf(countries);
+  }
+}
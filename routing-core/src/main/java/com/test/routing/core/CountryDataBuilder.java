@@ -0,0 +1,69 @@
+package com.test.routing.core;
+
+import java.util.*;
+
+import com.test.routing.graph.CountryAttributes;
+import com.test.routing.graph.CountryCodes;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.NameIndex;
+
+/**
+ * Collects countries one by one and builds the graph snapshot, the attribute bitsets and the name
+ * index from them. The cca2, ccn3 and cioc codes of every country are registered as aliases, so the
+ * snapshot resolves any of them. A later country with the same primary code replaces the earlier
+ * one but keeps its position.
+ */
+public final class CountryDataBuilder {
+
+  private final CountryCodes table;
+  private final Map<String, CountryRecord> countries = new LinkedHashMap<>();
+  private final NameIndex.Builder names;
+
+  /** Creates a builder whose snapshot interns its codes in the given table. */
+  public CountryDataBuilder(CountryCodes table) {
+    this.table = table;
+    this.names = NameIndex.builder(table);
+  }
+
+  /** Adds a country. Countries without a primary code are ignored. */
+  public CountryDataBuilder add(CountryRecord country) {
+    if (country.cca3() == null) {
+      return this;
+    }
+    countries.put(country.cca3(), country);
+    // Interned right away, the name index refers to countries by their id
+    table.intern(country.cca3());
+    return this;
+  }
+
+  /**
+   * Adds a name of a country that was added already, ranked {@link NameIndex#COMMON_NAME}, {@link
+   * NameIndex#OFFICIAL_NAME} or {@link NameIndex#OTHER_NAME}.
+   */
+  public CountryDataBuilder addName(String code, String name, int rank) {
+    if (name != null) {
+      names.add(code, name, rank);
+    }
+    return this;
+  }
+
+  /** Number of countries added so far. */
+  public int size() {
+    return countries.size();
+  }
+
+  /** Builds the snapshot with the given version and the indexes of the countries added so far. */
+  public CountryData build(long version) {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>(countries.size() * 2);
+    Map<String, List<String>> aliases = new HashMap<>(countries.size() * 2);
+    CountryAttributes.Builder attributes = CountryAttributes.builder(table);
+    for (CountryRecord country : countries.values()) {
+      borderGraph.put(country.cca3(), country.borders());
+      aliases.put(country.cca3(), country.alternativeCodes());
+      attributes.add(country.cca3(), country.landlocked(), country.unMember(), country.region());
+    }
+    GraphSnapshot snapshot = GraphSnapshot.of(borderGraph, version, table, aliases);
+    return new CountryData(
+        snapshot, attributes.build(), names.build(), new ArrayList<>(countries.values()));
+  }
+}
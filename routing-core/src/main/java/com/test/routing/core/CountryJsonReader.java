@@ -0,0 +1,318 @@
+package com.test.routing.core;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.test.routing.graph.NameIndex;
+
+/**
+ * Reads the countries JSON, a top-level array of country objects, into a {@link
+ * CountryDataBuilder}. The reader is blocking and has no dependencies: every element of the array
+ * is parsed on its own into maps and lists, mapped the way the service maps it and dropped, so only
+ * one country is held at a time. Unknown fields are ignored and numbers are kept as their text.
+ *
+ * <p>Indexed names are the English common and official names, the native names, every translation
+ * and the alternative spellings.
+ */
+public final class CountryJsonReader {
+
+  private final Reader reader;
+  private final char[] buffer = new char[8192];
+  private int buffered;
+  private int index;
+  private int next;
+  private long position;
+
+  private CountryJsonReader(Reader reader) throws IOException {
+    this.reader = reader;
+    advance();
+  }
+
+  /**
+   * Reads every country of the JSON into the builder.
+   *
+   * @param reader the JSON
+   * @return the builder
+   * @throws IOException if reading fails or the JSON is malformed
+   */
+  public static CountryDataBuilder read(Reader reader, CountryDataBuilder builder)
+      throws IOException {
+    CountryJsonReader json = new CountryJsonReader(reader);
+    json.skipWhitespace();
+    json.expect('[');
+    json.skipWhitespace();
+    if (json.next == ']') {
+      json.advance();
+    } else {
+      while (true) {
+        Object element = json.value();
+        if (element instanceof Map<?, ?> country) {
+          add(builder, country);
+        }
+        json.skipWhitespace();
+        if (json.next == ',') {
+          json.advance();
+        } else {
+          json.expect(']');
+          break;
+        }
+      }
+    }
+    json.skipWhitespace();
+    if (json.next != -1) {
+      throw json.malformed("end of input");
+    }
+    return builder;
+  }
+
+  private static void add(CountryDataBuilder builder, Map<?, ?> country) {
+    String code = string(country.get("cca3"));
+    if (code == null) {
+      return;
+    }
+    List<String> alternativeCodes = new ArrayList<>(3);
+    for (String key : new String[] {"cca2", "ccn3", "cioc"}) {
+      String alternative = string(country.get(key));
+      if (alternative != null && !alternative.isBlank()) {
+        alternativeCodes.add(alternative);
+      }
+    }
+    builder.add(
+        new CountryRecord(
+            code,
+            strings(country.get("borders")),
+            alternativeCodes,
+            bool(country.get("landlocked")),
+            bool(country.get("unMember")),
+            string(country.get("region"))));
+
+    if (country.get("name") instanceof Map<?, ?> name) {
+      builder.addName(code, string(name.get("common")), NameIndex.COMMON_NAME);
+      builder.addName(code, string(name.get("official")), NameIndex.OFFICIAL_NAME);
+      addNames(builder, code, name.get("native"));
+    }
+    addNames(builder, code, country.get("translations"));
+    for (String spelling : strings(country.get("altSpellings"))) {
+      builder.addName(code, spelling, NameIndex.OTHER_NAME);
+    }
+  }
+
+  private static void addNames(CountryDataBuilder builder, String code, Object names) {
+    if (names instanceof Map<?, ?> byLanguage) {
+      for (Object value : byLanguage.values()) {
+        if (value instanceof Map<?, ?> name) {
+          builder.addName(code, string(name.get("common")), NameIndex.OTHER_NAME);
+          builder.addName(code, string(name.get("official")), NameIndex.OTHER_NAME);
+        }
+      }
+    }
+  }
+
+  private static String string(Object value) {
+    return value instanceof String text ? text : null;
+  }
+
+  private static Boolean bool(Object value) {
+    return value instanceof Boolean flag ? flag : null;
+  }
+
+  private static List<String> strings(Object value) {
+    if (!(value instanceof Collection<?> values)) {
+      return List.of();
+    }
+    List<String> strings = new ArrayList<>(values.size());
+    for (Object element : values) {
+      if (element instanceof String text) {
+        strings.add(text);
+      }
+    }
+    return strings;
+  }
+
+  private Object value() throws IOException {
+    skipWhitespace();
+    switch (next) {
+      case '{':
+        return object();
+      case '[':
+        return array();
+      case '"':
+        return string();
+      case 't':
+        literal("true");
+        return Boolean.TRUE;
+      case 'f':
+        literal("false");
+        return Boolean.FALSE;
+      case 'n':
+        literal("null");
+        return null;
+      default:
+        return number();
+    }
+  }
+
+  private Map<String, Object> object() throws IOException {
+    expect('{');
+    Map<String, Object> object = new LinkedHashMap<>();
+    skipWhitespace();
+    if (next == '}') {
+      advance();
+      return object;
+    }
+    while (true) {
+      skipWhitespace();
+      String key = string();
+      skipWhitespace();
+      expect(':');
+      object.put(key, value());
+      skipWhitespace();
+      if (next == ',') {
+        advance();
+      } else {
+        expect('}');
+        return object;
+      }
+    }
+  }
+
+  private List<Object> array() throws IOException {
+    expect('[');
+    List<Object> array = new ArrayList<>();
+    skipWhitespace();
+    if (next == ']') {
+      advance();
+      return array;
+    }
+    while (true) {
+      array.add(value());
+      skipWhitespace();
+      if (next == ',') {
+        advance();
+      } else {
+        expect(']');
+        return array;
+      }
+    }
+  }
+
+  private String string() throws IOException {
+    expect('"');
+    StringBuilder text = new StringBuilder();
+    while (next != '"') {
+      if (next == -1 || next < 0x20) {
+        throw malformed("closing quote");
+      }
+      if (next == '\\') {
+        advance();
+        text.append(escape());
+      } else {
+        text.append((char) next);
+      }
+      advance();
+    }
+    advance();
+    return text.toString();
+  }
+
+  private char escape() throws IOException {
+    switch (next) {
+      case '"':
+      case '\\':
+      case '/':
+        return (char) next;
+      case 'b':
+        return '\b';
+      case 'f':
+        return '\f';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 't':
+        return '\t';
+      case 'u':
+        int code = 0;
+        for (int i = 0; i < 4; i++) {
+          advance();
+          int digit = Character.digit(next, 16);
+          if (digit < 0) {
+            throw malformed("hex digit");
+          }
+          code = code * 16 + digit;
+        }
+        return (char) code;
+      default:
+        throw malformed("escape character");
+    }
+  }
+
+  private String number() throws IOException {
+    StringBuilder text = new StringBuilder();
+    while (next == '-'
+        || next == '+'
+        || next == '.'
+        || next == 'e'
+        || next == 'E'
+        || (next >= '0' && next <= '9')) {
+      text.append((char) next);
+      advance();
+    }
+    if (text.length() == 0) {
+      throw malformed("value");
+    }
+    return text.toString();
+  }
+
+  private void literal(String literal) throws IOException {
+    for (int i = 0; i < literal.length(); i++) {
+      if (next != literal.charAt(i)) {
+        throw malformed(literal);
+      }
+      advance();
+    }
+  }
+
+  private void expect(char expected) throws IOException {
+    if (next != expected) {
+      throw malformed("'" + expected + "'");
+    }
+    advance();
+  }
+
+  private void skipWhitespace() throws IOException {
+    while (next == ' ' || next == '\n' || next == '\r' || next == '\t') {
+      advance();
+    }
+  }
+
+  private void advance() throws IOException {
+    if (index == buffered) {
+      buffered = reader.read(buffer, 0, buffer.length);
+      index = 0;
+      if (buffered <= 0) {
+        buffered = 0;
+        next = -1;
+        return;
+      }
+    }
+    next = buffer[index++];
+    position++;
+  }
+
+  private IOException malformed(String expected) {
+    String found = next == -1 ? "end of input" : "'" + (char) next + "'";
+    return new IOException(
+        "Malformed countries JSON at character "
+            + position
+            + ": expected "
+            + expected
+            + ", found "
+            + found);
+  }
+}
@@ -0,0 +1,30 @@
+package com.test.routing.core;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The routing-relevant fields of one country of the dataset.
+ *
+ * @param cca3 the primary code
+ * @param borders the primary codes of the neighbors
+ * @param alternativeCodes the cca2, ccn3 and cioc codes that are present
+ * @param landlocked whether the country is landlocked, or null if unknown
+ * @param unMember whether the country is a UN member, or null if unknown
+ * @param region the region, or null if unknown
+ */
+public record CountryRecord(
+    String cca3,
+    List<String> borders,
+    List<String> alternativeCodes,
+    Boolean landlocked,
+    Boolean unMember,
+    String region) {
+
+  public CountryRecord {
+    // Defensive copies to ensure immutability
+    borders = borders == null ? Collections.emptyList() : List.copyOf(borders);
+    alternativeCodes =
+        alternativeCodes == null ? Collections.emptyList() : List.copyOf(alternativeCodes);
+  }
+}
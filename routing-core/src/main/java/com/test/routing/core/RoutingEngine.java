@@ -0,0 +1,156 @@
+package com.test.routing.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.test.routing.graph.CountryAttributes;
+import com.test.routing.graph.CountryCodes;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.NameIndex;
+import com.test.routing.graph.RouteSearch;
+
+/**
+ * Synchronous routing over one immutable dataset, for embedding without the service. Engines load
+ * the dataset bundled with this library, a countries JSON file or a binary {@link SnapshotFile},
+ * and are safe to share between threads.
+ *
+ * <p>{@link #route(String, String)} accepts codes of any scheme and returns primary codes. {@link
+ * #route(int, int, int[])} works on the dense ids of {@link #graph()} and writes into a caller
+ * buffer; it allocates nothing once the calling thread has searched the graph before.
+ */
+public final class RoutingEngine {
+
+  /** Resource of the bundled dataset, next to this class. */
+  public static final String BUNDLED_DATASET = "countries.json";
+
+  private final CountryData data;
+  private final ThreadLocal<RouteSearch> searches = ThreadLocal.withInitial(RouteSearch::new);
+
+  public RoutingEngine(CountryData data) {
+    this.data = data;
+  }
+
+  /** Loads the dataset bundled with this library. */
+  public static RoutingEngine bundled() {
+    InputStream json = RoutingEngine.class.getResourceAsStream(BUNDLED_DATASET);
+    if (json == null) {
+      throw new IllegalStateException("Bundled dataset " + BUNDLED_DATASET + " is missing");
+    }
+    try {
+      return fromJson(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read the bundled dataset", e);
+    }
+  }
+
+  /** Loads a countries JSON file. */
+  public static RoutingEngine fromJson(Path file) throws IOException {
+    return fromJson(Files.newInputStream(file));
+  }
+
+  /** Loads countries JSON from a stream, which is closed afterwards. */
+  public static RoutingEngine fromJson(InputStream json) throws IOException {
+    try (Reader reader = new BufferedReader(new InputStreamReader(json, StandardCharsets.UTF_8))) {
+      CountryDataBuilder builder = new CountryDataBuilder(new CountryCodes());
+      return new RoutingEngine(CountryJsonReader.read(reader, builder).build(1));
+    }
+  }
+
+  /** Loads a binary snapshot written by {@link #writeSnapshot(Path)}. */
+  public static RoutingEngine fromSnapshot(Path file) throws IOException {
+    return new RoutingEngine(SnapshotFile.read(file, new CountryCodes()));
+  }
+
+  /** Writes the dataset as a binary snapshot, which loads faster than the JSON. */
+  public void writeSnapshot(Path file) throws IOException {
+    SnapshotFile.write(data, file);
+  }
+
+  public CountryData data() {
+    return data;
+  }
+
+  public GraphSnapshot graph() {
+    return data.snapshot();
+  }
+
+  public CountryAttributes attributes() {
+    return data.attributes();
+  }
+
+  public NameIndex names() {
+    return data.names();
+  }
+
+  /**
+   * Returns the shortest land route between two countries.
+   *
+   * @param origin a code of the origin in any scheme
+   * @param destination a code of the destination in any scheme
+   * @return the primary codes of the route, origin first, or an empty list if there is no route
+   * @throws IllegalArgumentException if a code is unknown
+   */
+  public List<String> route(String origin, String destination) {
+    GraphSnapshot graph = data.snapshot();
+    int from = require(graph, origin);
+    int to = require(graph, destination);
+    if (!reachable(graph, from, to)) {
+      return Collections.emptyList();
+    }
+    if (from == to) {
+      return List.of(graph.codeOf(from));
+    }
+    int[] ids = searches.get().search(graph, from, to);
+    if (ids == null) {
+      return Collections.emptyList();
+    }
+    List<String> route = new ArrayList<>(ids.length);
+    for (int id : ids) {
+      route.add(graph.codeOf(id));
+    }
+    return route;
+  }
+
+  /**
+   * Writes the shortest route between two dense ids of {@link #graph()} into a buffer.
+   *
+   * @param into receives the ids of the route, origin first; {@link GraphSnapshot#size()} entries
+   *     always suffice
+   * @return the number of countries on the route, or 0 if there is no route
+   */
+  public int route(int from, int to, int[] into) {
+    GraphSnapshot graph = data.snapshot();
+    if (!reachable(graph, from, to)) {
+      return 0;
+    }
+    if (from == to) {
+      into[0] = from;
+      return 1;
+    }
+    return searches.get().search(graph, from, to, into);
+  }
+
+  private static boolean reachable(GraphSnapshot graph, int from, int to) {
+    return graph.isEnabled(from)
+        && graph.isEnabled(to)
+        && graph.componentOf(from) == graph.componentOf(to);
+  }
+
+  private static int require(GraphSnapshot graph, String code) {
+    int id = code == null ? -1 : graph.resolve(code);
+    if (id < 0) {
+      throw new IllegalArgumentException("Unknown country code: " + code);
+    }
+    return id;
+  }
+}
@@ -0,0 +1,185 @@
+package com.test.routing.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.test.routing.graph.CountryCodes;
+
+/**
+ * Binary form of the routing data of a dataset, which loads without parsing JSON. The file holds
+ * the snapshot version and, in load order, every country with its alternative codes, attributes and
+ * the positions of its neighbors in the file. Names are not stored, so data read back has an empty
+ * name index.
+ *
+ * <p>Layout, big-endian: the magic {@code "CRS1"}, the format version, the snapshot version and the
+ * country count, then per country its code, a flag byte, the region if flagged, the alternative
+ * code count and codes, and finally per country the neighbor count and positions. Strings are
+ * modified UTF-8 as written by {@link DataOutputStream#writeUTF(String)}.
+ */
+public final class SnapshotFile {
+
+  private static final int MAGIC = 0x43525331; // "CRS1"
+  private static final int FORMAT_VERSION = 1;
+
+  private static final int LANDLOCKED_KNOWN = 1;
+  private static final int LANDLOCKED = 2;
+  private static final int UN_MEMBER_KNOWN = 4;
+  private static final int UN_MEMBER = 8;
+  private static final int REGION_KNOWN = 16;
+
+  private SnapshotFile() {}
+
+  /** Writes the data to a file, replacing its content. */
+  public static void write(CountryData data, Path file) throws IOException {
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+      write(data, out);
+    }
+  }
+
+  /** Writes the data to a stream, which is left open. */
+  public static void write(CountryData data, OutputStream stream) throws IOException {
+    List<CountryRecord> countries = data.countries();
+    Map<String, Integer> positions = new HashMap<>(countries.size() * 2);
+    for (CountryRecord country : countries) {
+      positions.put(country.cca3(), positions.size());
+    }
+
+    DataOutputStream out = new DataOutputStream(stream);
+    out.writeInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    out.writeLong(data.snapshot().version());
+    out.writeInt(countries.size());
+    for (CountryRecord country : countries) {
+      out.writeUTF(country.cca3());
+      out.writeByte(flags(country));
+      if (country.region() != null) {
+        out.writeUTF(country.region());
+      }
+      out.writeByte(country.alternativeCodes().size());
+      for (String code : country.alternativeCodes()) {
+        out.writeUTF(code);
+      }
+    }
+    int[] neighbors = new int[16];
+    for (CountryRecord country : countries) {
+      int degree = 0;
+      for (String border : country.borders()) {
+        Integer position = positions.get(border);
+        // Borders to countries missing from the dataset are dropped by the snapshot anyway
+        if (position != null) {
+          if (degree == neighbors.length) {
+            neighbors = Arrays.copyOf(neighbors, degree * 2);
+          }
+          neighbors[degree++] = position;
+        }
+      }
+      out.writeInt(degree);
+      for (int i = 0; i < degree; i++) {
+        out.writeInt(neighbors[i]);
+      }
+    }
+    out.flush();
+  }
+
+  /**
+   * Reads a file written by {@link #write(CountryData, Path)}.
+   *
+   * @param table the table the snapshot interns its codes in
+   * @throws IOException if the file cannot be read or is not a valid snapshot file
+   */
+  public static CountryData read(Path file, CountryCodes table) throws IOException {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+      return read(in, table);
+    } catch (IOException e) {
+      throw new IOException("Invalid snapshot file " + file + ": " + e.getMessage(), e);
+    }
+  }
+
+  /** Reads data written by {@link #write(CountryData, OutputStream)} from a stream. */
+  public static CountryData read(InputStream stream, CountryCodes table) throws IOException {
+    DataInputStream in = new DataInputStream(stream);
+    try {
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+        throw new IOException("unknown format");
+      }
+      long version = in.readLong();
+      int count = in.readInt();
+      if (count < 0) {
+        throw new IOException("negative country count");
+      }
+      String[] codes = new String[count];
+      int[] flags = new int[count];
+      String[] regions = new String[count];
+      List<List<String>> alternativeCodes = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        codes[i] = in.readUTF();
+        flags[i] = in.readUnsignedByte();
+        regions[i] = (flags[i] & REGION_KNOWN) != 0 ? in.readUTF() : null;
+        int aliases = in.readUnsignedByte();
+        List<String> alternatives = new ArrayList<>(aliases);
+        for (int j = 0; j < aliases; j++) {
+          alternatives.add(in.readUTF());
+        }
+        alternativeCodes.add(alternatives);
+      }
+
+      CountryDataBuilder builder = new CountryDataBuilder(table);
+      for (int i = 0; i < count; i++) {
+        int degree = in.readInt();
+        if (degree < 0 || degree > count) {
+          throw new IOException("invalid neighbor count " + degree);
+        }
+        List<String> borders = new ArrayList<>(degree);
+        for (int j = 0; j < degree; j++) {
+          int position = in.readInt();
+          if (position < 0 || position >= count) {
+            throw new IOException("invalid neighbor position " + position);
+          }
+          borders.add(codes[position]);
+        }
+        builder.add(
+            new CountryRecord(
+                codes[i],
+                borders,
+                alternativeCodes.get(i),
+                flag(flags[i], LANDLOCKED_KNOWN, LANDLOCKED),
+                flag(flags[i], UN_MEMBER_KNOWN, UN_MEMBER),
+                regions[i]));
+      }
+      return builder.build(version);
+    } catch (EOFException e) {
+      throw new IOException("truncated", e);
+    }
+  }
+
+  private static int flags(CountryRecord country) {
+    int flags = 0;
+    if (country.landlocked() != null) {
+      flags |= LANDLOCKED_KNOWN | (country.landlocked() ? LANDLOCKED : 0);
+    }
+    if (country.unMember() != null) {
+      flags |= UN_MEMBER_KNOWN | (country.unMember() ? UN_MEMBER : 0);
+    }
+    if (country.region() != null) {
+      flags |= REGION_KNOWN;
+    }
+    return flags;
+  }
+
+  private static Boolean flag(int flags, int known, int value) {
+    return (flags & known) == 0 ? null : (flags & value) != 0;
+  }
+}
@@ -0,0 +1,205 @@
+package com.test.routing.graph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Betweenness centrality of the border graph computed with Brandes' algorithm. Each source runs one
+ * BFS that counts shortest paths followed by a dependency accumulation in reverse BFS order.
+ * Sources are split across a fork/join pool; every leaf task owns its workspace arrays and partial
+ * scores, which are summed when the tasks join.
+ *
+ * <p>Scores count unordered pairs: a country lying on every shortest route between two others gains
+ * exactly 1 for that pair.
+ */
+public final class BetweennessCentrality {
+
+  private static final int MIN_SOURCES_PER_TASK = 8;
+
+  private BetweennessCentrality() {}
+
+  /** Computes exact scores using every enabled country as a source. */
+  public static CentralityScores exact(GraphSnapshot graph, ForkJoinPool pool) {
+    return exact(graph, pool, SearchGuard.NONE);
+  }
+
+  /**
+   * Computes exact scores like {@link #exact(GraphSnapshot, ForkJoinPool)}, asking the guard before
+   * every source whether to go on.
+   *
+   * @throws SearchAbortedException if the guard stopped the computation
+   */
+  public static CentralityScores exact(GraphSnapshot graph, ForkJoinPool pool, SearchGuard guard) {
+    int[] sources = enabledCountries(graph);
+    double[] scores = compute(graph, sources, 0.5, pool, guard);
+    return new CentralityScores(graph, false, sources.length, scores);
+  }
+
+  /**
+   * Estimates scores from a random sample of sources, scaled up to the full number of sources.
+   * Falls back to the exact computation if the sample would cover every country.
+   *
+   * @throws IllegalArgumentException if fewer than one source is sampled
+   */
+  public static CentralityScores sampled(
+      GraphSnapshot graph, int samples, long seed, ForkJoinPool pool) {
+    return sampled(graph, samples, seed, pool, SearchGuard.NONE);
+  }
+
+  /**
+   * Estimates scores like {@link #sampled(GraphSnapshot, int, long, ForkJoinPool)}, asking the
+   * guard before every source whether to go on.
+   *
+   * @throws IllegalArgumentException if fewer than one source is sampled
+   * @throws SearchAbortedException if the guard stopped the computation
+   */
+  public static CentralityScores sampled(
+      GraphSnapshot graph, int samples, long seed, ForkJoinPool pool, SearchGuard guard) {
+    if (samples < 1) {
+      throw new IllegalArgumentException("Samples must be at least 1");
+    }
+    int[] candidates = enabledCountries(graph);
+    if (samples >= candidates.length) {
+      return exact(graph, pool, guard);
+    }
+    // Partial Fisher-Yates shuffle picks distinct sources
+    Random random = new Random(seed);
+    for (int i = 0; i < samples; i++) {
+      int j = i + random.nextInt(candidates.length - i);
+      int swap = candidates[i];
+      candidates[i] = candidates[j];
+      candidates[j] = swap;
+    }
+    int[] sources = Arrays.copyOf(candidates, samples);
+    double scale = 0.5 * candidates.length / samples;
+    double[] scores = compute(graph, sources, scale, pool, guard);
+    return new CentralityScores(graph, true, samples, scores);
+  }
+
+  private static double[] compute(
+      GraphSnapshot graph, int[] sources, double scale, ForkJoinPool pool, SearchGuard guard) {
+    int threshold =
+        Math.max(MIN_SOURCES_PER_TASK, sources.length / (pool.getParallelism() * 4) + 1);
+    double[] scores =
+        pool.invoke(new SourceTask(graph, sources, 0, sources.length, threshold, guard));
+    for (int i = 0; i < scores.length; i++) {
+      scores[i] *= scale;
+    }
+    return scores;
+  }
+
+  private static int[] enabledCountries(GraphSnapshot graph) {
+    int[] ids = new int[graph.size()];
+    int count = 0;
+    for (int i = 0; i < graph.size(); i++) {
+      if (graph.isEnabled(i)) {
+        ids[count++] = i;
+      }
+    }
+    return Arrays.copyOf(ids, count);
+  }
+
+  private static final class SourceTask extends RecursiveTask<double[]> {
+
+    private final GraphSnapshot graph;
+    private final int[] sources;
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final SearchGuard guard;
+
+    SourceTask(
+        GraphSnapshot graph, int[] sources, int from, int to, int threshold, SearchGuard guard) {
+      this.graph = graph;
+      this.sources = sources;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+      this.guard = guard;
+    }
+
+    @Override
+    protected double[] compute() {
+      if (to - from <= threshold) {
+        return accumulate();
+      }
+      int middle = (from + to) >>> 1;
+      SourceTask left = new SourceTask(graph, sources, from, middle, threshold, guard);
+      SourceTask right = new SourceTask(graph, sources, middle, to, threshold, guard);
+      left.fork();
+      double[] scores = right.compute();
+      double[] other = left.join();
+      for (int i = 0; i < scores.length; i++) {
+        scores[i] += other[i];
+      }
+      return scores;
+    }
+
+    private double[] accumulate() {
+      int n = graph.size();
+      double[] scores = new double[n];
+      int[] distance = new int[n];
+      double[] sigma = new double[n];
+      double[] delta = new double[n];
+      int[] order = new int[n];
+      NeighborBuffer neighbors = new NeighborBuffer();
+      Arrays.fill(distance, -1);
+      int expanded = 0;
+
+      for (int index = from; index < to; index++) {
+        if (guard.shouldStop()) {
+          throw new SearchAbortedException(expanded);
+        }
+        int source = sources[index];
+
+        // Forward BFS counting shortest paths; order doubles as queue and visit stack
+        int head = 0;
+        int tail = 0;
+        order[tail++] = source;
+        distance[source] = 0;
+        sigma[source] = 1;
+        while (head < tail) {
+          int current = order[head++];
+          graph.neighbors(current, neighbors);
+          for (int j = 0; j < neighbors.count(); j++) {
+            int neighbor = neighbors.get(j);
+            if (distance[neighbor] < 0) {
+              distance[neighbor] = distance[current] + 1;
+              order[tail++] = neighbor;
+            }
+            if (distance[neighbor] == distance[current] + 1) {
+              sigma[neighbor] += sigma[current];
+            }
+          }
+        }
+
+        // Dependency accumulation in reverse BFS order. Predecessors are recognised by their
+        // distance, which avoids materialising predecessor lists.
+        for (int i = tail - 1; i > 0; i--) {
+          int current = order[i];
+          double factor = (1 + delta[current]) / sigma[current];
+          graph.neighbors(current, neighbors);
+          for (int j = 0; j < neighbors.count(); j++) {
+            int neighbor = neighbors.get(j);
+            if (distance[neighbor] == distance[current] - 1) {
+              delta[neighbor] += sigma[neighbor] * factor;
+            }
+          }
+          scores[current] += delta[current];
+        }
+
+        expanded += tail;
+        // Reset only the visited part of the workspace
+        for (int i = 0; i < tail; i++) {
+          int visited = order[i];
+          distance[visited] = -1;
+          sigma[visited] = 0;
+          delta[visited] = 0;
+        }
+      }
+      return scores;
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package com.test.routing.graph;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Countries reachable from an origin within a maximum number of border crossings, computed with a
+ * level-synchronous BFS. The visited set and the current and next frontier are bitsets over dense
+ * ids, so the search state takes three bits per country regardless of how many are reached.
+ *
+ * <p>Small graphs expand each level top-down: every frontier country marks its unvisited neighbors.
+ * Graphs at or above the parallel threshold expand each level bottom-up instead: the words of the
+ * next frontier are split into chunks, and every unvisited country in a chunk checks whether one of
+ * its neighbors is in the frontier. Each chunk only writes its own words, so the chunks run in
+ * parallel without synchronisation.
+ */
+public final class BoundedReachability {
+
+  private static final int WORDS_PER_CHUNK = 16;
+
+  private BoundedReachability() {}
+
+  /**
+   * Runs the search from the given origin.
+   *
+   * @param graph the graph snapshot
+   * @param origin the dense id of the origin, which must be enabled
+   * @param maxHops the maximum number of crossings; values above the graph size are treated as the
+   *     graph size, since no BFS has more levels than countries
+   * @param keepLevels false to only count the countries of each level
+   * @param parallelThreshold the graph size from which levels are expanded in parallel
+   */
+  public static HopLevels search(
+      GraphSnapshot graph, int origin, int maxHops, boolean keepLevels, int parallelThreshold) {
+    return search(graph, origin, maxHops, keepLevels, parallelThreshold, SearchGuard.NONE);
+  }
+
+  /**
+   * Runs the search like {@link #search(GraphSnapshot, int, int, boolean, int)}, asking the guard
+   * before every level whether to go on.
+   *
+   * @throws SearchAbortedException if the guard stopped the search
+   */
+  public static HopLevels search(
+      GraphSnapshot graph,
+      int origin,
+      int maxHops,
+      boolean keepLevels,
+      int parallelThreshold,
+      SearchGuard guard) {
+    int n = graph.size();
+    int words = (n + 63) >>> 6;
+    boolean parallel = n >= parallelThreshold;
+    long[] visited = new long[words];
+    long[] frontier = new long[words];
+    long[] next = new long[words];
+    NeighborBuffer neighbors = new NeighborBuffer();
+    visited[origin >>> 6] |= 1L << origin;
+    frontier[origin >>> 6] |= 1L << origin;
+
+    int limit = Math.min(maxHops, n);
+    int[] counts = new int[limit];
+    long[][] levels = keepLevels ? new long[limit][] : null;
+    int depth = 0;
+    int reached = 0;
+    while (depth < limit) {
+      if (guard.shouldStop()) {
+        throw new SearchAbortedException(reached);
+      }
+      int count =
+          parallel
+              ? expandBottomUp(graph, frontier, next, visited)
+              : expandTopDown(graph, frontier, next, visited, neighbors);
+      if (count == 0) {
+        break;
+      }
+      counts[depth] = count;
+      reached += count;
+      if (keepLevels) {
+        levels[depth] = next.clone();
+      }
+      depth++;
+
+      long[] swap = frontier;
+      frontier = next;
+      next = swap;
+      Arrays.fill(next, 0L);
+    }
+    return new HopLevels(
+        graph,
+        origin,
+        Arrays.copyOf(counts, depth),
+        keepLevels ? Arrays.copyOf(levels, depth) : null);
+  }
+
+  private static int expandTopDown(
+      GraphSnapshot graph, long[] frontier, long[] next, long[] visited, NeighborBuffer neighbors) {
+    int count = 0;
+    for (int word = 0; word < frontier.length; word++) {
+      long bits = frontier[word];
+      while (bits != 0) {
+        int current = (word << 6) + Long.numberOfTrailingZeros(bits);
+        bits &= bits - 1;
+        graph.neighbors(current, neighbors);
+        for (int i = 0; i < neighbors.count(); i++) {
+          int neighbor = neighbors.get(i);
+          long mask = 1L << neighbor;
+          if ((visited[neighbor >>> 6] & mask) == 0) {
+            visited[neighbor >>> 6] |= mask;
+            next[neighbor >>> 6] |= mask;
+            count++;
+          }
+        }
+      }
+    }
+    return count;
+  }
+
+  private static int expandBottomUp(
+      GraphSnapshot graph, long[] frontier, long[] next, long[] visited) {
+    int n = graph.size();
+    int chunks = (frontier.length + WORDS_PER_CHUNK - 1) / WORDS_PER_CHUNK;
+    return IntStream.range(0, chunks)
+        .parallel()
+        .map(
+            chunk -> {
+              int count = 0;
+              NeighborBuffer neighbors = new NeighborBuffer();
+              int end = Math.min(frontier.length, (chunk + 1) * WORDS_PER_CHUNK);
+              for (int word = chunk * WORDS_PER_CHUNK; word < end; word++) {
+                long candidates = ~visited[word];
+                if (word == frontier.length - 1 && (n & 63) != 0) {
+                  // Ignore the bits past the last country
+                  candidates &= (1L << n) - 1;
+                }
+                long found = 0;
+                while (candidates != 0) {
+                  int current = (word << 6) + Long.numberOfTrailingZeros(candidates);
+                  long mask = candidates & -candidates;
+                  candidates &= candidates - 1;
+                  graph.neighbors(current, neighbors);
+                  for (int i = 0; i < neighbors.count(); i++) {
+                    int neighbor = neighbors.get(i);
+                    if ((frontier[neighbor >>> 6] & (1L << neighbor)) != 0) {
+                      found |= mask;
+                      break;
+                    }
+                  }
+                }
+                next[word] = found;
+                visited[word] |= found;
+                count += Long.bitCount(found);
+              }
+              return count;
+            })
+        .sum();
+  }
+}
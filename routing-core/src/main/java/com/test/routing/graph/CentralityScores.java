@@ -0,0 +1,29 @@
+package com.test.routing.graph;
+
+import java.util.stream.IntStream;
+
+/**
+ * Betweenness centrality of every country in one graph version, indexed by dense id.
+ *
+ * @param graph the graph snapshot the scores were computed on
+ * @param approximate true if the scores were estimated from sampled sources
+ * @param sources the number of BFS sources used
+ * @param scores the score per dense id; must not be modified
+ */
+public record CentralityScores(
+    GraphSnapshot graph, boolean approximate, int sources, double[] scores) {
+
+  public long graphVersion() {
+    return graph.version();
+  }
+
+  /** Returns the dense ids of the highest scoring countries, best first. */
+  public int[] top(int limit) {
+    return IntStream.range(0, scores.length)
+        .boxed()
+        .sorted((a, b) -> Double.compare(scores[b], scores[a]))
+        .limit(limit)
+        .mapToInt(Integer::intValue)
+        .toArray();
+  }
+}
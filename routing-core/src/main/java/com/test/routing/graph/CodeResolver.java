@@ -0,0 +1,118 @@
+package com.test.routing.graph;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Case-insensitive lookup from any country code scheme (cca3, cca2, ccn3, cioc) to the dense id.
+ *
+ * <p>Codes of the standard schemes are two or three characters out of {@code [0-9A-Za-z]}. Packing
+ * such a code in base 37, with 0 reserved for "no character", gives a collision-free index into a
+ * table of 37³ slots, so a lookup reads the characters once and touches a single array element
+ * without allocating. Codes that do not fit the scheme, for example longer internal codes, are
+ * matched exactly through the code table instead.
+ *
+ * <p>A cca3 code always wins over an alias of another country. Two aliases of different countries
+ * claiming the same slot are both dropped, so an ambiguous code is never resolved.
+ */
+public final class CodeResolver {
+
+  private static final int RADIX = 37;
+  private static final int MAX_LENGTH = 3;
+  private static final int SLOTS = RADIX * RADIX * RADIX;
+
+  private final CountryCodes table;
+  // Dense id + 1 per slot, 0 marks an empty slot
+  private final int[] slots;
+  private final int ambiguous;
+
+  private CodeResolver(CountryCodes table, int[] slots, int ambiguous) {
+    this.table = table;
+    this.slots = slots;
+    this.ambiguous = ambiguous;
+  }
+
+  /**
+   * Builds the resolver for the given countries.
+   *
+   * @param table the code table the ids come from
+   * @param members the ids of the countries to resolve
+   * @param aliases additional codes per cca3 code, e.g. cca2, ccn3 and cioc
+   */
+  public static CodeResolver build(
+      CountryCodes table, BitSet members, Map<String, ? extends Collection<String>> aliases) {
+    int[] slots = new int[SLOTS];
+    BitSet primary = new BitSet(SLOTS);
+    for (int id = members.nextSetBit(0); id >= 0; id = members.nextSetBit(id + 1)) {
+      int slot = slotOf(table.codeOf(id));
+      if (slot >= 0) {
+        slots[slot] = id + 1;
+        primary.set(slot);
+      }
+    }
+
+    BitSet dropped = new BitSet(SLOTS);
+    for (Map.Entry<String, ? extends Collection<String>> entry : aliases.entrySet()) {
+      int id = table.idOf(entry.getKey());
+      if (id < 0 || !members.get(id)) {
+        continue;
+      }
+      for (String alias : entry.getValue()) {
+        int slot = alias == null ? -1 : slotOf(alias);
+        if (slot < 0 || primary.get(slot) || dropped.get(slot) || slots[slot] == id + 1) {
+          continue;
+        }
+        if (slots[slot] != 0) {
+          slots[slot] = 0;
+          dropped.set(slot);
+        } else {
+          slots[slot] = id + 1;
+        }
+      }
+    }
+    return new CodeResolver(table, slots, dropped.cardinality());
+  }
+
+  /** Returns the dense id of the code in any supported scheme, or -1 if it is unknown. */
+  public int resolve(CharSequence code) {
+    int slot = slotOf(code);
+    if (slot >= 0) {
+      return slots[slot] - 1;
+    }
+    return code == null ? -1 : table.idOf(code.toString());
+  }
+
+  /** Number of alias codes dropped because they were claimed by several countries. */
+  public int ambiguousCount() {
+    return ambiguous;
+  }
+
+  private static int slotOf(CharSequence code) {
+    if (code == null || code.length() < 2 || code.length() > MAX_LENGTH) {
+      return -1;
+    }
+    int slot = 0;
+    for (int i = 0; i < code.length(); i++) {
+      int digit = digit(code.charAt(i));
+      if (digit < 0) {
+        return -1;
+      }
+      slot = slot * RADIX + digit;
+    }
+    return slot;
+  }
+
+  private static int digit(char c) {
+    if (c >= '0' && c <= '9') {
+      return c - '0' + 1;
+    }
+    if (c >= 'A' && c <= 'Z') {
+      return c - 'A' + 11;
+    }
+    if (c >= 'a' && c <= 'z') {
+      return c - 'a' + 11;
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,411 @@
+package com.test.routing.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Neighbor lists of a graph in a compact, read-only byte encoding, held either on the heap or in a
+ * memory-mapped file. Every list is sorted and stored as its length followed by gaps: the first
+ * neighbor relative to the country itself, zigzag encoded, and every further one as the distance to
+ * its predecessor minus one, all as little-endian base-128 varints. Neighbors with nearby ids
+ * therefore take a single byte, and a list is decoded front to back without any lookup besides its
+ * start in the offset index.
+ *
+ * <p>Layout, little-endian:
+ *
+ * <pre>
+ * int  magic "CAJ1"
+ * int  format version
+ * int  n, the number of lists
+ * int  reserved
+ * long number of neighbors in all lists
+ * long fingerprint of the lists
+ * int  offsets[n + 1]   start of every list in the data, the last one is the data length
+ * byte data[]
+ * </pre>
+ *
+ * <p>Offsets are ints, so the encoding is limited to 2 GiB; that is about 500 million neighbors of
+ * ids far apart and several times more for graphs whose neighbors have nearby ids.
+ */
+public final class CompressedAdjacency {
+
+  static final int MAGIC = 0x314a4143;
+  static final int FORMAT_VERSION = 1;
+  static final int HEADER_BYTES = 32;
+  private static final int WRITE_CHUNK_BYTES = 64 * 1024;
+
+  private final ByteBuffer buffer;
+  private final int n;
+  private final long entries;
+  private final long fingerprint;
+  private final int dataStart;
+  private final int maxDegree;
+  private final Path file;
+
+  private CompressedAdjacency(ByteBuffer buffer, Path file) {
+    this.buffer = buffer;
+    this.n = buffer.getInt(8);
+    this.entries = buffer.getLong(16);
+    this.fingerprint = buffer.getLong(24);
+    this.dataStart = HEADER_BYTES + 4 * (n + 1);
+    this.file = file;
+    int max = 0;
+    for (int id = 0; id < n; id++) {
+      max = Math.max(max, degree(id));
+    }
+    this.maxDegree = max;
+  }
+
+  /**
+   * Encodes the neighbor lists on the heap. The lists are not modified.
+   *
+   * @throws IllegalArgumentException if a list contains an id twice or the encoding exceeds 2 GiB
+   */
+  public static CompressedAdjacency of(int[][] rows) {
+    long[] measured = measure(rows);
+    ByteBuffer buffer = ByteBuffer.allocate((int) measured[1]).order(ByteOrder.LITTLE_ENDIAN);
+    try {
+      encode(rows, measured[0], new Output(buffer, null));
+    } catch (IOException e) {
+      // Nothing is written to a channel
+      throw new IllegalStateException(e);
+    }
+    return new CompressedAdjacency(buffer.clear(), null);
+  }
+
+  /**
+   * Maps the encoding of the neighbor lists from the directory, encoding and writing it first if no
+   * valid file exists. The file is named after a fingerprint of the lists, so every JVM on a host
+   * loading the same graph maps the same file; concurrent writers race harmlessly like those of
+   * {@link RouteTable}. The encoding is streamed to the file, so it is never held on the heap.
+   *
+   * @throws IllegalArgumentException if a list contains an id twice or the encoding exceeds 2 GiB
+   */
+  public static CompressedAdjacency open(int[][] rows, Path directory) throws IOException {
+    long fingerprint = fingerprint(rows);
+    Path file = directory.resolve(String.format("adjacency-%016x.bin", fingerprint));
+    if (Files.isRegularFile(file)) {
+      CompressedAdjacency existing = map(file);
+      if (existing.size() == rows.length && existing.fingerprint() == fingerprint) {
+        return existing;
+      }
+    }
+
+    Files.createDirectories(directory);
+    Path temporary = Files.createTempFile(directory, "adjacency", ".tmp");
+    try {
+      write(rows, temporary);
+      try {
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException | FileAlreadyExistsException e) {
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+    return map(file);
+  }
+
+  /**
+   * Maps an encoding written by {@link #writeTo(Path)}.
+   *
+   * @throws IOException if the file cannot be read or is not a valid encoding
+   */
+  public static CompressedAdjacency map(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+        throw new IOException("Invalid adjacency file " + file + " of " + size + " bytes");
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      int n = buffer.getInt(8);
+      if (buffer.getInt(0) != MAGIC
+          || buffer.getInt(4) != FORMAT_VERSION
+          || n < 0
+          || HEADER_BYTES + 4L * (n + 1) > size
+          || HEADER_BYTES + 4L * (n + 1) + buffer.getInt(HEADER_BYTES + 4 * n) != size) {
+        throw new IOException("Invalid adjacency file " + file);
+      }
+      // The mapping stays valid after the channel is closed
+      return new CompressedAdjacency(buffer, file);
+    }
+  }
+
+  /** Writes the encoding to a file, replacing its content. */
+  public void writeTo(Path file) throws IOException {
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer content = buffer.duplicate().clear();
+      while (content.hasRemaining()) {
+        channel.write(content);
+      }
+      channel.force(false);
+    }
+  }
+
+  /** Number of neighbor lists. */
+  public int size() {
+    return n;
+  }
+
+  /** Number of neighbors in all lists. */
+  public long entries() {
+    return entries;
+  }
+
+  /** Size of the whole encoding including the header and the offset index. */
+  public long byteSize() {
+    return buffer.capacity();
+  }
+
+  public long fingerprint() {
+    return fingerprint;
+  }
+
+  /** Returns the file the encoding is mapped from, or null if it is held on the heap. */
+  public Path file() {
+    return file;
+  }
+
+  public int degree(int id) {
+    return readVarint(start(id));
+  }
+
+  /** Largest number of neighbors of any list. */
+  public int maxDegree() {
+    return maxDegree;
+  }
+
+  /** Returns the sorted neighbors of a country in a new array. */
+  public int[] neighbors(int id) {
+    int position = start(id);
+    int degree = readVarint(position);
+    int[] neighbors = new int[degree];
+    decode(id, position + varintLength(degree), degree, neighbors);
+    return neighbors;
+  }
+
+  /**
+   * Decodes the sorted neighbors of a country into the buffer without allocating.
+   *
+   * @return the number of neighbors
+   * @throws ArrayIndexOutOfBoundsException if the buffer is shorter than the degree
+   */
+  public int neighbors(int id, int[] into) {
+    int position = start(id);
+    int degree = readVarint(position);
+    decode(id, position + varintLength(degree), degree, into);
+    return degree;
+  }
+
+  private int start(int id) {
+    return dataStart + buffer.getInt(HEADER_BYTES + 4 * id);
+  }
+
+  private void decode(int id, int position, int degree, int[] into) {
+    int previous = id;
+    for (int i = 0; i < degree; i++) {
+      // Inlined varint read, this is the loop a BFS spends its time in
+      int value = buffer.get(position++);
+      if (value < 0) {
+        value &= 0x7f;
+        int shift = 7;
+        byte b;
+        do {
+          b = buffer.get(position++);
+          value |= (b & 0x7f) << shift;
+          shift += 7;
+        } while (b < 0);
+      }
+      previous = i == 0 ? id + ((value >>> 1) ^ -(value & 1)) : previous + value + 1;
+      into[i] = previous;
+    }
+  }
+
+  private int readVarint(int position) {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.get(position++);
+      value |= (b & 0x7f) << shift;
+      shift += 7;
+    } while (b < 0);
+    return value;
+  }
+
+  /** Returns the number of neighbors and the size of the whole encoding. */
+  private static long[] measure(int[][] rows) {
+    int n = rows.length;
+    long bytes = HEADER_BYTES + 4L * (n + 1);
+    long entries = 0;
+    for (int id = 0; id < n; id++) {
+      bytes += encodedLength(id, sorted(rows[id]));
+      entries += rows[id].length;
+    }
+    if (bytes > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Adjacency encoding of " + bytes + " bytes exceeds 2 GiB");
+    }
+    return new long[] {entries, bytes};
+  }
+
+  private static void write(int[][] rows, Path file) throws IOException {
+    long entries = measure(rows)[0];
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      Output out =
+          new Output(
+              ByteBuffer.allocate(WRITE_CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN), channel);
+      encode(rows, entries, out);
+      out.flush();
+      channel.force(false);
+    }
+  }
+
+  /** Writes the header, the offset index and the lists front to back. */
+  private static void encode(int[][] rows, long entries, Output out) throws IOException {
+    int n = rows.length;
+    out.putInt(MAGIC);
+    out.putInt(FORMAT_VERSION);
+    out.putInt(n);
+    out.putInt(0);
+    out.putLong(entries);
+    out.putLong(fingerprint(rows));
+    long offset = 0;
+    for (int id = 0; id < n; id++) {
+      out.putInt((int) offset);
+      offset += encodedLength(id, sorted(rows[id]));
+    }
+    out.putInt((int) offset);
+    for (int id = 0; id < n; id++) {
+      int[] row = sorted(rows[id]);
+      out.putVarint(row.length);
+      int previous = id;
+      for (int i = 0; i < row.length; i++) {
+        out.putVarint(i == 0 ? zigzag(row[i] - id) : row[i] - previous - 1);
+        previous = row[i];
+      }
+    }
+  }
+
+  private static int[] sorted(int[] row) {
+    int[] sorted = row.clone();
+    Arrays.sort(sorted);
+    for (int i = 1; i < sorted.length; i++) {
+      if (sorted[i] == sorted[i - 1]) {
+        throw new IllegalArgumentException("Neighbor " + sorted[i] + " is listed twice");
+      }
+    }
+    return sorted;
+  }
+
+  private static long encodedLength(int id, int[] row) {
+    long length = varintLength(row.length);
+    for (int i = 0; i < row.length; i++) {
+      length += varintLength(i == 0 ? zigzag(row[i] - id) : row[i] - row[i - 1] - 1);
+    }
+    return length;
+  }
+
+  private static int zigzag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  private static int varintLength(int value) {
+    // Values are treated as unsigned, so zigzag results of large gaps take five bytes
+    return value >>> 7 == 0
+        ? 1
+        : value >>> 14 == 0 ? 2 : value >>> 21 == 0 ? 3 : value >>> 28 == 0 ? 4 : 5;
+  }
+
+  /** FNV-1a hash of the number of lists and every list in sorted order. */
+  static long fingerprint(int[][] rows) {
+    long hash = 0xcbf29ce484222325L;
+    hash = mix(hash, rows.length);
+    for (int[] row : rows) {
+      int[] sorted = row.clone();
+      Arrays.sort(sorted);
+      hash = mix(hash, sorted.length);
+      for (int neighbor : sorted) {
+        hash = mix(hash, neighbor);
+      }
+    }
+    return hash;
+  }
+
+  private static long mix(long hash, int value) {
+    for (int shift = 0; shift < 32; shift += 8) {
+      hash ^= (value >>> shift) & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  /**
+   * Sequential writer of the encoding, either into a buffer holding all of it or through a chunk
+   * buffer flushed to a channel.
+   */
+  private static final class Output {
+
+    private final ByteBuffer buffer;
+    private final WritableByteChannel channel;
+
+    Output(ByteBuffer buffer, WritableByteChannel channel) {
+      this.buffer = buffer;
+      this.channel = channel;
+    }
+
+    void putInt(int value) throws IOException {
+      ensure(4);
+      buffer.putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+      ensure(8);
+      buffer.putLong(value);
+    }
+
+    void putVarint(int value) throws IOException {
+      ensure(5);
+      while (value >>> 7 != 0) {
+        buffer.put((byte) ((value & 0x7f) | 0x80));
+        value >>>= 7;
+      }
+      buffer.put((byte) value);
+    }
+
+    void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+
+    private void ensure(int bytes) throws IOException {
+      if (channel != null && buffer.remaining() < bytes) {
+        flush();
+      }
+    }
+  }
+}
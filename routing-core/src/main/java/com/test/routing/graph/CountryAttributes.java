@@ -0,0 +1,131 @@
+package com.test.routing.graph;
+
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable per-country attributes of one dataset load, kept as one bitset over dense ids per
+ * attribute, so a predicate over several attributes is a handful of word-wise bitset operations.
+ *
+ * <p>The attributes are {@code landlocked}, {@code coastal} (explicitly not landlocked), {@code
+ * unMember} and {@code region:<region>} for every region in the data. Attribute names and region
+ * values are case-insensitive.
+ */
+public final class CountryAttributes {
+
+  public static final String LANDLOCKED = "landlocked";
+  public static final String COASTAL = "coastal";
+  public static final String UN_MEMBER = "unMember";
+  public static final String REGION = "region";
+
+  private static final CountryAttributes EMPTY = new Builder(null).build();
+
+  private final BitSet members;
+  // Keyed by lower case name, e.g. "unmember" or "region:europe"
+  private final Map<String, BitSet> attributes;
+
+  private CountryAttributes(BitSet members, Map<String, BitSet> attributes) {
+    this.members = members;
+    this.attributes = attributes;
+  }
+
+  public static Builder builder(CountryCodes table) {
+    return new Builder(table);
+  }
+
+  /** Returns attributes without any countries, for datasets that have not been loaded. */
+  public static CountryAttributes empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns the countries matching every term of a comma-separated predicate, e.g. {@code
+   * "coastal"} or {@code "region:Europe,!landlocked"}. A term prefixed with {@code !} matches the
+   * countries without the attribute.
+   *
+   * @return a new bitset over dense ids
+   * @throws IllegalArgumentException if the predicate is empty or names an unknown attribute
+   */
+  public BitSet select(String predicate) {
+    BitSet result = (BitSet) members.clone();
+    boolean any = false;
+    for (String term : predicate.split(",")) {
+      String name = term.strip();
+      if (name.isEmpty()) {
+        continue;
+      }
+      boolean negated = name.startsWith("!");
+      if (negated) {
+        name = name.substring(1).strip();
+      }
+      BitSet matching = attributes.get(name.toLowerCase(Locale.ROOT));
+      if (matching == null) {
+        throw new IllegalArgumentException(
+            "Unknown attribute " + name + ", expected one of " + names());
+      }
+      if (negated) {
+        result.andNot(matching);
+      } else {
+        result.and(matching);
+      }
+      any = true;
+    }
+    if (!any) {
+      throw new IllegalArgumentException("Predicate must name at least one attribute");
+    }
+    return result;
+  }
+
+  /** Returns the attribute names in lower case, sorted. */
+  public Set<String> names() {
+    return new TreeSet<>(attributes.keySet());
+  }
+
+  /** Collects attributes country by country. */
+  public static final class Builder {
+
+    private final CountryCodes table;
+    private final BitSet members = new BitSet();
+    private final Map<String, BitSet> attributes = new TreeMap<>();
+
+    private Builder(CountryCodes table) {
+      this.table = table;
+      attributes.put(LANDLOCKED.toLowerCase(Locale.ROOT), new BitSet());
+      attributes.put(COASTAL.toLowerCase(Locale.ROOT), new BitSet());
+      attributes.put(UN_MEMBER.toLowerCase(Locale.ROOT), new BitSet());
+    }
+
+    /**
+     * Adds the attributes of a country whose code is interned already. Null values leave the
+     * country out of both the attribute and its opposite.
+     */
+    public Builder add(String code, Boolean landlocked, Boolean unMember, String region) {
+      int id = table.idOf(code);
+      if (id < 0) {
+        return this;
+      }
+      members.set(id);
+      if (landlocked != null) {
+        attributes.get(landlocked ? LANDLOCKED : COASTAL.toLowerCase(Locale.ROOT)).set(id);
+      }
+      if (Boolean.TRUE.equals(unMember)) {
+        attributes.get(UN_MEMBER.toLowerCase(Locale.ROOT)).set(id);
+      }
+      if (region != null && !region.isBlank()) {
+        attributes
+            .computeIfAbsent(
+                REGION + ":" + region.strip().toLowerCase(Locale.ROOT), key -> new BitSet())
+            .set(id);
+      }
+      return this;
+    }
+
+    public CountryAttributes build() {
+      return new CountryAttributes((BitSet) members.clone(), Map.copyOf(attributes));
+    }
+  }
+}
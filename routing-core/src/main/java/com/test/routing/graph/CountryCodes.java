@@ -0,0 +1,65 @@
+package com.test.routing.graph;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only intern table assigning every country code a dense id. Snapshots built on the same
+ * table share its code array and id map, so a graph dataset only pays for its own adjacency and
+ * membership, and the same code has the same id in every dataset. Ids are never reused.
+ */
+public final class CountryCodes {
+
+  private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+  private volatile String[] codes = new String[256];
+  private volatile int size;
+
+  /** Returns the id of the code, assigning the next free id if the code is new. */
+  public int intern(String code) {
+    Integer id = ids.get(code);
+    if (id != null) {
+      return id;
+    }
+    synchronized (this) {
+      id = ids.get(code);
+      if (id != null) {
+        return id;
+      }
+      int next = size;
+      String[] current = codes;
+      if (next == current.length) {
+        // Published snapshots keep the old array, which stays valid for the ids they know
+        current = Arrays.copyOf(current, current.length * 2);
+      }
+      current[next] = code;
+      codes = current;
+      ids.put(code, next);
+      size = next + 1;
+      return next;
+    }
+  }
+
+  /** Returns the id of a code, or -1 if it was never interned. */
+  public int idOf(String code) {
+    Integer id = ids.get(code);
+    return id == null ? -1 : id;
+  }
+
+  public String codeOf(int id) {
+    return codes[id];
+  }
+
+  /** Number of interned codes. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the backing code array. Entries below {@link #size()} at the time of the call never
+   * change.
+   */
+  String[] codes() {
+    return codes;
+  }
+}
@@ -0,0 +1,83 @@
+package com.test.routing.graph;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Describes the transition from one graph snapshot to the next. Consumers use it to invalidate only
+ * the derived data that the change can actually affect.
+ *
+ * @param kind the kind of change
+ * @param previous the snapshot before the change, null for the initial load
+ * @param current the snapshot after the change
+ * @param countries the country codes named by the change
+ * @param affectedComponents component labels in the previous snapshot touched by the change
+ */
+public record GraphChange(
+    Kind kind,
+    GraphSnapshot previous,
+    GraphSnapshot current,
+    List<String> countries,
+    Set<Integer> affectedComponents) {
+
+  public enum Kind {
+    RELOAD,
+    ADD_BORDER,
+    REMOVE_BORDER,
+    DISABLE_COUNTRY,
+    ENABLE_COUNTRY
+  }
+
+  public GraphChange {
+    countries = List.copyOf(countries);
+    affectedComponents = Set.copyOf(affectedComponents);
+  }
+
+  /** Creates a change replacing the whole graph, which invalidates everything derived from it. */
+  public static GraphChange reload(GraphSnapshot previous, GraphSnapshot current) {
+    return new GraphChange(Kind.RELOAD, previous, current, List.of(), Set.of());
+  }
+
+  /**
+   * Decides whether a route computed on the previous snapshot may be wrong on the current one.
+   *
+   * <ul>
+   *   <li>Removing a border only breaks routes crossing it; all other shortest routes stay valid
+   *       because removing an edge never shortens a path.
+   *   <li>Disabling a country only breaks routes passing through it.
+   *   <li>Adding a border or enabling a country can shorten routes, or connect previously
+   *       unreachable pairs, but only between countries of the components it touches.
+   * </ul>
+   *
+   * @param origin the origin country code of the cached route
+   * @param destination the destination country code of the cached route
+   * @param route the cached route, empty if no route existed
+   * @return true if the cached route has to be dropped
+   */
+  public boolean invalidates(String origin, String destination, List<String> route) {
+    return switch (kind) {
+      case RELOAD -> true;
+      case REMOVE_BORDER -> crosses(route, countries.get(0), countries.get(1));
+      case DISABLE_COUNTRY -> route.contains(countries.get(0));
+      case ADD_BORDER, ENABLE_COUNTRY -> countries.contains(origin)
+          || countries.contains(destination)
+          || (touches(origin) && touches(destination));
+    };
+  }
+
+  private boolean touches(String code) {
+    int id = previous.idOf(code);
+    return id >= 0 && affectedComponents.contains(previous.componentOf(id));
+  }
+
+  private static boolean crosses(List<String> route, String a, String b) {
+    for (int i = 1; i < route.size(); i++) {
+      String from = route.get(i - 1);
+      String to = route.get(i);
+      if ((from.equals(a) && to.equals(b)) || (from.equals(b) && to.equals(a))) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,621 @@
+package com.test.routing.graph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Immutable, versioned view of the border graph using dense integer ids. Borders are treated as
+ * undirected. Besides the declared borders the snapshot keeps the effective adjacency between
+ * enabled countries and a connected-component label per country, so routing can reject pairs in
+ * different components without searching.
+ *
+ * <p>Mutations never modify a snapshot in place. Each one returns a {@link GraphChange} holding a
+ * new snapshot that shares every adjacency row it did not touch with its predecessor, and only
+ * relabels the components that were actually merged or split.
+ *
+ * <p>Dense ids come from a {@link CountryCodes} table that may be shared between several datasets.
+ * The id space of a snapshot therefore can contain countries that are not part of its dataset; they
+ * are unknown to {@link #idOf(String)}, never enabled and belong to no component.
+ *
+ * <p>The rows are plain arrays unless the snapshot was {@linkplain #compress() compressed}. A
+ * compressed snapshot serves every row it inherited from a {@link CompressedAdjacency}, on the heap
+ * or memory-mapped, and keeps only the rows later mutations replaced as arrays; a null row stands
+ * for the compressed one.
+ */
+public final class GraphSnapshot {
+
+  private static final int[] NO_NEIGHBORS = new int[0];
+
+  private final long version;
+  private final CountryCodes table;
+  private final String[] codes;
+  private final int size;
+  private final BitSet members;
+  private final CodeResolver resolver;
+  private final int[][] borders;
+  private final int[][] adjacency;
+  private final BitSet disabled;
+  private final int[] components;
+  private final int[] componentSizes;
+  private final CompressedAdjacency compressed;
+
+  private volatile Map<String, List<String>> borderGraph;
+
+  private GraphSnapshot(
+      long version,
+      CountryCodes table,
+      BitSet members,
+      CodeResolver resolver,
+      int[][] borders,
+      int[][] adjacency,
+      BitSet disabled,
+      int[] components,
+      int[] componentSizes,
+      CompressedAdjacency compressed) {
+    this.version = version;
+    this.table = table;
+    this.codes = table.codes();
+    this.size = borders.length;
+    this.members = members;
+    this.resolver = resolver;
+    this.borders = borders;
+    this.adjacency = adjacency;
+    this.disabled = disabled;
+    this.components = components;
+    this.componentSizes = componentSizes;
+    this.compressed = compressed;
+  }
+
+  /** Builds the first version of a snapshot from a country code to borders map. */
+  public static GraphSnapshot of(Map<String, List<String>> borderGraph) {
+    return of(borderGraph, 1);
+  }
+
+  /** Builds a snapshot with its own code table, so ids follow the iteration order of the map. */
+  public static GraphSnapshot of(Map<String, List<String>> borderGraph, long version) {
+    return of(borderGraph, version, new CountryCodes());
+  }
+
+  /**
+   * Builds a snapshot from a country code to borders map, interning its codes in the given table.
+   * Borders pointing to codes that are not keys of the map are dropped, and every border is made
+   * symmetric.
+   */
+  public static GraphSnapshot of(
+      Map<String, List<String>> borderGraph, long version, CountryCodes table) {
+    return of(borderGraph, version, table, Map.of());
+  }
+
+  /**
+   * Builds a snapshot like {@link #of(Map, long, CountryCodes)} whose countries can also be
+   * resolved by the given alternative codes, e.g. cca2, ccn3 and cioc, keyed by the primary code.
+   */
+  public static GraphSnapshot of(
+      Map<String, List<String>> borderGraph,
+      long version,
+      CountryCodes table,
+      Map<String, ? extends Collection<String>> aliases) {
+    BitSet members = new BitSet();
+    for (String code : borderGraph.keySet()) {
+      members.set(table.intern(code));
+    }
+    int n = table.size();
+
+    List<Set<Integer>> rows = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      rows.add(new LinkedHashSet<>());
+    }
+    for (Map.Entry<String, List<String>> entry : borderGraph.entrySet()) {
+      int i = table.idOf(entry.getKey());
+      for (String neighbor : entry.getValue()) {
+        int j = table.idOf(neighbor);
+        if (j >= 0 && j != i && members.get(j)) {
+          rows.get(i).add(j);
+          rows.get(j).add(i);
+        }
+      }
+    }
+
+    int[][] borders = new int[n][];
+    for (int i = 0; i < n; i++) {
+      borders[i] =
+          rows.get(i).isEmpty()
+              ? NO_NEIGHBORS
+              : rows.get(i).stream().mapToInt(Integer::intValue).toArray();
+      // Released row by row, so the boxed and the array rows are not all held at once
+      rows.set(i, null);
+    }
+
+    int[] components = new int[n];
+    int[] componentSizes = new int[n];
+    Arrays.fill(components, -1);
+    BitSet visited = new BitSet(n);
+    for (int i = members.nextSetBit(0); i >= 0; i = members.nextSetBit(i + 1)) {
+      if (components[i] < 0) {
+        componentSizes[i] = relabel(borders, null, components, i, -1, i, visited);
+      }
+    }
+
+    // Countries of other datasets sharing the table are kept disabled
+    BitSet disabled = new BitSet(n);
+    disabled.set(0, n);
+    disabled.andNot(members);
+    return new GraphSnapshot(
+        version,
+        table,
+        members,
+        CodeResolver.build(table, members, aliases),
+        borders,
+        borders,
+        disabled,
+        components,
+        componentSizes,
+        null);
+  }
+
+  public long version() {
+    return version;
+  }
+
+  /**
+   * Size of the dense id space. Includes disabled countries and countries of other datasets sharing
+   * the code table.
+   */
+  public int size() {
+    return size;
+  }
+
+  /** Number of countries in the dataset, including disabled ones. */
+  public int countryCount() {
+    return members.cardinality();
+  }
+
+  /** Returns the dense id of a country code, or -1 if the code is not part of this dataset. */
+  public int idOf(String code) {
+    int id = table.idOf(code);
+    return id >= 0 && id < size && members.get(id) ? id : -1;
+  }
+
+  /**
+   * Returns the dense id of a country given by a code of any supported scheme, ignoring case, or -1
+   * if the code does not belong to a country of this dataset. Does not allocate for codes of the
+   * standard schemes.
+   */
+  public int resolve(CharSequence code) {
+    int id = resolver.resolve(code);
+    return id >= 0 && id < size && members.get(id) ? id : -1;
+  }
+
+  public String codeOf(int id) {
+    return codes[id];
+  }
+
+  /**
+   * Returns the effective neighbors of a country. The array of an uncompressed row is shared and
+   * must not be modified; a compressed row is decoded into a new array on every call, so searches
+   * use {@link #neighbors(int, NeighborBuffer)} instead.
+   */
+  public int[] neighbors(int id) {
+    return row(adjacency, compressed, id);
+  }
+
+  /**
+   * Fills the buffer with the effective neighbors of a country, in the same order as {@link
+   * #neighbors(int)}. Uncompressed rows are referenced and compressed rows decoded into the buffer,
+   * so this does not allocate once the buffer has grown to the largest row.
+   */
+  public void neighbors(int id, NeighborBuffer into) {
+    int[] row = adjacency[id];
+    if (row != null) {
+      into.reference(row);
+    } else {
+      into.decode(compressed, id, compressed.maxDegree());
+    }
+  }
+
+  public boolean isEnabled(int id) {
+    return !disabled.get(id);
+  }
+
+  /** Returns the component label of a country, or -1 if the country is disabled. */
+  public int componentOf(int id) {
+    return components[id];
+  }
+
+  /** Returns the number of countries in the component with the given label. */
+  public int componentSize(int label) {
+    return componentSizes[label];
+  }
+
+  /** Returns true if the border is declared, regardless of whether its endpoints are enabled. */
+  public boolean hasBorder(int a, int b) {
+    return indexOf(row(borders, compressed, a), b) >= 0;
+  }
+
+  /**
+   * Returns the effective graph as a country code to neighbor codes map. Disabled countries are
+   * kept as keys with no neighbors. The map is built once per snapshot and is unmodifiable.
+   */
+  public Map<String, List<String>> borderGraph() {
+    Map<String, List<String>> view = borderGraph;
+    if (view == null) {
+      Map<String, List<String>> graph = new LinkedHashMap<>(members.cardinality() * 2);
+      for (int i = members.nextSetBit(0); i >= 0; i = members.nextSetBit(i + 1)) {
+        int[] row = neighbors(i);
+        List<String> neighbors = new ArrayList<>(row.length);
+        for (int neighbor : row) {
+          neighbors.add(codes[neighbor]);
+        }
+        graph.put(codes[i], List.copyOf(neighbors));
+      }
+      view = Collections.unmodifiableMap(graph);
+      borderGraph = view;
+    }
+    return view;
+  }
+
+  /**
+   * Returns a snapshot of the same version whose rows are held in a {@link CompressedAdjacency} on
+   * the heap. Neighbors are then listed in ascending id order, so a search may pick a different one
+   * of several equally short routes than on the uncompressed snapshot.
+   */
+  public GraphSnapshot compress() {
+    return compress(CompressedAdjacency.of(declaredRows()));
+  }
+
+  /**
+   * Returns a snapshot like {@link #compress()} whose compressed rows are memory-mapped from a file
+   * in the directory, shared with every snapshot of the same borders on the host.
+   */
+  public GraphSnapshot compress(Path directory) throws IOException {
+    return compress(CompressedAdjacency.open(declaredRows(), directory));
+  }
+
+  /** Returns the compressed adjacency backing this snapshot, or null if its rows are arrays. */
+  public CompressedAdjacency compressedAdjacency() {
+    return compressed;
+  }
+
+  private int[][] declaredRows() {
+    int[][] rows = new int[size][];
+    for (int id = 0; id < size; id++) {
+      rows[id] = row(borders, compressed, id);
+    }
+    return rows;
+  }
+
+  private GraphSnapshot compress(CompressedAdjacency encoded) {
+    // Effective rows that differ from the declared ones stay arrays, in the same order
+    int[][] newBorders = new int[size][];
+    int[][] newAdjacency = newBorders;
+    for (int id = 0; id < size; id++) {
+      if (adjacency[id] != borders[id]) {
+        if (newAdjacency == newBorders) {
+          newAdjacency = new int[size][];
+        }
+        int[] row = neighbors(id).clone();
+        Arrays.sort(row);
+        newAdjacency[id] = row;
+      }
+    }
+    return new GraphSnapshot(
+        version,
+        table,
+        members,
+        resolver,
+        newBorders,
+        newAdjacency,
+        disabled,
+        components,
+        componentSizes,
+        encoded);
+  }
+
+  /** Adds an undirected border between two countries. */
+  public GraphChange addBorder(int a, int b) {
+    requireDistinct(a, b);
+    int[][] newBorders = borders.clone();
+    newBorders[a] = withNeighbor(row(borders, compressed, a), b);
+    newBorders[b] = withNeighbor(row(borders, compressed, b), a);
+
+    int[][] newAdjacency = adjacency;
+    int[] newComponents = components;
+    int[] newSizes = componentSizes;
+    Set<Integer> affected = Set.of();
+
+    if (isEnabled(a) && isEnabled(b)) {
+      newAdjacency = adjacency.clone();
+      newAdjacency[a] = withNeighbor(neighbors(a), b);
+      newAdjacency[b] = withNeighbor(neighbors(b), a);
+
+      int ca = components[a];
+      int cb = components[b];
+      affected = ca == cb ? Set.of(ca) : Set.of(ca, cb);
+      if (ca != cb) {
+        newComponents = components.clone();
+        newSizes = componentSizes.clone();
+        int keep = componentSizes[ca] >= componentSizes[cb] ? ca : cb;
+        int drop = keep == ca ? cb : ca;
+        int seed = keep == ca ? b : a;
+        merge(newAdjacency, compressed, newComponents, newSizes, seed, drop, keep);
+      }
+    }
+
+    GraphSnapshot next =
+        new GraphSnapshot(
+            version + 1,
+            table,
+            members,
+            resolver,
+            newBorders,
+            newAdjacency,
+            disabled,
+            newComponents,
+            newSizes,
+            compressed);
+    return new GraphChange(
+        GraphChange.Kind.ADD_BORDER, this, next, List.of(codes[a], codes[b]), affected);
+  }
+
+  /** Removes the undirected border between two countries. */
+  public GraphChange removeBorder(int a, int b) {
+    requireDistinct(a, b);
+    int[][] newBorders = borders.clone();
+    newBorders[a] = withoutNeighbor(row(borders, compressed, a), b);
+    newBorders[b] = withoutNeighbor(row(borders, compressed, b), a);
+
+    int[][] newAdjacency = adjacency;
+    int[] newComponents = components;
+    int[] newSizes = componentSizes;
+    Set<Integer> affected = Set.of();
+
+    if (isEnabled(a) && isEnabled(b)) {
+      newAdjacency = adjacency.clone();
+      newAdjacency[a] = withoutNeighbor(neighbors(a), b);
+      newAdjacency[b] = withoutNeighbor(neighbors(b), a);
+
+      int label = components[a];
+      affected = Set.of(label);
+      BitSet side = new BitSet(size);
+      if (!reaches(newAdjacency, compressed, components, a, b, label, side)) {
+        // The component split in two. The side still containing the label node keeps the label,
+        // the other side is relabelled after one of its own members.
+        newComponents = components.clone();
+        newSizes = componentSizes.clone();
+        int seed = side.get(label) ? b : a;
+        int count =
+            relabel(newAdjacency, compressed, newComponents, seed, label, seed, new BitSet());
+        newSizes[seed] = count;
+        newSizes[label] -= count;
+      }
+    }
+
+    GraphSnapshot next =
+        new GraphSnapshot(
+            version + 1,
+            table,
+            members,
+            resolver,
+            newBorders,
+            newAdjacency,
+            disabled,
+            newComponents,
+            newSizes,
+            compressed);
+    return new GraphChange(
+        GraphChange.Kind.REMOVE_BORDER, this, next, List.of(codes[a], codes[b]), affected);
+  }
+
+  /** Disables a country. Its borders are kept, but it can no longer be crossed or reached. */
+  public GraphChange disableCountry(int id) {
+    if (!isEnabled(id)) {
+      throw new IllegalArgumentException("Country " + codes[id] + " is already disabled");
+    }
+    BitSet newDisabled = (BitSet) disabled.clone();
+    newDisabled.set(id);
+
+    int[][] newAdjacency = adjacency.clone();
+    newAdjacency[id] = NO_NEIGHBORS;
+    int[] row = neighbors(id);
+    for (int neighbor : row) {
+      newAdjacency[neighbor] = withoutNeighbor(neighbors(neighbor), id);
+    }
+
+    int label = components[id];
+    int[] newComponents = components.clone();
+    int[] newSizes = componentSizes.clone();
+    newComponents[id] = -1;
+    newSizes[label] = 0;
+    // Removing the country may split its component into one piece per former neighbor
+    BitSet visited = new BitSet(size);
+    for (int neighbor : row) {
+      if (!visited.get(neighbor)) {
+        newSizes[neighbor] =
+            relabel(newAdjacency, compressed, newComponents, neighbor, label, neighbor, visited);
+      }
+    }
+
+    GraphSnapshot next =
+        new GraphSnapshot(
+            version + 1,
+            table,
+            members,
+            resolver,
+            borders,
+            newAdjacency,
+            newDisabled,
+            newComponents,
+            newSizes,
+            compressed);
+    return new GraphChange(
+        GraphChange.Kind.DISABLE_COUNTRY, this, next, List.of(codes[id]), Set.of(label));
+  }
+
+  /** Re-enables a previously disabled country together with its borders to enabled countries. */
+  public GraphChange enableCountry(int id) {
+    if (!members.get(id)) {
+      throw new IllegalArgumentException("Country " + codes[id] + " is not part of the dataset");
+    }
+    if (isEnabled(id)) {
+      throw new IllegalArgumentException("Country " + codes[id] + " is already enabled");
+    }
+    BitSet newDisabled = (BitSet) disabled.clone();
+    newDisabled.clear(id);
+
+    int[][] newAdjacency = adjacency.clone();
+    int[] row = Arrays.stream(row(borders, compressed, id)).filter(this::isEnabled).toArray();
+    newAdjacency[id] = row;
+    for (int neighbor : row) {
+      newAdjacency[neighbor] = withNeighbor(neighbors(neighbor), id);
+    }
+
+    int[] newComponents = components.clone();
+    int[] newSizes = componentSizes.clone();
+    Set<Integer> affected = new HashSet<>();
+    int keep = id;
+    for (int neighbor : row) {
+      int label = components[neighbor];
+      if (affected.add(label) && (keep == id || componentSizes[label] > componentSizes[keep])) {
+        keep = label;
+      }
+    }
+    newComponents[id] = keep;
+    newSizes[keep] = keep == id ? 1 : newSizes[keep] + 1;
+    for (int neighbor : row) {
+      int label = newComponents[neighbor];
+      if (label != keep) {
+        merge(newAdjacency, compressed, newComponents, newSizes, neighbor, label, keep);
+      }
+    }
+
+    GraphSnapshot next =
+        new GraphSnapshot(
+            version + 1,
+            table,
+            members,
+            resolver,
+            borders,
+            newAdjacency,
+            newDisabled,
+            newComponents,
+            newSizes,
+            compressed);
+    return new GraphChange(
+        GraphChange.Kind.ENABLE_COUNTRY, this, next, List.of(codes[id]), Set.copyOf(affected));
+  }
+
+  private static void merge(
+      int[][] adjacency,
+      CompressedAdjacency compressed,
+      int[] components,
+      int[] sizes,
+      int seed,
+      int drop,
+      int keep) {
+    relabel(adjacency, compressed, components, seed, drop, keep, new BitSet());
+    sizes[keep] += sizes[drop];
+    sizes[drop] = 0;
+  }
+
+  /**
+   * Relabels every node reachable from seed through nodes currently labelled {@code from} with
+   * {@code to}, and returns how many nodes were relabelled.
+   */
+  private static int relabel(
+      int[][] adjacency,
+      CompressedAdjacency compressed,
+      int[] components,
+      int seed,
+      int from,
+      int to,
+      BitSet visited) {
+    int[] queue = new int[components.length];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = seed;
+    visited.set(seed);
+    components[seed] = to;
+    while (head < tail) {
+      int current = queue[head++];
+      for (int neighbor : row(adjacency, compressed, current)) {
+        if (!visited.get(neighbor) && components[neighbor] == from) {
+          visited.set(neighbor);
+          components[neighbor] = to;
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+    return tail;
+  }
+
+  /** Checks whether target is reachable from source, recording every visited node in side. */
+  private static boolean reaches(
+      int[][] adjacency,
+      CompressedAdjacency compressed,
+      int[] components,
+      int source,
+      int target,
+      int label,
+      BitSet side) {
+    int[] queue = new int[components.length];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = source;
+    side.set(source);
+    while (head < tail) {
+      int current = queue[head++];
+      for (int neighbor : row(adjacency, compressed, current)) {
+        if (neighbor == target) {
+          return true;
+        }
+        if (!side.get(neighbor) && components[neighbor] == label) {
+          side.set(neighbor);
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+    return false;
+  }
+
+  /** Returns a row, decoding it from the compressed adjacency if it has no array. */
+  private static int[] row(int[][] rows, CompressedAdjacency compressed, int id) {
+    int[] row = rows[id];
+    return row != null ? row : compressed.neighbors(id);
+  }
+
+  private void requireDistinct(int a, int b) {
+    if (a == b) {
+      throw new IllegalArgumentException("A country cannot border itself: " + codes[a]);
+    }
+  }
+
+  private static int indexOf(int[] row, int value) {
+    for (int i = 0; i < row.length; i++) {
+      if (row[i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int[] withNeighbor(int[] row, int neighbor) {
+    if (indexOf(row, neighbor) >= 0) {
+      return row;
+    }
+    int[] copy = Arrays.copyOf(row, row.length + 1);
+    copy[row.length] = neighbor;
+    return copy;
+  }
+
+  private static int[] withoutNeighbor(int[] row, int neighbor) {
+    int index = indexOf(row, neighbor);
+    if (index < 0) {
+      return row;
+    }
+    int[] copy = new int[row.length - 1];
+    System.arraycopy(row, 0, copy, 0, index);
+    System.arraycopy(row, index + 1, copy, index, row.length - index - 1);
+    return copy;
+  }
+}
@@ -0,0 +1,189 @@
+package com.test.routing.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+ * Structural properties of one graph snapshot, held in primitive arrays indexed by dense id:
+ * articulation points and bridges (Tarjan), eccentricity of every country and the diameter of every
+ * component. Disabled countries have an eccentricity of -1 and are never articulation points.
+ *
+ * <p>Articulation points are countries whose closure splits their component, bridges are borders
+ * whose closure does.
+ */
+public final class GraphStructure {
+
+  private final GraphSnapshot graph;
+  private final BitSet articulationPoints;
+  private final int[] bridges;
+  private final int[] eccentricity;
+  private final int[] diameters;
+
+  private GraphStructure(
+      GraphSnapshot graph,
+      BitSet articulationPoints,
+      int[] bridges,
+      int[] eccentricity,
+      int[] diameters) {
+    this.graph = graph;
+    this.articulationPoints = articulationPoints;
+    this.bridges = bridges;
+    this.eccentricity = eccentricity;
+    this.diameters = diameters;
+  }
+
+  /** Analyzes the snapshot. Eccentricities are computed with one BFS per country in parallel. */
+  public static GraphStructure analyze(GraphSnapshot graph) {
+    int n = graph.size();
+    BitSet articulationPoints = new BitSet(n);
+    int[] bridges = findCutsAndBridges(graph, articulationPoints);
+
+    ThreadLocal<int[][]> workspace = ThreadLocal.withInitial(() -> new int[2][n]);
+    int[] eccentricity =
+        IntStream.range(0, n)
+            .parallel()
+            .map(id -> graph.isEnabled(id) ? eccentricity(graph, id, workspace.get()) : -1)
+            .toArray();
+
+    int[] diameters = new int[n];
+    for (int id = 0; id < n; id++) {
+      int label = graph.componentOf(id);
+      if (label >= 0) {
+        diameters[label] = Math.max(diameters[label], eccentricity[id]);
+      }
+    }
+    return new GraphStructure(graph, articulationPoints, bridges, eccentricity, diameters);
+  }
+
+  public GraphSnapshot graph() {
+    return graph;
+  }
+
+  public boolean isArticulationPoint(int id) {
+    return articulationPoints.get(id);
+  }
+
+  /** Returns the articulation points in ascending id order. */
+  public int[] articulationPoints() {
+    return articulationPoints.stream().toArray();
+  }
+
+  /** Number of bridge borders. */
+  public int bridgeCount() {
+    return bridges.length / 2;
+  }
+
+  /** Returns one endpoint of the i-th bridge. */
+  public int bridgeFrom(int index) {
+    return bridges[2 * index];
+  }
+
+  /** Returns the other endpoint of the i-th bridge. */
+  public int bridgeTo(int index) {
+    return bridges[2 * index + 1];
+  }
+
+  /** Returns the largest number of crossings from the country to any reachable country. */
+  public int eccentricity(int id) {
+    return eccentricity[id];
+  }
+
+  /** Returns the diameter of the component with the given label. */
+  public int diameter(int label) {
+    return diameters[label];
+  }
+
+  /**
+   * Iterative Tarjan DFS computing discovery times and low links. Returns bridges as flattened
+   * endpoint pairs and marks articulation points in the given set.
+   */
+  private static int[] findCutsAndBridges(GraphSnapshot graph, BitSet articulationPoints) {
+    int n = graph.size();
+    int[] discovery = new int[n];
+    int[] low = new int[n];
+    int[] parent = new int[n];
+    int[] nextNeighbor = new int[n];
+    int[] stack = new int[n];
+    int[] bridges = new int[16];
+    int bridgeLength = 0;
+    int time = 0;
+
+    for (int root = 0; root < n; root++) {
+      if (discovery[root] != 0 || !graph.isEnabled(root)) {
+        continue;
+      }
+      int rootChildren = 0;
+      int top = 0;
+      stack[top++] = root;
+      parent[root] = -1;
+      discovery[root] = low[root] = ++time;
+
+      while (top > 0) {
+        int current = stack[top - 1];
+        int[] neighbors = graph.neighbors(current);
+        if (nextNeighbor[current] < neighbors.length) {
+          int neighbor = neighbors[nextNeighbor[current]++];
+          if (discovery[neighbor] == 0) {
+            parent[neighbor] = current;
+            discovery[neighbor] = low[neighbor] = ++time;
+            stack[top++] = neighbor;
+            if (current == root) {
+              rootChildren++;
+            }
+          } else if (neighbor != parent[current]) {
+            low[current] = Math.min(low[current], discovery[neighbor]);
+          }
+        } else {
+          top--;
+          int up = parent[current];
+          if (up >= 0) {
+            low[up] = Math.min(low[up], low[current]);
+            if (low[current] > discovery[up]) {
+              if (bridgeLength == bridges.length) {
+                bridges = Arrays.copyOf(bridges, bridgeLength * 2);
+              }
+              bridges[bridgeLength++] = up;
+              bridges[bridgeLength++] = current;
+            }
+            if (up != root && low[current] >= discovery[up]) {
+              articulationPoints.set(up);
+            }
+          }
+        }
+      }
+      if (rootChildren > 1) {
+        articulationPoints.set(root);
+      }
+    }
+    return Arrays.copyOf(bridges, bridgeLength);
+  }
+
+  private static int eccentricity(GraphSnapshot graph, int source, int[][] workspace) {
+    int[] distance = workspace[0];
+    int[] queue = workspace[1];
+    NeighborBuffer neighbors = new NeighborBuffer();
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = source;
+    distance[source] = 0;
+    int max = 0;
+    while (head < tail) {
+      int current = queue[head++];
+      max = distance[current];
+      graph.neighbors(current, neighbors);
+      for (int i = 0; i < neighbors.count(); i++) {
+        int neighbor = neighbors.get(i);
+        if (neighbor != source && distance[neighbor] == 0) {
+          distance[neighbor] = distance[current] + 1;
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+    // Reset only the visited part so the workspace can be reused
+    for (int i = 0; i < tail; i++) {
+      distance[queue[i]] = 0;
+    }
+    return max;
+  }
+}
@@ -0,0 +1,43 @@
+package com.test.routing.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a bounded reachability search. Level i holds the countries first reached after i + 1
+ * crossings; levels stop early once no new country can be reached.
+ *
+ * @param graph the graph snapshot the search ran on
+ * @param origin the dense id of the origin
+ * @param counts the number of countries per level
+ * @param levels the countries per level as bitsets over dense ids, or null if only counts were kept
+ */
+public record HopLevels(GraphSnapshot graph, int origin, int[] counts, long[][] levels) {
+
+  public int depth() {
+    return counts.length;
+  }
+
+  /** Total number of countries reached, excluding the origin. */
+  public int total() {
+    int total = 0;
+    for (int count : counts) {
+      total += count;
+    }
+    return total;
+  }
+
+  /** Returns the country codes of a level in dense id order. */
+  public List<String> countries(int level) {
+    long[] bits = levels[level];
+    List<String> countries = new ArrayList<>(counts[level]);
+    for (int word = 0; word < bits.length; word++) {
+      long remaining = bits[word];
+      while (remaining != 0) {
+        countries.add(graph.codeOf((word << 6) + Long.numberOfTrailingZeros(remaining)));
+        remaining &= remaining - 1;
+      }
+    }
+    return countries;
+  }
+}
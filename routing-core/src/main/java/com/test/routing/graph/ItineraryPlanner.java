@@ -0,0 +1,167 @@
+package com.test.routing.graph;
+
+import java.util.Arrays;
+
+/**
+ * Orders the stops of a trip so that the total number of border crossings is minimal, given the
+ * crossings between every two points. Point 0 is the start; the trip either ends at its last stop
+ * or, as a round trip, returns to the start.
+ *
+ * <p>Up to the exact threshold the order is optimal, found with the Held-Karp dynamic program over
+ * subsets in O(2^n * n^2) time and O(2^n * n) memory. Larger trips start from the nearest-neighbor
+ * order and improve it with 2-opt moves, reversing a segment whenever that shortens the trip, until
+ * no move helps or the deadline passes.
+ */
+public final class ItineraryPlanner {
+
+  /** Largest number of stops the exact solver accepts, its tables grow with 2^n * n. */
+  public static final int MAX_EXACT_STOPS = 16;
+
+  private ItineraryPlanner() {}
+
+  /**
+   * A planned trip.
+   *
+   * @param order the stops (points 1 to n) in visiting order
+   * @param crossings the total number of crossings of the trip
+   * @param exact true if the order is proven optimal
+   */
+  public record Plan(int[] order, int crossings, boolean exact) {}
+
+  /**
+   * Plans a trip.
+   *
+   * @param crossings the symmetric crossings between every two points, point 0 being the start
+   * @param roundTrip true to return to the start after the last stop
+   * @param exactThreshold the largest number of stops planned exactly, at most {@link
+   *     #MAX_EXACT_STOPS}
+   * @param deadline the {@link System#nanoTime()} at which the heuristic stops improving
+   */
+  public static Plan plan(int[][] crossings, boolean roundTrip, int exactThreshold, long deadline) {
+    int stops = crossings.length - 1;
+    if (stops <= Math.min(exactThreshold, MAX_EXACT_STOPS)) {
+      return heldKarp(crossings, roundTrip);
+    }
+    return twoOpt(crossings, roundTrip, nearestNeighbor(crossings), deadline);
+  }
+
+  /** Held-Karp over subsets of stops, bit i of a subset standing for point i + 1. */
+  static Plan heldKarp(int[][] crossings, boolean roundTrip) {
+    int n = crossings.length - 1;
+    if (n == 0) {
+      return new Plan(new int[0], 0, true);
+    }
+    int subsets = 1 << n;
+    // cost[subset * n + last]: cheapest trip from the start through the subset ending at last
+    int[] cost = new int[subsets * n];
+    byte[] previous = new byte[subsets * n];
+    Arrays.fill(cost, Integer.MAX_VALUE);
+    for (int last = 0; last < n; last++) {
+      cost[(1 << last) * n + last] = crossings[0][last + 1];
+      previous[(1 << last) * n + last] = -1;
+    }
+    for (int subset = 1; subset < subsets; subset++) {
+      for (int last = 0; last < n; last++) {
+        int current = cost[subset * n + last];
+        if (current == Integer.MAX_VALUE) {
+          continue;
+        }
+        for (int next = 0; next < n; next++) {
+          if ((subset & (1 << next)) != 0) {
+            continue;
+          }
+          int extended = (subset | (1 << next)) * n + next;
+          int candidate = current + crossings[last + 1][next + 1];
+          if (candidate < cost[extended]) {
+            cost[extended] = candidate;
+            previous[extended] = (byte) last;
+          }
+        }
+      }
+    }
+
+    int full = subsets - 1;
+    int best = -1;
+    int bestCost = Integer.MAX_VALUE;
+    for (int last = 0; last < n; last++) {
+      int total = cost[full * n + last] + (roundTrip ? crossings[last + 1][0] : 0);
+      if (total < bestCost) {
+        bestCost = total;
+        best = last;
+      }
+    }
+    int[] order = new int[n];
+    for (int i = n - 1, subset = full, last = best; i >= 0; i--) {
+      order[i] = last + 1;
+      int before = previous[subset * n + last];
+      subset &= ~(1 << last);
+      last = before;
+    }
+    return new Plan(order, bestCost, true);
+  }
+
+  /** Visits the closest unvisited stop next, starting from the start. */
+  static int[] nearestNeighbor(int[][] crossings) {
+    int n = crossings.length - 1;
+    boolean[] visited = new boolean[n + 1];
+    int[] order = new int[n];
+    int current = 0;
+    for (int i = 0; i < n; i++) {
+      int closest = -1;
+      for (int candidate = 1; candidate <= n; candidate++) {
+        if (!visited[candidate]
+            && (closest < 0 || crossings[current][candidate] < crossings[current][closest])) {
+          closest = candidate;
+        }
+      }
+      visited[closest] = true;
+      order[i] = closest;
+      current = closest;
+    }
+    return order;
+  }
+
+  /**
+   * Improves an order with 2-opt moves until none shortens the trip or the deadline passes. The
+   * trip is the start followed by the order, and the start again for a round trip.
+   */
+  static Plan twoOpt(int[][] crossings, boolean roundTrip, int[] order, long deadline) {
+    int n = order.length;
+    int[] tour = new int[n + 1];
+    System.arraycopy(order, 0, tour, 1, n);
+    boolean improved = true;
+    while (improved && System.nanoTime() < deadline) {
+      improved = false;
+      for (int i = 1; i < n; i++) {
+        int before = tour[i - 1];
+        for (int j = i + 1; j <= n; j++) {
+          // Reversing tour[i..j] replaces the edges before->tour[i] and tour[j]->after
+          int after = j < n ? tour[j + 1] : roundTrip ? 0 : -1;
+          int removed = crossings[before][tour[i]] + (after < 0 ? 0 : crossings[tour[j]][after]);
+          int added = crossings[before][tour[j]] + (after < 0 ? 0 : crossings[tour[i]][after]);
+          if (added < removed) {
+            reverse(tour, i, j);
+            improved = true;
+          }
+        }
+      }
+    }
+    return new Plan(Arrays.copyOfRange(tour, 1, n + 1), length(crossings, tour, roundTrip), false);
+  }
+
+  private static void reverse(int[] tour, int from, int to) {
+    for (; from < to; from++, to--) {
+      int swap = tour[from];
+      tour[from] = tour[to];
+      tour[to] = swap;
+    }
+  }
+
+  private static int length(int[][] crossings, int[] tour, boolean roundTrip) {
+    int total = 0;
+    for (int i = 1; i < tour.length; i++) {
+      total += crossings[tour[i - 1]][tour[i]];
+    }
+    return roundTrip ? total + crossings[tour[tour.length - 1]][0] : total;
+  }
+}
@@ -0,0 +1,232 @@
+package com.test.routing.graph;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index over country names in every language, used for autocomplete.
+ *
+ * <p>Names are folded (accents stripped, lower case, punctuation turned into spaces) and stored
+ * together with every word suffix, so "rep" finds "Czech Republic". All keys are sorted and packed
+ * into one char array with an offset table, which makes the index a flattened sorted-array trie:
+ * the keys sharing a prefix form one contiguous range that is found with a binary search and then
+ * scanned. Each key carries the dense id of its country and a rank; a country's best matching key
+ * decides its position in the result.
+ */
+public final class NameIndex {
+
+  /** Rank of a country's common English name. */
+  public static final int COMMON_NAME = 0;
+
+  /** Rank of a country's official English name. */
+  public static final int OFFICIAL_NAME = 1;
+
+  /** Rank of native names, translations and alternative spellings. */
+  public static final int OTHER_NAME = 2;
+
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private final CountryCodes table;
+  private final char[] keys;
+  private final int[] offsets;
+  private final int[] ids;
+  private final byte[] ranks;
+
+  private NameIndex(CountryCodes table, char[] keys, int[] offsets, int[] ids, byte[] ranks) {
+    this.table = table;
+    this.keys = keys;
+    this.offsets = offsets;
+    this.ids = ids;
+    this.ranks = ranks;
+  }
+
+  public static Builder builder(CountryCodes table) {
+    return new Builder(table);
+  }
+
+  /** Number of indexed keys, including word suffixes. */
+  public int size() {
+    return ids.length;
+  }
+
+  /**
+   * Returns the codes of the countries with a name starting with the query, best match first.
+   * Matches on a whole name rank before matches on a later word of it; within the same rank
+   * countries whose matching name is shorter come first.
+   *
+   * @param query the typed prefix, in any language and with or without accents
+   * @param limit the maximum number of countries to return
+   */
+  public List<String> suggest(String query, int limit) {
+    String prefix = fold(query);
+    if (prefix.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+
+    // Best score per country: rank in the high bits, key length in the low bits
+    long[] best = new long[table.size()];
+    Arrays.fill(best, Long.MAX_VALUE);
+    int[] matched = new int[Math.min(ids.length, table.size())];
+    int count = 0;
+    for (int i = lowerBound(prefix); i < ids.length && startsWith(i, prefix); i++) {
+      int id = ids[i];
+      long score = ((long) ranks[i] << 32) | (offsets[i + 1] - offsets[i]);
+      if (best[id] == Long.MAX_VALUE) {
+        matched[count++] = id;
+      }
+      best[id] = Math.min(best[id], score);
+    }
+
+    Integer[] order = new Integer[count];
+    for (int i = 0; i < count; i++) {
+      order[i] = matched[i];
+    }
+    Arrays.sort(
+        order,
+        Comparator.<Integer>comparingLong(id -> best[id]).thenComparing(id -> table.codeOf(id)));
+    List<String> codes = new ArrayList<>(Math.min(limit, count));
+    for (int i = 0; i < count && i < limit; i++) {
+      codes.add(table.codeOf(order[i]));
+    }
+    return codes;
+  }
+
+  /**
+   * Folds a name for matching: decomposes accented letters and drops the accents, maps letters
+   * without a decomposition (ß, ø, æ, ł, ...) to their usual Latin spelling, lower-cases and
+   * collapses everything that is not a letter or digit into single spaces.
+   */
+  public static String fold(String name) {
+    if (name == null) {
+      return "";
+    }
+    String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+    String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    StringBuilder folded = new StringBuilder(stripped.length());
+    for (int i = 0; i < stripped.length(); i++) {
+      char c = Character.toLowerCase(stripped.charAt(i));
+      switch (c) {
+        case 'ß' -> folded.append("ss");
+        case 'æ' -> folded.append("ae");
+        case 'œ' -> folded.append("oe");
+        case 'ø' -> folded.append('o');
+        case 'ł' -> folded.append('l');
+        case 'đ', 'ð' -> folded.append('d');
+        case 'þ' -> folded.append("th");
+        case 'ı' -> folded.append('i');
+        default -> folded.append(c);
+      }
+    }
+    return SEPARATORS.matcher(folded).replaceAll(" ").trim();
+  }
+
+  /** Returns the first key that is not smaller than the prefix. */
+  private int lowerBound(String prefix) {
+    int low = 0;
+    int high = ids.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (compare(middle, prefix) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private int compare(int index, String value) {
+    int start = offsets[index];
+    int length = offsets[index + 1] - start;
+    int common = Math.min(length, value.length());
+    for (int i = 0; i < common; i++) {
+      int difference = keys[start + i] - value.charAt(i);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return length - value.length();
+  }
+
+  private boolean startsWith(int index, String prefix) {
+    int start = offsets[index];
+    if (offsets[index + 1] - start < prefix.length()) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length(); i++) {
+      if (keys[start + i] != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Collects names and packs them into an index. */
+  public static final class Builder {
+
+    private final CountryCodes table;
+    private final List<Entry> entries = new ArrayList<>();
+
+    private Builder(CountryCodes table) {
+      this.table = table;
+    }
+
+    /**
+     * Adds a name of a country. Every word suffix of the name is indexed as well, one rank lower
+     * than the whole name.
+     */
+    public Builder add(String code, String name, int rank) {
+      int id = table.idOf(code);
+      String folded = fold(name);
+      if (id < 0 || folded.isEmpty()) {
+        return this;
+      }
+      entries.add(new Entry(folded, id, 2 * rank));
+      for (int i = folded.indexOf(' '); i >= 0; i = folded.indexOf(' ', i + 1)) {
+        entries.add(new Entry(folded.substring(i + 1), id, 2 * rank + 1));
+      }
+      return this;
+    }
+
+    public NameIndex build() {
+      entries.sort(
+          Comparator.comparing(Entry::key)
+              .thenComparingInt(Entry::id)
+              .thenComparingInt(Entry::rank));
+
+      // Keep only the best rank of duplicate keys of the same country
+      List<Entry> unique = new ArrayList<>(entries.size());
+      int length = 0;
+      for (Entry entry : entries) {
+        Entry last = unique.isEmpty() ? null : unique.get(unique.size() - 1);
+        if (last == null || last.id() != entry.id() || !last.key().equals(entry.key())) {
+          unique.add(entry);
+          length += entry.key().length();
+        }
+      }
+
+      char[] keys = new char[length];
+      int[] offsets = new int[unique.size() + 1];
+      int[] ids = new int[unique.size()];
+      byte[] ranks = new byte[unique.size()];
+      int position = 0;
+      for (int i = 0; i < unique.size(); i++) {
+        Entry entry = unique.get(i);
+        entry.key().getChars(0, entry.key().length(), keys, position);
+        offsets[i] = position;
+        position += entry.key().length();
+        ids[i] = entry.id();
+        ranks[i] = (byte) entry.rank();
+      }
+      offsets[unique.size()] = position;
+      return new NameIndex(table, keys, offsets, ids, ranks);
+    }
+
+    private record Entry(String key, int id, int rank) {}
+  }
+}
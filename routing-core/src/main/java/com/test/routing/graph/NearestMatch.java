@@ -0,0 +1,98 @@
+package com.test.routing.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Shortest route from an origin to whichever country of a target set is closest, found with one BFS
+ * that stops as soon as it reaches a target. This replaces one route search per candidate followed
+ * by taking the shortest. Ties between targets at the same distance go to the one the BFS reaches
+ * first, which is stable for a given snapshot.
+ */
+public final class NearestMatch {
+
+  private NearestMatch() {}
+
+  /**
+   * Result of a search.
+   *
+   * @param route the dense ids from the origin to the nearest target, or null if none is reachable
+   * @param nodesExpanded the number of countries whose neighbors were examined
+   */
+  public record Result(int[] route, int nodesExpanded) {}
+
+  /**
+   * Runs the search. The origin itself counts as a match when it is a target.
+   *
+   * @param graph the graph snapshot
+   * @param origin the dense id of the origin, which must be enabled
+   * @param targets the dense ids of the target countries; disabled ones are never matched
+   */
+  public static Result search(GraphSnapshot graph, int origin, BitSet targets) {
+    return search(graph, origin, targets, SearchGuard.NONE);
+  }
+
+  /**
+   * Runs the search like {@link #search(GraphSnapshot, int, BitSet)}, asking the guard every {@link
+   * RouteSearch#GUARD_INTERVAL} dequeued countries whether to go on.
+   *
+   * @throws SearchAbortedException if the guard stopped the search
+   */
+  public static Result search(GraphSnapshot graph, int origin, BitSet targets, SearchGuard guard) {
+    if (targets.get(origin)) {
+      return new Result(new int[] {origin}, 0);
+    }
+    // Targets outside the origin's component can never be reached, often there are none inside
+    int component = graph.componentOf(origin);
+    boolean reachable = false;
+    for (int t = targets.nextSetBit(0); t >= 0 && t < graph.size(); t = targets.nextSetBit(t + 1)) {
+      if (graph.componentOf(t) == component) {
+        reachable = true;
+        break;
+      }
+    }
+    if (!reachable) {
+      return new Result(null, 0);
+    }
+
+    int[] parent = new int[graph.size()];
+    Arrays.fill(parent, -1);
+    int[] queue = new int[graph.componentSize(component)];
+    NeighborBuffer neighbors = new NeighborBuffer();
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = origin;
+    parent[origin] = origin;
+
+    while (head < tail) {
+      if ((head & (RouteSearch.GUARD_INTERVAL - 1)) == 0 && guard.shouldStop()) {
+        throw new SearchAbortedException(head);
+      }
+      int current = queue[head++];
+      graph.neighbors(current, neighbors);
+      for (int i = 0; i < neighbors.count(); i++) {
+        int neighbor = neighbors.get(i);
+        if (parent[neighbor] < 0) {
+          parent[neighbor] = current;
+          if (targets.get(neighbor)) {
+            return new Result(path(parent, origin, neighbor), head);
+          }
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+    return new Result(null, head);
+  }
+
+  private static int[] path(int[] parent, int origin, int target) {
+    int length = 1;
+    for (int current = target; current != origin; current = parent[current]) {
+      length++;
+    }
+    int[] route = new int[length];
+    for (int current = target, i = length - 1; i >= 0; current = parent[current], i--) {
+      route[i] = current;
+    }
+    return route;
+  }
+}
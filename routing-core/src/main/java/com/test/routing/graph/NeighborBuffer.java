@@ -0,0 +1,41 @@
+package com.test.routing.graph;
+
+/**
+ * Reusable view of the neighbors of one country, filled by {@link GraphSnapshot#neighbors(int,
+ * NeighborBuffer)}. An uncompressed row is referenced as is, and a compressed row is decoded into
+ * an array the buffer keeps, sized once for the longest compressed row, so expanding a country
+ * allocates nothing with either layout. A buffer is not thread-safe; use one per search or per
+ * thread.
+ */
+public final class NeighborBuffer {
+
+  private int[] decoded = new int[0];
+  private int[] ids = decoded;
+  private int count;
+
+  /** Number of neighbors of the country last filled in. */
+  public int count() {
+    return count;
+  }
+
+  /**
+   * Returns a neighbor of the country last filled in, in the order of {@link
+   * GraphSnapshot#neighbors(int)}.
+   */
+  public int get(int index) {
+    return ids[index];
+  }
+
+  void reference(int[] row) {
+    ids = row;
+    count = row.length;
+  }
+
+  void decode(CompressedAdjacency compressed, int id, int capacity) {
+    if (decoded.length < capacity) {
+      decoded = new int[capacity];
+    }
+    ids = decoded;
+    count = compressed.neighbors(id, decoded);
+  }
+}
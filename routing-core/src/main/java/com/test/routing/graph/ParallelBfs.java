@@ -0,0 +1,326 @@
+package com.test.routing.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Point-to-point shortest route found with a parallel, level-synchronous, direction-optimizing BFS,
+ * for graphs where a single-threaded search leaves most cores idle.
+ *
+ * <p>Each level is expanded in one of two directions. Top-down, the frontier is split into chunks
+ * and every frontier country claims its unvisited neighbors with an atomic update of the visited
+ * bitset. Bottom-up, the words of the visited bitset are split into chunks and every unvisited
+ * country checks whether one of its neighbors is in the frontier; each chunk only writes its own
+ * words. Countries outside the origin's component, including disabled ones and those of other
+ * datasets sharing the code table, are marked visited before the first level, so bottom-up levels
+ * only check countries the search can still reach. Small frontiers go top-down, and once the
+ * frontier grows to a fraction of the countries not yet visited the search switches to bottom-up,
+ * which then avoids examining most of the edges.
+ *
+ * <p>The route is exactly the one the sequential BFS of the routing service finds. That BFS gives a
+ * country the parent that was dequeued first, and it dequeues a level in the order its countries
+ * were discovered: by the position of their parent in the previous level, then by their index in
+ * the parent's neighbors. Every country takes the neighbor of lowest rank in the previous level as
+ * its parent, and the level is then put in dequeue order by listing the children of the previous
+ * level chunk by chunk and concatenating the chunks, which also ranks it for the next level.
+ */
+public final class ParallelBfs {
+
+  // A frontier larger than 1/ALPHA of the unvisited countries is expanded bottom-up
+  private static final int ALPHA = 14;
+  // A bottom-up frontier smaller than 1/BETA of the component goes back to top-down
+  private static final int BETA = 24;
+  private static final int WORDS_PER_CHUNK = 16;
+  private static final int COUNTRIES_PER_CHUNK = 1024;
+
+  private ParallelBfs() {}
+
+  /**
+   * Result of a search.
+   *
+   * @param route the dense ids from the origin to the destination, or null if there is no route
+   * @param nodesExpanded the number of countries whose level was expanded
+   * @param frontierSizes the number of countries of every level, starting with the origin's
+   * @param bottomUpLevels the number of levels expanded bottom-up
+   */
+  public record Result(int[] route, int nodesExpanded, int[] frontierSizes, int bottomUpLevels) {}
+
+  /**
+   * Runs the search on the common fork/join pool.
+   *
+   * @param graph the graph snapshot
+   * @param from the dense id of the origin, which must be enabled
+   * @param to the dense id of the destination, which must be enabled and differ from the origin
+   */
+  public static Result search(GraphSnapshot graph, int from, int to) {
+    return search(graph, from, to, SearchGuard.NONE);
+  }
+
+  /**
+   * Runs the search on the common fork/join pool, asking the guard before every level whether to go
+   * on.
+   *
+   * @throws SearchAbortedException if the guard stopped the search
+   */
+  public static Result search(GraphSnapshot graph, int from, int to, SearchGuard guard) {
+    int n = graph.size();
+    int words = (n + 63) >>> 6;
+    int label = graph.componentOf(from);
+    int componentSize = graph.componentSize(label);
+    AtomicLongArray visited = outsideOf(graph, label, words);
+    long[] frontier = new long[words];
+    int[] rank = new int[n];
+    int[] parent = new int[n];
+    int[] level = {from};
+    visited.set(from >>> 6, visited.get(from >>> 6) | 1L << from);
+    frontier[from >>> 6] = 1L << from;
+
+    List<Integer> frontierSizes = new ArrayList<>();
+    frontierSizes.add(1);
+    int visitedCount = 1;
+    int expanded = 0;
+    int bottomUpLevels = 0;
+    boolean bottomUp = false;
+    while (level.length > 0) {
+      if (guard.shouldStop()) {
+        throw new SearchAbortedException(expanded);
+      }
+      int unvisited = componentSize - visitedCount;
+      bottomUp =
+          bottomUp
+              ? (long) level.length * BETA >= componentSize
+              : (long) level.length * ALPHA > unvisited;
+      long[] next =
+          bottomUp
+              ? expandBottomUp(graph, frontier, visited)
+              : expandTopDown(graph, level, visited);
+      if (bottomUp) {
+        bottomUpLevels++;
+      }
+      expanded += level.length;
+
+      int[] discovered = members(next);
+      if (discovered.length == 0) {
+        break;
+      }
+      if ((next[to >>> 6] & (1L << to)) != 0) {
+        // The sequential BFS stops here too, the last level needs no order
+        parent[to] = lowestRanked(graph, frontier, rank, to, new NeighborBuffer());
+        return new Result(
+            route(parent, from, to),
+            expanded,
+            sizes(frontierSizes, discovered.length),
+            bottomUpLevels);
+      }
+
+      int[] ordered = order(graph, level, frontier, next, rank, discovered, parent);
+      // Ranks of the new level replace those of the previous one, which is no longer needed
+      IntStream.range(0, ordered.length).parallel().forEach(i -> rank[ordered[i]] = i);
+      frontierSizes.add(discovered.length);
+      visitedCount += discovered.length;
+      level = ordered;
+      frontier = next;
+    }
+    return new Result(null, expanded, sizes(frontierSizes, 0), bottomUpLevels);
+  }
+
+  private static long[] expandTopDown(GraphSnapshot graph, int[] level, AtomicLongArray visited) {
+    AtomicLongArray next = new AtomicLongArray(visited.length());
+    int chunks = (level.length + COUNTRIES_PER_CHUNK - 1) / COUNTRIES_PER_CHUNK;
+    IntStream.range(0, chunks)
+        .parallel()
+        .forEach(
+            chunk -> {
+              NeighborBuffer neighbors = new NeighborBuffer();
+              int end = Math.min(level.length, (chunk + 1) * COUNTRIES_PER_CHUNK);
+              for (int i = chunk * COUNTRIES_PER_CHUNK; i < end; i++) {
+                graph.neighbors(level[i], neighbors);
+                for (int j = 0; j < neighbors.count(); j++) {
+                  int neighbor = neighbors.get(j);
+                  long mask = 1L << neighbor;
+                  int word = neighbor >>> 6;
+                  if ((visited.get(word) & mask) == 0
+                      && (visited.getAndAccumulate(word, mask, (a, b) -> a | b) & mask) == 0) {
+                    next.accumulateAndGet(word, mask, (a, b) -> a | b);
+                  }
+                }
+              }
+            });
+    long[] result = new long[next.length()];
+    for (int word = 0; word < result.length; word++) {
+      result[word] = next.get(word);
+    }
+    return result;
+  }
+
+  /**
+   * Returns a bitset marking every id outside the component, including the bits past the last id,
+   * which the search treats as visited from the start.
+   */
+  private static AtomicLongArray outsideOf(GraphSnapshot graph, int label, int words) {
+    int n = graph.size();
+    AtomicLongArray outside = new AtomicLongArray(words);
+    IntStream.range(0, words)
+        .parallel()
+        .forEach(
+            word -> {
+              long bits = 0;
+              for (int bit = 0; bit < 64; bit++) {
+                int id = (word << 6) + bit;
+                if (id >= n || graph.componentOf(id) != label) {
+                  bits |= 1L << bit;
+                }
+              }
+              outside.set(word, bits);
+            });
+    return outside;
+  }
+
+  private static long[] expandBottomUp(
+      GraphSnapshot graph, long[] frontier, AtomicLongArray visited) {
+    long[] next = new long[frontier.length];
+    int chunks = (frontier.length + WORDS_PER_CHUNK - 1) / WORDS_PER_CHUNK;
+    IntStream.range(0, chunks)
+        .parallel()
+        .forEach(
+            chunk -> {
+              NeighborBuffer neighbors = new NeighborBuffer();
+              int end = Math.min(frontier.length, (chunk + 1) * WORDS_PER_CHUNK);
+              for (int word = chunk * WORDS_PER_CHUNK; word < end; word++) {
+                long candidates = ~visited.get(word);
+                long found = 0;
+                while (candidates != 0) {
+                  int current = (word << 6) + Long.numberOfTrailingZeros(candidates);
+                  long mask = candidates & -candidates;
+                  candidates &= candidates - 1;
+                  graph.neighbors(current, neighbors);
+                  for (int i = 0; i < neighbors.count(); i++) {
+                    int neighbor = neighbors.get(i);
+                    if ((frontier[neighbor >>> 6] & (1L << neighbor)) != 0) {
+                      found |= mask;
+                      break;
+                    }
+                  }
+                }
+                next[word] = found;
+                // Only this chunk writes the word
+                visited.set(word, visited.get(word) | found);
+              }
+            });
+    return next;
+  }
+
+  /**
+   * Stores the parent of every discovered country, its frontier neighbor of lowest rank, and orders
+   * the discovered countries the way the sequential BFS would dequeue them: chunks of the frontier
+   * in rank order list the children of each of their countries in neighbor order, and the lists are
+   * concatenated in chunk order.
+   *
+   * @return the discovered countries in dequeue order
+   */
+  private static int[] order(
+      GraphSnapshot graph,
+      int[] level,
+      long[] frontier,
+      long[] next,
+      int[] rank,
+      int[] discovered,
+      int[] parents) {
+    int discoveredChunks = (discovered.length + COUNTRIES_PER_CHUNK - 1) / COUNTRIES_PER_CHUNK;
+    IntStream.range(0, discoveredChunks)
+        .parallel()
+        .forEach(
+            chunk -> {
+              NeighborBuffer neighbors = new NeighborBuffer();
+              int end = Math.min(discovered.length, (chunk + 1) * COUNTRIES_PER_CHUNK);
+              for (int i = chunk * COUNTRIES_PER_CHUNK; i < end; i++) {
+                parents[discovered[i]] =
+                    lowestRanked(graph, frontier, rank, discovered[i], neighbors);
+              }
+            });
+
+    int chunks = (level.length + COUNTRIES_PER_CHUNK - 1) / COUNTRIES_PER_CHUNK;
+    int[][] children = new int[chunks][];
+    IntStream.range(0, chunks)
+        .parallel()
+        .forEach(
+            chunk -> {
+              int end = Math.min(level.length, (chunk + 1) * COUNTRIES_PER_CHUNK);
+              NeighborBuffer neighbors = new NeighborBuffer();
+              int[] buffer = new int[16];
+              int count = 0;
+              for (int i = chunk * COUNTRIES_PER_CHUNK; i < end; i++) {
+                int current = level[i];
+                graph.neighbors(current, neighbors);
+                for (int j = 0; j < neighbors.count(); j++) {
+                  int neighbor = neighbors.get(j);
+                  if ((next[neighbor >>> 6] & (1L << neighbor)) != 0
+                      && parents[neighbor] == current) {
+                    if (count == buffer.length) {
+                      buffer = Arrays.copyOf(buffer, count * 2);
+                    }
+                    buffer[count++] = neighbor;
+                  }
+                }
+              }
+              children[chunk] = Arrays.copyOf(buffer, count);
+            });
+    int[] ordered = new int[discovered.length];
+    int position = 0;
+    for (int[] chunk : children) {
+      System.arraycopy(chunk, 0, ordered, position, chunk.length);
+      position += chunk.length;
+    }
+    return ordered;
+  }
+
+  /** Returns the frontier neighbor of the country that the sequential BFS dequeues first. */
+  private static int lowestRanked(
+      GraphSnapshot graph, long[] frontier, int[] rank, int country, NeighborBuffer neighbors) {
+    int parent = -1;
+    graph.neighbors(country, neighbors);
+    for (int i = 0; i < neighbors.count(); i++) {
+      int neighbor = neighbors.get(i);
+      if ((frontier[neighbor >>> 6] & (1L << neighbor)) != 0
+          && (parent < 0 || rank[neighbor] < rank[parent])) {
+        parent = neighbor;
+      }
+    }
+    return parent;
+  }
+
+  private static int[] route(int[] parent, int from, int to) {
+    int length = 1;
+    for (int current = to; current != from; current = parent[current]) {
+      length++;
+    }
+    int[] route = new int[length];
+    for (int current = to, i = length - 1; i >= 0; current = parent[current], i--) {
+      route[i] = current;
+    }
+    return route;
+  }
+
+  private static int[] members(long[] bits) {
+    return IntStream.range(0, bits.length)
+        .parallel()
+        .flatMap(
+            word -> {
+              long value = bits[word];
+              int[] ids = new int[Long.bitCount(value)];
+              for (int i = 0; value != 0; i++, value &= value - 1) {
+                ids[i] = (word << 6) + Long.numberOfTrailingZeros(value);
+              }
+              return IntStream.of(ids);
+            })
+        .toArray();
+  }
+
+  private static int[] sizes(List<Integer> frontierSizes, int last) {
+    IntStream sizes = frontierSizes.stream().mapToInt(Integer::intValue);
+    return last > 0 ? IntStream.concat(sizes, IntStream.of(last)).toArray() : sizes.toArray();
+  }
+}
@@ -0,0 +1,169 @@
+package com.test.routing.graph;
+
+import java.util.Arrays;
+
+/**
+ * Reusable workspace of the sequential point-to-point BFS. The parent, queue, visited and neighbor
+ * arrays are kept between searches and only grow with the graph; visited marks carry the number of
+ * the search that set them, so starting a search does not clear anything. Compressed rows are
+ * decoded into the workspace too, so searching into a caller buffer allocates nothing once the
+ * workspace has grown to the graph, whether its rows are compressed or not.
+ *
+ * <p>Neighbors are expanded in the order of {@link GraphSnapshot#neighbors(int)}, so every search
+ * of a pair returns the same route, the one {@link ParallelBfs} and {@link RouteTable} return too.
+ * A workspace is not thread-safe; use one per thread.
+ *
+ * <p>A search given a {@link SearchGuard} polls it before the first and then every {@value
+ * #GUARD_INTERVAL} dequeued countries, so an expired or cancelled request stops within a bounded
+ * amount of work.
+ */
+public final class RouteSearch {
+
+  /** Number of countries dequeued between two polls of the guard, a power of two. */
+  public static final int GUARD_INTERVAL = 256;
+
+  private int[] parent = new int[0];
+  private int[] queue = new int[0];
+  private int[] marks = new int[0];
+  private final NeighborBuffer neighbors = new NeighborBuffer();
+  private int mark;
+  private int[] levelSizes = new int[16];
+  private int levelCount;
+  private int nodesExpanded;
+
+  /**
+   * Searches the shortest route and writes its dense ids, origin first, into the buffer.
+   *
+   * @param from the dense id of the origin, which must be enabled
+   * @param to the dense id of the destination, which must be enabled and differ from the origin
+   * @param into receives the route, must be at least as long as the route
+   * @return the number of countries on the route, or 0 if the destination cannot be reached
+   * @throws ArrayIndexOutOfBoundsException if the buffer is shorter than the route
+   */
+  public int search(GraphSnapshot graph, int from, int to, int[] into) {
+    return search(graph, from, to, into, SearchGuard.NONE);
+  }
+
+  /**
+   * Searches like {@link #search(GraphSnapshot, int, int, int[])} until the guard stops it.
+   *
+   * @throws SearchAbortedException if the guard stopped the search
+   */
+  public int search(GraphSnapshot graph, int from, int to, int[] into, SearchGuard guard) {
+    if (!run(graph, from, to, guard)) {
+      return 0;
+    }
+    int length = 1;
+    for (int current = to; current != from; current = parent[current]) {
+      length++;
+    }
+    for (int current = to, i = length - 1; i >= 0; current = parent[current], i--) {
+      into[i] = current;
+    }
+    return length;
+  }
+
+  /**
+   * Searches the shortest route like {@link #search(GraphSnapshot, int, int, int[])}.
+   *
+   * @return the dense ids of the route, origin first, or null if the destination cannot be reached
+   */
+  public int[] search(GraphSnapshot graph, int from, int to) {
+    return search(graph, from, to, SearchGuard.NONE);
+  }
+
+  /**
+   * Searches like {@link #search(GraphSnapshot, int, int)} until the guard stops it.
+   *
+   * @throws SearchAbortedException if the guard stopped the search
+   */
+  public int[] search(GraphSnapshot graph, int from, int to, SearchGuard guard) {
+    if (!run(graph, from, to, guard)) {
+      return null;
+    }
+    int length = 1;
+    for (int current = to; current != from; current = parent[current]) {
+      length++;
+    }
+    int[] route = new int[length];
+    for (int current = to, i = length - 1; i >= 0; current = parent[current], i--) {
+      route[i] = current;
+    }
+    return route;
+  }
+
+  /** Number of countries dequeued by the last search. */
+  public int nodesExpanded() {
+    return nodesExpanded;
+  }
+
+  /** Number of BFS levels the last search reached, including the origin's. */
+  public int levelCount() {
+    return levelCount;
+  }
+
+  /** Number of countries in a level of the last search, 1 for the origin's. */
+  public int levelSize(int level) {
+    return levelSizes[level];
+  }
+
+  private boolean run(GraphSnapshot graph, int from, int to, SearchGuard guard) {
+    prepare(graph.size());
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = from;
+    marks[from] = mark;
+    levelCount = 0;
+    addLevel(1);
+    int levelEnd = tail;
+
+    while (head < tail) {
+      if (head == levelEnd) {
+        // The previous level is fully expanded, the queue now holds exactly the next one
+        levelEnd = tail;
+        addLevel(tail - head);
+      }
+      if ((head & (GUARD_INTERVAL - 1)) == 0 && guard.shouldStop()) {
+        nodesExpanded = head;
+        throw new SearchAbortedException(head);
+      }
+      int current = queue[head++];
+      graph.neighbors(current, neighbors);
+      for (int i = 0; i < neighbors.count(); i++) {
+        int neighbor = neighbors.get(i);
+        if (marks[neighbor] != mark) {
+          marks[neighbor] = mark;
+          parent[neighbor] = current;
+          if (neighbor == to) {
+            nodesExpanded = head;
+            return true;
+          }
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+    nodesExpanded = head;
+    return false;
+  }
+
+  private void prepare(int n) {
+    if (marks.length < n) {
+      parent = new int[n];
+      queue = new int[n];
+      marks = new int[n];
+      mark = 0;
+    }
+    if (++mark == 0) {
+      // Marks wrapped around after 2^32 searches, old marks could collide with the new ones
+      Arrays.fill(marks, 0);
+      mark = 1;
+    }
+  }
+
+  private void addLevel(int size) {
+    if (levelCount == levelSizes.length) {
+      levelSizes = Arrays.copyOf(levelSizes, levelCount * 2);
+    }
+    levelSizes[levelCount++] = size;
+  }
+}
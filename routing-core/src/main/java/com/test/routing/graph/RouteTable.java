@@ -0,0 +1,262 @@
+package com.test.routing.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * All-pairs route table of one graph snapshot, held off-heap in a memory-mapped file. For every
+ * origin and destination the table stores the predecessor of the destination on the route the BFS
+ * from the origin finds, so reconstructing a route is a chain of reads within the origin's row and
+ * yields exactly the route of a BFS search.
+ *
+ * <p>The file is named after a fingerprint of the graph content, not the per-process version, so
+ * every JVM on a host serving the same graph maps the same file and shares one page-cached copy.
+ * Layout, little-endian:
+ *
+ * <pre>
+ * int   magic "RTB1"
+ * int   format version
+ * long  graph fingerprint
+ * int   n, the size of the id space
+ * int   reserved
+ * long  reserved
+ * short entries[n * n]   predecessor, the origin itself on the diagonal, -1 if unreachable
+ * </pre>
+ */
+public final class RouteTable {
+
+  /** Largest id space whose ids fit the short entries. */
+  public static final int MAX_SIZE = Short.MAX_VALUE;
+
+  static final int MAGIC = 0x31425452;
+  static final int FORMAT_VERSION = 1;
+  static final int HEADER_BYTES = 32;
+
+  private final GraphSnapshot graph;
+  private final long fingerprint;
+  private final int n;
+  private final ByteBuffer entries;
+  private final Path file;
+
+  private RouteTable(GraphSnapshot graph, long fingerprint, ByteBuffer entries, Path file) {
+    this.graph = graph;
+    this.fingerprint = fingerprint;
+    this.n = graph.size();
+    this.entries = entries;
+    this.file = file;
+  }
+
+  /**
+   * Maps the table file of the graph from the directory, computing and writing it first if no valid
+   * file exists. Concurrent writers on the same host race harmlessly: each writes a private
+   * temporary file and the first atomic rename wins.
+   *
+   * @throws IllegalArgumentException if the graph is larger than {@link #MAX_SIZE}
+   */
+  public static RouteTable open(GraphSnapshot graph, Path directory, ForkJoinPool pool)
+      throws IOException {
+    if (graph.size() > MAX_SIZE) {
+      throw new IllegalArgumentException(
+          "Route tables support up to " + MAX_SIZE + " countries, got " + graph.size());
+    }
+    long fingerprint = fingerprint(graph);
+    Path file = directory.resolve(String.format("route-table-%016x.bin", fingerprint));
+    RouteTable existing = map(graph, fingerprint, file);
+    if (existing != null) {
+      return existing;
+    }
+
+    Files.createDirectories(directory);
+    Path temporary = Files.createTempFile(directory, "route-table", ".tmp");
+    try {
+      write(graph, fingerprint, temporary, pool);
+      try {
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException | FileAlreadyExistsException e) {
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+    RouteTable written = map(graph, fingerprint, file);
+    if (written == null) {
+      throw new IOException("Route table " + file + " is invalid right after writing it");
+    }
+    return written;
+  }
+
+  public GraphSnapshot graph() {
+    return graph;
+  }
+
+  public long fingerprint() {
+    return fingerprint;
+  }
+
+  public Path file() {
+    return file;
+  }
+
+  /** Returns the predecessor of the destination on the route from the origin, or -1. */
+  public int predecessor(int from, int to) {
+    // Fits an int because n is at most MAX_SIZE
+    return entries.getShort(HEADER_BYTES + 2 * (from * n + to));
+  }
+
+  /**
+   * Returns the dense ids of the route from origin to destination, or an empty array if the
+   * destination cannot be reached.
+   */
+  public int[] route(int from, int to) {
+    int[] reversed = new int[16];
+    int length = 0;
+    int current = to;
+    while (current != from) {
+      current = predecessor(from, current);
+      if (current < 0) {
+        return new int[0];
+      }
+      if (length + 1 >= reversed.length) {
+        reversed = Arrays.copyOf(reversed, reversed.length * 2);
+      }
+      reversed[length++] = current;
+    }
+    int[] route = new int[length + 1];
+    route[length] = to;
+    for (int i = 0; i < length; i++) {
+      route[length - 1 - i] = reversed[i];
+    }
+    return route;
+  }
+
+  /**
+   * Hash of the id space, the codes, the enabled countries and the adjacency. Equal graphs in
+   * different JVMs share a fingerprint as long as they intern their codes in the same order, which
+   * loading the same dataset does.
+   */
+  public static long fingerprint(GraphSnapshot graph) {
+    long hash = 0xcbf29ce484222325L;
+    hash = mix(hash, graph.size());
+    for (int id = 0; id < graph.size(); id++) {
+      if (!graph.isEnabled(id)) {
+        continue;
+      }
+      hash = mix(hash, id);
+      hash = mix(hash, graph.codeOf(id).hashCode());
+      int[] neighbors = graph.neighbors(id);
+      hash = mix(hash, neighbors.length);
+      for (int neighbor : neighbors) {
+        hash = mix(hash, neighbor);
+      }
+    }
+    return hash;
+  }
+
+  private static long mix(long hash, int value) {
+    // FNV-1a over the four bytes of the value
+    for (int shift = 0; shift < 32; shift += 8) {
+      hash ^= (value >>> shift) & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  /** Maps an existing file, or returns null if it is missing or does not match the graph. */
+  private static RouteTable map(GraphSnapshot graph, long fingerprint, Path file)
+      throws IOException {
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    long expectedSize = HEADER_BYTES + 2L * graph.size() * graph.size();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() != expectedSize) {
+        return null;
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedSize);
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      if (buffer.getInt(0) != MAGIC
+          || buffer.getInt(4) != FORMAT_VERSION
+          || buffer.getLong(8) != fingerprint
+          || buffer.getInt(16) != graph.size()) {
+        return null;
+      }
+      // The mapping stays valid after the channel is closed
+      return new RouteTable(graph, fingerprint, buffer, file);
+    }
+  }
+
+  private static void write(GraphSnapshot graph, long fingerprint, Path file, ForkJoinPool pool)
+      throws IOException {
+    int n = graph.size();
+    long size = HEADER_BYTES + 2L * n * n;
+    try (FileChannel channel =
+        FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(0, MAGIC);
+      buffer.putInt(4, FORMAT_VERSION);
+      buffer.putLong(8, fingerprint);
+      buffer.putInt(16, n);
+
+      // Rows are disjoint, so the parallel absolute writes never touch the same bytes
+      ThreadLocal<int[][]> workspace = ThreadLocal.withInitial(() -> new int[2][n]);
+      try {
+        pool.submit(
+                () ->
+                    IntStream.range(0, n)
+                        .parallel()
+                        .forEach(origin -> writeRow(graph, origin, buffer, workspace.get())))
+            .get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while computing the route table", e);
+      } catch (ExecutionException e) {
+        throw new IOException("Route table computation failed", e.getCause());
+      }
+      buffer.force();
+    }
+  }
+
+  /** Runs one BFS from the origin in the same neighbor order as the routing search. */
+  private static void writeRow(GraphSnapshot graph, int origin, ByteBuffer buffer, int[][] work) {
+    int n = graph.size();
+    int[] predecessor = work[0];
+    int[] queue = work[1];
+    NeighborBuffer neighbors = new NeighborBuffer();
+    Arrays.fill(predecessor, -1);
+    if (graph.isEnabled(origin)) {
+      int head = 0;
+      int tail = 0;
+      queue[tail++] = origin;
+      predecessor[origin] = origin;
+      while (head < tail) {
+        int current = queue[head++];
+        graph.neighbors(current, neighbors);
+        for (int i = 0; i < neighbors.count(); i++) {
+          int neighbor = neighbors.get(i);
+          if (predecessor[neighbor] < 0) {
+            predecessor[neighbor] = current;
+            queue[tail++] = neighbor;
+          }
+        }
+      }
+    }
+    int rowStart = HEADER_BYTES + 2 * origin * n;
+    for (int destination = 0; destination < n; destination++) {
+      buffer.putShort(rowStart + 2 * destination, (short) predecessor[destination]);
+    }
+  }
+}
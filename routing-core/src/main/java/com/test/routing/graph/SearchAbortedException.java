@@ -0,0 +1,18 @@
+package com.test.routing.graph;
+
+/** Thrown by a search whose {@link SearchGuard} asked it to stop before it finished. */
+public class SearchAbortedException extends RuntimeException {
+
+  private final int nodesExpanded;
+
+  public SearchAbortedException(int nodesExpanded) {
+    // No stack trace, aborts are expected under load and carry no debugging value
+    super("Search aborted after expanding " + nodesExpanded + " countries", null, false, false);
+    this.nodesExpanded = nodesExpanded;
+  }
+
+  /** Number of countries the search expanded before it stopped, all of it wasted work. */
+  public int nodesExpanded() {
+    return nodesExpanded;
+  }
+}
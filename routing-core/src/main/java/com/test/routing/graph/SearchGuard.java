@@ -0,0 +1,16 @@
+package com.test.routing.graph;
+
+/**
+ * Cooperative stop condition of a search, such as a deadline or a cancelled request. Searches poll
+ * it between units of work and abort with a {@link SearchAbortedException} once it asks them to
+ * stop, so it has to be cheap and safe to call from the searching thread.
+ */
+@FunctionalInterface
+public interface SearchGuard {
+
+  /** A guard that never stops a search. */
+  SearchGuard NONE = () -> false;
+
+  /** Returns true if the search should abort. */
+  boolean shouldStop();
+}
@@ -0,0 +1,68 @@
+package com.test.routing.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.graph.CountryCodes;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.NameIndex;
+
+class CountryDataBuilderTest {
+
+  @Test
+  void shouldBuildSnapshotWithVersionAndAliases() {
+    CountryData data =
+        new CountryDataBuilder(new CountryCodes())
+            .add(new CountryRecord("CZE", List.of("AUT"), List.of("CZ", "203"), null, null, null))
+            .add(new CountryRecord("AUT", List.of(), List.of("AT"), null, null, null))
+            .build(7);
+    GraphSnapshot graph = data.snapshot();
+
+    assertEquals(7, graph.version());
+    assertTrue(graph.hasBorder(graph.idOf("CZE"), graph.idOf("AUT")));
+    assertEquals(graph.idOf("AUT"), graph.resolve("at"));
+    assertEquals(graph.idOf("CZE"), graph.resolve("203"));
+  }
+
+  @Test
+  void shouldReplaceRepeatedCountryInPlace() {
+    CountryData data =
+        new CountryDataBuilder(new CountryCodes())
+            .add(new CountryRecord("CZE", List.of("AUT"), List.of(), null, null, null))
+            .add(new CountryRecord("AUT", List.of(), List.of(), null, null, null))
+            .add(new CountryRecord("CZE", List.of(), List.of(), true, null, "Europe"))
+            .build(1);
+
+    assertEquals(
+        List.of("CZE", "AUT"), data.countries().stream().map(CountryRecord::cca3).toList());
+    assertEquals("Europe", data.countries().get(0).region());
+    assertFalse(
+        data.snapshot().hasBorder(data.snapshot().idOf("CZE"), data.snapshot().idOf("AUT")));
+  }
+
+  @Test
+  void shouldIgnoreCountriesWithoutCode() {
+    CountryDataBuilder builder =
+        new CountryDataBuilder(new CountryCodes())
+            .add(new CountryRecord(null, List.of("CZE"), List.of(), null, null, null));
+
+    assertEquals(0, builder.size());
+    assertEquals(0, builder.build(1).snapshot().countryCount());
+  }
+
+  @Test
+  void shouldIndexNamesAndAttributes() {
+    CountryData data =
+        new CountryDataBuilder(new CountryCodes())
+            .add(new CountryRecord("CHE", List.of(), List.of(), true, true, "Europe"))
+            .addName("CHE", "Switzerland", NameIndex.COMMON_NAME)
+            .addName("CHE", null, NameIndex.OTHER_NAME)
+            .build(1);
+
+    assertEquals(List.of("CHE"), data.names().suggest("swi", 5));
+    assertEquals(1, data.attributes().select("landlocked,unmember,region:europe").cardinality());
+  }
+}
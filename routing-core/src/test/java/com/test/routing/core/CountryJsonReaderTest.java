@@ -0,0 +1,107 @@
+package com.test.routing.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.graph.CountryCodes;
+import com.test.routing.graph.GraphSnapshot;
+
+class CountryJsonReaderTest {
+
+  private static final String JSON =
+      """
+      [
+        {
+          "cca3": "CZE", "cca2": "CZ", "ccn3": "203", "cioc": "",
+          "name": {
+            "common": "Czechia",
+            "official": "Czech Republic",
+            "native": {"ces": {"common": "\\u010cesko", "official": "\\u010cesk\\u00e1 republika"}}
+          },
+          "translations": {"deu": {"common": "Tschechien", "official": "Tschechische Republik"}},
+          "altSpellings": ["CZ", "Cesk\\u00e1 republika"],
+          "borders": ["AUT", "DEU"],
+          "landlocked": true, "unMember": true, "region": "Europe",
+          "area": 78865.0, "latlng": [49.75, 15.5], "capital": null
+        },
+        {"cca3": "AUT", "borders": ["CZE"], "landlocked": true, "region": "Europe"},
+        {"cca3": "DEU", "borders": ["CZE", "XXX"], "note": "tab\\t quote\\" slash\\/ \\\\"},
+        {"borders": ["CZE"]}
+      ]
+      """;
+
+  @Test
+  void shouldReadCountriesAndBorders() throws IOException {
+    CountryData data = read(JSON);
+    GraphSnapshot graph = data.snapshot();
+
+    assertEquals(3, graph.countryCount());
+    assertTrue(graph.hasBorder(graph.idOf("CZE"), graph.idOf("AUT")));
+    assertTrue(graph.hasBorder(graph.idOf("CZE"), graph.idOf("DEU")));
+    assertFalse(graph.hasBorder(graph.idOf("AUT"), graph.idOf("DEU")));
+  }
+
+  @Test
+  void shouldRegisterAlternativeCodes() throws IOException {
+    GraphSnapshot graph = read(JSON).snapshot();
+
+    assertEquals(graph.idOf("CZE"), graph.resolve("CZ"));
+    assertEquals(graph.idOf("CZE"), graph.resolve("203"));
+    assertEquals(
+        List.of("CZ", "203"),
+        read(JSON).countries().get(0).alternativeCodes(),
+        "Blank codes are skipped");
+  }
+
+  @Test
+  void shouldReadAttributes() throws IOException {
+    CountryRecord czechia = read(JSON).countries().get(0);
+    CountryRecord germany = read(JSON).countries().get(2);
+
+    assertEquals(true, czechia.landlocked());
+    assertEquals(true, czechia.unMember());
+    assertEquals("Europe", czechia.region());
+    assertNull(germany.landlocked());
+    assertNull(germany.region());
+  }
+
+  @Test
+  void shouldIndexNamesWithEscapes() throws IOException {
+    CountryData data = read(JSON);
+
+    assertEquals(List.of("CZE"), data.names().suggest("Czech", 5));
+    assertEquals(List.of("CZE"), data.names().suggest("\u010cesk\u00e1", 5));
+    assertEquals(List.of("CZE"), data.names().suggest("Tschech", 5));
+  }
+
+  @Test
+  void shouldReadEmptyArray() throws IOException {
+    assertEquals(0, read(" [ ] ").snapshot().countryCount());
+  }
+
+  @Test
+  void shouldRejectMalformedJson() {
+    assertThrows(IOException.class, () -> read("[{\"cca3\": \"CZE\""));
+    assertThrows(IOException.class, () -> read("{\"cca3\": \"CZE\"}"));
+    assertThrows(IOException.class, () -> read("[{\"cca3\": \"CZE\"}] x"));
+    assertThrows(IOException.class, () -> read("[{\"cca3\": \"\\q\"}]"));
+  }
+
+  @Test
+  void shouldReadBundledDataset() throws IOException {
+    CountryData data = RoutingEngine.bundled().data();
+
+    assertEquals(250, data.snapshot().countryCount());
+  }
+
+  private static CountryData read(String json) throws IOException {
+    return CountryJsonReader.read(
+            new StringReader(json), new CountryDataBuilder(new CountryCodes()))
+        .build(1);
+  }
+}
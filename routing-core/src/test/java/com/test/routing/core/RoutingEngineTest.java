@@ -0,0 +1,111 @@
+package com.test.routing.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.test.routing.graph.GraphSnapshot;
+
+class RoutingEngineTest {
+
+  private static final RoutingEngine ENGINE = RoutingEngine.bundled();
+
+  @TempDir Path directory;
+
+  @Test
+  void shouldRouteBundledDataset() {
+    assertEquals(List.of("CZE", "AUT", "ITA"), ENGINE.route("CZE", "ITA"));
+  }
+
+  @Test
+  void shouldAcceptCodesOfAnyScheme() {
+    assertEquals(List.of("CZE", "AUT", "ITA"), ENGINE.route("cz", "380"));
+  }
+
+  @Test
+  void shouldReturnOriginForSameCountry() {
+    assertEquals(List.of("CZE"), ENGINE.route("CZE", "CZ"));
+  }
+
+  @Test
+  void shouldReturnEmptyRouteBetweenComponents() {
+    assertEquals(List.of(), ENGINE.route("CZE", "USA"));
+  }
+
+  @Test
+  void shouldRejectUnknownCodes() {
+    IllegalArgumentException error =
+        assertThrows(IllegalArgumentException.class, () -> ENGINE.route("CZE", "XXX"));
+
+    assertEquals("Unknown country code: XXX", error.getMessage());
+    assertThrows(IllegalArgumentException.class, () -> ENGINE.route(null, "CZE"));
+  }
+
+  @Test
+  void shouldRouteDenseIdsIntoBuffer() {
+    GraphSnapshot graph = ENGINE.graph();
+    int[] into = new int[graph.size()];
+
+    int length = ENGINE.route(graph.idOf("CZE"), graph.idOf("ITA"), into);
+
+    assertArrayEquals(
+        new int[] {graph.idOf("CZE"), graph.idOf("AUT"), graph.idOf("ITA")},
+        Arrays.copyOf(into, length));
+    assertEquals(1, ENGINE.route(graph.idOf("CZE"), graph.idOf("CZE"), into));
+    assertEquals(0, ENGINE.route(graph.idOf("CZE"), graph.idOf("USA"), into));
+  }
+
+  @Test
+  void shouldNotAllocateWhenRoutingIntoBuffer() {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    GraphSnapshot graph = ENGINE.graph();
+    int from = graph.idOf("PRT");
+    int to = graph.idOf("CHN");
+    int[] into = new int[graph.size()];
+    for (int i = 0; i < 1000; i++) {
+      ENGINE.route(from, to, into);
+    }
+
+    long before = threads.getCurrentThreadAllocatedBytes();
+    int length = 0;
+    for (int i = 0; i < 1000; i++) {
+      length = ENGINE.route(from, to, into);
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+    assertTrue(length > 2);
+    // A single route list would already take more than this for the thousand searches
+    assertTrue(allocated < 16 * 1024, "Allocated " + allocated + " bytes");
+  }
+
+  @Test
+  void shouldLoadWrittenSnapshot() throws IOException {
+    Path file = directory.resolve("countries.bin");
+
+    ENGINE.writeSnapshot(file);
+    RoutingEngine loaded = RoutingEngine.fromSnapshot(file);
+
+    assertEquals(ENGINE.graph().borderGraph(), loaded.graph().borderGraph());
+    assertEquals(ENGINE.route("PRT", "CHN"), loaded.route("PRT", "CHN"));
+  }
+
+  @Test
+  void shouldLoadJsonStream() throws IOException {
+    String json = "[{\"cca3\": \"AAA\", \"borders\": [\"BBB\"]}, {\"cca3\": \"BBB\"}]";
+
+    RoutingEngine engine =
+        RoutingEngine.fromJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(List.of("AAA", "BBB"), engine.route("AAA", "BBB"));
+  }
+}
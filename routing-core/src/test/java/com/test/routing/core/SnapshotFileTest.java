@@ -0,0 +1,79 @@
+package com.test.routing.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.test.routing.graph.CountryCodes;
+import com.test.routing.graph.GraphSnapshot;
+
+class SnapshotFileTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void shouldRoundTripBundledDataset() throws IOException {
+    CountryData data = RoutingEngine.bundled().data();
+    Path file = directory.resolve("countries.bin");
+
+    SnapshotFile.write(data, file);
+    CountryData read = SnapshotFile.read(file, new CountryCodes());
+
+    assertEquals(data.snapshot().borderGraph(), read.snapshot().borderGraph());
+    assertEquals(data.countries(), read.countries());
+    assertEquals(data.snapshot().version(), read.snapshot().version());
+    for (String predicate : List.of("landlocked", "coastal", "unmember", "region:europe")) {
+      assertEquals(
+          data.attributes().select(predicate), read.attributes().select(predicate), predicate);
+    }
+    assertEquals(0, read.names().size(), "Names are not stored");
+  }
+
+  @Test
+  void shouldKeepUnknownAttributesAndDropMissingNeighbors() throws IOException {
+    CountryData data =
+        new CountryDataBuilder(new CountryCodes())
+            .add(new CountryRecord("CZE", List.of("AUT", "XXX"), List.of("CZ"), null, true, null))
+            .add(new CountryRecord("AUT", List.of(), List.of(), false, null, "Europe"))
+            .build(3);
+
+    CountryData read = roundTrip(data);
+    GraphSnapshot graph = read.snapshot();
+
+    assertEquals(
+        new CountryRecord("CZE", List.of("AUT"), List.of("CZ"), null, true, null),
+        read.countries().get(0));
+    assertEquals(data.countries().get(1), read.countries().get(1));
+    assertEquals(graph.idOf("CZE"), graph.resolve("cz"));
+    assertEquals(3, graph.version());
+  }
+
+  @Test
+  void shouldRejectInvalidFiles() throws IOException {
+    byte[] bytes = write(RoutingEngine.bundled().data());
+    Path truncated = Files.write(directory.resolve("truncated.bin"), Arrays.copyOf(bytes, 100));
+    Path foreign = Files.write(directory.resolve("foreign.bin"), "[{}]".getBytes());
+
+    assertThrows(IOException.class, () -> SnapshotFile.read(truncated, new CountryCodes()));
+    assertThrows(IOException.class, () -> SnapshotFile.read(foreign, new CountryCodes()));
+  }
+
+  private static CountryData roundTrip(CountryData data) throws IOException {
+    return SnapshotFile.read(new ByteArrayInputStream(write(data)), new CountryCodes());
+  }
+
+  private static byte[] write(CountryData data) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SnapshotFile.write(data, out);
+    return out.toByteArray();
+  }
+}
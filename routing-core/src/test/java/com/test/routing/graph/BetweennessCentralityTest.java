@@ -0,0 +1,213 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BetweennessCentralityTest {
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  void shouldScoreMiddleOfPath() {
+    GraphSnapshot graph = GraphSnapshot.of(path("A", "B", "C", "D"));
+
+    double[] scores = BetweennessCentrality.exact(graph, pool).scores();
+
+    assertEquals(0.0, scores[graph.idOf("A")], 1e-9);
+    // B lies on A-C and A-D
+    assertEquals(2.0, scores[graph.idOf("B")], 1e-9);
+    assertEquals(2.0, scores[graph.idOf("C")], 1e-9);
+    assertEquals(0.0, scores[graph.idOf("D")], 1e-9);
+  }
+
+  @Test
+  void shouldStopWhenGuardAsks() {
+    GraphSnapshot graph = GraphSnapshot.of(path("A", "B", "C", "D"));
+
+    assertThrows(
+        SearchAbortedException.class, () -> BetweennessCentrality.exact(graph, pool, () -> true));
+  }
+
+  @Test
+  void shouldSplitCreditBetweenEqualShortestRoutes() {
+    // Square A-B-D-C-A: both B and C lie on one of two shortest routes between A and D
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B", "C"));
+    borderGraph.put("B", List.of("A", "D"));
+    borderGraph.put("C", List.of("A", "D"));
+    borderGraph.put("D", List.of("B", "C"));
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+
+    double[] scores = BetweennessCentrality.exact(graph, pool).scores();
+
+    assertEquals(0.5, scores[graph.idOf("B")], 1e-9);
+    assertEquals(0.5, scores[graph.idOf("C")], 1e-9);
+  }
+
+  @Test
+  void shouldIgnoreDisabledCountries() {
+    GraphSnapshot graph = GraphSnapshot.of(path("A", "B", "C"));
+    GraphSnapshot disabled = graph.disableCountry(graph.idOf("B")).current();
+
+    CentralityScores scores = BetweennessCentrality.exact(disabled, pool);
+
+    assertEquals(2, scores.sources());
+    assertEquals(0.0, scores.scores()[graph.idOf("B")], 1e-9);
+  }
+
+  @Test
+  void parallelResultShouldMatchBruteForce() {
+    GraphSnapshot graph = GraphSnapshot.of(randomGraph(120, 2, 7));
+
+    double[] scores = BetweennessCentrality.exact(graph, pool).scores();
+    double[] expected = bruteForce(graph);
+
+    assertArrayEquals(expected, scores, 1e-6);
+  }
+
+  @Test
+  void shouldRejectSamplingNoSources() {
+    GraphSnapshot graph = GraphSnapshot.of(randomGraph(200, 2, 11));
+
+    assertThrows(
+        IllegalArgumentException.class, () -> BetweennessCentrality.sampled(graph, 0, 1, pool));
+    assertThrows(
+        IllegalArgumentException.class, () -> BetweennessCentrality.sampled(graph, -1, 1, pool));
+  }
+
+  @Test
+  void sampledModeShouldBeMarkedApproximate() {
+    GraphSnapshot graph = GraphSnapshot.of(randomGraph(200, 2, 11));
+
+    CentralityScores scores = BetweennessCentrality.sampled(graph, 50, 1, pool);
+
+    assertTrue(scores.approximate());
+    assertEquals(50, scores.sources());
+    assertEquals(graph.version(), scores.graphVersion());
+  }
+
+  @Test
+  void sampledModeShouldEstimateBridgeScore() {
+    // Two dense clusters joined by a single bridge country
+    Map<String, List<String>> borderGraph = randomGraph(100, 4, 3);
+    borderGraph.put("BRIDGE", List.of("N0", "M0"));
+    for (int i = 0; i < 100; i++) {
+      List<String> borders = new ArrayList<>();
+      borders.add("M" + ((i + 1) % 100));
+      borders.add("M" + ((i + 7) % 100));
+      borderGraph.put("M" + i, borders);
+    }
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+
+    double exact = BetweennessCentrality.exact(graph, pool).scores()[graph.idOf("BRIDGE")];
+    double estimate =
+        BetweennessCentrality.sampled(graph, 80, 5, pool).scores()[graph.idOf("BRIDGE")];
+
+    // Every route between the clusters crosses the bridge
+    assertEquals(100.0 * 100.0, exact, 1e-6);
+    assertEquals(exact, estimate, exact * 0.25);
+  }
+
+  @Test
+  void sampledModeShouldFallBackToExactForSmallGraphs() {
+    GraphSnapshot graph = GraphSnapshot.of(path("A", "B", "C"));
+
+    CentralityScores scores = BetweennessCentrality.sampled(graph, 10, 1, pool);
+
+    assertFalse(scores.approximate());
+  }
+
+  @Test
+  void shouldRankTopCountries() {
+    GraphSnapshot graph = GraphSnapshot.of(path("A", "B", "C", "D", "E"));
+
+    int[] top = BetweennessCentrality.exact(graph, pool).top(2);
+
+    assertEquals(graph.idOf("C"), top[0]);
+    assertEquals(2, top.length);
+  }
+
+  /** Counts, for every pair, the fraction of shortest paths through each node. */
+  private static double[] bruteForce(GraphSnapshot graph) {
+    int n = graph.size();
+    int[][] distance = new int[n][];
+    long[][] count = new long[n][];
+    for (int s = 0; s < n; s++) {
+      distance[s] = new int[n];
+      count[s] = new long[n];
+      Arrays.fill(distance[s], -1);
+      ArrayDeque<Integer> queue = new ArrayDeque<>();
+      queue.add(s);
+      distance[s][s] = 0;
+      count[s][s] = 1;
+      while (!queue.isEmpty()) {
+        int current = queue.poll();
+        for (int neighbor : graph.neighbors(current)) {
+          if (distance[s][neighbor] < 0) {
+            distance[s][neighbor] = distance[s][current] + 1;
+            queue.add(neighbor);
+          }
+          if (distance[s][neighbor] == distance[s][current] + 1) {
+            count[s][neighbor] += count[s][current];
+          }
+        }
+      }
+    }
+    double[] scores = new double[n];
+    for (int s = 0; s < n; s++) {
+      for (int t = s + 1; t < n; t++) {
+        if (distance[s][t] < 0) {
+          continue;
+        }
+        for (int v = 0; v < n; v++) {
+          if (v != s
+              && v != t
+              && distance[s][v] >= 0
+              && distance[v][t] >= 0
+              && distance[s][v] + distance[v][t] == distance[s][t]) {
+            scores[v] += (double) count[s][v] * count[v][t] / count[s][t];
+          }
+        }
+      }
+    }
+    return scores;
+  }
+
+  private static Map<String, List<String>> randomGraph(int n, int degree, long seed) {
+    Random random = new Random(seed);
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (int i = 0; i < n; i++) {
+      List<String> borders = new ArrayList<>();
+      for (int j = 0; j < degree; j++) {
+        borders.add("N" + random.nextInt(n));
+      }
+      borderGraph.put("N" + i, borders);
+    }
+    return borderGraph;
+  }
+
+  private static Map<String, List<String>> path(String... codes) {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (int i = 0; i < codes.length; i++) {
+      List<String> borders = new ArrayList<>();
+      if (i > 0) {
+        borders.add(codes[i - 1]);
+      }
+      if (i < codes.length - 1) {
+        borders.add(codes[i + 1]);
+      }
+      borderGraph.put(codes[i], borders);
+    }
+    return borderGraph;
+  }
+}
@@ -0,0 +1,157 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedReachabilityTest {
+
+  private static final int SEQUENTIAL = Integer.MAX_VALUE;
+  private static final int PARALLEL = 0;
+
+  @Test
+  void shouldGroupCountriesByHops() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B", "C"));
+    borderGraph.put("B", List.of("D"));
+    borderGraph.put("C", List.of("D"));
+    borderGraph.put("D", List.of("E"));
+    borderGraph.put("E", List.of());
+    borderGraph.put("ISL", List.of());
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+
+    HopLevels result = BoundedReachability.search(graph, graph.idOf("A"), 2, true, SEQUENTIAL);
+
+    assertEquals(2, result.depth());
+    assertEquals(List.of("B", "C"), result.countries(0));
+    assertEquals(List.of("D"), result.countries(1));
+    assertEquals(3, result.total());
+  }
+
+  @Test
+  void shouldStopWhenNothingNewIsReachable() {
+    GraphSnapshot graph = GraphSnapshot.of(Map.of("A", List.of("B"), "B", List.of()));
+
+    HopLevels result = BoundedReachability.search(graph, graph.idOf("A"), 10, true, SEQUENTIAL);
+
+    assertEquals(1, result.depth());
+    assertEquals(1, result.total());
+  }
+
+  @Test
+  void shouldReturnNoLevelsForZeroHops() {
+    GraphSnapshot graph = GraphSnapshot.of(Map.of("A", List.of("B"), "B", List.of()));
+
+    HopLevels result = BoundedReachability.search(graph, graph.idOf("A"), 0, true, SEQUENTIAL);
+
+    assertEquals(0, result.depth());
+    assertEquals(0, result.total());
+  }
+
+  @Test
+  void shouldAcceptHopLimitsFarAboveTheGraphSize() {
+    GraphSnapshot graph =
+        GraphSnapshot.of(Map.of("A", List.of("B"), "B", List.of("C"), "C", List.of()));
+
+    for (int threshold : new int[] {SEQUENTIAL, PARALLEL}) {
+      HopLevels result =
+          BoundedReachability.search(graph, graph.idOf("A"), Integer.MAX_VALUE, true, threshold);
+      assertEquals(2, result.depth());
+      assertEquals(2, result.total());
+    }
+  }
+
+  @Test
+  void shouldOnlyCountInCountOnlyMode() {
+    GraphSnapshot graph =
+        GraphSnapshot.of(Map.of("A", List.of("B", "C"), "B", List.of(), "C", List.of()));
+
+    HopLevels result = BoundedReachability.search(graph, graph.idOf("A"), 3, false, SEQUENTIAL);
+
+    assertNull(result.levels());
+    assertArrayEquals(new int[] {2}, result.counts());
+  }
+
+  @Test
+  void shouldNotCrossDisabledCountries() {
+    GraphSnapshot graph =
+        GraphSnapshot.of(Map.of("A", List.of("B"), "B", List.of("C"), "C", List.of()));
+    GraphSnapshot disabled = graph.disableCountry(graph.idOf("B")).current();
+
+    for (int threshold : new int[] {SEQUENTIAL, PARALLEL}) {
+      HopLevels result =
+          BoundedReachability.search(disabled, disabled.idOf("A"), 5, true, threshold);
+      assertEquals(0, result.total());
+    }
+  }
+
+  @Test
+  void parallelAndSequentialSearchesShouldMatchPlainBfs() {
+    Random random = new Random(11);
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    // Not a multiple of 64, so the last bitset word is only partly used
+    int n = 2_000;
+    for (int i = 0; i < n; i++) {
+      borderGraph.put("N" + i, List.of("N" + random.nextInt(n), "N" + random.nextInt(n)));
+    }
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+
+    for (int origin = 0; origin < n; origin += 97) {
+      int[] distance = distances(graph, origin);
+      HopLevels sequential = BoundedReachability.search(graph, origin, 6, true, SEQUENTIAL);
+      HopLevels parallel = BoundedReachability.search(graph, origin, 6, true, PARALLEL);
+
+      assertArrayEquals(sequential.counts(), parallel.counts());
+      for (int level = 0; level < sequential.depth(); level++) {
+        assertArrayEquals(sequential.levels()[level], parallel.levels()[level]);
+        for (String code : sequential.countries(level)) {
+          assertEquals(level + 1, distance[graph.idOf(code)]);
+        }
+      }
+      int expected = 0;
+      for (int d : distance) {
+        if (d >= 1 && d <= 6) {
+          expected++;
+        }
+      }
+      assertEquals(expected, sequential.total());
+    }
+  }
+
+  @Test
+  void shouldStopBetweenLevelsWhenGuardAsks() {
+    GraphSnapshot graph =
+        GraphSnapshot.of(Map.of("A", List.of("B"), "B", List.of("C"), "C", List.of()));
+    int[] polls = {0};
+
+    SearchAbortedException aborted =
+        assertThrows(
+            SearchAbortedException.class,
+            () ->
+                BoundedReachability.search(
+                    graph, graph.idOf("A"), 5, true, SEQUENTIAL, () -> ++polls[0] == 2));
+
+    // The first level reached B before the second poll stopped the search
+    assertEquals(1, aborted.nodesExpanded());
+  }
+
+  private static int[] distances(GraphSnapshot graph, int origin) {
+    int[] distance = new int[graph.size()];
+    Arrays.fill(distance, -1);
+    Deque<Integer> queue = new ArrayDeque<>();
+    distance[origin] = 0;
+    queue.add(origin);
+    while (!queue.isEmpty()) {
+      int current = queue.poll();
+      for (int neighbor : graph.neighbors(current)) {
+        if (distance[neighbor] < 0) {
+          distance[neighbor] = distance[current] + 1;
+          queue.add(neighbor);
+        }
+      }
+    }
+    return distance;
+  }
+}
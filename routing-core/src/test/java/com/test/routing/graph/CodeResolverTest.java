@@ -0,0 +1,83 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CodeResolverTest {
+
+  private CountryCodes table;
+  private BitSet members;
+
+  @BeforeEach
+  void setUp() {
+    table = new CountryCodes();
+    members = new BitSet();
+    for (String code : List.of("CZE", "BHR", "BRN", "AUT", "BRIDGE")) {
+      members.set(table.intern(code));
+    }
+  }
+
+  @Test
+  void shouldResolveEverySchemeIgnoringCase() {
+    CodeResolver resolver =
+        CodeResolver.build(table, members, Map.of("CZE", List.of("CZ", "203", "CZE")));
+
+    int cze = table.idOf("CZE");
+    assertEquals(cze, resolver.resolve("CZE"));
+    assertEquals(cze, resolver.resolve("cze"));
+    assertEquals(cze, resolver.resolve("Cz"));
+    assertEquals(cze, resolver.resolve("203"));
+    assertEquals(-1, resolver.resolve("XX"));
+    assertEquals(-1, resolver.resolve("C"));
+    assertEquals(-1, resolver.resolve("C-Z"));
+    assertEquals(-1, resolver.resolve(null));
+  }
+
+  @Test
+  void shouldPreferPrimaryCodeOverAliasOfAnotherCountry() {
+    // BRN is the IOC code of Bahrain and the cca3 code of Brunei
+    CodeResolver resolver =
+        CodeResolver.build(table, members, Map.of("BHR", List.of("BH", "048", "BRN")));
+
+    assertEquals(table.idOf("BRN"), resolver.resolve("BRN"));
+    assertEquals(table.idOf("BHR"), resolver.resolve("bh"));
+    assertEquals(0, resolver.ambiguousCount());
+  }
+
+  @Test
+  void shouldDropAliasesClaimedByTwoCountries() {
+    CodeResolver resolver =
+        CodeResolver.build(
+            table,
+            members,
+            Map.of("CZE", List.of("XY", "CZ"), "AUT", List.of("XY", "AT"), "BHR", List.of("XY")));
+
+    assertEquals(-1, resolver.resolve("XY"));
+    assertEquals(table.idOf("AUT"), resolver.resolve("AT"));
+    assertEquals(1, resolver.ambiguousCount());
+  }
+
+  @Test
+  void shouldMatchLongCodesExactly() {
+    CodeResolver resolver = CodeResolver.build(table, members, Map.of());
+
+    assertEquals(table.idOf("BRIDGE"), resolver.resolve("BRIDGE"));
+    assertEquals(-1, resolver.resolve("bridge"));
+  }
+
+  @Test
+  void shouldIgnoreCountriesOutsideTheDataset() {
+    int other = table.intern("ITA");
+    CodeResolver resolver = CodeResolver.build(table, members, Map.of("ITA", List.of("IT")));
+
+    assertEquals(-1, resolver.resolve("ITA"));
+    assertEquals(-1, resolver.resolve("IT"));
+    assertNotEquals(-1, other);
+  }
+}
@@ -0,0 +1,129 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CompressedAdjacencyTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void shouldDecodeSortedRows() {
+    int[][] rows = randomRows(500, 4, 11);
+
+    CompressedAdjacency adjacency = CompressedAdjacency.of(rows);
+
+    assertEquals(rows.length, adjacency.size());
+    assertEquals(Arrays.stream(rows).mapToLong(row -> row.length).sum(), adjacency.entries());
+    int[] buffer = new int[rows.length];
+    for (int id = 0; id < rows.length; id++) {
+      int[] expected = rows[id].clone();
+      Arrays.sort(expected);
+      assertArrayEquals(expected, adjacency.neighbors(id), "row " + id);
+      assertEquals(expected.length, adjacency.degree(id));
+      assertEquals(expected.length, adjacency.neighbors(id, buffer));
+      assertArrayEquals(expected, Arrays.copyOf(buffer, expected.length));
+    }
+    assertNull(adjacency.file());
+  }
+
+  @Test
+  void shouldEncodeNearbyNeighborsInOneByteEach() {
+    // A ring, every country borders the ones before and after it
+    int n = 1000;
+    int[][] rows = new int[n][];
+    for (int id = 0; id < n; id++) {
+      rows[id] = new int[] {(id + n - 1) % n, (id + 1) % n};
+    }
+
+    CompressedAdjacency adjacency = CompressedAdjacency.of(rows);
+
+    // Header and index, then degree plus two gaps per row except the two wrapping around
+    long index = CompressedAdjacency.HEADER_BYTES + 4L * (n + 1);
+    assertTrue(adjacency.byteSize() - index <= 3L * n + 4, "size " + adjacency.byteSize());
+    assertArrayEquals(new int[] {1, n - 1}, adjacency.neighbors(0));
+    assertArrayEquals(new int[] {0, n - 2}, adjacency.neighbors(n - 1));
+  }
+
+  @Test
+  void shouldHandleEmptyRowsAndLargeIds() {
+    int[][] rows = new int[3][];
+    rows[0] = new int[] {2};
+    rows[1] = new int[0];
+    rows[2] = new int[] {0};
+
+    CompressedAdjacency adjacency = CompressedAdjacency.of(rows);
+
+    assertArrayEquals(new int[] {2}, adjacency.neighbors(0));
+    assertArrayEquals(new int[0], adjacency.neighbors(1));
+    assertArrayEquals(new int[] {0}, adjacency.neighbors(2));
+    assertThrows(
+        IllegalArgumentException.class, () -> CompressedAdjacency.of(new int[][] {{1, 1}, {0}}));
+  }
+
+  @Test
+  void shouldMapWrittenFileAndReuseIt() throws IOException {
+    int[][] rows = randomRows(300, 3, 5);
+
+    CompressedAdjacency mapped = CompressedAdjacency.open(rows, directory);
+    CompressedAdjacency reopened = CompressedAdjacency.open(rows, directory);
+
+    assertNotNull(mapped.file());
+    assertEquals(mapped.file(), reopened.file());
+    assertEquals(CompressedAdjacency.of(rows).byteSize(), Files.size(mapped.file()));
+    for (int id = 0; id < rows.length; id++) {
+      assertArrayEquals(CompressedAdjacency.of(rows).neighbors(id), reopened.neighbors(id));
+    }
+    try (var files = Files.list(directory)) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  void shouldRejectInvalidFile() throws IOException {
+    Path file = directory.resolve("adjacency.bin");
+    Files.write(file, new byte[64]);
+
+    assertThrows(IOException.class, () -> CompressedAdjacency.map(file));
+  }
+
+  @Test
+  void shouldRewriteFileThatDoesNotMatch() throws IOException {
+    int[][] rows = randomRows(50, 2, 3);
+    Path file = CompressedAdjacency.open(rows, directory).file();
+    CompressedAdjacency.of(randomRows(50, 2, 4)).writeTo(file);
+
+    CompressedAdjacency reopened = CompressedAdjacency.open(rows, directory);
+
+    assertEquals(CompressedAdjacency.fingerprint(rows), reopened.fingerprint());
+  }
+
+  /** Random symmetric rows without duplicates or self loops. */
+  private static int[][] randomRows(int n, int edgesPerNode, long seed) {
+    Random random = new Random(seed);
+    List<Set<Integer>> sets = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      sets.add(new LinkedHashSet<>());
+    }
+    for (int i = 0; i < n; i++) {
+      for (int e = 0; e < edgesPerNode; e++) {
+        // Mostly nearby ids, sometimes far ones
+        int j = random.nextInt(4) == 0 ? random.nextInt(n) : (i + 1 + random.nextInt(8)) % n;
+        if (j != i) {
+          sets.get(i).add(j);
+          sets.get(j).add(i);
+        }
+      }
+    }
+    return sets.stream()
+        .map(set -> set.stream().mapToInt(Integer::intValue).toArray())
+        .toArray(int[][]::new);
+  }
+}
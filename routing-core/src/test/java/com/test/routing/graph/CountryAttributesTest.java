@@ -0,0 +1,80 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CountryAttributesTest {
+
+  private CountryCodes table;
+  private CountryAttributes attributes;
+
+  @BeforeEach
+  void setUp() {
+    table = new CountryCodes();
+    for (String code : new String[] {"CZE", "FRA", "BOL", "PER", "KOS"}) {
+      table.intern(code);
+    }
+    attributes =
+        CountryAttributes.builder(table)
+            .add("CZE", true, true, "Europe")
+            .add("FRA", false, true, "Europe")
+            .add("BOL", true, true, "Americas")
+            .add("PER", false, true, "Americas")
+            .add("KOS", true, false, "Europe")
+            .build();
+  }
+
+  @Test
+  void shouldSelectSingleAttribute() {
+    assertEquals(ids("FRA", "PER"), attributes.select("coastal"));
+    assertEquals(ids("CZE", "BOL", "KOS"), attributes.select("landlocked"));
+  }
+
+  @Test
+  void shouldIntersectTermsAndNegate() {
+    assertEquals(ids("CZE", "FRA"), attributes.select("region:Europe, unMember"));
+    assertEquals(ids("KOS"), attributes.select("REGION:europe,!unmember"));
+  }
+
+  @Test
+  void shouldRejectUnknownAttribute() {
+    IllegalArgumentException error =
+        assertThrows(IllegalArgumentException.class, () -> attributes.select("region:Atlantis"));
+
+    assertTrue(error.getMessage().contains("region:europe"));
+  }
+
+  @Test
+  void shouldRejectEmptyPredicate() {
+    assertThrows(IllegalArgumentException.class, () -> attributes.select(" , "));
+  }
+
+  @Test
+  void shouldLeaveCountriesWithUnknownValuesOutOfBothSides() {
+    table.intern("ATA");
+    CountryAttributes partial =
+        CountryAttributes.builder(table).add("ATA", null, null, null).build();
+
+    assertTrue(partial.select("landlocked").isEmpty());
+    assertTrue(partial.select("coastal").isEmpty());
+    assertEquals(1, partial.select("!unMember").cardinality());
+  }
+
+  @Test
+  void shouldKnowFixedAttributesWhenEmpty() {
+    assertTrue(CountryAttributes.empty().select("coastal").isEmpty());
+    assertTrue(CountryAttributes.empty().names().contains("unmember"));
+  }
+
+  private BitSet ids(String... codes) {
+    BitSet ids = new BitSet();
+    for (String code : codes) {
+      ids.set(table.idOf(code));
+    }
+    return ids;
+  }
+}
@@ -0,0 +1,32 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class CountryCodesTest {
+
+  @Test
+  void shouldAssignDenseIdsOnce() {
+    CountryCodes codes = new CountryCodes();
+
+    assertEquals(0, codes.intern("CZE"));
+    assertEquals(1, codes.intern("AUT"));
+    assertEquals(0, codes.intern("CZE"));
+    assertEquals(2, codes.size());
+    assertEquals("AUT", codes.codeOf(1));
+    assertEquals(-1, codes.idOf("ITA"));
+  }
+
+  @Test
+  void shouldGrowBeyondInitialCapacity() {
+    CountryCodes codes = new CountryCodes();
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i, codes.intern("C" + i));
+    }
+
+    assertEquals(1000, codes.size());
+    assertEquals("C999", codes.codeOf(999));
+    assertEquals(500, codes.idOf("C500"));
+  }
+}
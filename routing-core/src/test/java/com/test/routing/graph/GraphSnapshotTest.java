@@ -0,0 +1,342 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GraphSnapshotTest {
+
+  @Test
+  void shouldAssignDenseIdsInInsertionOrder() {
+    GraphSnapshot graph = GraphSnapshot.of(chain("A", "B", "C"));
+
+    assertEquals(3, graph.size());
+    assertEquals(0, graph.idOf("A"));
+    assertEquals("C", graph.codeOf(2));
+    assertEquals(-1, graph.idOf("X"));
+    assertEquals(1, graph.version());
+  }
+
+  @Test
+  void shouldMakeBordersSymmetricAndDropUnknownCodes() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B", "UNKNOWN"));
+    borderGraph.put("B", List.of());
+
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+
+    assertEquals(List.of("B"), graph.borderGraph().get("A"));
+    assertEquals(List.of("A"), graph.borderGraph().get("B"));
+  }
+
+  @Test
+  void shouldLabelConnectedComponents() {
+    Map<String, List<String>> borderGraph = chain("A", "B", "C");
+    borderGraph.put("X", List.of());
+
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+
+    assertEquals(graph.componentOf(0), graph.componentOf(2));
+    assertNotEquals(graph.componentOf(0), graph.componentOf(graph.idOf("X")));
+    assertEquals(3, graph.componentSize(graph.componentOf(0)));
+  }
+
+  @Test
+  void shouldCreateNewVersionWithoutChangingOriginal() {
+    GraphSnapshot graph = GraphSnapshot.of(chain("A", "B", "C"));
+
+    GraphChange change = graph.removeBorder(graph.idOf("A"), graph.idOf("B"));
+
+    assertEquals(2, change.current().version());
+    assertSame(graph, change.previous());
+    assertTrue(graph.hasBorder(0, 1));
+    assertFalse(change.current().hasBorder(0, 1));
+    assertEquals(List.of("B"), graph.borderGraph().get("A"));
+    assertEquals(List.of(), change.current().borderGraph().get("A"));
+  }
+
+  @Test
+  void shouldShareUntouchedAdjacencyRows() {
+    GraphSnapshot graph = GraphSnapshot.of(chain("A", "B", "C", "D"));
+
+    GraphSnapshot next = graph.removeBorder(graph.idOf("A"), graph.idOf("B")).current();
+
+    assertSame(graph.neighbors(graph.idOf("D")), next.neighbors(next.idOf("D")));
+  }
+
+  @Test
+  void shouldSplitComponentWhenBridgeIsRemoved() {
+    GraphSnapshot graph = GraphSnapshot.of(chain("A", "B", "C", "D"));
+
+    GraphChange change = graph.removeBorder(graph.idOf("B"), graph.idOf("C"));
+    GraphSnapshot next = change.current();
+
+    assertNotEquals(next.componentOf(next.idOf("A")), next.componentOf(next.idOf("D")));
+    assertEquals(2, next.componentSize(next.componentOf(next.idOf("A"))));
+    assertEquals(2, next.componentSize(next.componentOf(next.idOf("D"))));
+    assertEquals(Set.of(graph.componentOf(0)), change.affectedComponents());
+  }
+
+  @Test
+  void shouldMergeComponentsWhenBorderIsAdded() {
+    Map<String, List<String>> borderGraph = chain("A", "B");
+    borderGraph.putAll(chain("X", "Y", "Z"));
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+
+    GraphChange change = graph.addBorder(graph.idOf("B"), graph.idOf("X"));
+    GraphSnapshot next = change.current();
+
+    assertEquals(next.componentOf(next.idOf("A")), next.componentOf(next.idOf("Z")));
+    assertEquals(5, next.componentSize(next.componentOf(next.idOf("A"))));
+    assertEquals(2, change.affectedComponents().size());
+  }
+
+  @Test
+  void shouldDisableAndEnableCountry() {
+    GraphSnapshot graph = GraphSnapshot.of(chain("A", "B", "C"));
+    int b = graph.idOf("B");
+
+    GraphSnapshot disabled = graph.disableCountry(b).current();
+
+    assertFalse(disabled.isEnabled(b));
+    assertEquals(-1, disabled.componentOf(b));
+    assertEquals(0, disabled.neighbors(b).length);
+    assertNotEquals(disabled.componentOf(0), disabled.componentOf(2));
+    assertTrue(disabled.hasBorder(0, b));
+
+    GraphSnapshot enabled = disabled.enableCountry(b).current();
+
+    assertTrue(enabled.isEnabled(b));
+    assertEquals(enabled.componentOf(0), enabled.componentOf(2));
+    assertEquals(3, enabled.componentSize(enabled.componentOf(b)));
+    assertEquals(3, enabled.version());
+  }
+
+  @Test
+  void shouldKeepBorderToDisabledCountryInactive() {
+    GraphSnapshot graph = GraphSnapshot.of(chain("A", "B", "C"));
+    GraphSnapshot disabled = graph.disableCountry(graph.idOf("C")).current();
+
+    GraphSnapshot next = disabled.addBorder(disabled.idOf("A"), disabled.idOf("C")).current();
+
+    assertTrue(next.hasBorder(next.idOf("A"), next.idOf("C")));
+    assertEquals(List.of("B"), next.borderGraph().get("A"));
+    GraphSnapshot enabled = next.enableCountry(next.idOf("C")).current();
+    assertEquals(List.of("B", "C"), enabled.borderGraph().get("A"));
+  }
+
+  @Test
+  void shouldRejectInvalidMutations() {
+    GraphSnapshot graph = GraphSnapshot.of(chain("A", "B"));
+
+    assertThrows(IllegalArgumentException.class, () -> graph.addBorder(0, 0));
+    assertThrows(IllegalArgumentException.class, () -> graph.enableCountry(0));
+    GraphSnapshot disabled = graph.disableCountry(0).current();
+    assertThrows(IllegalArgumentException.class, () -> disabled.disableCountry(0));
+  }
+
+  @Test
+  void incrementalComponentsShouldMatchFullRecomputation() {
+    Random random = new Random(42);
+    int n = 60;
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (int i = 0; i < n; i++) {
+      List<String> borders = new ArrayList<>();
+      for (int j = 0; j < 2; j++) {
+        borders.add("N" + random.nextInt(n));
+      }
+      borderGraph.put("N" + i, borders);
+    }
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+
+    for (int step = 0; step < 500; step++) {
+      int a = random.nextInt(n);
+      int b = random.nextInt(n);
+      switch (random.nextInt(4)) {
+        case 0 -> {
+          if (a != b && !graph.hasBorder(a, b)) {
+            graph = graph.addBorder(a, b).current();
+          }
+        }
+        case 1 -> {
+          if (graph.hasBorder(a, b)) {
+            graph = graph.removeBorder(a, b).current();
+          }
+        }
+        case 2 -> {
+          if (graph.isEnabled(a)) {
+            graph = graph.disableCountry(a).current();
+          }
+        }
+        default -> {
+          if (!graph.isEnabled(a)) {
+            graph = graph.enableCountry(a).current();
+          }
+        }
+      }
+      assertComponentsConsistent(graph);
+    }
+  }
+
+  private static void assertComponentsConsistent(GraphSnapshot graph) {
+    GraphSnapshot rebuilt = GraphSnapshot.of(graph.borderGraph());
+    Map<Integer, Integer> sizes = new HashMap<>();
+    for (int i = 0; i < graph.size(); i++) {
+      if (!graph.isEnabled(i)) {
+        assertEquals(-1, graph.componentOf(i));
+        continue;
+      }
+      sizes.merge(graph.componentOf(i), 1, Integer::sum);
+      assertEquals(graph.componentOf(i), graph.componentOf(graph.componentOf(i)));
+      for (int j = 0; j < graph.size(); j++) {
+        if (graph.isEnabled(j)) {
+          assertEquals(
+              rebuilt.componentOf(i) == rebuilt.componentOf(j),
+              graph.componentOf(i) == graph.componentOf(j));
+        }
+      }
+    }
+    sizes.forEach((label, size) -> assertEquals(size, graph.componentSize(label)));
+  }
+
+  @Test
+  void shouldShareCodeTableBetweenDatasets() {
+    CountryCodes table = new CountryCodes();
+    GraphSnapshot current = GraphSnapshot.of(chain("CZE", "AUT", "ITA"), 1, table);
+    GraphSnapshot historical = GraphSnapshot.of(chain("DDR", "CZE", "AUT"), 1, table);
+
+    assertEquals(current.idOf("CZE"), historical.idOf("CZE"));
+    assertEquals(-1, current.idOf("DDR"));
+    assertEquals(-1, historical.idOf("ITA"));
+    assertEquals(3, historical.countryCount());
+    assertEquals(4, historical.size());
+    assertFalse(historical.isEnabled(table.idOf("ITA")));
+    assertEquals(-1, historical.componentOf(table.idOf("ITA")));
+    assertEquals(Set.of("DDR", "CZE", "AUT"), historical.borderGraph().keySet());
+    assertEquals(List.of("CZE"), historical.borderGraph().get("DDR"));
+  }
+
+  @Test
+  void shouldNotEnableCountryOfAnotherDataset() {
+    CountryCodes table = new CountryCodes();
+    GraphSnapshot.of(chain("ITA"), 1, table);
+    GraphSnapshot graph = GraphSnapshot.of(chain("CZE", "AUT"), 1, table);
+
+    assertThrows(IllegalArgumentException.class, () -> graph.enableCountry(table.idOf("ITA")));
+  }
+
+  @Test
+  void compressedSnapshotShouldListSortedNeighbors() {
+    GraphSnapshot graph = GraphSnapshot.of(chain("A", "B", "C"));
+    GraphSnapshot compressed = graph.compress();
+
+    assertEquals(graph.version(), compressed.version());
+    assertNotNull(compressed.compressedAdjacency());
+    assertNull(graph.compressedAdjacency());
+    assertArrayEquals(new int[] {0, 2}, compressed.neighbors(1));
+    assertEquals(graph.borderGraph(), compressed.borderGraph());
+    assertEquals(graph.componentOf(2), compressed.componentOf(2));
+  }
+
+  @Test
+  void compressedSnapshotShouldKeepDisabledRows() {
+    GraphSnapshot graph = GraphSnapshot.of(chain("A", "B", "C"));
+    GraphSnapshot compressed = graph.disableCountry(graph.idOf("B")).current().compress();
+
+    assertEquals(0, compressed.neighbors(1).length);
+    assertEquals(0, compressed.neighbors(0).length);
+    assertTrue(compressed.hasBorder(0, 1));
+    GraphSnapshot enabled = compressed.enableCountry(1).current();
+    assertArrayEquals(new int[] {0, 2}, enabled.neighbors(1));
+    assertEquals(enabled.componentOf(0), enabled.componentOf(2));
+  }
+
+  @Test
+  void compressedMutationsShouldMatchUncompressedOnes(@TempDir Path directory) throws IOException {
+    Random random = new Random(7);
+    int n = 60;
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (int i = 0; i < n; i++) {
+      borderGraph.put("N" + i, List.of("N" + random.nextInt(n), "N" + random.nextInt(n)));
+    }
+    GraphSnapshot plain = GraphSnapshot.of(borderGraph);
+    GraphSnapshot compressed = plain.compress(directory);
+    assertNotNull(compressed.compressedAdjacency().file());
+
+    for (int step = 0; step < 300; step++) {
+      int a = random.nextInt(n);
+      int b = random.nextInt(n);
+      switch (random.nextInt(4)) {
+        case 0 -> {
+          if (a != b && !plain.hasBorder(a, b)) {
+            plain = plain.addBorder(a, b).current();
+            compressed = compressed.addBorder(a, b).current();
+          }
+        }
+        case 1 -> {
+          if (plain.hasBorder(a, b)) {
+            plain = plain.removeBorder(a, b).current();
+            compressed = compressed.removeBorder(a, b).current();
+          }
+        }
+        case 2 -> {
+          if (plain.isEnabled(a)) {
+            plain = plain.disableCountry(a).current();
+            compressed = compressed.disableCountry(a).current();
+          }
+        }
+        default -> {
+          if (!plain.isEnabled(a)) {
+            plain = plain.enableCountry(a).current();
+            compressed = compressed.enableCountry(a).current();
+          }
+        }
+      }
+      NeighborBuffer buffer = new NeighborBuffer();
+      for (int i = 0; i < n; i++) {
+        assertEquals(sorted(plain.neighbors(i)), sorted(compressed.neighbors(i)));
+        compressed.neighbors(i, buffer);
+        int[] filled = new int[buffer.count()];
+        for (int j = 0; j < filled.length; j++) {
+          filled[j] = buffer.get(j);
+        }
+        assertArrayEquals(compressed.neighbors(i), filled);
+        assertEquals(plain.hasBorder(i, b), compressed.hasBorder(i, b));
+        // Labels are picked in neighbor order, so only the partition has to match
+        for (int j = 0; j < n; j++) {
+          assertEquals(
+              plain.componentOf(i) == plain.componentOf(j),
+              compressed.componentOf(i) == compressed.componentOf(j));
+        }
+      }
+      if (step % 100 == 99) {
+        // Compressing again folds the mutated rows into a new encoding
+        compressed = compressed.compress();
+      }
+    }
+  }
+
+  private static List<Integer> sorted(int[] row) {
+    return Arrays.stream(row).sorted().boxed().toList();
+  }
+
+  private static Map<String, List<String>> chain(String... codes) {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (int i = 0; i < codes.length; i++) {
+      List<String> borders = new ArrayList<>();
+      if (i > 0) {
+        borders.add(codes[i - 1]);
+      }
+      if (i < codes.length - 1) {
+        borders.add(codes[i + 1]);
+      }
+      borderGraph.put(codes[i], borders);
+    }
+    return borderGraph;
+  }
+}
@@ -0,0 +1,141 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class GraphStructureTest {
+
+  @Test
+  void shouldFindArticulationPointsAndBridgesOfPath() {
+    GraphSnapshot graph = GraphSnapshot.of(path("A", "B", "C", "D"));
+
+    GraphStructure structure = GraphStructure.analyze(graph);
+
+    assertArrayEquals(new int[] {graph.idOf("B"), graph.idOf("C")}, structure.articulationPoints());
+    assertEquals(3, structure.bridgeCount());
+  }
+
+  @Test
+  void shouldFindNoBridgesInCycle() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B", "D"));
+    borderGraph.put("B", List.of("A", "C"));
+    borderGraph.put("C", List.of("B", "D"));
+    borderGraph.put("D", List.of("C", "A"));
+
+    GraphStructure structure = GraphStructure.analyze(GraphSnapshot.of(borderGraph));
+
+    assertEquals(0, structure.bridgeCount());
+    assertEquals(0, structure.articulationPoints().length);
+  }
+
+  @Test
+  void shouldDetectArticulationRootWithSeveralChildren() {
+    // Star centered on the first country, which is the DFS root
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("HUB", List.of("X", "Y", "Z"));
+    borderGraph.put("X", List.of());
+    borderGraph.put("Y", List.of());
+    borderGraph.put("Z", List.of());
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+
+    GraphStructure structure = GraphStructure.analyze(graph);
+
+    assertTrue(structure.isArticulationPoint(graph.idOf("HUB")));
+    assertEquals(3, structure.bridgeCount());
+  }
+
+  @Test
+  void shouldComputeEccentricityAndDiameter() {
+    Map<String, List<String>> borderGraph = path("A", "B", "C", "D", "E");
+    borderGraph.put("ISL", List.of());
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+
+    GraphStructure structure = GraphStructure.analyze(graph);
+
+    assertEquals(4, structure.eccentricity(graph.idOf("A")));
+    assertEquals(2, structure.eccentricity(graph.idOf("C")));
+    assertEquals(0, structure.eccentricity(graph.idOf("ISL")));
+    assertEquals(4, structure.diameter(graph.componentOf(graph.idOf("C"))));
+    assertEquals(0, structure.diameter(graph.componentOf(graph.idOf("ISL"))));
+  }
+
+  @Test
+  void shouldIgnoreDisabledCountries() {
+    GraphSnapshot graph = GraphSnapshot.of(path("A", "B", "C"));
+    GraphSnapshot disabled = graph.disableCountry(graph.idOf("B")).current();
+
+    GraphStructure structure = GraphStructure.analyze(disabled);
+
+    assertEquals(-1, structure.eccentricity(graph.idOf("B")));
+    assertFalse(structure.isArticulationPoint(graph.idOf("B")));
+    assertEquals(0, structure.bridgeCount());
+  }
+
+  @Test
+  void bridgesShouldMatchBruteForceRemoval() {
+    Random random = new Random(3);
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (int i = 0; i < 80; i++) {
+      borderGraph.put("N" + i, List.of("N" + random.nextInt(80)));
+    }
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+    GraphStructure structure = GraphStructure.analyze(graph);
+
+    Set<Set<Integer>> expected = new HashSet<>();
+    for (int a = 0; a < graph.size(); a++) {
+      for (int b : graph.neighbors(a)) {
+        if (a < b) {
+          GraphSnapshot without = graph.removeBorder(a, b).current();
+          if (without.componentOf(a) != without.componentOf(b)) {
+            expected.add(Set.of(a, b));
+          }
+        }
+      }
+    }
+    Set<Set<Integer>> actual = new HashSet<>();
+    for (int i = 0; i < structure.bridgeCount(); i++) {
+      actual.add(Set.of(structure.bridgeFrom(i), structure.bridgeTo(i)));
+    }
+
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void articulationPointsShouldMatchBruteForceRemoval() {
+    Random random = new Random(9);
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (int i = 0; i < 60; i++) {
+      borderGraph.put("N" + i, List.of("N" + random.nextInt(60), "N" + random.nextInt(60)));
+    }
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+    GraphStructure structure = GraphStructure.analyze(graph);
+
+    for (int id = 0; id < graph.size(); id++) {
+      GraphSnapshot without = graph.disableCountry(id).current();
+      Set<Integer> labels = new HashSet<>();
+      for (int neighbor : graph.neighbors(id)) {
+        labels.add(without.componentOf(neighbor));
+      }
+      assertEquals(labels.size() > 1, structure.isArticulationPoint(id), graph.codeOf(id));
+    }
+  }
+
+  private static Map<String, List<String>> path(String... codes) {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (int i = 0; i < codes.length; i++) {
+      List<String> borders = new ArrayList<>();
+      if (i > 0) {
+        borders.add(codes[i - 1]);
+      }
+      if (i < codes.length - 1) {
+        borders.add(codes[i + 1]);
+      }
+      borderGraph.put(codes[i], borders);
+    }
+    return borderGraph;
+  }
+}
@@ -0,0 +1,160 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ItineraryPlannerTest {
+
+  private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+  @Test
+  void shouldOrderStopsAlongALine() {
+    // Points on a line: start at 0, stops at 3, 1 and 2
+    int[] positions = {0, 3, 1, 2};
+    int[][] crossings = line(positions);
+
+    ItineraryPlanner.Plan plan = ItineraryPlanner.plan(crossings, false, 12, NO_DEADLINE);
+
+    assertArrayEquals(new int[] {2, 3, 1}, plan.order());
+    assertEquals(3, plan.crossings());
+    assertTrue(plan.exact());
+  }
+
+  @Test
+  void shouldCountReturnForRoundTrip() {
+    int[][] crossings = line(new int[] {0, 3, 1, 2});
+
+    ItineraryPlanner.Plan plan = ItineraryPlanner.plan(crossings, true, 12, NO_DEADLINE);
+
+    assertEquals(6, plan.crossings());
+  }
+
+  @Test
+  void shouldPlanTripWithoutStops() {
+    ItineraryPlanner.Plan plan = ItineraryPlanner.plan(new int[][] {{0}}, false, 12, NO_DEADLINE);
+
+    assertEquals(0, plan.order().length);
+    assertEquals(0, plan.crossings());
+  }
+
+  @Test
+  void shouldMatchBruteForceForSmallSets() {
+    Random random = new Random(42);
+    for (int round = 0; round < 50; round++) {
+      int[][] crossings = randomMetric(random, 2 + random.nextInt(7));
+      for (boolean roundTrip : new boolean[] {false, true}) {
+        ItineraryPlanner.Plan plan = ItineraryPlanner.plan(crossings, roundTrip, 12, NO_DEADLINE);
+
+        assertEquals(bruteForce(crossings, roundTrip), plan.crossings());
+        assertEquals(plan.crossings(), length(crossings, plan.order(), roundTrip));
+      }
+    }
+  }
+
+  @Test
+  void shouldUseHeuristicAboveThreshold() {
+    int[][] crossings = randomMetric(new Random(7), 40);
+
+    ItineraryPlanner.Plan plan = ItineraryPlanner.plan(crossings, false, 12, NO_DEADLINE);
+
+    assertFalse(plan.exact());
+    int[] sorted = plan.order().clone();
+    Arrays.sort(sorted);
+    for (int i = 0; i < sorted.length; i++) {
+      assertEquals(i + 1, sorted[i]);
+    }
+    assertEquals(plan.crossings(), length(crossings, plan.order(), false));
+    int nearestNeighbor = length(crossings, ItineraryPlanner.nearestNeighbor(crossings), false);
+    assertTrue(plan.crossings() <= nearestNeighbor);
+  }
+
+  @Test
+  void shouldUntangleCrossingOrder() {
+    int[][] crossings = line(new int[] {0, 1, 2, 3, 4, 5});
+
+    ItineraryPlanner.Plan plan =
+        ItineraryPlanner.twoOpt(crossings, false, new int[] {1, 4, 3, 2, 5}, NO_DEADLINE);
+
+    assertArrayEquals(new int[] {1, 2, 3, 4, 5}, plan.order());
+    assertEquals(5, plan.crossings());
+  }
+
+  @Test
+  void shouldStopImprovingAtDeadline() {
+    int[][] crossings = line(new int[] {0, 1, 2, 3, 4, 5});
+    int[] order = {1, 4, 3, 2, 5};
+
+    ItineraryPlanner.Plan plan = ItineraryPlanner.twoOpt(crossings, false, order, 0);
+
+    assertArrayEquals(order, plan.order());
+    assertEquals(9, plan.crossings());
+  }
+
+  private static int[][] line(int[] positions) {
+    int[][] crossings = new int[positions.length][positions.length];
+    for (int i = 0; i < positions.length; i++) {
+      for (int j = 0; j < positions.length; j++) {
+        crossings[i][j] = Math.abs(positions[i] - positions[j]);
+      }
+    }
+    return crossings;
+  }
+
+  /** Hop distances between random points of a grid, which satisfy the triangle inequality. */
+  private static int[][] randomMetric(Random random, int points) {
+    int[] x = new int[points];
+    int[] y = new int[points];
+    for (int i = 0; i < points; i++) {
+      x[i] = random.nextInt(20);
+      y[i] = random.nextInt(20);
+    }
+    int[][] crossings = new int[points][points];
+    for (int i = 0; i < points; i++) {
+      for (int j = 0; j < points; j++) {
+        crossings[i][j] = Math.abs(x[i] - x[j]) + Math.abs(y[i] - y[j]);
+      }
+    }
+    return crossings;
+  }
+
+  private static int bruteForce(int[][] crossings, boolean roundTrip) {
+    int[] order = new int[crossings.length - 1];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i + 1;
+    }
+    return permute(crossings, order, 0, roundTrip);
+  }
+
+  private static int permute(int[][] crossings, int[] order, int k, boolean roundTrip) {
+    if (k == order.length) {
+      return length(crossings, order, roundTrip);
+    }
+    int best = Integer.MAX_VALUE;
+    for (int i = k; i < order.length; i++) {
+      swap(order, k, i);
+      best = Math.min(best, permute(crossings, order, k + 1, roundTrip));
+      swap(order, k, i);
+    }
+    return best;
+  }
+
+  private static void swap(int[] order, int i, int j) {
+    int swap = order[i];
+    order[i] = order[j];
+    order[j] = swap;
+  }
+
+  private static int length(int[][] crossings, int[] order, boolean roundTrip) {
+    int total = 0;
+    int previous = 0;
+    for (int point : order) {
+      total += crossings[previous][point];
+      previous = point;
+    }
+    return roundTrip ? total + crossings[previous][0] : total;
+  }
+}
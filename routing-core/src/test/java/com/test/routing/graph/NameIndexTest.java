@@ -0,0 +1,92 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+
+  private NameIndex index;
+
+  @BeforeEach
+  void setUp() {
+    CountryCodes table = new CountryCodes();
+    for (String code : List.of("CZE", "CHE", "CHN", "DEU", "DNK", "AUT")) {
+      table.intern(code);
+    }
+    index =
+        NameIndex.builder(table)
+            .add("CZE", "Czechia", NameIndex.COMMON_NAME)
+            .add("CZE", "Czech Republic", NameIndex.OFFICIAL_NAME)
+            .add("CZE", "Česko", NameIndex.OTHER_NAME)
+            .add("CZE", "Tschechien", NameIndex.OTHER_NAME)
+            .add("CHE", "Switzerland", NameIndex.COMMON_NAME)
+            .add("CHE", "Schweiz", NameIndex.OTHER_NAME)
+            .add("CHN", "China", NameIndex.COMMON_NAME)
+            .add("CHN", "People's Republic of China", NameIndex.OFFICIAL_NAME)
+            .add("CHN", "中国", NameIndex.OTHER_NAME)
+            .add("DEU", "Germany", NameIndex.COMMON_NAME)
+            .add("DEU", "Deutschland", NameIndex.OTHER_NAME)
+            .add("DNK", "Denmark", NameIndex.COMMON_NAME)
+            .add("DNK", "Danmark", NameIndex.OTHER_NAME)
+            .add("AUT", "Austria", NameIndex.COMMON_NAME)
+            .add("AUT", "Österreich", NameIndex.OTHER_NAME)
+            .add("UNKNOWN", "Atlantis", NameIndex.COMMON_NAME)
+            .build();
+  }
+
+  @Test
+  void shouldMatchPrefixOfCommonName() {
+    assertEquals(List.of("CZE"), index.suggest("czech", 10));
+    assertEquals(List.of("CHN"), index.suggest("Chi", 10));
+  }
+
+  @Test
+  void shouldIgnoreAccentsAndCase() {
+    assertEquals(List.of("CZE"), index.suggest("cesk", 10));
+    assertEquals(List.of("CZE"), index.suggest("ČESKO", 10));
+    assertEquals(List.of("AUT"), index.suggest("oster", 10));
+    assertEquals(List.of("AUT"), index.suggest("Öster", 10));
+  }
+
+  @Test
+  void shouldMatchTranslationsAndOtherScripts() {
+    assertEquals(List.of("DEU"), index.suggest("deutsch", 10));
+    assertEquals(List.of("CHN"), index.suggest("中", 10));
+  }
+
+  @Test
+  void shouldMatchLaterWordsOfName() {
+    assertEquals(List.of("CZE", "CHN"), index.suggest("republic", 10));
+  }
+
+  @Test
+  void shouldRankCommonNamesBeforeTranslations() {
+    // "D" starts the common names of Denmark and Germany's translation
+    assertEquals(List.of("DNK", "DEU"), index.suggest("d", 10));
+  }
+
+  @Test
+  void shouldRespectLimit() {
+    assertEquals(2, index.suggest("c", 2).size());
+    assertEquals(List.of(), index.suggest("c", 0));
+  }
+
+  @Test
+  void shouldReturnNothingForUnknownOrBlankQuery() {
+    assertEquals(List.of(), index.suggest("atlantis", 10));
+    assertEquals(List.of(), index.suggest("xyz", 10));
+    assertEquals(List.of(), index.suggest("  ", 10));
+    assertEquals(List.of(), index.suggest(null, 10));
+  }
+
+  @Test
+  void shouldFoldSpecialLetters() {
+    assertEquals("strasse", NameIndex.fold("Straße"));
+    assertEquals("faeroe islands", NameIndex.fold("Færøe-Islands"));
+    assertEquals("cote d ivoire", NameIndex.fold("Côte d'Ivoire"));
+  }
+}
@@ -0,0 +1,89 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NearestMatchTest {
+
+  private GraphSnapshot graph;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B", "C"));
+    borderGraph.put("B", List.of("D"));
+    borderGraph.put("C", List.of("E"));
+    borderGraph.put("D", List.of("F"));
+    borderGraph.put("E", List.of());
+    borderGraph.put("F", List.of());
+    borderGraph.put("ISL", List.of());
+    graph = GraphSnapshot.of(borderGraph);
+  }
+
+  @Test
+  void shouldFindClosestTarget() {
+    NearestMatch.Result result = NearestMatch.search(graph, graph.idOf("A"), targets("F", "E"));
+
+    assertEquals(List.of("A", "C", "E"), codes(result.route()));
+  }
+
+  @Test
+  void shouldStopWhenGuardAsks() {
+    assertThrows(
+        SearchAbortedException.class,
+        () -> NearestMatch.search(graph, graph.idOf("A"), targets("F"), () -> true));
+  }
+
+  @Test
+  void shouldMatchOriginItself() {
+    NearestMatch.Result result = NearestMatch.search(graph, graph.idOf("A"), targets("A", "B"));
+
+    assertEquals(List.of("A"), codes(result.route()));
+    assertEquals(0, result.nodesExpanded());
+  }
+
+  @Test
+  void shouldSkipSearchWhenNoTargetIsInComponent() {
+    NearestMatch.Result result = NearestMatch.search(graph, graph.idOf("A"), targets("ISL"));
+
+    assertNull(result.route());
+    assertEquals(0, result.nodesExpanded());
+  }
+
+  @Test
+  void shouldNotMatchDisabledCountries() {
+    GraphSnapshot disabled = graph.disableCountry(graph.idOf("E")).current();
+
+    NearestMatch.Result result = NearestMatch.search(disabled, graph.idOf("A"), targets("E", "F"));
+
+    assertEquals(List.of("A", "B", "D", "F"), codes(result.route()));
+  }
+
+  @Test
+  void shouldStopAtFirstMatch() {
+    NearestMatch.Result result = NearestMatch.search(graph, graph.idOf("A"), targets("B"));
+
+    assertEquals(List.of("A", "B"), codes(result.route()));
+    assertEquals(1, result.nodesExpanded());
+  }
+
+  private BitSet targets(String... codes) {
+    BitSet targets = new BitSet();
+    for (String code : codes) {
+      targets.set(graph.idOf(code));
+    }
+    return targets;
+  }
+
+  private List<String> codes(int[] route) {
+    return Arrays.stream(route).mapToObj(graph::codeOf).toList();
+  }
+}
@@ -0,0 +1,213 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class ParallelBfsTest {
+
+  @Test
+  void shouldFindSameRoutesAsSequentialBfsOnRandomGraph() {
+    GraphSnapshot graph = randomGraph(new Random(3), 2000, 3000);
+
+    assertSameRoutes(graph, new Random(4), 300);
+  }
+
+  @Test
+  void shouldFindSameRoutesAsSequentialBfsOnGrid() {
+    GraphSnapshot graph = grid(new Random(5), 60, 0.15);
+
+    assertSameRoutes(graph, new Random(6), 200);
+  }
+
+  @Test
+  void shouldSwitchToBottomUpForLargeFrontiers() {
+    GraphSnapshot graph = randomGraph(new Random(7), 5000, 20000);
+    int from = firstInLargestComponent(graph);
+    int to = farthest(graph, from);
+
+    ParallelBfs.Result result = ParallelBfs.search(graph, from, to);
+
+    assertTrue(result.bottomUpLevels() > 0);
+    assertArrayEquals(sequential(graph, from, to), result.route());
+    assertEquals(result.route().length, result.frontierSizes().length);
+  }
+
+  @Test
+  void shouldOnlyVisitOriginComponentBottomUp() {
+    // A larger dataset shares the code table, and the graph has isolated and disabled countries
+    CountryCodes table = new CountryCodes();
+    Map<String, List<String>> other = new LinkedHashMap<>();
+    for (int i = 0; i < 3000; i++) {
+      other.put("O" + i, List.of("O" + (i + 1) % 3000));
+    }
+    GraphSnapshot.of(other, 1, table);
+    Map<String, List<String>> borderGraph =
+        new LinkedHashMap<>(randomGraph(new Random(9), 2000, 8000).borderGraph());
+    for (int i = 0; i < 500; i++) {
+      borderGraph.put("I" + i, List.of());
+    }
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph, 1, table);
+    int from = firstInLargestComponent(graph);
+    int to = farthest(graph, from);
+    for (int i = 0; i < 3; i++) {
+      int id = graph.idOf("C" + i);
+      if (id != from && id != to) {
+        graph = graph.disableCountry(id).current();
+      }
+    }
+
+    ParallelBfs.Result result = ParallelBfs.search(graph, from, to);
+
+    assertTrue(result.bottomUpLevels() > 0);
+    assertNotNull(result.route());
+    assertArrayEquals(sequential(graph, from, to), result.route());
+  }
+
+  @Test
+  void shouldReportNoRouteBetweenComponents() {
+    GraphSnapshot graph =
+        GraphSnapshot.of(Map.of("A", List.of("B"), "B", List.of(), "C", List.of()));
+
+    ParallelBfs.Result result = ParallelBfs.search(graph, graph.idOf("A"), graph.idOf("C"));
+
+    assertNull(result.route());
+  }
+
+  @Test
+  void shouldRouteAroundDisabledCountries() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B", "C"));
+    borderGraph.put("B", List.of("D"));
+    borderGraph.put("C", List.of("E"));
+    borderGraph.put("E", List.of("D"));
+    borderGraph.put("D", List.of());
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+    GraphSnapshot disabled = graph.disableCountry(graph.idOf("B")).current();
+
+    ParallelBfs.Result result = ParallelBfs.search(disabled, graph.idOf("A"), graph.idOf("D"));
+
+    assertArrayEquals(
+        new int[] {graph.idOf("A"), graph.idOf("C"), graph.idOf("E"), graph.idOf("D")},
+        result.route());
+  }
+
+  @Test
+  void shouldStopBetweenLevelsWhenGuardAsks() {
+    GraphSnapshot graph = grid(new Random(8), 40, 0.0);
+    int[] polls = {0};
+
+    SearchAbortedException aborted =
+        assertThrows(
+            SearchAbortedException.class,
+            () -> ParallelBfs.search(graph, 0, graph.size() - 1, () -> ++polls[0] > 3));
+
+    // Levels of one, two and three countries were expanded before the fourth poll
+    assertEquals(6, aborted.nodesExpanded());
+  }
+
+  private static void assertSameRoutes(GraphSnapshot graph, Random random, int pairs) {
+    for (int i = 0; i < pairs; i++) {
+      int from = random.nextInt(graph.size());
+      int to = random.nextInt(graph.size());
+      if (from == to) {
+        continue;
+      }
+      int[] expected = sequential(graph, from, to);
+      int[] actual = ParallelBfs.search(graph, from, to).route();
+
+      assertArrayEquals(expected, actual, "Route from " + from + " to " + to);
+    }
+  }
+
+  /** The search of the routing service, which the parallel search must match exactly. */
+  private static int[] sequential(GraphSnapshot graph, int from, int to) {
+    int[] parent = new int[graph.size()];
+    Arrays.fill(parent, -1);
+    int[] queue = new int[graph.size()];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = from;
+    parent[from] = from;
+    while (head < tail) {
+      int current = queue[head++];
+      for (int neighbor : graph.neighbors(current)) {
+        if (parent[neighbor] < 0) {
+          parent[neighbor] = current;
+          if (neighbor == to) {
+            List<Integer> route = new ArrayList<>();
+            for (int node = to; node != from; node = parent[node]) {
+              route.add(node);
+            }
+            route.add(from);
+            Collections.reverse(route);
+            return route.stream().mapToInt(Integer::intValue).toArray();
+          }
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static GraphSnapshot randomGraph(Random random, int countries, int borders) {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (int i = 0; i < countries; i++) {
+      borderGraph.put("C" + i, new ArrayList<>());
+    }
+    for (int i = 0; i < borders; i++) {
+      borderGraph.get("C" + random.nextInt(countries)).add("C" + random.nextInt(countries));
+    }
+    return GraphSnapshot.of(borderGraph);
+  }
+
+  /** A square grid with a fraction of its borders removed, which has many equally short routes. */
+  private static GraphSnapshot grid(Random random, int side, double removed) {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (int y = 0; y < side; y++) {
+      for (int x = 0; x < side; x++) {
+        List<String> borders = new ArrayList<>();
+        if (x + 1 < side && random.nextDouble() >= removed) {
+          borders.add("G" + y + "_" + (x + 1));
+        }
+        if (y + 1 < side && random.nextDouble() >= removed) {
+          borders.add("G" + (y + 1) + "_" + x);
+        }
+        borderGraph.put("G" + y + "_" + x, borders);
+      }
+    }
+    return GraphSnapshot.of(borderGraph);
+  }
+
+  private static int firstInLargestComponent(GraphSnapshot graph) {
+    int best = graph.resolve(graph.borderGraph().keySet().iterator().next());
+    for (int id = 0; id < graph.size(); id++) {
+      if (graph.componentOf(id) >= 0
+          && graph.componentSize(graph.componentOf(id))
+              > graph.componentSize(graph.componentOf(best))) {
+        best = id;
+      }
+    }
+    return best;
+  }
+
+  private static int farthest(GraphSnapshot graph, int from) {
+    int[] distance = new int[graph.size()];
+    Arrays.fill(distance, -1);
+    ArrayDeque<Integer> queue = new ArrayDeque<>(List.of(from));
+    distance[from] = 0;
+    int last = from;
+    while (!queue.isEmpty()) {
+      last = queue.poll();
+      for (int neighbor : graph.neighbors(last)) {
+        if (distance[neighbor] < 0) {
+          distance[neighbor] = distance[last] + 1;
+          queue.add(neighbor);
+        }
+      }
+    }
+    return last;
+  }
+}
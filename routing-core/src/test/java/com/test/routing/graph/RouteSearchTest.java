@@ -0,0 +1,171 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+class RouteSearchTest {
+
+  @Test
+  void shouldFindShortestRoute() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B", "C"));
+    borderGraph.put("B", List.of("D"));
+    borderGraph.put("C", List.of("E"));
+    borderGraph.put("E", List.of("D"));
+    borderGraph.put("D", List.of("F"));
+    borderGraph.put("F", List.of());
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+
+    int[] route = new RouteSearch().search(graph, graph.idOf("A"), graph.idOf("F"));
+
+    assertArrayEquals(
+        new int[] {graph.idOf("A"), graph.idOf("B"), graph.idOf("D"), graph.idOf("F")}, route);
+  }
+
+  @Test
+  void shouldWriteRouteIntoBuffer() {
+    GraphSnapshot graph =
+        GraphSnapshot.of(Map.of("A", List.of("B"), "B", List.of("C"), "C", List.of()));
+    int[] into = new int[graph.size()];
+
+    int length = new RouteSearch().search(graph, graph.idOf("A"), graph.idOf("C"), into);
+
+    assertEquals(3, length);
+    assertArrayEquals(
+        new int[] {graph.idOf("A"), graph.idOf("B"), graph.idOf("C")}, Arrays.copyOf(into, length));
+  }
+
+  @Test
+  void shouldReportNoRouteBetweenComponents() {
+    GraphSnapshot graph =
+        GraphSnapshot.of(Map.of("A", List.of("B"), "B", List.of(), "C", List.of()));
+    RouteSearch search = new RouteSearch();
+
+    assertNull(search.search(graph, graph.idOf("A"), graph.idOf("C")));
+    assertEquals(0, search.search(graph, graph.idOf("A"), graph.idOf("C"), new int[3]));
+    assertEquals(2, search.nodesExpanded());
+  }
+
+  @Test
+  void shouldRecordLevelSizes() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B", "C"));
+    borderGraph.put("B", List.of("D"));
+    borderGraph.put("C", List.of("E"));
+    borderGraph.put("D", List.of("F"));
+    borderGraph.put("E", List.of());
+    borderGraph.put("F", List.of());
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+    RouteSearch search = new RouteSearch();
+
+    search.search(graph, graph.idOf("A"), graph.idOf("F"));
+
+    assertEquals(3, search.levelCount());
+    assertEquals(1, search.levelSize(0));
+    assertEquals(2, search.levelSize(1));
+    assertEquals(2, search.levelSize(2));
+  }
+
+  @Test
+  void shouldStopWhenGuardAsks() {
+    GraphSnapshot graph = chain(2000);
+    RouteSearch search = new RouteSearch();
+    int[] polls = {0};
+
+    SearchAbortedException aborted =
+        assertThrows(
+            SearchAbortedException.class,
+            () -> search.search(graph, 0, graph.size() - 1, () -> ++polls[0] == 3));
+
+    assertEquals(2 * RouteSearch.GUARD_INTERVAL, aborted.nodesExpanded());
+    assertEquals(aborted.nodesExpanded(), search.nodesExpanded());
+  }
+
+  @Test
+  void shouldPollGuardBeforeExpandingAnything() {
+    GraphSnapshot graph = chain(10);
+
+    SearchAbortedException aborted =
+        assertThrows(
+            SearchAbortedException.class,
+            () -> new RouteSearch().search(graph, 0, 9, new int[10], () -> true));
+
+    assertEquals(0, aborted.nodesExpanded());
+  }
+
+  @Test
+  void shouldFindRouteAfterAbortedSearch() {
+    GraphSnapshot graph = chain(1000);
+    RouteSearch search = new RouteSearch();
+
+    assertThrows(SearchAbortedException.class, () -> search.search(graph, 0, 999, () -> true));
+
+    assertEquals(1000, search.search(graph, 0, 999, SearchGuard.NONE).length);
+  }
+
+  @Test
+  void shouldMatchParallelBfsWhenReusedAcrossGraphs() {
+    RouteSearch search = new RouteSearch();
+    Random random = new Random(11);
+    for (int countries : new int[] {50, 2000, 300}) {
+      GraphSnapshot graph = randomGraph(random, countries, countries * 2);
+      for (int i = 0; i < 100; i++) {
+        int from = random.nextInt(countries);
+        int to = random.nextInt(countries);
+        if (from == to) {
+          continue;
+        }
+
+        assertArrayEquals(
+            ParallelBfs.search(graph, from, to).route(),
+            search.search(graph, from, to),
+            "Route from " + from + " to " + to);
+      }
+    }
+  }
+
+  @Test
+  void shouldNotAllocateOnCompressedGraph() {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    GraphSnapshot graph = randomGraph(new Random(5), 5000, 15000).compress();
+    RouteSearch search = new RouteSearch();
+    int[] into = new int[graph.size()];
+    for (int i = 0; i < 100; i++) {
+      search.search(graph, 0, 4999, into);
+    }
+
+    long before = threads.getCurrentThreadAllocatedBytes();
+    for (int i = 0; i < 100; i++) {
+      search.search(graph, 0, 4999, into);
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+    assertTrue(search.nodesExpanded() > 100);
+    // Decoding a new array per expanded country would take megabytes here
+    assertTrue(allocated < 16 * 1024, "Allocated " + allocated + " bytes");
+  }
+
+  private static GraphSnapshot randomGraph(Random random, int countries, int borders) {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (int i = 0; i < countries; i++) {
+      borderGraph.put("C" + i, new ArrayList<>());
+    }
+    for (int i = 0; i < borders; i++) {
+      borderGraph.get("C" + random.nextInt(countries)).add("C" + random.nextInt(countries));
+    }
+    return GraphSnapshot.of(borderGraph);
+  }
+
+  private static GraphSnapshot chain(int countries) {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (int i = 0; i < countries; i++) {
+      borderGraph.put("C" + i, i + 1 < countries ? List.of("C" + (i + 1)) : List.of());
+    }
+    return GraphSnapshot.of(borderGraph);
+  }
+}
@@ -0,0 +1,149 @@
+package com.test.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RouteTableTest {
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  @TempDir Path directory;
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  void shouldMatchBfsRoutesForAllPairs() throws Exception {
+    GraphSnapshot graph = randomGraph(60, 90, 7);
+
+    RouteTable table = RouteTable.open(graph, directory, pool);
+
+    for (int from = 0; from < graph.size(); from++) {
+      for (int to = 0; to < graph.size(); to++) {
+        assertArrayEquals(bfs(graph, from, to), table.route(from, to), from + " -> " + to);
+      }
+    }
+  }
+
+  @Test
+  void shouldReuseExistingFileForSameGraph() throws Exception {
+    RouteTable first = RouteTable.open(chain(), directory, pool);
+    FileTime written = Files.getLastModifiedTime(first.file());
+    Files.setLastModifiedTime(first.file(), FileTime.fromMillis(written.toMillis() - 60_000));
+
+    // A different snapshot with the same content, as another instance would load it
+    RouteTable second = RouteTable.open(chain(), directory, pool);
+
+    assertEquals(first.file(), second.file());
+    assertEquals(written.toMillis() - 60_000, Files.getLastModifiedTime(second.file()).toMillis());
+    assertArrayEquals(new int[] {0, 1, 2}, second.route(0, 2));
+  }
+
+  @Test
+  void shouldUseSeparateFilesForDifferentGraphs() throws Exception {
+    GraphSnapshot graph = chain();
+    GraphSnapshot changed = graph.addBorder(graph.idOf("A"), graph.idOf("C")).current();
+
+    RouteTable before = RouteTable.open(graph, directory, pool);
+    RouteTable after = RouteTable.open(changed, directory, pool);
+
+    assertNotEquals(before.file(), after.file());
+    assertArrayEquals(new int[] {0, 1, 2}, before.route(0, 2));
+    assertArrayEquals(new int[] {0, 2}, after.route(0, 2));
+  }
+
+  @Test
+  void shouldRewriteCorruptedFile() throws Exception {
+    RouteTable table = RouteTable.open(chain(), directory, pool);
+    byte[] bytes = Files.readAllBytes(table.file());
+    bytes[0] = 0;
+    Files.write(table.file(), bytes);
+
+    RouteTable rewritten = RouteTable.open(chain(), directory, pool);
+
+    assertArrayEquals(new int[] {0, 1, 2}, rewritten.route(0, 2));
+  }
+
+  @Test
+  void shouldReportUnreachableAndDisabledCountries() throws Exception {
+    Map<String, List<String>> borders = new LinkedHashMap<>();
+    borders.put("A", List.of("B"));
+    borders.put("B", List.of("A", "C"));
+    borders.put("C", List.of("B"));
+    borders.put("D", List.of());
+    GraphSnapshot graph = GraphSnapshot.of(borders);
+    GraphSnapshot disabled = graph.disableCountry(graph.idOf("B")).current();
+
+    RouteTable table = RouteTable.open(graph, directory, pool);
+    RouteTable withoutB = RouteTable.open(disabled, directory, pool);
+
+    assertEquals(0, table.route(0, 3).length);
+    assertArrayEquals(new int[] {3}, table.route(3, 3));
+    assertEquals(0, withoutB.route(0, 2).length);
+  }
+
+  private static GraphSnapshot chain() {
+    Map<String, List<String>> borders = new LinkedHashMap<>();
+    borders.put("A", List.of("B"));
+    borders.put("B", List.of("A", "C"));
+    borders.put("C", List.of("B"));
+    return GraphSnapshot.of(borders);
+  }
+
+  static GraphSnapshot randomGraph(int countries, int borders, long seed) {
+    Random random = new Random(seed);
+    Map<String, List<String>> graph = new LinkedHashMap<>();
+    for (int i = 0; i < countries; i++) {
+      graph.put("C" + i, new ArrayList<>());
+    }
+    for (int i = 0; i < borders; i++) {
+      String a = "C" + random.nextInt(countries);
+      String b = "C" + random.nextInt(countries);
+      if (!a.equals(b) && !graph.get(a).contains(b)) {
+        graph.get(a).add(b);
+        graph.get(b).add(a);
+      }
+    }
+    return GraphSnapshot.of(graph);
+  }
+
+  /** Reference search with the same neighbor order and early exit as the routing service. */
+  private static int[] bfs(GraphSnapshot graph, int from, int to) {
+    if (from == to) {
+      return new int[] {from};
+    }
+    int[] parent = new int[graph.size()];
+    Arrays.fill(parent, -1);
+    Deque<Integer> queue = new ArrayDeque<>(List.of(from));
+    parent[from] = from;
+    while (!queue.isEmpty()) {
+      int current = queue.poll();
+      for (int neighbor : graph.neighbors(current)) {
+        if (parent[neighbor] < 0) {
+          parent[neighbor] = current;
+          if (neighbor == to) {
+            List<Integer> path = new ArrayList<>();
+            for (int id = to; id != from; id = parent[id]) {
+              path.add(0, id);
+            }
+            path.add(0, from);
+            return path.stream().mapToInt(Integer::intValue).toArray();
+          }
+          queue.add(neighbor);
+        }
+      }
+    }
+    return new int[0];
+  }
+}
@@ -0,0 +1,243 @@
+package com.test.routing.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.routing.graph.CountryCodes;
+import com.test.routing.service.CachePrewarmer;
+import com.test.routing.service.CentralityService;
+import com.test.routing.service.ConcurrencyLimiter;
+import com.test.routing.service.CountryService;
+import com.test.routing.service.DatasetCache;
+import com.test.routing.service.DatasetRegistry;
+import com.test.routing.service.GraphAnalyticsService;
+import com.test.routing.service.ItineraryService;
+import com.test.routing.service.JitWarmUp;
+import com.test.routing.service.NearestService;
+import com.test.routing.service.PriorityLanes;
+import com.test.routing.service.ReachabilityService;
+import com.test.routing.service.RouteCache;
+import com.test.routing.service.RouteTableService;
+import com.test.routing.service.RoutingService;
+import com.test.routing.service.SearchDeadlines;
+import com.test.routing.service.TrafficSketch;
+
+@Configuration
+@EnableConfigurationProperties({RoutingProperties.class, CountriesProperties.class})
+public class ApplicationConfiguration {
+
+  @Bean
+  public ObjectMapper objectMapper() {
+    return new ObjectMapper();
+  }
+
+  @Bean
+  public WebClient webClient() {
+    // Datasets are streamed into the parser, so no body has to fit the in-memory codec limit
+    return WebClient.builder().build();
+  }
+
+  @Bean
+  public CountryCodes countryCodes() {
+    return new CountryCodes();
+  }
+
+  @Bean
+  public DatasetCache datasetCache(CountriesProperties countries) {
+    // An empty directory keeps only validators in memory
+    return new DatasetCache(DatasetFactory.directory(countries.cache().directory()));
+  }
+
+  @Bean
+  public ConcurrencyLimiter concurrencyLimiter(RoutingProperties routing) {
+    RoutingProperties.Admission admission = routing.admission();
+    if (!admission.enabled()) {
+      return ConcurrencyLimiter.unlimited();
+    }
+    return new ConcurrencyLimiter(
+        admission.initialLimit(),
+        admission.minLimit(),
+        admission.maxLimit(),
+        admission.latencyThreshold(),
+        admission.backoffRatio(),
+        admission.retryAfter());
+  }
+
+  @Bean
+  public PriorityLanes priorityLanes(RoutingProperties routing) {
+    RoutingProperties.Lanes lanes = routing.lanes();
+    if (!lanes.enabled()) {
+      return PriorityLanes.direct();
+    }
+    int processors = Runtime.getRuntime().availableProcessors();
+    // Bulk work gets at most half of the processors unless configured otherwise
+    int bulk =
+        lanes.bulk().concurrency() > 0 ? lanes.bulk().concurrency() : Math.max(1, processors / 2);
+    return new PriorityLanes(
+        DatasetFactory.processors(lanes.interactive().concurrency()),
+        lanes.interactive().queueLimit(),
+        bulk,
+        Math.min(lanes.bulk().contendedConcurrency(), bulk),
+        lanes.bulk().queueLimit(),
+        routing.admission().retryAfter());
+  }
+
+  @Bean
+  public DatasetFactory datasetFactory(
+      ObjectMapper objectMapper,
+      WebClient webClient,
+      CountryCodes countryCodes,
+      DatasetCache datasetCache,
+      ConcurrencyLimiter concurrencyLimiter,
+      PriorityLanes priorityLanes,
+      RoutingProperties routing,
+      CountriesProperties countries) {
+    return new DatasetFactory(
+        objectMapper,
+        webClient,
+        countryCodes,
+        datasetCache,
+        concurrencyLimiter,
+        priorityLanes,
+        routing,
+        countries);
+  }
+
+  @Bean
+  public CountryService countryService(DatasetFactory factory, CountriesProperties countries) {
+    return factory.countryService(countries.json().url());
+  }
+
+  @Bean
+  public RouteCache routeCache(DatasetFactory factory) {
+    return factory.routeCache(DatasetRegistry.DEFAULT_DATASET);
+  }
+
+  @Bean
+  public RouteTableService routeTableService(
+      DatasetFactory factory, CountryService countryService) {
+    return factory.routeTables(countryService);
+  }
+
+  @Bean
+  public SearchDeadlines searchDeadlines(DatasetFactory factory) {
+    return factory.searchDeadlines(DatasetRegistry.DEFAULT_DATASET);
+  }
+
+  @Bean
+  public TrafficSketch trafficSketch(DatasetFactory factory) {
+    return factory.trafficSketch();
+  }
+
+  @Bean
+  public RoutingService routingService(
+      DatasetFactory factory,
+      CountryService countryService,
+      RouteCache routeCache,
+      RouteTableService routeTableService,
+      TrafficSketch trafficSketch,
+      SearchDeadlines searchDeadlines) {
+    return factory.routingService(
+        countryService, routeCache, routeTableService, trafficSketch, searchDeadlines);
+  }
+
+  @Bean
+  public CachePrewarmer cachePrewarmer(
+      DatasetFactory factory,
+      CountryService countryService,
+      RoutingService routingService,
+      TrafficSketch trafficSketch) {
+    return factory.prewarmer(
+        DatasetRegistry.DEFAULT_DATASET, countryService, routingService, trafficSketch);
+  }
+
+  @Bean
+  public ReachabilityService reachabilityService(
+      DatasetFactory factory, CountryService countryService, SearchDeadlines searchDeadlines) {
+    return factory.reachabilityService(countryService, searchDeadlines);
+  }
+
+  @Bean
+  public ItineraryService itineraryService(
+      DatasetFactory factory,
+      CountryService countryService,
+      RoutingService routingService,
+      SearchDeadlines searchDeadlines) {
+    return factory.itineraryService(countryService, routingService, searchDeadlines);
+  }
+
+  @Bean
+  public NearestService nearestService(
+      DatasetFactory factory, CountryService countryService, SearchDeadlines searchDeadlines) {
+    return factory.nearestService(countryService, searchDeadlines);
+  }
+
+  @Bean
+  public CentralityService centralityService(
+      DatasetFactory factory, CountryService countryService) {
+    return factory.centralityService(countryService);
+  }
+
+  @Bean
+  public GraphAnalyticsService graphAnalyticsService(
+      DatasetFactory factory, CountryService countryService) {
+    return factory.graphAnalyticsService(countryService);
+  }
+
+  @Bean
+  public DatasetRegistry datasetRegistry(
+      DatasetFactory factory,
+      CountryService countryService,
+      RouteCache routeCache,
+      RoutingService routingService,
+      SearchDeadlines searchDeadlines,
+      ReachabilityService reachabilityService,
+      ItineraryService itineraryService,
+      NearestService nearestService,
+      CentralityService centralityService,
+      GraphAnalyticsService graphAnalyticsService,
+      CountriesProperties countries) {
+    DatasetRegistry registry =
+        new DatasetRegistry(
+            DatasetRegistry.Dataset.builder(DatasetRegistry.DEFAULT_DATASET, countryService)
+                .routeCache(routeCache)
+                .routingService(routingService)
+                .searchDeadlines(searchDeadlines)
+                .reachabilityService(reachabilityService)
+                .itineraryService(itineraryService)
+                .nearestService(nearestService)
+                .centralityService(centralityService)
+                .graphAnalyticsService(graphAnalyticsService)
+                .build());
+    countries.datasets().forEach((name, url) -> factory.register(registry, name, url));
+    return registry;
+  }
+
+  @Bean
+  public JitWarmUp jitWarmUp(
+      CountryService countryService, ObjectMapper objectMapper, RoutingProperties routing) {
+    RoutingProperties.WarmUp warmUp = routing.warmUp();
+    return new JitWarmUp(
+        countryService,
+        objectMapper,
+        warmUp.budget(),
+        warmUp.roundSize(),
+        warmUp.settleThreshold(),
+        warmUp.settledRounds());
+  }
+
+  @Bean
+  public WarmUpRun warmUpRun(RoutingProperties routing, JitWarmUp jitWarmUp) {
+    return new WarmUpRun(routing.warmUp().enabled(), jitWarmUp);
+  }
+
+  @Bean
+  public TrainingRun trainingRun(
+      RoutingProperties routing, ConfigurableApplicationContext context) {
+    return new TrainingRun(routing.training().enabled(), routing.training().paths(), context);
+  }
+}
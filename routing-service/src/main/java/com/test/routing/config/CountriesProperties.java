@@ -0,0 +1,37 @@
+package com.test.routing.config;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.test.routing.service.CountryService;
+
+/**
+ * The {@code countries.*} settings: where the default dataset comes from, how loaded graphs are
+ * held, and the additional named datasets as name to URL entries, e.g. {@code
+ * countries.datasets.historical=file:...}.
+ */
+@ConfigurationProperties("countries")
+public record CountriesProperties(
+    Json json, @DefaultValue Cache cache, @DefaultValue Graph graph, Map<String, String> datasets) {
+
+  public CountriesProperties {
+    // Kept as bound, so datasets are registered in configuration order
+    datasets = datasets == null ? Map.of() : datasets;
+  }
+
+  public record Json(String url) {}
+
+  /**
+   * @param directory the dataset cache directory, empty to keep only validators in memory
+   */
+  public record Cache(@DefaultValue("") String directory) {}
+
+  /**
+   * @param directory the directory of the mapped adjacency files
+   */
+  public record Graph(
+      @DefaultValue("arrays") CountryService.AdjacencyLayout adjacency,
+      @DefaultValue("") String directory) {}
+}
@@ -0,0 +1,246 @@
+package com.test.routing.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.routing.graph.CountryCodes;
+import com.test.routing.service.CachePrewarmer;
+import com.test.routing.service.CentralityService;
+import com.test.routing.service.ConcurrencyLimiter;
+import com.test.routing.service.CountryService;
+import com.test.routing.service.DatasetCache;
+import com.test.routing.service.DatasetRegistry;
+import com.test.routing.service.GraphAnalyticsService;
+import com.test.routing.service.ItineraryService;
+import com.test.routing.service.NearestService;
+import com.test.routing.service.PriorityLanes;
+import com.test.routing.service.ReachabilityService;
+import com.test.routing.service.RouteCache;
+import com.test.routing.service.RouteTableService;
+import com.test.routing.service.RoutingService;
+import com.test.routing.service.SearchDeadlines;
+import com.test.routing.service.TrafficSketch;
+
+/**
+ * Builds the services of one dataset from the bound settings and the services all datasets share:
+ * the admission limit and the priority lanes, which divide the capacity of the process. The beans
+ * of the default dataset and every additional dataset are built here, so a setting is wired in one
+ * place. Services that follow graph changes are subscribed in the order the routing service
+ * expects: route tables first, then the routing service, then the cache pre-warmer.
+ */
+public class DatasetFactory {
+
+  private final ObjectMapper objectMapper;
+  private final WebClient webClient;
+  private final CountryCodes countryCodes;
+  private final DatasetCache datasetCache;
+  private final ConcurrencyLimiter concurrencyLimiter;
+  private final PriorityLanes priorityLanes;
+  private final RoutingProperties routing;
+  private final CountriesProperties countries;
+
+  public DatasetFactory(
+      ObjectMapper objectMapper,
+      WebClient webClient,
+      CountryCodes countryCodes,
+      DatasetCache datasetCache,
+      ConcurrencyLimiter concurrencyLimiter,
+      PriorityLanes priorityLanes,
+      RoutingProperties routing,
+      CountriesProperties countries) {
+    this.objectMapper = objectMapper;
+    this.webClient = webClient;
+    this.countryCodes = countryCodes;
+    this.datasetCache = datasetCache;
+    this.concurrencyLimiter = concurrencyLimiter;
+    this.priorityLanes = priorityLanes;
+    this.routing = routing;
+    this.countries = countries;
+  }
+
+  public CountryService countryService(String url) {
+    return CountryService.builder(objectMapper, webClient, url)
+        .countryCodes(countryCodes)
+        .datasetCache(datasetCache)
+        .adjacency(countries.graph().adjacency(), directory(countries.graph().directory()))
+        .build();
+  }
+
+  public RouteCache routeCache(String dataset) {
+    return new RouteCache(routing.cache().maxSize(), dataset);
+  }
+
+  /** Creates the route tables of a dataset and subscribes them to its graph changes. */
+  public RouteTableService routeTables(CountryService countryService) {
+    RoutingProperties.RouteTable settings = routing.routeTable();
+    RouteTableService routeTables =
+        new RouteTableService(
+            countryService,
+            settings.enabled() ? Path.of(settings.directory()) : null,
+            processors(settings.parallelism()),
+            settings.retention());
+    countryService.addGraphChangeListener(routeTables::onGraphChange);
+    return routeTables;
+  }
+
+  public SearchDeadlines searchDeadlines(String dataset) {
+    Duration defaultBudget = routing.search().defaultBudget();
+    // A zero budget switches deadlines off, searches then only stop when cancelled
+    return defaultBudget.isZero()
+        ? SearchDeadlines.none(dataset)
+        : new SearchDeadlines(defaultBudget, dataset);
+  }
+
+  public TrafficSketch trafficSketch() {
+    RoutingProperties.Prewarm.Sketch sketch = routing.prewarm().sketch();
+    return new TrafficSketch(
+        sketch.depth(), sketch.width(), sketch.capacity(), sketch.sampleRate());
+  }
+
+  /** Creates the routing service of a dataset and subscribes it to its graph changes. */
+  public RoutingService routingService(
+      CountryService countryService,
+      RouteCache routeCache,
+      RouteTableService routeTables,
+      TrafficSketch trafficSketch,
+      SearchDeadlines searchDeadlines) {
+    RoutingService routingService =
+        RoutingService.builder(countryService)
+            .routeCache(routeCache)
+            .concurrencyLimiter(concurrencyLimiter)
+            .routeTables(routeTables)
+            .lanes(priorityLanes)
+            .traffic(routing.prewarm().enabled() ? trafficSketch : null)
+            .parallelThreshold(searchParallelThreshold())
+            .deadlines(searchDeadlines)
+            .build();
+    countryService.addGraphChangeListener(routingService::onGraphChange);
+    return routingService;
+  }
+
+  /**
+   * Creates the cache pre-warmer of a dataset and subscribes it to its graph changes, which must
+   * happen after the routing service, so a new snapshot's cache is cleared before it is pre-warmed.
+   */
+  public CachePrewarmer prewarmer(
+      String dataset,
+      CountryService countryService,
+      RoutingService routingService,
+      TrafficSketch trafficSketch) {
+    RoutingProperties.Prewarm settings = routing.prewarm();
+    CachePrewarmer prewarmer =
+        new CachePrewarmer(
+            dataset,
+            countryService,
+            routingService,
+            trafficSketch,
+            priorityLanes,
+            settings.enabled() ? directory(settings.directory()) : null,
+            settings.persistInterval(),
+            settings.enabled() ? settings.pairs() : 0,
+            settings.enabled() ? settings.origins() : 0);
+    countryService.addGraphChangeListener(prewarmer::onGraphChange);
+    return prewarmer;
+  }
+
+  public ReachabilityService reachabilityService(
+      CountryService countryService, SearchDeadlines searchDeadlines) {
+    return new ReachabilityService(
+        countryService,
+        concurrencyLimiter,
+        routing.reachability().parallelThreshold(),
+        priorityLanes,
+        searchDeadlines);
+  }
+
+  public ItineraryService itineraryService(
+      CountryService countryService,
+      RoutingService routingService,
+      SearchDeadlines searchDeadlines) {
+    RoutingProperties.Itinerary itinerary = routing.itinerary();
+    return new ItineraryService(
+        countryService,
+        routingService,
+        concurrencyLimiter,
+        priorityLanes,
+        itinerary.maxStops(),
+        itinerary.exactThreshold(),
+        itinerary.timeBudget(),
+        itinerary.parallelism(),
+        searchDeadlines);
+  }
+
+  public NearestService nearestService(
+      CountryService countryService, SearchDeadlines searchDeadlines) {
+    return new NearestService(countryService, concurrencyLimiter, priorityLanes, searchDeadlines);
+  }
+
+  /** Creates the centrality scores of a dataset and subscribes them to its graph changes. */
+  public CentralityService centralityService(CountryService countryService) {
+    RoutingProperties.Analytics.Centrality centrality = routing.analytics().centrality();
+    CentralityService centralityService =
+        new CentralityService(
+            countryService,
+            centrality.exactThreshold(),
+            centrality.sampleSize(),
+            processors(centrality.parallelism()));
+    countryService.addGraphChangeListener(centralityService::onGraphChange);
+    return centralityService;
+  }
+
+  /** Creates the structural analysis of a dataset and subscribes it to its graph changes. */
+  public GraphAnalyticsService graphAnalyticsService(CountryService countryService) {
+    GraphAnalyticsService graphAnalyticsService = new GraphAnalyticsService(countryService);
+    countryService.addGraphChangeListener(graphAnalyticsService::onGraphChange);
+    return graphAnalyticsService;
+  }
+
+  /**
+   * Builds every service of an additional dataset and registers them. The registry loads the
+   * dataset, starts its pre-warmer and shuts down the pre-warmer, the route tables and the
+   * analytics. The analytics start with the first load, which is a graph change like any other.
+   */
+  public void register(DatasetRegistry registry, String name, String url) {
+    CountryService countryService = countryService(url);
+    RouteCache routeCache = routeCache(name);
+    RouteTableService routeTables = routeTables(countryService);
+    TrafficSketch trafficSketch = trafficSketch();
+    SearchDeadlines searchDeadlines = searchDeadlines(name);
+    RoutingService routingService =
+        routingService(countryService, routeCache, routeTables, trafficSketch, searchDeadlines);
+    CachePrewarmer prewarmer = prewarmer(name, countryService, routingService, trafficSketch);
+    DatasetRegistry.Dataset dataset =
+        DatasetRegistry.Dataset.builder(name, countryService)
+            .routeCache(routeCache)
+            .routingService(routingService)
+            .searchDeadlines(searchDeadlines)
+            .reachabilityService(reachabilityService(countryService, searchDeadlines))
+            .itineraryService(itineraryService(countryService, routingService, searchDeadlines))
+            .nearestService(nearestService(countryService, searchDeadlines))
+            .centralityService(centralityService(countryService))
+            .graphAnalyticsService(graphAnalyticsService(countryService))
+            .build();
+    registry.register(dataset, routeTables, prewarmer);
+  }
+
+  /**
+   * The parallel search does several times the work of the sequential one to find the same route,
+   * so it is only worth it with more than one processor.
+   */
+  private int searchParallelThreshold() {
+    return Runtime.getRuntime().availableProcessors() > 1
+        ? routing.search().parallelThreshold()
+        : Integer.MAX_VALUE;
+  }
+
+  static int processors(int configured) {
+    return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+  }
+
+  static Path directory(String directory) {
+    return directory == null || directory.isBlank() ? null : Path.of(directory);
+  }
+}
@@ -0,0 +1,129 @@
+package com.test.routing.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * The {@code routing.*} settings, bound once and shared by the default dataset and every additional
+ * one. See {@code application.yml} for what each setting does. Empty directories keep the
+ * corresponding data in memory only.
+ */
+@ConfigurationProperties("routing")
+public record RoutingProperties(
+    @DefaultValue Cache cache,
+    @DefaultValue Admission admission,
+    @DefaultValue Lanes lanes,
+    @DefaultValue Reachability reachability,
+    @DefaultValue Search search,
+    @DefaultValue Itinerary itinerary,
+    @DefaultValue Rsocket rsocket,
+    @DefaultValue Analytics analytics,
+    @DefaultValue RouteTable routeTable,
+    @DefaultValue Prewarm prewarm,
+    @DefaultValue WarmUp warmUp,
+    @DefaultValue Training training) {
+
+  public record Cache(@DefaultValue("10000") int maxSize) {}
+
+  public record Admission(
+      @DefaultValue("true") boolean enabled,
+      @DefaultValue("32") int initialLimit,
+      @DefaultValue("4") int minLimit,
+      @DefaultValue("512") int maxLimit,
+      @DefaultValue("50ms") Duration latencyThreshold,
+      @DefaultValue("0.9") double backoffRatio,
+      @DefaultValue("1s") Duration retryAfter) {}
+
+  public record Lanes(
+      @DefaultValue("true") boolean enabled,
+      @DefaultValue Interactive interactive,
+      @DefaultValue Bulk bulk) {
+
+    /**
+     * @param concurrency workers reserved for route lookups, 0 for all available processors
+     */
+    public record Interactive(
+        @DefaultValue("0") int concurrency, @DefaultValue("256") int queueLimit) {}
+
+    /**
+     * @param concurrency workers while no lookup is pending, 0 for half the processors
+     */
+    public record Bulk(
+        @DefaultValue("0") int concurrency,
+        @DefaultValue("1") int contendedConcurrency,
+        @DefaultValue("32") int queueLimit) {}
+  }
+
+  public record Reachability(@DefaultValue("4096") int parallelThreshold) {}
+
+  /**
+   * @param defaultBudget the time a search may take from admission, zero for no deadline
+   */
+  public record Search(
+      @DefaultValue("200000") int parallelThreshold, @DefaultValue("2s") Duration defaultBudget) {}
+
+  public record Itinerary(
+      @DefaultValue("64") int maxStops,
+      @DefaultValue("12") int exactThreshold,
+      @DefaultValue("200ms") Duration timeBudget,
+      @DefaultValue("4") int parallelism) {}
+
+  /**
+   * @param concurrency routes of one RSocket stream or channel searched at the same time
+   */
+  public record Rsocket(@DefaultValue("8") int concurrency) {}
+
+  public record Analytics(@DefaultValue Centrality centrality) {
+
+    /**
+     * @param sampleSize sampled sources of graphs above the exact threshold, at least 1
+     * @param parallelism fork/join parallelism, 0 for all available processors
+     */
+    public record Centrality(
+        @DefaultValue("5000") int exactThreshold,
+        @DefaultValue("512") int sampleSize,
+        @DefaultValue("0") int parallelism) {}
+  }
+
+  /**
+   * @param parallelism threads computing a table, 0 for all available processors
+   * @param retention how long table files nobody on the host wrote or mapped are kept
+   */
+  public record RouteTable(
+      @DefaultValue("false") boolean enabled,
+      @DefaultValue("") String directory,
+      @DefaultValue("0") int parallelism,
+      @DefaultValue("1h") Duration retention) {}
+
+  public record Prewarm(
+      @DefaultValue("true") boolean enabled,
+      @DefaultValue("") String directory,
+      @DefaultValue("1m") Duration persistInterval,
+      @DefaultValue("256") int pairs,
+      @DefaultValue("8") int origins,
+      @DefaultValue Sketch sketch) {
+
+    public record Sketch(
+        @DefaultValue("4") int depth,
+        @DefaultValue("4096") int width,
+        @DefaultValue("256") int capacity,
+        @DefaultValue("8") int sampleRate) {}
+  }
+
+  public record WarmUp(
+      @DefaultValue("true") boolean enabled,
+      @DefaultValue("10s") Duration budget,
+      @DefaultValue("500") int roundSize,
+      @DefaultValue("5ms") Duration settleThreshold,
+      @DefaultValue("3") int settledRounds) {}
+
+  public record Training(@DefaultValue("false") boolean enabled, List<String> paths) {
+
+    public Training {
+      paths = paths == null ? List.of() : List.copyOf(paths);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.test.routing.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Training run for the AppCDS archive built by the {@code startup} Maven profile. Once the server
+ * is up it sends the configured requests through the full HTTP stack, so the classes of the request
+ * path get loaded, and then shuts the application down, which makes the JVM write the archive.
+ *
+ * <p>The bean always exists and checks its flag at runtime: AOT processing evaluates bean
+ * conditions at build time, which would otherwise freeze the training run in or out.
+ */
+public class TrainingRun implements ApplicationRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(TrainingRun.class);
+
+  private final boolean enabled;
+  private final List<String> paths;
+  private final ConfigurableApplicationContext context;
+
+  public TrainingRun(boolean enabled, List<String> paths, ConfigurableApplicationContext context) {
+    this.enabled = enabled;
+    this.paths = List.copyOf(paths);
+    this.context = context;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (!enabled) {
+      return;
+    }
+    String port = context.getEnvironment().getProperty("local.server.port");
+    WebClient client = WebClient.create("http://localhost:" + port);
+    for (String path : paths) {
+      // Error responses are part of the training, they load the exception handling classes
+      int status =
+          client
+              .get()
+              .uri(path)
+              .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()))
+              .block()
+              .value();
+      log.info("Training request {} answered {}", path, status);
+    }
+    log.info("Training run finished, shutting down");
+    System.exit(SpringApplication.exit(context));
+  }
+}
@@ -0,0 +1,38 @@
+package com.test.routing.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+
+import com.test.routing.service.JitWarmUp;
+
+/**
+ * Runs the JIT warm-up once the data is loaded and the server has started. Application runners
+ * complete before Spring Boot publishes the ready event, so the readiness probe keeps reporting
+ * {@code OUT_OF_SERVICE} until the warm-up is over. It runs before every other runner, including
+ * the training run of the startup profile.
+ *
+ * <p>Like the training run, the bean always exists and checks its flag at runtime.
+ */
+public class WarmUpRun implements ApplicationRunner, Ordered {
+
+  private final boolean enabled;
+  private final JitWarmUp warmUp;
+
+  public WarmUpRun(boolean enabled, JitWarmUp warmUp) {
+    this.enabled = enabled;
+    this.warmUp = warmUp;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (enabled) {
+      warmUp.run();
+    }
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE;
+  }
+}
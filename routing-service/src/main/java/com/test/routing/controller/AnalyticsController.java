@@ -0,0 +1,173 @@
+package com.test.routing.controller;
+
+import java.util.*;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.test.routing.dto.*;
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.exception.UnknownDatasetException;
+import com.test.routing.graph.CentralityScores;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.GraphStructure;
+import com.test.routing.service.DatasetRegistry;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+  private static final String DATASET_HEADER = "X-Dataset";
+
+  private final DatasetRegistry datasetRegistry;
+
+  public AnalyticsController(DatasetRegistry datasetRegistry) {
+    this.datasetRegistry = datasetRegistry;
+  }
+
+  /**
+   * Returns the countries carrying the most shortest land routes ("transit hotspots"), ranked by
+   * betweenness centrality. Scores are precomputed per graph version; the response names the
+   * version it was computed on.
+   *
+   * @param limit the maximum number of countries to return
+   * @param dataset optional dataset name, the default dataset if absent
+   * @return Mono containing the top countries by betweenness centrality
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   */
+  @GetMapping("/centrality")
+  public Mono<CentralityResponse> getCentrality(
+      @RequestParam(defaultValue = "20") int limit,
+      @RequestHeader(name = DATASET_HEADER, required = false) String dataset) {
+    return Mono.defer(
+        () ->
+            datasetRegistry
+                .get(dataset)
+                .centralityService()
+                .getCentrality()
+                .map(scores -> toResponse(scores, limit)));
+  }
+
+  /**
+   * Returns the structure of the border graph: articulation points and bridge borders, whose
+   * closure would disconnect a region, and size and diameter of every component, largest first.
+   *
+   * @param dataset optional dataset name, the default dataset if absent
+   * @return Mono containing the precomputed graph statistics
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   */
+  @GetMapping("/stats")
+  public Mono<GraphStatsResponse> getStats(
+      @RequestHeader(name = DATASET_HEADER, required = false) String dataset) {
+    return Mono.defer(
+        () ->
+            datasetRegistry
+                .get(dataset)
+                .graphAnalyticsService()
+                .getStructure()
+                .map(this::toResponse));
+  }
+
+  /**
+   * Returns the structural statistics of a single country.
+   *
+   * @param country the country code (cca3)
+   * @param dataset optional dataset name, the default dataset if absent
+   * @return Mono containing eccentricity, component size and bridge borders of the country
+   * @throws UnknownCountryException with HTTP 404 if the country does not exist
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   */
+  @GetMapping("/stats/{country}")
+  public Mono<CountryStats> getCountryStats(
+      @PathVariable String country,
+      @RequestHeader(name = DATASET_HEADER, required = false) String dataset) {
+    String code = country.toUpperCase();
+    return Mono.defer(
+        () ->
+            datasetRegistry
+                .get(dataset)
+                .graphAnalyticsService()
+                .getStructure()
+                .map(structure -> toResponse(structure, code)));
+  }
+
+  private CentralityResponse toResponse(CentralityScores scores, int limit) {
+    GraphSnapshot graph = scores.graph();
+    List<CountryScore> countries = new ArrayList<>();
+    for (int id : scores.top(Math.max(0, limit))) {
+      countries.add(new CountryScore(graph.codeOf(id), scores.scores()[id]));
+    }
+    return new CentralityResponse(
+        scores.graphVersion(), scores.approximate(), scores.sources(), countries);
+  }
+
+  private GraphStatsResponse toResponse(GraphStructure structure) {
+    GraphSnapshot graph = structure.graph();
+
+    List<String> articulationPoints = new ArrayList<>();
+    for (int id : structure.articulationPoints()) {
+      articulationPoints.add(graph.codeOf(id));
+    }
+
+    List<List<String>> bridges = new ArrayList<>(structure.bridgeCount());
+    for (int i = 0; i < structure.bridgeCount(); i++) {
+      bridges.add(
+          List.of(graph.codeOf(structure.bridgeFrom(i)), graph.codeOf(structure.bridgeTo(i))));
+    }
+
+    Map<Integer, List<String>> members = new LinkedHashMap<>();
+    for (int id = 0; id < graph.size(); id++) {
+      int label = graph.componentOf(id);
+      if (label >= 0) {
+        members.computeIfAbsent(label, key -> new ArrayList<>()).add(graph.codeOf(id));
+      }
+    }
+    List<ComponentStats> components = new ArrayList<>(members.size());
+    members.forEach(
+        (label, countries) ->
+            components.add(
+                new ComponentStats(countries.size(), structure.diameter(label), countries)));
+    components.sort(Comparator.comparingInt(ComponentStats::size).reversed());
+
+    return new GraphStatsResponse(
+        graph.version(),
+        graph.countryCount(),
+        components.size(),
+        articulationPoints,
+        bridges,
+        components);
+  }
+
+  private CountryStats toResponse(GraphStructure structure, String code) {
+    GraphSnapshot graph = structure.graph();
+    int id = graph.idOf(code);
+    if (id < 0) {
+      throw new UnknownCountryException(code);
+    }
+
+    List<String> bridgeBorders = new ArrayList<>();
+    for (int i = 0; i < structure.bridgeCount(); i++) {
+      if (structure.bridgeFrom(i) == id) {
+        bridgeBorders.add(graph.codeOf(structure.bridgeTo(i)));
+      } else if (structure.bridgeTo(i) == id) {
+        bridgeBorders.add(graph.codeOf(structure.bridgeFrom(i)));
+      }
+    }
+
+    int label = graph.componentOf(id);
+    return new CountryStats(
+        graph.version(),
+        code,
+        graph.isEnabled(id),
+        label < 0 ? 0 : graph.componentSize(label),
+        structure.eccentricity(id),
+        structure.isArticulationPoint(id),
+        bridgeBorders);
+  }
+}
@@ -0,0 +1,48 @@
+package com.test.routing.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.test.routing.dto.SuggestResponse;
+import com.test.routing.exception.UnknownDatasetException;
+import com.test.routing.graph.NameIndex;
+import com.test.routing.service.DatasetRegistry;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/countries")
+public class CountryController {
+
+  private static final String DATASET_HEADER = "X-Dataset";
+
+  private final DatasetRegistry datasetRegistry;
+
+  public CountryController(DatasetRegistry datasetRegistry) {
+    this.datasetRegistry = datasetRegistry;
+  }
+
+  /**
+   * Suggests countries whose name in any language starts with the query, ignoring case and accents.
+   *
+   * @param q the typed prefix
+   * @param limit the maximum number of countries to return
+   * @param dataset optional dataset name, the default dataset if absent
+   * @return Mono containing the cca3 codes of the best matching countries, best first
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   */
+  @GetMapping("/suggest")
+  public Mono<SuggestResponse> suggest(
+      @RequestParam String q,
+      @RequestParam(defaultValue = "10") int limit,
+      @RequestHeader(name = DATASET_HEADER, required = false) String dataset) {
+    return Mono.fromCallable(
+        () -> {
+          NameIndex index = datasetRegistry.get(dataset).countryService().getNameIndex();
+          return new SuggestResponse(q, index == null ? null : index.suggest(q, limit));
+        });
+  }
+}
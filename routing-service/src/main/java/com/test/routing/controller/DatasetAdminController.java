@@ -0,0 +1,52 @@
+package com.test.routing.controller;
+
+import org.springframework.web.bind.annotation.*;
+
+import com.test.routing.dto.DatasetInfo;
+import com.test.routing.exception.UnknownDatasetException;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.service.DatasetRegistry;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@RestController
+@RequestMapping("/admin/datasets")
+public class DatasetAdminController {
+
+  private final DatasetRegistry datasetRegistry;
+
+  public DatasetAdminController(DatasetRegistry datasetRegistry) {
+    this.datasetRegistry = datasetRegistry;
+  }
+
+  /** Lists the served datasets with their active graph version, the default dataset first. */
+  @GetMapping
+  public Flux<DatasetInfo> getDatasets() {
+    return Flux.fromIterable(datasetRegistry.datasets())
+        .map(dataset -> toInfo(dataset, dataset.countryService().getSnapshot()));
+  }
+
+  /**
+   * Reloads a dataset from its source without affecting the other datasets.
+   *
+   * @param name the dataset name
+   * @return Mono containing the dataset with its new graph version
+   * @throws UnknownDatasetException with HTTP 404 if there is no dataset with that name
+   */
+  @PostMapping("/{name}/reload")
+  public Mono<DatasetInfo> reload(@PathVariable String name) {
+    // Loading blocks on the upstream fetch, so keep it off the event loop
+    return Mono.fromCallable(() -> toInfo(datasetRegistry.get(name), datasetRegistry.reload(name)))
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  private DatasetInfo toInfo(DatasetRegistry.Dataset dataset, GraphSnapshot snapshot) {
+    return new DatasetInfo(
+        dataset.name(),
+        dataset.countryService().getSourceUrl(),
+        snapshot == null ? 0 : snapshot.version(),
+        snapshot == null ? 0 : snapshot.countryCount());
+  }
+}
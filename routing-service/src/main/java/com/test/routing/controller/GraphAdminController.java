@@ -0,0 +1,73 @@
+package com.test.routing.controller;
+
+import org.springframework.web.bind.annotation.*;
+
+import com.test.routing.model.GraphMutation;
+import com.test.routing.service.CountryService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/admin/graph")
+public class GraphAdminController {
+
+  private static final String ACTOR_HEADER = "X-Actor";
+  private static final String UNKNOWN_ACTOR = "unknown";
+
+  private final CountryService countryService;
+
+  public GraphAdminController(CountryService countryService) {
+    this.countryService = countryService;
+  }
+
+  /**
+   * Adds a border between two countries. The change is applied to a new graph snapshot immediately,
+   * without reloading the dataset.
+   *
+   * @param first the first country code (cca3)
+   * @param second the second country code (cca3)
+   * @param actor optional identity recorded in the audit log
+   * @return Mono containing the audit record of the change
+   */
+  @PutMapping("/borders/{first}/{second}")
+  public Mono<GraphMutation> addBorder(
+      @PathVariable String first,
+      @PathVariable String second,
+      @RequestHeader(name = ACTOR_HEADER, defaultValue = UNKNOWN_ACTOR) String actor) {
+    return Mono.fromCallable(
+        () -> countryService.addBorder(first.toUpperCase(), second.toUpperCase(), actor));
+  }
+
+  /** Removes the border between two countries, e.g. to model a border closure. */
+  @DeleteMapping("/borders/{first}/{second}")
+  public Mono<GraphMutation> removeBorder(
+      @PathVariable String first,
+      @PathVariable String second,
+      @RequestHeader(name = ACTOR_HEADER, defaultValue = UNKNOWN_ACTOR) String actor) {
+    return Mono.fromCallable(
+        () -> countryService.removeBorder(first.toUpperCase(), second.toUpperCase(), actor));
+  }
+
+  /** Disables a country so that routes can neither reach nor cross it. */
+  @PostMapping("/countries/{code}/disable")
+  public Mono<GraphMutation> disableCountry(
+      @PathVariable String code,
+      @RequestHeader(name = ACTOR_HEADER, defaultValue = UNKNOWN_ACTOR) String actor) {
+    return Mono.fromCallable(() -> countryService.disableCountry(code.toUpperCase(), actor));
+  }
+
+  /** Re-enables a previously disabled country. */
+  @PostMapping("/countries/{code}/enable")
+  public Mono<GraphMutation> enableCountry(
+      @PathVariable String code,
+      @RequestHeader(name = ACTOR_HEADER, defaultValue = UNKNOWN_ACTOR) String actor) {
+    return Mono.fromCallable(() -> countryService.enableCountry(code.toUpperCase(), actor));
+  }
+
+  /** Returns the audit log of recent graph mutations, oldest first. */
+  @GetMapping("/audit")
+  public Flux<GraphMutation> getAuditLog() {
+    return Flux.defer(() -> Flux.fromIterable(countryService.getAuditLog()));
+  }
+}
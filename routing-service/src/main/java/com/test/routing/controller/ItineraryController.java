@@ -0,0 +1,93 @@
+package com.test.routing.controller;
+
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.test.routing.dto.ItineraryRequest;
+import com.test.routing.dto.ItineraryResponse;
+import com.test.routing.exception.InvalidRequestException;
+import com.test.routing.exception.NoRouteFoundException;
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.exception.UnknownDatasetException;
+import com.test.routing.service.DatasetRegistry;
+import com.test.routing.service.Itinerary;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/routing")
+public class ItineraryController {
+
+  private static final String DATASET_HEADER = "X-Dataset";
+  private static final String EXACT = "exact";
+  private static final String HEURISTIC = "heuristic";
+
+  private final DatasetRegistry datasetRegistry;
+
+  public ItineraryController(DatasetRegistry datasetRegistry) {
+    this.datasetRegistry = datasetRegistry;
+  }
+
+  /**
+   * Plans a trip from the start through every stop with the fewest border crossings and returns the
+   * visiting order together with the concatenated land route. Small sets of stops are ordered
+   * optimally, larger ones heuristically within a time budget, as reported by the solver field.
+   *
+   * @param request the start, the stops in any order and whether to return to the start
+   * @param dataset optional dataset name, the default dataset if absent
+   * @return Mono containing the visiting order and the route
+   * @throws InvalidRequestException with HTTP 400 if the start or the stops are missing or there
+   *     are too many stops
+   * @throws UnknownCountryException with HTTP 404 if a country does not exist
+   * @throws NoRouteFoundException with HTTP 400 if a stop cannot be reached by land
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   */
+  @PostMapping("/itinerary")
+  public Mono<ItineraryResponse> planItinerary(
+      @RequestBody ItineraryRequest request,
+      @RequestHeader(name = DATASET_HEADER, required = false) String dataset) {
+    return plan(dataset, request);
+  }
+
+  /**
+   * Plans a trip within a named dataset like {@link #planItinerary}.
+   *
+   * @param dataset the dataset name
+   * @param request the start, the stops in any order and whether to return to the start
+   * @return Mono containing the visiting order and the route
+   * @throws InvalidRequestException with HTTP 400 if the start or the stops are missing or there
+   *     are too many stops
+   * @throws UnknownCountryException with HTTP 404 if a country does not exist
+   * @throws NoRouteFoundException with HTTP 400 if a stop cannot be reached by land
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   */
+  @PostMapping("/{dataset}/itinerary")
+  public Mono<ItineraryResponse> planDatasetItinerary(
+      @PathVariable String dataset, @RequestBody ItineraryRequest request) {
+    return plan(dataset, request);
+  }
+
+  private Mono<ItineraryResponse> plan(String dataset, ItineraryRequest request) {
+    return Mono.defer(
+        () ->
+            datasetRegistry
+                .get(dataset)
+                .itineraryService()
+                .plan(request.start(), request.stops(), request.roundTrip())
+                .map(this::toResponse));
+  }
+
+  private ItineraryResponse toResponse(Itinerary itinerary) {
+    return new ItineraryResponse(
+        itinerary.graphVersion(),
+        itinerary.start(),
+        itinerary.order(),
+        itinerary.crossings(),
+        itinerary.exact() ? EXACT : HEURISTIC,
+        itinerary.route());
+  }
+}
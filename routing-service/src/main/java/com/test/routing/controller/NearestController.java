@@ -0,0 +1,93 @@
+package com.test.routing.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.test.routing.dto.NearestRouteResponse;
+import com.test.routing.exception.InvalidRequestException;
+import com.test.routing.exception.NoRouteFoundException;
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.exception.UnknownDatasetException;
+import com.test.routing.service.DatasetRegistry;
+import com.test.routing.service.NearestRoute;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/routing")
+public class NearestController {
+
+  private static final String DATASET_HEADER = "X-Dataset";
+
+  private final DatasetRegistry datasetRegistry;
+
+  public NearestController(DatasetRegistry datasetRegistry) {
+    this.datasetRegistry = datasetRegistry;
+  }
+
+  /**
+   * Returns the shortest land route from the origin to the nearest country matching an attribute
+   * predicate. The attributes are {@code landlocked}, {@code coastal}, {@code unMember} and {@code
+   * region:<region>}; comma-separated terms must all match and a {@code !} prefix negates a term,
+   * e.g. {@code region:Europe,unMember,!landlocked}.
+   *
+   * @param origin the starting country code (cca3, cca2, ccn3 or cioc, in any case)
+   * @param attr the attribute predicate
+   * @param dataset optional dataset name, the default dataset if absent
+   * @return Mono containing the route to the nearest matching country
+   * @throws UnknownCountryException with HTTP 404 if the origin does not exist
+   * @throws InvalidRequestException with HTTP 400 if the predicate is invalid
+   * @throws NoRouteFoundException with HTTP 400 if no matching country can be reached
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   */
+  @GetMapping("/{origin}/nearest")
+  public Mono<NearestRouteResponse> getNearest(
+      @PathVariable String origin,
+      @RequestParam String attr,
+      @RequestHeader(name = DATASET_HEADER, required = false) String dataset) {
+    return nearest(dataset, origin, attr);
+  }
+
+  /**
+   * Returns the shortest land route within a named dataset to the nearest country matching an
+   * attribute predicate.
+   *
+   * @param dataset the dataset name
+   * @param origin the starting country code (cca3, cca2, ccn3 or cioc, in any case)
+   * @param attr the attribute predicate
+   * @return Mono containing the route to the nearest matching country
+   * @throws UnknownCountryException with HTTP 404 if the origin does not exist
+   * @throws InvalidRequestException with HTTP 400 if the predicate is invalid
+   * @throws NoRouteFoundException with HTTP 400 if no matching country can be reached
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   */
+  @GetMapping("/{dataset}/{origin}/nearest")
+  public Mono<NearestRouteResponse> getDatasetNearest(
+      @PathVariable String dataset, @PathVariable String origin, @RequestParam String attr) {
+    return nearest(dataset, origin, attr);
+  }
+
+  private Mono<NearestRouteResponse> nearest(String dataset, String origin, String attr) {
+    return Mono.defer(
+        () ->
+            datasetRegistry
+                .get(dataset)
+                .nearestService()
+                .nearest(origin, attr)
+                .map(result -> toResponse(result, attr)));
+  }
+
+  private NearestRouteResponse toResponse(NearestRoute result, String attr) {
+    return new NearestRouteResponse(
+        result.graphVersion(),
+        result.origin(),
+        attr,
+        result.route().get(result.route().size() - 1),
+        result.route().size() - 1,
+        result.route());
+  }
+}
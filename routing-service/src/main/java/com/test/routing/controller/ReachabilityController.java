@@ -0,0 +1,102 @@
+package com.test.routing.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.test.routing.dto.HopLevel;
+import com.test.routing.dto.ReachabilityResponse;
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.exception.UnknownDatasetException;
+import com.test.routing.graph.HopLevels;
+import com.test.routing.service.DatasetRegistry;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/routing")
+public class ReachabilityController {
+
+  private static final String DATASET_HEADER = "X-Dataset";
+
+  private final DatasetRegistry datasetRegistry;
+
+  public ReachabilityController(DatasetRegistry datasetRegistry) {
+    this.datasetRegistry = datasetRegistry;
+  }
+
+  /**
+   * Returns every country reachable from the origin within k land crossings, grouped by the number
+   * of crossings. Levels stop early once no new country can be reached.
+   *
+   * @param origin the starting country code (cca3, cca2, ccn3 or cioc, in any case)
+   * @param k the maximum number of crossings
+   * @param countOnly true to return only the number of countries per level
+   * @param dataset optional dataset name, the default dataset if absent
+   * @return Mono containing the reachable countries per level
+   * @throws UnknownCountryException with HTTP 404 if the origin does not exist
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   */
+  @GetMapping("/{origin}/within/{k}")
+  public Mono<ReachabilityResponse> getReachable(
+      @PathVariable String origin,
+      @PathVariable int k,
+      @RequestParam(defaultValue = "false") boolean countOnly,
+      @RequestHeader(name = DATASET_HEADER, required = false) String dataset) {
+    return reachable(dataset, origin, k, countOnly);
+  }
+
+  /**
+   * Returns every country of a named dataset reachable from the origin within k land crossings.
+   *
+   * @param dataset the dataset name
+   * @param origin the starting country code (cca3, cca2, ccn3 or cioc, in any case)
+   * @param k the maximum number of crossings
+   * @param countOnly true to return only the number of countries per level
+   * @return Mono containing the reachable countries per level
+   * @throws UnknownCountryException with HTTP 404 if the origin does not exist
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   */
+  @GetMapping("/{dataset}/{origin}/within/{k}")
+  public Mono<ReachabilityResponse> getDatasetReachable(
+      @PathVariable String dataset,
+      @PathVariable String origin,
+      @PathVariable int k,
+      @RequestParam(defaultValue = "false") boolean countOnly) {
+    return reachable(dataset, origin, k, countOnly);
+  }
+
+  private Mono<ReachabilityResponse> reachable(
+      String dataset, String origin, int k, boolean countOnly) {
+    return Mono.defer(
+        () ->
+            datasetRegistry
+                .get(dataset)
+                .reachabilityService()
+                .reachableWithin(origin, k, countOnly)
+                .map(result -> toResponse(result, k)));
+  }
+
+  private ReachabilityResponse toResponse(HopLevels result, int k) {
+    List<HopLevel> levels = new ArrayList<>(result.depth());
+    for (int level = 0; level < result.depth(); level++) {
+      levels.add(
+          new HopLevel(
+              level + 1,
+              result.counts()[level],
+              result.levels() == null ? null : result.countries(level)));
+    }
+    return new ReachabilityResponse(
+        result.graph().version(),
+        result.graph().codeOf(result.origin()),
+        k,
+        result.total(),
+        levels);
+  }
+}
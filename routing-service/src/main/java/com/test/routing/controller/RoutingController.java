@@ -0,0 +1,238 @@
+package com.test.routing.controller;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.routing.dto.RouteExplanationResponse;
+import com.test.routing.dto.RouteResponse;
+import com.test.routing.exception.InvalidRequestException;
+import com.test.routing.exception.NoRouteFoundException;
+import com.test.routing.exception.SearchTimeoutException;
+import com.test.routing.exception.UnknownDatasetException;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.service.DatasetRegistry;
+import com.test.routing.service.RouteExplanation;
+import com.test.routing.service.SearchDeadlines;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/routing")
+public class RoutingController {
+
+  private static final String DATASET_HEADER = "X-Dataset";
+  private static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+  private final DatasetRegistry datasetRegistry;
+  private final ObjectMapper objectMapper;
+
+  public RoutingController(DatasetRegistry datasetRegistry, ObjectMapper objectMapper) {
+    this.datasetRegistry = datasetRegistry;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Calculates and returns a land route from origin to destination country.
+   *
+   * @param origin the starting country code (cca3, cca2, ccn3 or cioc, in any case)
+   * @param destination the destination country code (cca3, cca2, ccn3 or cioc, in any case)
+   * @param dataset optional dataset name, the default dataset if absent
+   * @param timeout optional search budget, e.g. {@code 250ms} or {@code 250}, at most the default
+   * @return Mono containing RouteResponse with the calculated route
+   * @throws NoRouteFoundException with HTTP 400 if a code is unknown or no land route exists
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   * @throws SearchTimeoutException with HTTP 504 if the search exceeded its budget
+   */
+  @GetMapping("/{origin}/{destination}")
+  public Mono<RouteResponse> getRoute(
+      @PathVariable String origin,
+      @PathVariable String destination,
+      @RequestHeader(name = DATASET_HEADER, required = false) String dataset,
+      @RequestHeader(name = TIMEOUT_HEADER, required = false) String timeout) {
+    return withBudget(route(datasetRegistry, dataset, origin, destination), timeout);
+  }
+
+  /**
+   * Calculates and returns a land route within a named dataset.
+   *
+   * @param dataset the dataset name
+   * @param origin the starting country code (cca3, cca2, ccn3 or cioc, in any case)
+   * @param destination the destination country code (cca3, cca2, ccn3 or cioc, in any case)
+   * @param timeout optional search budget, e.g. {@code 250ms} or {@code 250}, at most the default
+   * @return Mono containing RouteResponse with the calculated route
+   * @throws NoRouteFoundException with HTTP 400 if no land route exists
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   * @throws SearchTimeoutException with HTTP 504 if the search exceeded its budget
+   */
+  @GetMapping("/{dataset}/{origin}/{destination}")
+  public Mono<RouteResponse> getDatasetRoute(
+      @PathVariable String dataset,
+      @PathVariable String origin,
+      @PathVariable String destination,
+      @RequestHeader(name = TIMEOUT_HEADER, required = false) String timeout) {
+    return withBudget(route(datasetRegistry, dataset, origin, destination), timeout);
+  }
+
+  /**
+   * Calculates a land route like {@link #getRoute} and explains how it was answered: the engine,
+   * the graph version, the nodes expanded, the BFS frontier size of each level and the time spent
+   * in each phase. A pair without a land route is explained too, with an empty route.
+   *
+   * @param origin the starting country code (cca3, cca2, ccn3 or cioc, in any case)
+   * @param destination the destination country code (cca3, cca2, ccn3 or cioc, in any case)
+   * @param dataset optional dataset name, the default dataset if absent
+   * @param timeout optional search budget, e.g. {@code 250ms} or {@code 250}, at most the default
+   * @return Mono containing the route and its explanation
+   * @throws NoRouteFoundException with HTTP 400 if a code is unknown
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   * @throws SearchTimeoutException with HTTP 504 if the search exceeded its budget
+   */
+  @GetMapping(value = "/{origin}/{destination}", params = "explain=true")
+  public Mono<RouteExplanationResponse> explainRoute(
+      @PathVariable String origin,
+      @PathVariable String destination,
+      @RequestHeader(name = DATASET_HEADER, required = false) String dataset,
+      @RequestHeader(name = TIMEOUT_HEADER, required = false) String timeout) {
+    return withBudget(explain(dataset, origin, destination), timeout);
+  }
+
+  /**
+   * Calculates a land route within a named dataset and explains how it was answered.
+   *
+   * @param dataset the dataset name
+   * @param origin the starting country code (cca3, cca2, ccn3 or cioc, in any case)
+   * @param destination the destination country code (cca3, cca2, ccn3 or cioc, in any case)
+   * @param timeout optional search budget, e.g. {@code 250ms} or {@code 250}, at most the default
+   * @return Mono containing the route and its explanation
+   * @throws NoRouteFoundException with HTTP 400 if a code is unknown
+   * @throws UnknownDatasetException with HTTP 404 if the dataset does not exist
+   * @throws SearchTimeoutException with HTTP 504 if the search exceeded its budget
+   */
+  @GetMapping(value = "/{dataset}/{origin}/{destination}", params = "explain=true")
+  public Mono<RouteExplanationResponse> explainDatasetRoute(
+      @PathVariable String dataset,
+      @PathVariable String origin,
+      @PathVariable String destination,
+      @RequestHeader(name = TIMEOUT_HEADER, required = false) String timeout) {
+    return withBudget(explain(dataset, origin, destination), timeout);
+  }
+
+  /**
+   * Gives the searches of a request the budget of its timeout header. Plain numbers are
+   * milliseconds; the server-side default budget caps it and applies when the header is absent.
+   *
+   * @throws InvalidRequestException with HTTP 400 if the timeout is not a positive duration
+   */
+  private static <T> Mono<T> withBudget(Mono<T> request, String timeout) {
+    if (timeout == null) {
+      return request;
+    }
+    Duration budget;
+    try {
+      budget = DurationStyle.detectAndParse(timeout.strip(), ChronoUnit.MILLIS);
+    } catch (IllegalArgumentException e) {
+      budget = null;
+    }
+    if (budget == null || budget.isZero() || budget.isNegative()) {
+      return Mono.error(
+          new InvalidRequestException(
+              String.format("%s must be a positive duration: %s", TIMEOUT_HEADER, timeout)));
+    }
+    return request.contextWrite(SearchDeadlines.withBudget(budget));
+  }
+
+  /**
+   * Resolves both codes to the canonical cca3 code of the dataset before searching, so unknown
+   * codes are rejected without touching the cache or the admission limit. Shared with the RSocket
+   * endpoint.
+   */
+  static Mono<RouteResponse> route(
+      DatasetRegistry datasetRegistry, String dataset, String origin, String destination) {
+    return Mono.defer(
+        () -> {
+          DatasetRegistry.Dataset selected = datasetRegistry.get(dataset);
+          GraphSnapshot graph = selected.countryService().getSnapshot();
+          int from = graph.resolve(origin);
+          int to = graph.resolve(destination);
+          if (from < 0 || to < 0) {
+            return Mono.error(
+                new NoRouteFoundException(origin.toUpperCase(), destination.toUpperCase()));
+          }
+
+          String originCode = graph.codeOf(from);
+          String destinationCode = graph.codeOf(to);
+          return selected
+              .routingService()
+              .calculateRoute(originCode, destinationCode)
+              .flatMap(
+                  route -> {
+                    if (route.isEmpty()) {
+                      return Mono.error(new NoRouteFoundException(originCode, destinationCode));
+                    }
+                    return Mono.just(new RouteResponse(route));
+                  });
+        });
+  }
+
+  /** Resolves the codes like {@link #route} and adds the resolution to the lookup phase. */
+  private Mono<RouteExplanationResponse> explain(
+      String dataset, String origin, String destination) {
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          DatasetRegistry.Dataset selected = datasetRegistry.get(dataset);
+          GraphSnapshot graph = selected.countryService().getSnapshot();
+          int from = graph.resolve(origin);
+          int to = graph.resolve(destination);
+          if (from < 0 || to < 0) {
+            return Mono.error(
+                new NoRouteFoundException(origin.toUpperCase(), destination.toUpperCase()));
+          }
+          long resolveNanos = System.nanoTime() - start;
+
+          return selected
+              .routingService()
+              .explainRoute(graph.codeOf(from), graph.codeOf(to))
+              .map(explanation -> toResponse(explanation, resolveNanos));
+        });
+  }
+
+  /**
+   * Builds the explanation response. The serialization phase is the time it takes to serialize the
+   * route as the plain route endpoint would return it.
+   */
+  private RouteExplanationResponse toResponse(RouteExplanation explanation, long resolveNanos) {
+    long serializationStart = System.nanoTime();
+    try {
+      objectMapper.writeValueAsBytes(new RouteResponse(explanation.route()));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Route cannot be serialized", e);
+    }
+    long serializationNanos = System.nanoTime() - serializationStart;
+
+    Map<String, Long> phases = new LinkedHashMap<>();
+    phases.put("lookup", resolveNanos + explanation.lookupNanos());
+    phases.put("queue", explanation.queueNanos());
+    phases.put("search", explanation.searchNanos());
+    phases.put("reconstruction", explanation.reconstructionNanos());
+    phases.put("serialization", serializationNanos);
+    return new RouteExplanationResponse(
+        explanation.route(),
+        explanation.engine(),
+        explanation.graphVersion(),
+        explanation.nodesExpanded(),
+        explanation.frontierSizes(),
+        phases);
+  }
+}
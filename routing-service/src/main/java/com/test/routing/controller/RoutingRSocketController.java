@@ -0,0 +1,124 @@
+package com.test.routing.controller;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.test.routing.config.RoutingProperties;
+import com.test.routing.dto.RouteBatchRequest;
+import com.test.routing.dto.RouteRequest;
+import com.test.routing.dto.RouteResponse;
+import com.test.routing.dto.RouteResult;
+import com.test.routing.exception.InvalidRequestException;
+import com.test.routing.service.DatasetRegistry;
+
+import io.rsocket.exceptions.ApplicationErrorException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Routing over RSocket, for clients that keep one multiplexed connection open instead of sending an
+ * HTTP request per route. Routes are answered by the same lookup as {@link RoutingController}, so
+ * they share its cache, admission control and lanes.
+ *
+ * <p>Streams answer their routes in request order and search at most {@code
+ * routing.rsocket.concurrency} of them at a time. Further routes are only requested from a channel
+ * as earlier ones complete, and answers only leave as the client requests them.
+ */
+@Controller
+public class RoutingRSocketController {
+
+  private final DatasetRegistry datasetRegistry;
+  private final int concurrency;
+
+  @Autowired
+  public RoutingRSocketController(DatasetRegistry datasetRegistry, RoutingProperties routing) {
+    this(datasetRegistry, routing.rsocket().concurrency());
+  }
+
+  /**
+   * @param concurrency the largest number of routes of one stream searched at the same time
+   */
+  RoutingRSocketController(DatasetRegistry datasetRegistry, int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("Concurrency must be at least 1");
+    }
+    this.datasetRegistry = datasetRegistry;
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * Request-response: calculates one land route.
+   *
+   * @return Mono containing the route, or an {@link ApplicationErrorException} carrying the reason
+   *     if a code or the dataset is unknown, no land route exists or the service is overloaded
+   */
+  @MessageMapping("route")
+  public Mono<RouteResponse> route(RouteRequest request) {
+    return search(request)
+        .onErrorMap(
+            ResponseStatusException.class, e -> new ApplicationErrorException(e.getReason()));
+  }
+
+  /**
+   * Request-stream: calculates every route of the batch and streams one result per route in order.
+   * A failed route is answered with its reason and does not end the stream.
+   *
+   * @return the results, or an {@link ApplicationErrorException} carrying the reason if the batch
+   *     has no routes or has an empty entry
+   */
+  @MessageMapping("routes")
+  public Flux<RouteResult> routes(RouteBatchRequest batch) {
+    if (batch.routes().isEmpty() || batch.routes().stream().anyMatch(Objects::isNull)) {
+      return Flux.error(new ApplicationErrorException("A batch of at least one route is required"));
+    }
+    return results(
+        Flux.fromIterable(batch.routes())
+            .map(
+                request ->
+                    request.dataset() == null
+                        ? new RouteRequest(request.origin(), request.destination(), batch.dataset())
+                        : request));
+  }
+
+  /**
+   * Request-channel: calculates routes as the client sends them and streams one result per route in
+   * the order they were sent, like {@link #routes}.
+   */
+  @MessageMapping("routes.channel")
+  public Flux<RouteResult> routeChannel(Flux<RouteRequest> requests) {
+    return results(requests);
+  }
+
+  private Flux<RouteResult> results(Flux<RouteRequest> requests) {
+    return requests.flatMapSequential(
+        request ->
+            search(request)
+                .map(
+                    response ->
+                        new RouteResult(
+                            request.origin(), request.destination(), response.route(), null))
+                .onErrorResume(
+                    ResponseStatusException.class,
+                    e ->
+                        Mono.just(
+                            new RouteResult(
+                                request.origin(),
+                                request.destination(),
+                                List.of(),
+                                e.getReason()))),
+        concurrency);
+  }
+
+  private Mono<RouteResponse> search(RouteRequest request) {
+    if (request.origin() == null || request.destination() == null) {
+      return Mono.error(new InvalidRequestException("An origin and a destination are required"));
+    }
+    return RoutingController.route(
+        datasetRegistry, request.dataset(), request.origin(), request.destination());
+  }
+}
@@ -0,0 +1,13 @@
+package com.test.routing.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+public record CentralityResponse(
+    long graphVersion, boolean approximate, int sources, List<CountryScore> countries) {
+
+  public CentralityResponse {
+    // Defensive copy to ensure immutability
+    countries = countries == null ? Collections.emptyList() : List.copyOf(countries);
+  }
+}
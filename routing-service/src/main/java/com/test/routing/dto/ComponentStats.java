@@ -0,0 +1,12 @@
+package com.test.routing.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+public record ComponentStats(int size, int diameter, List<String> countries) {
+
+  public ComponentStats {
+    // Defensive copy to ensure immutability
+    countries = countries == null ? Collections.emptyList() : List.copyOf(countries);
+  }
+}
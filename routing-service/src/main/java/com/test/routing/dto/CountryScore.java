@@ -0,0 +1,3 @@
+package com.test.routing.dto;
+
+public record CountryScore(String country, double score) {}
@@ -0,0 +1,19 @@
+package com.test.routing.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+public record CountryStats(
+    long graphVersion,
+    String country,
+    boolean enabled,
+    int componentSize,
+    int eccentricity,
+    boolean articulationPoint,
+    List<String> bridgeBorders) {
+
+  public CountryStats {
+    // Defensive copy to ensure immutability
+    bridgeBorders = bridgeBorders == null ? Collections.emptyList() : List.copyOf(bridgeBorders);
+  }
+}
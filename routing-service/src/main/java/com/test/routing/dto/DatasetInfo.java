@@ -0,0 +1,3 @@
+package com.test.routing.dto;
+
+public record DatasetInfo(String name, String source, long graphVersion, int countries) {}
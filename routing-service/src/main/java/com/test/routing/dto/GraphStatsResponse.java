@@ -0,0 +1,21 @@
+package com.test.routing.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+public record GraphStatsResponse(
+    long graphVersion,
+    int countries,
+    int components,
+    List<String> articulationPoints,
+    List<List<String>> bridges,
+    List<ComponentStats> componentStats) {
+
+  public GraphStatsResponse {
+    // Defensive copies to ensure immutability
+    articulationPoints =
+        articulationPoints == null ? Collections.emptyList() : List.copyOf(articulationPoints);
+    bridges = bridges == null ? Collections.emptyList() : List.copyOf(bridges);
+    componentStats = componentStats == null ? Collections.emptyList() : List.copyOf(componentStats);
+  }
+}
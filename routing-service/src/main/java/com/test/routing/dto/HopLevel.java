@@ -0,0 +1,14 @@
+package com.test.routing.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HopLevel(int hops, int count, List<String> countries) {
+
+  public HopLevel {
+    // Defensive copy to ensure immutability; null in count-only mode
+    countries = countries == null ? null : List.copyOf(countries);
+  }
+}
@@ -0,0 +1,12 @@
+package com.test.routing.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+public record ItineraryRequest(String start, List<String> stops, boolean roundTrip) {
+
+  public ItineraryRequest {
+    // Defensive copy to ensure immutability
+    stops = stops == null ? Collections.emptyList() : Collections.unmodifiableList(stops);
+  }
+}
@@ -0,0 +1,19 @@
+package com.test.routing.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+public record ItineraryResponse(
+    long graphVersion,
+    String start,
+    List<String> order,
+    int crossings,
+    String solver,
+    List<String> route) {
+
+  public ItineraryResponse {
+    // Defensive copies to ensure immutability
+    order = order == null ? Collections.emptyList() : List.copyOf(order);
+    route = route == null ? Collections.emptyList() : List.copyOf(route);
+  }
+}
@@ -0,0 +1,13 @@
+package com.test.routing.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+public record NearestRouteResponse(
+    long graphVersion, String origin, String attr, String match, int hops, List<String> route) {
+
+  public NearestRouteResponse {
+    // Defensive copy to ensure immutability
+    route = route == null ? Collections.emptyList() : List.copyOf(route);
+  }
+}
@@ -0,0 +1,13 @@
+package com.test.routing.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+public record ReachabilityResponse(
+    long graphVersion, String origin, int maxHops, int total, List<HopLevel> levels) {
+
+  public ReachabilityResponse {
+    // Defensive copy to ensure immutability
+    levels = levels == null ? Collections.emptyList() : List.copyOf(levels);
+  }
+}
@@ -0,0 +1,18 @@
+package com.test.routing.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Routes requested together over one RSocket stream.
+ *
+ * @param dataset optional dataset name for every route that does not name its own
+ * @param routes the routes, answered in this order
+ */
+public record RouteBatchRequest(String dataset, List<RouteRequest> routes) {
+
+  public RouteBatchRequest {
+    // Empty entries are kept, so the controller can reject them instead of failing to decode
+    routes = routes == null ? Collections.emptyList() : Collections.unmodifiableList(routes);
+  }
+}
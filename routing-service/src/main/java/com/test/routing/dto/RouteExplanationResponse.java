@@ -0,0 +1,25 @@
+package com.test.routing.dto;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record RouteExplanationResponse(
+    List<String> route,
+    String engine,
+    long graphVersion,
+    int nodesExpanded,
+    List<Integer> frontierSizes,
+    Map<String, Long> phaseNanos) {
+
+  public RouteExplanationResponse {
+    // Defensive copy to ensure immutability; phases keep their order
+    route = route == null ? Collections.emptyList() : List.copyOf(route);
+    frontierSizes = frontierSizes == null ? Collections.emptyList() : List.copyOf(frontierSizes);
+    phaseNanos =
+        phaseNanos == null
+            ? Collections.emptyMap()
+            : Collections.unmodifiableMap(new LinkedHashMap<>(phaseNanos));
+  }
+}
@@ -0,0 +1,10 @@
+package com.test.routing.dto;
+
+/**
+ * One route of an RSocket request.
+ *
+ * @param origin the starting country code in any supported scheme
+ * @param destination the destination country code in any supported scheme
+ * @param dataset optional dataset name, the default dataset (or that of the batch) if absent
+ */
+public record RouteRequest(String origin, String destination, String dataset) {}
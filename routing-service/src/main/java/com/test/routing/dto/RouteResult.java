@@ -0,0 +1,21 @@
+package com.test.routing.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Answer to one route of an RSocket stream. A route that fails carries the reason instead of ending
+ * the stream.
+ *
+ * @param origin the origin as requested
+ * @param destination the destination as requested
+ * @param route the land route in canonical cca3 codes, empty if the request failed
+ * @param error the reason the request failed, or null
+ */
+public record RouteResult(String origin, String destination, List<String> route, String error) {
+
+  public RouteResult {
+    // Defensive copy to ensure immutability
+    route = route == null ? Collections.emptyList() : List.copyOf(route);
+  }
+}
@@ -0,0 +1,12 @@
+package com.test.routing.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+public record SuggestResponse(String query, List<String> countries) {
+
+  public SuggestResponse {
+    // Defensive copy to ensure immutability
+    countries = countries == null ? Collections.emptyList() : List.copyOf(countries);
+  }
+}
@@ -0,0 +1,52 @@
+package com.test.routing.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.test.routing.dto.ErrorResponse;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+  @ExceptionHandler(NoRouteFoundException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorResponse handleNoRouteFoundException(
+      NoRouteFoundException ex, ServerWebExchange exchange) {
+    String path = exchange.getRequest().getPath().value();
+    return new ErrorResponse(ex.getMessage(), path);
+  }
+
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<ErrorResponse> handleServiceOverloadedException(
+      ServiceOverloadedException ex, ServerWebExchange exchange) {
+    String path = exchange.getRequest().getPath().value();
+    return ResponseEntity.status(ex.getStatusCode())
+        .headers(ex.getHeaders())
+        .body(new ErrorResponse(ex.getMessage(), path));
+  }
+
+  @ExceptionHandler(SearchTimeoutException.class)
+  @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+  public ErrorResponse handleSearchTimeoutException(
+      SearchTimeoutException ex, ServerWebExchange exchange) {
+    String path = exchange.getRequest().getPath().value();
+    return new ErrorResponse(ex.getMessage(), path);
+  }
+
+  @ExceptionHandler({
+    UnknownCountryException.class,
+    UnknownDatasetException.class,
+    GraphMutationConflictException.class,
+    InvalidRequestException.class
+  })
+  public ResponseEntity<ErrorResponse> handleClientError(
+      ResponseStatusException ex, ServerWebExchange exchange) {
+    String path = exchange.getRequest().getPath().value();
+    return ResponseEntity.status(ex.getStatusCode()).body(new ErrorResponse(ex.getMessage(), path));
+  }
+}
@@ -0,0 +1,11 @@
+package com.test.routing.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class GraphMutationConflictException extends ResponseStatusException {
+
+  public GraphMutationConflictException(String message) {
+    super(HttpStatus.CONFLICT, message);
+  }
+}
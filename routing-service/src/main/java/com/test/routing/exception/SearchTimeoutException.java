@@ -0,0 +1,15 @@
+package com.test.routing.exception;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class SearchTimeoutException extends ResponseStatusException {
+
+  public SearchTimeoutException(Duration budget) {
+    super(
+        HttpStatus.GATEWAY_TIMEOUT,
+        String.format("Search exceeded its budget of %d ms", budget.toMillis()));
+  }
+}
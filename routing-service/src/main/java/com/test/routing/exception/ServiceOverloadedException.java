@@ -0,0 +1,30 @@
+package com.test.routing.exception;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class ServiceOverloadedException extends ResponseStatusException {
+
+  private final Duration retryAfter;
+
+  public ServiceOverloadedException(Duration retryAfter) {
+    super(HttpStatus.SERVICE_UNAVAILABLE, "Routing service is overloaded, please retry later");
+    this.retryAfter = retryAfter;
+  }
+
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+
+  @Override
+  public HttpHeaders getHeaders() {
+    HttpHeaders headers = new HttpHeaders();
+    // Retry-After is expressed in whole seconds, round up so clients never retry too early
+    long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    headers.set(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    return headers;
+  }
+}
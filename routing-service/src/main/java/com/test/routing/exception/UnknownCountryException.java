@@ -0,0 +1,11 @@
+package com.test.routing.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class UnknownCountryException extends ResponseStatusException {
+
+  public UnknownCountryException(String code) {
+    super(HttpStatus.NOT_FOUND, String.format("Unknown country code %s", code));
+  }
+}
@@ -0,0 +1,11 @@
+package com.test.routing.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class UnknownDatasetException extends ResponseStatusException {
+
+  public UnknownDatasetException(String name) {
+    super(HttpStatus.NOT_FOUND, String.format("Unknown dataset %s", name));
+  }
+}
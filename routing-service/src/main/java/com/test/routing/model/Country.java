@@ -0,0 +1,45 @@
+package com.test.routing.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Country(
+    String cca3,
+    String cca2,
+    String ccn3,
+    String cioc,
+    CountryName name,
+    Map<String, CountryName> translations,
+    List<String> altSpellings,
+    List<String> borders,
+    Boolean landlocked,
+    String region,
+    Boolean unMember) {
+
+  public Country {
+    // Defensive copies to ensure immutability
+    translations = translations == null ? Collections.emptyMap() : Map.copyOf(translations);
+    altSpellings = altSpellings == null ? Collections.emptyList() : List.copyOf(altSpellings);
+    borders = borders == null ? Collections.emptyList() : List.copyOf(borders);
+  }
+
+  public Country(String cca3, List<String> borders) {
+    this(cca3, null, null, null, null, null, null, borders, null, null, null);
+  }
+
+  /** Returns the codes of the other schemes (cca2, ccn3, cioc) that are present. */
+  public List<String> alternativeCodes() {
+    List<String> codes = new ArrayList<>(3);
+    for (String code : new String[] {cca2, ccn3, cioc}) {
+      if (code != null && !code.isBlank()) {
+        codes.add(code);
+      }
+    }
+    return codes;
+  }
+}
@@ -0,0 +1,22 @@
+package com.test.routing.model;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Common and official name of a country, optionally with its names in the native languages. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CountryName(
+    String common, String official, @JsonProperty("native") Map<String, CountryName> nativeNames) {
+
+  public CountryName {
+    // Defensive copy to ensure immutability
+    nativeNames = nativeNames == null ? Collections.emptyMap() : Map.copyOf(nativeNames);
+  }
+
+  public CountryName(String common, String official) {
+    this(common, official, null);
+  }
+}
@@ -0,0 +1,20 @@
+package com.test.routing.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.test.routing.graph.GraphChange;
+
+/** Audit record of a single change applied to the border graph. */
+public record GraphMutation(
+    long version,
+    Instant timestamp,
+    GraphChange.Kind operation,
+    List<String> countries,
+    String actor) {
+
+  public GraphMutation {
+    // Defensive copy to ensure immutability
+    countries = countries == null ? List.of() : List.copyOf(countries);
+  }
+}
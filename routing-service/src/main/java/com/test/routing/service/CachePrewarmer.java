@@ -0,0 +1,239 @@
+package com.test.routing.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.test.routing.exception.ServiceOverloadedException;
+import com.test.routing.graph.GraphChange;
+import com.test.routing.graph.GraphSnapshot;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Refills the route cache of one dataset with its hottest routes whenever a graph snapshot is
+ * activated, so the top pairs are not all recomputed under full load after a restart or reload. Hot
+ * pairs and origins come from the dataset's {@link TrafficSketch}, which is persisted periodically
+ * and on shutdown and merged back on startup. Routes are computed one by one in the bulk lane, so
+ * pre-warming yields to interactive lookups and stops as soon as the bulk lane sheds work.
+ *
+ * <p>For each hot pair the pair is precomputed; for each hot origin the routes to every other
+ * country of its component are.
+ */
+public class CachePrewarmer implements MeterBinder {
+
+  private static final Logger log = LoggerFactory.getLogger(CachePrewarmer.class);
+
+  private final String dataset;
+  private final CountryService countryService;
+  private final RoutingService routingService;
+  private final TrafficSketch traffic;
+  private final PriorityLanes lanes;
+  private final Path file;
+  private final Duration persistInterval;
+  private final int pairs;
+  private final int origins;
+  private final ScheduledExecutorService executor;
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final AtomicLong precomputed = new AtomicLong();
+
+  /**
+   * @param directory the directory the sketch is persisted in, or null to keep it in memory only
+   * @param persistInterval how often the sketch is persisted
+   * @param pairs the number of hot pairs to precompute
+   * @param origins the number of hot origins whose routes are all precomputed
+   */
+  public CachePrewarmer(
+      String dataset,
+      CountryService countryService,
+      RoutingService routingService,
+      TrafficSketch traffic,
+      PriorityLanes lanes,
+      Path directory,
+      Duration persistInterval,
+      int pairs,
+      int origins) {
+    this.dataset = dataset;
+    this.countryService = countryService;
+    this.routingService = routingService;
+    this.traffic = traffic;
+    this.lanes = lanes;
+    this.file = directory == null ? null : directory.resolve("traffic-" + dataset + ".bin");
+    this.persistInterval = persistInterval;
+    this.pairs = pairs;
+    this.origins = origins;
+    this.executor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "cache-prewarm-" + dataset);
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * Merges the persisted sketch, starts persisting it periodically and pre-warms the cache if the
+   * graph is loaded already.
+   */
+  @PostConstruct
+  public void start() {
+    load();
+    if (file != null && persistInterval.toMillis() > 0) {
+      executor.scheduleWithFixedDelay(
+          this::persist,
+          persistInterval.toMillis(),
+          persistInterval.toMillis(),
+          TimeUnit.MILLISECONDS);
+    }
+    if (countryService.getSnapshot() != null) {
+      prewarm();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+    persist();
+  }
+
+  /** Pre-warms the cache for the snapshot produced by the change. */
+  public void onGraphChange(GraphChange change) {
+    prewarm();
+  }
+
+  /**
+   * Schedules a pre-warming run for the current snapshot. Requests while a run is waiting collapse
+   * into it.
+   */
+  public void prewarm() {
+    if (scheduled.compareAndSet(false, true)) {
+      executor.execute(this::runPrewarm);
+    }
+  }
+
+  /** Returns the number of routes computed by pre-warming so far. */
+  public long getPrecomputedCount() {
+    return precomputed.get();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("routing.prewarm.routes", precomputed, AtomicLong::get)
+        .description("Routes computed in advance for hot pairs and origins")
+        .tag("dataset", dataset)
+        .register(registry);
+    FunctionCounter.builder("routing.traffic.samples", traffic, TrafficSketch::getSampleCount)
+        .description("Route requests recorded in the traffic sketch")
+        .tag("dataset", dataset)
+        .register(registry);
+  }
+
+  /** Writes the sketch to disk, replacing the previous copy atomically. */
+  synchronized void persist() {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.createDirectories(file.getParent());
+      Path temporary = Files.createTempFile(file.getParent(), "traffic", ".tmp");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+        traffic.writeTo(out);
+      }
+      try {
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      log.warn("Could not persist traffic sketch of dataset {}: {}", dataset, e.toString());
+    }
+  }
+
+  private void load() {
+    if (file == null || !Files.isRegularFile(file)) {
+      return;
+    }
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      traffic.mergeFrom(in);
+      log.info("Loaded traffic sketch of dataset {} from {}", dataset, file);
+    } catch (IOException e) {
+      log.warn("Ignoring unreadable traffic sketch {}: {}", file, e.toString());
+    }
+  }
+
+  private void runPrewarm() {
+    scheduled.set(false);
+    GraphSnapshot graph = countryService.getSnapshot();
+    if (graph == null) {
+      return;
+    }
+    long start = System.nanoTime();
+    long before = precomputed.get();
+    try {
+      for (String[] pair : traffic.hotPairs(pairs)) {
+        precompute(graph, pair[0], pair[1]);
+      }
+      for (String origin : traffic.hotOrigins(origins)) {
+        int id = graph.idOf(origin);
+        if (id < 0 || !graph.isEnabled(id)) {
+          continue;
+        }
+        for (int destination = 0; destination < graph.size(); destination++) {
+          if (destination != id
+              && graph.isEnabled(destination)
+              && graph.componentOf(destination) == graph.componentOf(id)) {
+            precompute(graph, origin, graph.codeOf(destination));
+          }
+        }
+      }
+    } catch (ServiceOverloadedException e) {
+      log.info("Stopped pre-warming dataset {}, the bulk lane is full", dataset);
+    } catch (RuntimeException e) {
+      log.warn("Pre-warming dataset {} failed", dataset, e);
+    }
+    long computed = precomputed.get() - before;
+    if (computed > 0) {
+      log.info(
+          "Pre-warmed {} routes of dataset {} for graph version {} in {} ms",
+          computed,
+          dataset,
+          graph.version(),
+          (System.nanoTime() - start) / 1_000_000);
+    }
+  }
+
+  private void precompute(GraphSnapshot graph, String origin, String destination) {
+    if (graph.idOf(origin) < 0 || graph.idOf(destination) < 0) {
+      return;
+    }
+    Boolean computed =
+        lanes
+            .submit(PriorityLanes.Lane.BULK, () -> routingService.precompute(origin, destination))
+            .block();
+    if (Boolean.TRUE.equals(computed)) {
+      precomputed.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.test.routing.service;
+
+import java.util.concurrent.ForkJoinPool;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import com.test.routing.graph.BetweennessCentrality;
+import com.test.routing.graph.CentralityScores;
+import com.test.routing.graph.GraphChange;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.SearchGuard;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Maintains betweenness centrality scores for the current graph version. Scores are computed in the
+ * background whenever the graph changes, so requests never pay for the computation: they are served
+ * the latest completed result, which may belong to an older version while a recomputation is still
+ * running. Graphs larger than the exact threshold use sampled sources. A computation stops once a
+ * newer snapshot is published, since nobody will be served its scores, and starts over for that
+ * snapshot.
+ */
+public class CentralityService {
+
+  private final CountryService countryService;
+  private final int exactThreshold;
+  private final int sampleSize;
+  private final ForkJoinPool pool;
+  private final SnapshotComputation<CentralityScores> computation;
+
+  public CentralityService(
+      CountryService countryService, int exactThreshold, int sampleSize, int parallelism) {
+    if (sampleSize < 1) {
+      throw new IllegalArgumentException("Sample size must be at least 1");
+    }
+    this.countryService = countryService;
+    this.exactThreshold = exactThreshold;
+    this.sampleSize = sampleSize;
+    this.pool = new ForkJoinPool(parallelism);
+    this.computation =
+        new SnapshotComputation<>(
+            "betweenness-centrality",
+            countryService::getSnapshot,
+            this::compute,
+            CentralityScores::graphVersion);
+  }
+
+  /** Starts the computation for the graph loaded at startup. */
+  @PostConstruct
+  public void start() {
+    computation.refresh();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    computation.shutdown();
+    pool.shutdownNow();
+  }
+
+  /** Schedules a recomputation for the graph produced by the change. */
+  public void onGraphChange(GraphChange change) {
+    computation.refresh();
+  }
+
+  /**
+   * Returns the latest completed scores. Only before the very first computation has finished does
+   * the returned Mono wait for it.
+   */
+  public Mono<CentralityScores> getCentrality() {
+    return computation.latest();
+  }
+
+  private CentralityScores compute(GraphSnapshot graph) {
+    SearchGuard superseded = () -> countryService.getSnapshot() != graph;
+    return graph.countryCount() <= exactThreshold
+        ? BetweennessCentrality.exact(graph, pool, superseded)
+        : BetweennessCentrality.sampled(graph, sampleSize, graph.version(), pool, superseded);
+  }
+}
@@ -0,0 +1,138 @@
+package com.test.routing.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Adaptive concurrency limiter placed in front of route searches. The limit follows an AIMD
+ * (additive increase, multiplicative decrease) policy driven by measured search latency: every
+ * sample below the latency threshold grows the limit by one while the limiter is actually
+ * saturated, and every sample above it shrinks the limit by the backoff ratio. Requests beyond the
+ * current limit are rejected immediately instead of being queued. One limiter protects the process,
+ * so it is shared by every dataset and its meters are tagged with all of them.
+ */
+public class ConcurrencyLimiter implements MeterBinder {
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final long latencyThresholdNanos;
+  private final double backoffRatio;
+  private final Duration retryAfter;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong rejected = new AtomicLong();
+  private volatile int limit;
+
+  public ConcurrencyLimiter(
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      Duration latencyThreshold,
+      double backoffRatio,
+      Duration retryAfter) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+    }
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException("Backoff ratio must be in (0, 1)");
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.latencyThresholdNanos = latencyThreshold.toNanos();
+    this.backoffRatio = backoffRatio;
+    this.retryAfter = retryAfter;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+  }
+
+  /** Creates a limiter that never rejects, used when admission control is switched off. */
+  public static ConcurrencyLimiter unlimited() {
+    return new ConcurrencyLimiter(
+        Integer.MAX_VALUE,
+        Integer.MAX_VALUE,
+        Integer.MAX_VALUE,
+        Duration.ofNanos(Long.MAX_VALUE),
+        0.5,
+        Duration.ZERO);
+  }
+
+  /**
+   * Tries to reserve a slot for one search.
+   *
+   * @return true if the caller may proceed and must later call {@link #release(long)}, false if the
+   *     request should be shed
+   */
+  public boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= limit) {
+        rejected.incrementAndGet();
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Releases a slot taken by {@link #tryAcquire()} and feeds the observed latency into the limit.
+   *
+   * @param latencyNanos latency of the completed search, or a negative value if the search did not
+   *     complete normally and should not influence the limit
+   */
+  public void release(long latencyNanos) {
+    int current = inFlight.getAndDecrement();
+    if (latencyNanos >= 0) {
+      adjustLimit(latencyNanos, current);
+    }
+  }
+
+  private synchronized void adjustLimit(long latencyNanos, int inFlightAtCompletion) {
+    if (latencyNanos > latencyThresholdNanos) {
+      limit = Math.max(minLimit, (int) (limit * backoffRatio));
+    } else if (inFlightAtCompletion * 2 >= limit && limit < maxLimit) {
+      // Only probe upwards when the limit is actually being used, otherwise an idle service
+      // would drift to the maximum and lose its protection against the next burst.
+      limit++;
+    }
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  public long getRejectedCount() {
+    return rejected.get();
+  }
+
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("routing.admission.limit", this, ConcurrencyLimiter::getLimit)
+        .description("Current adaptive concurrency limit for route searches")
+        .tag("dataset", DatasetRegistry.ALL_DATASETS)
+        .register(registry);
+    Gauge.builder("routing.admission.in.flight", this, ConcurrencyLimiter::getInFlight)
+        .description("Route searches currently admitted")
+        .tag("dataset", DatasetRegistry.ALL_DATASETS)
+        .register(registry);
+    FunctionCounter.builder(
+            "routing.admission.rejected", this, ConcurrencyLimiter::getRejectedCount)
+        .description("Route searches shed because the concurrency limit was reached")
+        .tag("dataset", DatasetRegistry.ALL_DATASETS)
+        .register(registry);
+  }
+}
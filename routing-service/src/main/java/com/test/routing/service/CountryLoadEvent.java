@@ -0,0 +1,60 @@
+package com.test.routing.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted for each phase of a {@link CountryService} load: fetching the body,
+ * parsing it and building the graph snapshot. The body is parsed while it streams in, so the fetch
+ * and parse phases overlap. Disabled by default; the {@code jfr/routing.jfc} settings profile
+ * enables it.
+ */
+@Name("com.test.routing.CountryLoad")
+@Label("Country Data Load")
+@Category({"Country Routing", "Dataset"})
+@Description("One phase of loading a country dataset")
+@StackTrace(false)
+@Enabled(false)
+final class CountryLoadEvent extends jdk.jfr.Event {
+
+  static final String FETCH = "fetch";
+  static final String PARSE = "parse";
+  static final String BUILD = "build";
+
+  @Label("Source")
+  String source;
+
+  @Label("Phase")
+  String phase;
+
+  @Label("Body Length")
+  @Description("Bytes of the fetched or parsed body")
+  long bodyLength;
+
+  @Label("Countries")
+  int countries;
+
+  @Label("Graph Version")
+  @Description("Version of the snapshot activated by the build phase")
+  long graphVersion;
+
+  CountryLoadEvent(String source, String phase) {
+    this.source = source;
+    this.phase = phase;
+  }
+
+  /** Ends the event and commits it if the recording wants it. */
+  void finish(long bodyLength, int countries, long graphVersion) {
+    end();
+    if (shouldCommit()) {
+      this.bodyLength = bodyLength;
+      this.countries = countries;
+      this.graphVersion = graphVersion;
+      commit();
+    }
+  }
+}
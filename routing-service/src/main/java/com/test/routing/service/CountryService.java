@@ -0,0 +1,546 @@
+package com.test.routing.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.routing.core.CountryData;
+import com.test.routing.core.CountryDataBuilder;
+import com.test.routing.core.CountryRecord;
+import com.test.routing.exception.GraphMutationConflictException;
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.graph.CountryAttributes;
+import com.test.routing.graph.CountryCodes;
+import com.test.routing.graph.GraphChange;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.NameIndex;
+import com.test.routing.model.Country;
+import com.test.routing.model.CountryName;
+import com.test.routing.model.GraphMutation;
+
+import reactor.core.publisher.Flux;
+
+public class CountryService {
+
+  private static final Logger log = LoggerFactory.getLogger(CountryService.class);
+
+  private static final int MAX_AUDIT_ENTRIES = 1000;
+  // Body buffers received ahead of the parser, which bounds the memory of a load
+  private static final int PREFETCH = 4;
+  private static final int FILE_CHUNK_SIZE = 16 * 1024;
+
+  private volatile GraphSnapshot snapshot;
+  private volatile NameIndex nameIndex;
+  private volatile CountryAttributes countryAttributes;
+  // Snapshot built by the last load, to tell whether mutations happened since
+  private volatile GraphSnapshot loadedSnapshot;
+  private volatile long peakBufferedBytes;
+
+  private final List<Consumer<GraphChange>> changeListeners = new CopyOnWriteArrayList<>();
+  private final Deque<GraphMutation> auditLog = new ArrayDeque<>();
+
+  private final ObjectMapper objectMapper;
+  private final WebClient webClient;
+  private final String countriesJsonUrl;
+  private final CountryCodes countryCodes;
+  private final DatasetCache datasetCache;
+  private final AdjacencyLayout adjacencyLayout;
+  private final Path adjacencyDirectory;
+
+  /** How the border rows of loaded snapshots are held. */
+  public enum AdjacencyLayout {
+    /** One int array per country, the fastest to search. */
+    ARRAYS,
+    /** Gap and varint encoded rows on the heap, see {@link GraphSnapshot#compress()}. */
+    COMPRESSED,
+    /** Encoded rows in a memory-mapped file shared by every instance on the host. */
+    MAPPED
+  }
+
+  public CountryService(ObjectMapper objectMapper, WebClient webClient, String countriesJsonUrl) {
+    this(builder(objectMapper, webClient, countriesJsonUrl));
+  }
+
+  private CountryService(Builder builder) {
+    this.objectMapper = builder.objectMapper;
+    this.webClient = builder.webClient;
+    this.countriesJsonUrl = builder.countriesJsonUrl;
+    this.countryCodes = builder.countryCodes;
+    this.datasetCache = builder.datasetCache;
+    this.adjacencyLayout = builder.adjacencyLayout;
+    this.adjacencyDirectory = builder.adjacencyDirectory;
+  }
+
+  /**
+   * Returns a builder of a service that, unless configured otherwise, interns its codes in a table
+   * of its own, keeps validators of the last fetch in memory and holds rows as arrays.
+   */
+  public static Builder builder(
+      ObjectMapper objectMapper, WebClient webClient, String countriesJsonUrl) {
+    return new Builder(objectMapper, webClient, countriesJsonUrl);
+  }
+
+  /** Returns the URL the country data is loaded from. */
+  public String getSourceUrl() {
+    return countriesJsonUrl;
+  }
+
+  public Map<String, List<String>> getBorderGraph() {
+    GraphSnapshot current = snapshot;
+    return current == null ? null : current.borderGraph();
+  }
+
+  /** Returns the currently active graph snapshot, or null before the first load. */
+  public GraphSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /** Returns the country name index of the last load, or null before the first load. */
+  public NameIndex getNameIndex() {
+    return nameIndex;
+  }
+
+  /** Returns the country attributes of the last load, or null before the first load. */
+  public CountryAttributes getAttributes() {
+    return countryAttributes;
+  }
+
+  /** Registers a listener notified after every graph change, including full reloads. */
+  public void addGraphChangeListener(Consumer<GraphChange> listener) {
+    changeListeners.add(listener);
+  }
+
+  /**
+   * Loads country data from remote JSON URL, or a local file for {@code file:} URLs, and builds the
+   * border graph. This is executed once at application startup and again whenever the dataset is
+   * reloaded. The fetch, parse and build phases each emit a {@link CountryLoadEvent} when Flight
+   * Recorder has it enabled; fetch and parse overlap, the body is parsed as it arrives.
+   *
+   * <p>The body is consumed as a stream of buffers and fed to a non-blocking JSON parser, and each
+   * country is added to the graph under construction as soon as its object is complete. Neither the
+   * document nor the list of countries is ever held as a whole, so the memory a load needs does not
+   * grow with the size of the body, only with the graph it builds.
+   *
+   * <p>HTTP fetches are conditional on the validators of the cached body. When the upstream answers
+   * 304 Not Modified, or cannot be reached, the cached body is used instead; if the current graph
+   * was built from it and not mutated since, parsing is skipped and nothing changes. A cache that
+   * keeps no bodies only makes the fetch conditional while the current graph is still unchanged,
+   * since it has nothing else to fall back to.
+   */
+  @PostConstruct
+  public void loadCountryData() {
+    try {
+      log.info("Loading country data from: {}", countriesJsonUrl);
+
+      CountryLoadEvent fetch = new CountryLoadEvent(countriesJsonUrl, CountryLoadEvent.FETCH);
+      fetch.begin();
+      DatasetCache.Entry cached = datasetCache.read(countriesJsonUrl);
+      if (!datasetCache.keepsBodies() && (snapshot == null || snapshot != loadedSnapshot)) {
+        cached = null;
+      }
+      Body body = fetch(URI.create(countriesJsonUrl), cached);
+
+      if (body == null) {
+        fetch.finish(0, 0, 0);
+        GraphSnapshot current = snapshot;
+        if (current != null && current == loadedSnapshot) {
+          log.info("Country data unchanged, keeping graph version {}", current.version());
+          return;
+        }
+        fetch = null;
+        body = new Body(datasetCache.body(countriesJsonUrl), null);
+      }
+
+      CountryLoadEvent parse = new CountryLoadEvent(countriesJsonUrl, CountryLoadEvent.PARSE);
+      parse.begin();
+      GraphAccumulator graph = new GraphAccumulator();
+      CountryStreamParser parser;
+      // Only bodies from the upstream are cached, committed once they parsed completely
+      try (DatasetCache.BodyWriter cacheWriter =
+          body.validators() == null ? null : datasetCache.writer(countriesJsonUrl)) {
+        parser = parse(body.buffers(), cacheWriter, graph);
+        if (cacheWriter != null) {
+          cacheWriter.commit(body.validators());
+        }
+      }
+      if (fetch != null) {
+        fetch.finish(parser.getBytes(), 0, 0);
+      }
+      parse.finish(parser.getBytes(), parser.getCountries(), 0);
+
+      CountryLoadEvent build = new CountryLoadEvent(countriesJsonUrl, CountryLoadEvent.BUILD);
+      build.begin();
+      GraphSnapshot loaded = graph.build();
+      build.finish(0, loaded.countryCount(), loaded.version());
+      loadedSnapshot = loaded;
+      peakBufferedBytes = parser.getPeakBufferedBytes();
+      log.info(
+          "Loaded {} countries successfully from {} KB, peak {} KB of input buffered",
+          parser.getCountries(),
+          (parser.getBytes() + 1023) / 1024,
+          (parser.getPeakBufferedBytes() + 1023) / 1024);
+
+    } catch (Exception e) {
+      log.error("Failed to load country data from URL: {}", countriesJsonUrl, e);
+      throw new RuntimeException("Failed to load country data", e);
+    }
+  }
+
+  /**
+   * Returns the most input, in bytes, held at any time while the last load parsed its body: the
+   * buffers received but not parsed yet plus the part of the country being read. It is bounded by
+   * the prefetch of the body stream and the size of a single country, not by the size of the body.
+   */
+  public long getPeakBufferedBytes() {
+    return peakBufferedBytes;
+  }
+
+  /**
+   * A body that is yet to be consumed.
+   *
+   * @param buffers the body
+   * @param validators the validators to cache the body under, or null to not cache it
+   */
+  private record Body(Flux<DataBuffer> buffers, DatasetCache.Entry validators) {}
+
+  /**
+   * Reads {@code file:} URLs from disk and fetches everything else over HTTP, conditional on the
+   * cached entry. Returns the body without consuming it, or null if the cached body is to be used:
+   * the upstream answered 304 or could not be reached.
+   */
+  private Body fetch(URI uri, DatasetCache.Entry cached) throws IOException {
+    if ("file".equals(uri.getScheme())) {
+      Path file = Path.of(uri);
+      if (!Files.isRegularFile(file)) {
+        throw new NoSuchFileException(file.toString());
+      }
+      return new Body(
+          DataBufferUtils.read(file, DefaultDataBufferFactory.sharedInstance, FILE_CHUNK_SIZE),
+          null);
+    }
+
+    ResponseEntity<Flux<DataBuffer>> response;
+    try {
+      response =
+          webClient
+              .get()
+              .uri(uri)
+              .headers(
+                  headers -> {
+                    if (cached != null && cached.etag() != null) {
+                      headers.setIfNoneMatch(cached.etag());
+                    }
+                    if (cached != null && cached.lastModified() != null) {
+                      headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+                    }
+                  })
+              .retrieve()
+              .toEntityFlux(DataBuffer.class)
+              .block();
+    } catch (RuntimeException e) {
+      if (cached == null) {
+        throw e;
+      }
+      log.warn("Upstream {} failed, using the cached copy: {}", uri, e.toString());
+      return null;
+    }
+
+    if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value() && cached != null) {
+      log.info("Upstream {} not modified, using the cached copy", uri);
+      // Drain the empty body so the connection is released
+      response.getBody().doOnNext(DataBufferUtils::release).blockLast();
+      return null;
+    }
+    if (!response.getStatusCode().is2xxSuccessful()) {
+      response.getBody().doOnNext(DataBufferUtils::release).blockLast();
+      throw new IOException("Unexpected response with status " + response.getStatusCode());
+    }
+    return new Body(
+        response.getBody(),
+        new DatasetCache.Entry(
+            response.getHeaders().getETag(),
+            response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED)));
+  }
+
+  /**
+   * Consumes the body on the calling thread, at most {@link #PREFETCH} buffers ahead of the parser,
+   * copies each buffer to the cache writer if there is one and feeds it to the parser.
+   *
+   * @return the parser, after it has seen the end of the input
+   */
+  private CountryStreamParser parse(
+      Flux<DataBuffer> body, DatasetCache.BodyWriter cacheWriter, Consumer<Country> countries)
+      throws IOException {
+    CountryStreamParser parser = new CountryStreamParser(objectMapper, countries);
+    AtomicLong received = new AtomicLong();
+    long fed = 0;
+    try (Stream<DataBuffer> buffers =
+        body.doOnNext(buffer -> received.addAndGet(buffer.readableByteCount()))
+            .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+            .toStream(PREFETCH)) {
+      Iterator<DataBuffer> iterator = buffers.iterator();
+      while (iterator.hasNext()) {
+        DataBuffer buffer = iterator.next();
+        try {
+          int length = buffer.readableByteCount();
+          if (cacheWriter != null) {
+            cacheWriter.write(buffer);
+          }
+          // Received but not fed yet, excluding the buffer being fed
+          parser.feed(buffer, received.get() - fed - length);
+          fed += length;
+        } finally {
+          DataBufferUtils.release(buffer);
+        }
+      }
+    }
+    parser.finish();
+    return parser;
+  }
+
+  /**
+   * Collects the border graph, the code aliases and the name index entries country by country, and
+   * builds the snapshot once all countries are in. The cca2, ccn3 and cioc codes are registered as
+   * aliases so requests can use any of them.
+   */
+  private final class GraphAccumulator implements Consumer<Country> {
+
+    private final CountryDataBuilder data = new CountryDataBuilder(countryCodes);
+
+    @Override
+    public void accept(Country country) {
+      if (country.cca3() == null) {
+        return;
+      }
+      data.add(
+          new CountryRecord(
+              country.cca3(),
+              country.borders(),
+              country.alternativeCodes(),
+              country.landlocked(),
+              country.unMember(),
+              country.region()));
+      addNames(data, country);
+    }
+
+    GraphSnapshot build() {
+      synchronized (CountryService.this) {
+        GraphSnapshot previous = snapshot;
+        long version = previous == null ? 1 : previous.version() + 1;
+        CountryData built = data.build(version);
+        GraphSnapshot loaded = layOut(built.snapshot());
+        nameIndex = built.names();
+        countryAttributes = built.attributes();
+        publish(GraphChange.reload(previous, loaded));
+        return loaded;
+      }
+    }
+  }
+
+  private GraphSnapshot layOut(GraphSnapshot loaded) {
+    switch (adjacencyLayout) {
+      case COMPRESSED:
+        return loaded.compress();
+      case MAPPED:
+        try {
+          return loaded.compress(adjacencyDirectory);
+        } catch (IOException e) {
+          log.warn(
+              "Could not map the adjacency in {}, keeping it on the heap: {}",
+              adjacencyDirectory,
+              e.toString());
+          return loaded.compress();
+        }
+      default:
+        return loaded;
+    }
+  }
+
+  /**
+   * Indexes the English common and official names, the native names, every translation and the
+   * alternative spellings of the country for autocomplete.
+   */
+  private static void addNames(CountryDataBuilder builder, Country country) {
+    String code = country.cca3();
+    if (country.name() != null) {
+      builder.addName(code, country.name().common(), NameIndex.COMMON_NAME);
+      builder.addName(code, country.name().official(), NameIndex.OFFICIAL_NAME);
+      addNames(builder, code, country.name().nativeNames().values());
+    }
+    addNames(builder, code, country.translations().values());
+    for (String spelling : country.altSpellings()) {
+      builder.addName(code, spelling, NameIndex.OTHER_NAME);
+    }
+  }
+
+  private static void addNames(
+      CountryDataBuilder builder, String code, Collection<CountryName> names) {
+    for (CountryName name : names) {
+      builder.addName(code, name.common(), NameIndex.OTHER_NAME);
+      builder.addName(code, name.official(), NameIndex.OTHER_NAME);
+    }
+  }
+
+  /** Adds a border between two countries and returns the audit record of the change. */
+  public synchronized GraphMutation addBorder(String first, String second, String actor) {
+    int a = requireCountry(first);
+    int b = requireCountry(second);
+    if (a == b) {
+      throw new GraphMutationConflictException("A country cannot border itself: " + first);
+    }
+    if (snapshot.hasBorder(a, b)) {
+      throw new GraphMutationConflictException(
+          String.format("Border between %s and %s already exists", first, second));
+    }
+    return apply(snapshot.addBorder(a, b), actor);
+  }
+
+  /** Removes the border between two countries and returns the audit record of the change. */
+  public synchronized GraphMutation removeBorder(String first, String second, String actor) {
+    int a = requireCountry(first);
+    int b = requireCountry(second);
+    if (!snapshot.hasBorder(a, b)) {
+      throw new GraphMutationConflictException(
+          String.format("Border between %s and %s does not exist", first, second));
+    }
+    return apply(snapshot.removeBorder(a, b), actor);
+  }
+
+  /** Disables a country so that no route can reach or cross it. */
+  public synchronized GraphMutation disableCountry(String code, String actor) {
+    int id = requireCountry(code);
+    if (!snapshot.isEnabled(id)) {
+      throw new GraphMutationConflictException("Country " + code + " is already disabled");
+    }
+    return apply(snapshot.disableCountry(id), actor);
+  }
+
+  /** Re-enables a previously disabled country. */
+  public synchronized GraphMutation enableCountry(String code, String actor) {
+    int id = requireCountry(code);
+    if (snapshot.isEnabled(id)) {
+      throw new GraphMutationConflictException("Country " + code + " is already enabled");
+    }
+    return apply(snapshot.enableCountry(id), actor);
+  }
+
+  /** Returns the most recent graph mutations, oldest first. */
+  public synchronized List<GraphMutation> getAuditLog() {
+    return List.copyOf(auditLog);
+  }
+
+  private int requireCountry(String code) {
+    int id = snapshot == null ? -1 : snapshot.idOf(code);
+    if (id < 0) {
+      throw new UnknownCountryException(code);
+    }
+    return id;
+  }
+
+  private GraphMutation apply(GraphChange change, String actor) {
+    publish(change);
+    GraphMutation mutation =
+        new GraphMutation(
+            change.current().version(), Instant.now(), change.kind(), change.countries(), actor);
+    auditLog.addLast(mutation);
+    if (auditLog.size() > MAX_AUDIT_ENTRIES) {
+      auditLog.removeFirst();
+    }
+    log.info(
+        "Graph mutation {} {} by {} activated version {}",
+        mutation.operation(),
+        mutation.countries(),
+        actor,
+        mutation.version());
+    return mutation;
+  }
+
+  private void publish(GraphChange change) {
+    snapshot = change.current();
+    for (Consumer<GraphChange> listener : changeListeners) {
+      try {
+        listener.accept(change);
+      } catch (RuntimeException e) {
+        log.error("Graph change listener failed for version {}", change.current().version(), e);
+      }
+    }
+  }
+
+  public static final class Builder {
+
+    private final ObjectMapper objectMapper;
+    private final WebClient webClient;
+    private final String countriesJsonUrl;
+    private CountryCodes countryCodes = new CountryCodes();
+    private DatasetCache datasetCache = DatasetCache.inMemory();
+    private AdjacencyLayout adjacencyLayout = AdjacencyLayout.ARRAYS;
+    private Path adjacencyDirectory;
+
+    private Builder(ObjectMapper objectMapper, WebClient webClient, String countriesJsonUrl) {
+      this.objectMapper = objectMapper;
+      this.webClient = webClient;
+      this.countriesJsonUrl = countriesJsonUrl;
+    }
+
+    /**
+     * Interns the country codes of loaded snapshots in the given table, which may be shared with
+     * the services of other datasets.
+     */
+    public Builder countryCodes(CountryCodes countryCodes) {
+      this.countryCodes = countryCodes;
+      return this;
+    }
+
+    /**
+     * Keeps the last fetched body in the given cache, revalidates it with conditional requests and
+     * falls back to it while the upstream is unreachable.
+     */
+    public Builder datasetCache(DatasetCache datasetCache) {
+      this.datasetCache = datasetCache;
+      return this;
+    }
+
+    /**
+     * Holds the rows of loaded snapshots in the given layout.
+     *
+     * @param adjacencyDirectory the directory of the mapped files, only used by {@link
+     *     AdjacencyLayout#MAPPED}
+     */
+    public Builder adjacency(AdjacencyLayout adjacencyLayout, Path adjacencyDirectory) {
+      this.adjacencyLayout = adjacencyLayout;
+      this.adjacencyDirectory = adjacencyDirectory;
+      return this;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the mapped layout has no directory
+     */
+    public CountryService build() {
+      if (adjacencyLayout == AdjacencyLayout.MAPPED && adjacencyDirectory == null) {
+        throw new IllegalArgumentException("The mapped adjacency layout requires a directory");
+      }
+      return new CountryService(this);
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package com.test.routing.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.test.routing.model.Country;
+
+/**
+ * Parses a JSON array of countries as its bytes arrive, with Jackson's non-blocking parser. The
+ * tokens of one country are buffered until its object is complete, then it is bound and handed to
+ * the consumer, so only the chunk being fed and the country being read are ever held, never the
+ * whole document.
+ *
+ * <p>The parser tracks the input it holds: the bytes of the chunk being fed plus the bytes the
+ * incomplete country spans so far. Its peak is reported as the memory bound of a load.
+ */
+final class CountryStreamParser {
+
+  private final ObjectMapper objectMapper;
+  private final Consumer<Country> consumer;
+  private final JsonParser parser;
+  private final ByteBufferFeeder feeder;
+
+  private int depth;
+  private boolean started;
+  private boolean ended;
+  private TokenBuffer country;
+  private long countryStart;
+  private long bytes;
+  private int countries;
+  private long peakBufferedBytes;
+
+  CountryStreamParser(ObjectMapper objectMapper, Consumer<Country> consumer) throws IOException {
+    this.objectMapper = objectMapper;
+    this.consumer = consumer;
+    this.parser = objectMapper.getFactory().createNonBlockingByteBufferParser();
+    this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+  }
+
+  /**
+   * Parses the readable bytes of the buffer and emits every country completed by them. The buffer
+   * is not consumed or released.
+   *
+   * @param queuedBytes bytes received but not yet fed, which count towards the held input
+   */
+  void feed(DataBuffer buffer, long queuedBytes) throws IOException {
+    int length = buffer.readableByteCount();
+    long countryBytes = country == null ? 0 : bytes - countryStart;
+    peakBufferedBytes = Math.max(peakBufferedBytes, queuedBytes + countryBytes + length);
+    try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+      while (iterator.hasNext()) {
+        ByteBuffer chunk = iterator.next();
+        feeder.feedInput(chunk);
+        drain();
+      }
+    }
+    bytes += length;
+  }
+
+  /**
+   * Signals the end of the input.
+   *
+   * @throws IOException if the input was not one complete JSON array
+   */
+  void finish() throws IOException {
+    feeder.endOfInput();
+    drain();
+    if (!started) {
+      throw new IOException("Country data is empty");
+    }
+    if (!ended) {
+      throw new IOException("Country data ended after " + bytes + " bytes inside the array");
+    }
+  }
+
+  /** Returns the number of bytes fed so far. */
+  long getBytes() {
+    return bytes;
+  }
+
+  /** Returns the number of countries emitted so far. */
+  int getCountries() {
+    return countries;
+  }
+
+  /** Returns the largest input held at any time, in bytes. */
+  long getPeakBufferedBytes() {
+    return peakBufferedBytes;
+  }
+
+  private void drain() throws IOException {
+    JsonToken token;
+    while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+      if (ended) {
+        throw new IOException("Unexpected " + token + " after the country array");
+      }
+      if (!started) {
+        if (token != JsonToken.START_ARRAY) {
+          throw new IOException("Country data must be a JSON array, found " + token);
+        }
+        started = true;
+        continue;
+      }
+      if (depth == 0) {
+        if (token == JsonToken.END_ARRAY) {
+          ended = true;
+          continue;
+        }
+        if (token != JsonToken.START_OBJECT) {
+          throw new IOException("Country array must contain objects, found " + token);
+        }
+        country = new TokenBuffer(parser);
+        countryStart = parser.currentTokenLocation().getByteOffset();
+      }
+      country.copyCurrentEvent(parser);
+      if (token.isStructStart()) {
+        depth++;
+      } else if (token.isStructEnd() && --depth == 0) {
+        try (JsonParser tokens = country.asParser(objectMapper)) {
+          consumer.accept(objectMapper.readValue(tokens, Country.class));
+        }
+        country = null;
+        countries++;
+      }
+    }
+  }
+}
@@ -0,0 +1,231 @@
+package com.test.routing.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Last fetched body of every dataset URL together with its ETag and Last-Modified validators. With
+ * a directory the entries survive restarts as a {@code .json} body and a {@code .properties} file
+ * of validators per URL, both replaced atomically. Bodies are written and read in chunks, so a body
+ * is never held in memory as a whole. Without a directory only the validators are kept, in memory,
+ * and there is no body to fall back to. Failing to write the cache never fails a load.
+ */
+public class DatasetCache {
+
+  private static final Logger log = LoggerFactory.getLogger(DatasetCache.class);
+
+  private static final int CHUNK_SIZE = 16 * 1024;
+
+  private final Path directory;
+  private final Map<String, Entry> memory = new ConcurrentHashMap<>();
+
+  /**
+   * The validators of a cached response body.
+   *
+   * @param etag the ETag header, or null
+   * @param lastModified the Last-Modified header, or null
+   */
+  public record Entry(String etag, String lastModified) {}
+
+  /**
+   * Creates a cache persisted in the directory, or one keeping only validators in memory if the
+   * directory is null.
+   */
+  public DatasetCache(Path directory) {
+    this.directory = directory;
+  }
+
+  public static DatasetCache inMemory() {
+    return new DatasetCache(null);
+  }
+
+  /** Returns true if cached bodies are kept and can be streamed by {@link #body(String)}. */
+  public boolean keepsBodies() {
+    return directory != null;
+  }
+
+  /** Returns the validators of the cached body for the URL, or null if there is none. */
+  public Entry read(String url) {
+    if (directory == null) {
+      return memory.get(url);
+    }
+    Path body = file(url, ".json");
+    Path validators = file(url, ".properties");
+    if (!Files.isRegularFile(body) || !Files.isRegularFile(validators)) {
+      return null;
+    }
+    try (Reader reader = Files.newBufferedReader(validators, StandardCharsets.UTF_8)) {
+      Properties properties = new Properties();
+      properties.load(reader);
+      if (!url.equals(properties.getProperty("url"))) {
+        return null;
+      }
+      return new Entry(properties.getProperty("etag"), properties.getProperty("last-modified"));
+    } catch (IOException e) {
+      log.warn("Ignoring unreadable dataset cache entry {}: {}", body, e.toString());
+      return null;
+    }
+  }
+
+  /**
+   * Streams the cached body for the URL in chunks. The caller releases every buffer.
+   *
+   * @return the body, or an empty Flux if there is none or bodies are not kept
+   */
+  public Flux<DataBuffer> body(String url) {
+    if (directory == null) {
+      return Flux.empty();
+    }
+    return DataBufferUtils.read(
+        file(url, ".json"), DefaultDataBufferFactory.sharedInstance, CHUNK_SIZE);
+  }
+
+  /**
+   * Starts replacing the cached body for the URL. The previous entry stays in place until the
+   * writer is committed.
+   */
+  public BodyWriter writer(String url) {
+    return new BodyWriter(url);
+  }
+
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private Path file(String url, String suffix) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+      return directory.resolve(HexFormat.of().formatHex(hash, 0, 16) + suffix);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Writes a body chunk by chunk to a temporary file and replaces the cached entry on commit. For
+   * an in-memory cache the body is dropped and only the validators are stored on commit. A failed
+   * write is logged once and turns the remaining calls into no-ops.
+   */
+  public final class BodyWriter implements AutoCloseable {
+
+    private final String url;
+    private Path temporary;
+    private FileChannel channel;
+    private boolean failed;
+
+    private BodyWriter(String url) {
+      this.url = url;
+      if (directory == null) {
+        return;
+      }
+      try {
+        Files.createDirectories(directory);
+        temporary = Files.createTempFile(directory, "body", ".tmp");
+        channel = FileChannel.open(temporary, StandardOpenOption.WRITE);
+      } catch (IOException e) {
+        fail(e);
+      }
+    }
+
+    /** Appends the readable bytes of the buffer without consuming them. */
+    public void write(DataBuffer buffer) {
+      if (failed || directory == null) {
+        return;
+      }
+      try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+        while (iterator.hasNext()) {
+          ByteBuffer chunk = iterator.next();
+          while (chunk.hasRemaining()) {
+            channel.write(chunk);
+          }
+        }
+      } catch (IOException e) {
+        fail(e);
+      }
+    }
+
+    /** Stores the written body with its validators, replacing the previous entry. */
+    public void commit(Entry entry) {
+      if (failed) {
+        return;
+      }
+      if (directory == null) {
+        memory.put(url, entry);
+        return;
+      }
+      Properties properties = new Properties();
+      properties.setProperty("url", url);
+      if (entry.etag() != null) {
+        properties.setProperty("etag", entry.etag());
+      }
+      if (entry.lastModified() != null) {
+        properties.setProperty("last-modified", entry.lastModified());
+      }
+      try {
+        channel.close();
+        // The body goes first: a crash in between pairs the new body with the old validators,
+        // which only costs a full download, never the new validators with the old body
+        move(temporary, file(url, ".json"));
+        temporary = null;
+        Path validators = Files.createTempFile(directory, "validators", ".tmp");
+        try (Writer writer = Files.newBufferedWriter(validators, StandardCharsets.UTF_8)) {
+          properties.store(writer, null);
+        }
+        move(validators, file(url, ".properties"));
+      } catch (IOException e) {
+        fail(e);
+      }
+    }
+
+    /** Discards an uncommitted body. */
+    @Override
+    public void close() {
+      if (temporary == null) {
+        return;
+      }
+      try {
+        if (channel != null) {
+          channel.close();
+        }
+        Files.deleteIfExists(temporary);
+      } catch (IOException e) {
+        log.warn("Could not delete {}: {}", temporary, e.toString());
+      }
+      temporary = null;
+    }
+
+    private void fail(IOException e) {
+      failed = true;
+      log.warn("Could not write dataset cache in {}: {}", directory, e.toString());
+      close();
+    }
+  }
+}
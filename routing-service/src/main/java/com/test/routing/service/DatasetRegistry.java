@@ -0,0 +1,267 @@
+package com.test.routing.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.test.routing.exception.UnknownDatasetException;
+import com.test.routing.graph.GraphSnapshot;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Named border graph datasets served side by side, for example the current data next to historical
+ * snapshots. Every dataset has its own country service, route cache, routing service, search
+ * deadlines and the services of every other query and analysis, so it can be reloaded and mutated
+ * independently. All datasets intern their country codes in one shared table, which keeps the cost
+ * of an extra dataset down to its adjacency arrays.
+ */
+public class DatasetRegistry implements MeterBinder {
+
+  public static final String DEFAULT_DATASET = "default";
+
+  /** The dataset tag of meters whose resource is shared by every dataset. */
+  public static final String ALL_DATASETS = "*";
+
+  private static final Logger log = LoggerFactory.getLogger(DatasetRegistry.class);
+
+  private final Map<String, Dataset> datasets = new ConcurrentHashMap<>();
+  private final List<Dataset> registrationOrder = new CopyOnWriteArrayList<>();
+  private final List<Dataset> ownedDatasets = new CopyOnWriteArrayList<>();
+  private final List<RouteTableService> ownedRouteTables = new CopyOnWriteArrayList<>();
+  private final List<CachePrewarmer> ownedPrewarmers = new CopyOnWriteArrayList<>();
+
+  /** Creates a registry serving the given services as the default dataset. */
+  public DatasetRegistry(Dataset defaultDataset) {
+    if (!defaultDataset.name().equals(DEFAULT_DATASET)) {
+      throw new IllegalArgumentException("The default dataset must be named " + DEFAULT_DATASET);
+    }
+    register(defaultDataset);
+  }
+
+  /** Adds a dataset. Its data is loaded on startup unless it has been loaded already. */
+  public void register(Dataset dataset) {
+    if (datasets.putIfAbsent(dataset.name(), dataset) != null) {
+      throw new IllegalArgumentException("Dataset " + dataset.name() + " is already registered");
+    }
+    registrationOrder.add(dataset);
+  }
+
+  /**
+   * Adds a dataset whose services are not beans. The registry starts the pre-warmer before loading
+   * the dataset and shuts it down with itself, together with the route tables and the background
+   * analytics of the dataset.
+   */
+  public void register(Dataset dataset, RouteTableService routeTables, CachePrewarmer prewarmer) {
+    register(dataset);
+    ownedDatasets.add(dataset);
+    ownedRouteTables.add(routeTables);
+    ownedPrewarmers.add(prewarmer);
+  }
+
+  /**
+   * Starts the pre-warmers the registry owns and loads every dataset that has not been loaded by
+   * its own bean lifecycle.
+   */
+  @PostConstruct
+  public void start() {
+    for (CachePrewarmer prewarmer : ownedPrewarmers) {
+      prewarmer.start();
+    }
+    for (Dataset dataset : registrationOrder) {
+      if (dataset.countryService().getSnapshot() == null) {
+        dataset.countryService().loadCountryData();
+      }
+    }
+  }
+
+  /**
+   * Persists the sketches of the pre-warmers the registry owns and stops their threads and those of
+   * the route tables and analytics it owns.
+   */
+  @PreDestroy
+  public void shutdown() {
+    for (CachePrewarmer prewarmer : ownedPrewarmers) {
+      prewarmer.shutdown();
+    }
+    for (RouteTableService routeTables : ownedRouteTables) {
+      routeTables.shutdown();
+    }
+    for (Dataset dataset : ownedDatasets) {
+      dataset.centralityService().shutdown();
+      dataset.graphAnalyticsService().shutdown();
+    }
+  }
+
+  /**
+   * Returns the dataset with the given name; a null or blank name selects the default dataset.
+   *
+   * @throws UnknownDatasetException if there is no dataset with that name
+   */
+  public Dataset get(String name) {
+    String key = name == null || name.isBlank() ? DEFAULT_DATASET : name;
+    Dataset dataset = datasets.get(key);
+    if (dataset == null) {
+      throw new UnknownDatasetException(key);
+    }
+    return dataset;
+  }
+
+  /** Returns every dataset in registration order, the default one first. */
+  public List<Dataset> datasets() {
+    return List.copyOf(registrationOrder);
+  }
+
+  /**
+   * Reloads a dataset from its source. Cached routes of the dataset are invalidated through its
+   * graph change listeners; other datasets are not affected.
+   */
+  public GraphSnapshot reload(String name) {
+    Dataset dataset = get(name);
+    dataset.countryService().loadCountryData();
+    GraphSnapshot snapshot = dataset.countryService().getSnapshot();
+    log.info("Reloaded dataset {} as version {}", dataset.name(), snapshot.version());
+    return snapshot;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (Dataset dataset : registrationOrder) {
+      Gauge.builder("routing.dataset.version", dataset, Dataset::graphVersion)
+          .description("Active graph version of the dataset")
+          .tag("dataset", dataset.name())
+          .register(registry);
+      Gauge.builder("routing.dataset.countries", dataset, Dataset::countryCount)
+          .description("Number of countries in the dataset")
+          .tag("dataset", dataset.name())
+          .register(registry);
+      Gauge.builder(
+              "routing.dataset.load.peak-buffered",
+              dataset,
+              d -> d.countryService().getPeakBufferedBytes())
+          .description("Most input held at any time while the last load parsed the dataset")
+          .baseUnit("bytes")
+          .tag("dataset", dataset.name())
+          .register(registry);
+      if (!dataset.name().equals(DEFAULT_DATASET)) {
+        // The default route cache and deadlines are beans of their own and bound by Spring Boot
+        dataset.routeCache().bindTo(registry);
+        dataset.searchDeadlines().bindTo(registry);
+      }
+    }
+  }
+
+  /**
+   * The services of one named dataset. Services a dataset is built without are null, so only tests
+   * leave any of them out.
+   */
+  public record Dataset(
+      String name,
+      CountryService countryService,
+      RouteCache routeCache,
+      RoutingService routingService,
+      SearchDeadlines searchDeadlines,
+      ReachabilityService reachabilityService,
+      ItineraryService itineraryService,
+      NearestService nearestService,
+      CentralityService centralityService,
+      GraphAnalyticsService graphAnalyticsService) {
+
+    public static Builder builder(String name, CountryService countryService) {
+      return new Builder(name, countryService);
+    }
+
+    private double graphVersion() {
+      GraphSnapshot snapshot = countryService.getSnapshot();
+      return snapshot == null ? 0 : snapshot.version();
+    }
+
+    private double countryCount() {
+      GraphSnapshot snapshot = countryService.getSnapshot();
+      return snapshot == null ? 0 : snapshot.countryCount();
+    }
+
+    /** Collects the services of a dataset, which has many of them. */
+    public static final class Builder {
+
+      private final String name;
+      private final CountryService countryService;
+      private RouteCache routeCache;
+      private RoutingService routingService;
+      private SearchDeadlines searchDeadlines;
+      private ReachabilityService reachabilityService;
+      private ItineraryService itineraryService;
+      private NearestService nearestService;
+      private CentralityService centralityService;
+      private GraphAnalyticsService graphAnalyticsService;
+
+      private Builder(String name, CountryService countryService) {
+        this.name = name;
+        this.countryService = countryService;
+      }
+
+      public Builder routeCache(RouteCache routeCache) {
+        this.routeCache = routeCache;
+        return this;
+      }
+
+      public Builder routingService(RoutingService routingService) {
+        this.routingService = routingService;
+        return this;
+      }
+
+      public Builder searchDeadlines(SearchDeadlines searchDeadlines) {
+        this.searchDeadlines = searchDeadlines;
+        return this;
+      }
+
+      public Builder reachabilityService(ReachabilityService reachabilityService) {
+        this.reachabilityService = reachabilityService;
+        return this;
+      }
+
+      public Builder itineraryService(ItineraryService itineraryService) {
+        this.itineraryService = itineraryService;
+        return this;
+      }
+
+      public Builder nearestService(NearestService nearestService) {
+        this.nearestService = nearestService;
+        return this;
+      }
+
+      public Builder centralityService(CentralityService centralityService) {
+        this.centralityService = centralityService;
+        return this;
+      }
+
+      public Builder graphAnalyticsService(GraphAnalyticsService graphAnalyticsService) {
+        this.graphAnalyticsService = graphAnalyticsService;
+        return this;
+      }
+
+      public Dataset build() {
+        return new Dataset(
+            name,
+            countryService,
+            routeCache,
+            routingService,
+            searchDeadlines,
+            reachabilityService,
+            itineraryService,
+            nearestService,
+            centralityService,
+            graphAnalyticsService);
+      }
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.test.routing.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import com.test.routing.graph.GraphChange;
+import com.test.routing.graph.GraphStructure;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Maintains the structural analysis of the current graph version: articulation points, bridge
+ * borders, component sizes, eccentricities and component diameters. Like centrality it is
+ * recomputed in the background after every graph change, so the stats endpoint only reads
+ * precomputed arrays.
+ */
+public class GraphAnalyticsService {
+
+  private final SnapshotComputation<GraphStructure> computation;
+
+  public GraphAnalyticsService(CountryService countryService) {
+    this.computation =
+        new SnapshotComputation<>(
+            "graph-structure",
+            countryService::getSnapshot,
+            GraphStructure::analyze,
+            structure -> structure.graph().version());
+  }
+
+  /** Starts the analysis of the graph loaded at startup. */
+  @PostConstruct
+  public void start() {
+    computation.refresh();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    computation.shutdown();
+  }
+
+  /** Schedules a new analysis for the graph produced by the change. */
+  public void onGraphChange(GraphChange change) {
+    computation.refresh();
+  }
+
+  /** Returns the latest completed analysis. */
+  public Mono<GraphStructure> getStructure() {
+    return computation.latest();
+  }
+}
@@ -0,0 +1,28 @@
+package com.test.routing.service;
+
+import java.util.List;
+
+/**
+ * A planned trip through a set of countries.
+ *
+ * @param graphVersion the version of the graph snapshot the stops were resolved in
+ * @param start the canonical cca3 code of the start
+ * @param order the canonical cca3 codes of the stops in visiting order
+ * @param route the concatenated land route of the whole trip
+ * @param crossings the number of border crossings of the route
+ * @param exact true if the order is proven optimal, false if it was found heuristically
+ */
+public record Itinerary(
+    long graphVersion,
+    String start,
+    List<String> order,
+    List<String> route,
+    int crossings,
+    boolean exact) {
+
+  public Itinerary {
+    // Defensive copies to ensure immutability
+    order = List.copyOf(order);
+    route = List.copyOf(route);
+  }
+}
@@ -0,0 +1,240 @@
+package com.test.routing.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.test.routing.exception.InvalidRequestException;
+import com.test.routing.exception.NoRouteFoundException;
+import com.test.routing.exception.SearchTimeoutException;
+import com.test.routing.exception.ServiceOverloadedException;
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.ItineraryPlanner;
+import com.test.routing.graph.SearchGuard;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Plans trips through a set of countries with the fewest border crossings. The routes between every
+ * two points of the trip come from the routing service, so they are shared with its cache and route
+ * table; they are split into a few tasks that run in parallel in the bulk lane, followed by one
+ * bulk task that orders the stops with {@link ItineraryPlanner}. A whole itinerary takes one
+ * admission slot, but its latency is not fed into the adaptive limit: it covers many searches, bulk
+ * lane queueing and the planning budget, and would otherwise shrink the limit of point lookups. It
+ * also has one deadline, see {@link SearchDeadlines}: every route search of the itinerary stops
+ * once it expires or the subscriber cancels.
+ */
+public class ItineraryService {
+
+  private final CountryService countryService;
+  private final RoutingService routingService;
+  private final ConcurrencyLimiter concurrencyLimiter;
+  private final PriorityLanes lanes;
+  private final int maxStops;
+  private final int exactThreshold;
+  private final Duration timeBudget;
+  private final int parallelism;
+  private final SearchDeadlines deadlines;
+
+  /**
+   * @param maxStops the largest number of stops a trip may have
+   * @param exactThreshold the largest number of stops that are ordered optimally
+   * @param timeBudget how long larger trips are improved heuristically
+   * @param parallelism the number of bulk tasks the routes between the points are split into
+   * @param deadlines the budgets of itineraries and the accounting of aborted ones
+   */
+  public ItineraryService(
+      CountryService countryService,
+      RoutingService routingService,
+      ConcurrencyLimiter concurrencyLimiter,
+      PriorityLanes lanes,
+      int maxStops,
+      int exactThreshold,
+      Duration timeBudget,
+      int parallelism,
+      SearchDeadlines deadlines) {
+    if (exactThreshold > ItineraryPlanner.MAX_EXACT_STOPS) {
+      throw new IllegalArgumentException(
+          "Exact threshold must not exceed " + ItineraryPlanner.MAX_EXACT_STOPS);
+    }
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1");
+    }
+    this.countryService = countryService;
+    this.routingService = routingService;
+    this.concurrencyLimiter = concurrencyLimiter;
+    this.lanes = lanes;
+    this.maxStops = maxStops;
+    this.exactThreshold = exactThreshold;
+    this.timeBudget = timeBudget;
+    this.parallelism = parallelism;
+    this.deadlines = deadlines;
+  }
+
+  /**
+   * Plans the trip from the start through every stop with the fewest border crossings. Duplicate
+   * stops and the start itself among the stops are ignored.
+   *
+   * @param start the starting country code in any supported scheme
+   * @param stops the country codes to visit in any supported scheme, in any order
+   * @param roundTrip true to return to the start after the last stop
+   * @return Mono containing the visiting order and the concatenated route
+   * @throws InvalidRequestException (as error signal) if the start or the stops are missing or
+   *     there are too many stops
+   * @throws UnknownCountryException (as error signal) if a country does not exist
+   * @throws NoRouteFoundException (as error signal) if a stop cannot be reached by land
+   * @throws ServiceOverloadedException (as error signal) if the concurrency limit is reached or the
+   *     bulk lane is full
+   * @throws SearchTimeoutException (as error signal) if the route searches exceeded the budget
+   */
+  public Mono<Itinerary> plan(String start, List<String> stops, boolean roundTrip) {
+    return Mono.deferContextual(
+        context -> {
+          if (start == null || stops == null || stops.isEmpty()) {
+            return Mono.error(
+                new InvalidRequestException("A start and at least one stop are required"));
+          }
+          GraphSnapshot graph = countryService.getSnapshot();
+          int origin = graph.resolve(start);
+          if (origin < 0) {
+            return Mono.error(new UnknownCountryException(start));
+          }
+          Set<Integer> unique = new LinkedHashSet<>();
+          for (String stop : stops) {
+            int id = stop == null ? -1 : graph.resolve(stop);
+            if (id < 0) {
+              return Mono.error(new UnknownCountryException(String.valueOf(stop)));
+            }
+            if (id != origin) {
+              unique.add(id);
+            }
+          }
+          if (unique.size() > maxStops) {
+            return Mono.error(
+                new InvalidRequestException("An itinerary has at most " + maxStops + " stops"));
+          }
+
+          String[] points = new String[unique.size() + 1];
+          points[0] = graph.codeOf(origin);
+          int index = 1;
+          for (int id : unique) {
+            // Stops outside the start's component are rejected before any search
+            if (!graph.isEnabled(origin)
+                || !graph.isEnabled(id)
+                || graph.componentOf(id) != graph.componentOf(origin)) {
+              return Mono.error(new NoRouteFoundException(points[0], graph.codeOf(id)));
+            }
+            points[index++] = graph.codeOf(id);
+          }
+
+          if (!concurrencyLimiter.tryAcquire()) {
+            return Mono.error(new ServiceOverloadedException(concurrencyLimiter.getRetryAfter()));
+          }
+
+          SearchDeadlines.Deadline deadline = deadlines.start(context);
+          return plan(graph.version(), points, roundTrip, deadline)
+              .doOnCancel(deadline::cancel)
+              .doFinally(signal -> concurrencyLimiter.release(-1));
+        });
+  }
+
+  private Mono<Itinerary> plan(
+      long graphVersion, String[] points, boolean roundTrip, SearchDeadlines.Deadline deadline) {
+    int n = points.length;
+    int pairs = n * (n - 1) / 2;
+    // Indexed by pair, see pair(); every task writes its own slots
+    List<List<String>> routes = new ArrayList<>(Collections.nCopies(pairs, null));
+    int tasks = Math.max(1, Math.min(parallelism, pairs));
+    return Flux.range(0, tasks)
+        .flatMap(
+            task ->
+                lanes.submit(
+                    PriorityLanes.Lane.BULK,
+                    () ->
+                        deadlines.run(
+                            deadline,
+                            () -> {
+                              computeRoutes(points, routes, task, tasks, deadline);
+                              return task;
+                            })))
+        .then(
+            Mono.defer(
+                () ->
+                    lanes.submit(
+                        PriorityLanes.Lane.BULK,
+                        () -> solve(graphVersion, points, routes, roundTrip))));
+  }
+
+  /** Computes every pair whose index modulo the number of tasks is the task. */
+  private void computeRoutes(
+      String[] points, List<List<String>> routes, int task, int tasks, SearchGuard guard) {
+    int pair = 0;
+    for (int i = 0; i < points.length; i++) {
+      for (int j = i + 1; j < points.length; j++, pair++) {
+        if (pair % tasks != task) {
+          continue;
+        }
+        List<String> route = routingService.computeRoute(points[i], points[j], guard);
+        if (route.isEmpty()) {
+          // Only when the graph changed since the stops were checked
+          throw new NoRouteFoundException(points[i], points[j]);
+        }
+        routes.set(pair, route);
+      }
+    }
+  }
+
+  private Itinerary solve(
+      long graphVersion, String[] points, List<List<String>> routes, boolean roundTrip) {
+    int n = points.length;
+    int[][] crossings = new int[n][n];
+    for (int i = 0; i < n; i++) {
+      for (int j = i + 1; j < n; j++) {
+        crossings[i][j] = routes.get(pair(n, i, j)).size() - 1;
+        crossings[j][i] = crossings[i][j];
+      }
+    }
+    ItineraryPlanner.Plan plan =
+        ItineraryPlanner.plan(
+            crossings, roundTrip, exactThreshold, System.nanoTime() + timeBudget.toNanos());
+
+    List<String> order = new ArrayList<>(plan.order().length);
+    List<String> route = new ArrayList<>(List.of(points[0]));
+    int previous = 0;
+    for (int point : plan.order()) {
+      order.add(points[point]);
+      append(route, routes, n, previous, point);
+      previous = point;
+    }
+    if (roundTrip && previous != 0) {
+      append(route, routes, n, previous, 0);
+    }
+    return new Itinerary(graphVersion, points[0], order, route, plan.crossings(), plan.exact());
+  }
+
+  /** Appends the route between two points without repeating the country it starts at. */
+  private static void append(
+      List<String> route, List<List<String>> routes, int n, int from, int to) {
+    if (from < to) {
+      List<String> leg = routes.get(pair(n, from, to));
+      route.addAll(leg.subList(1, leg.size()));
+    } else {
+      List<String> leg = routes.get(pair(n, to, from));
+      for (int i = leg.size() - 2; i >= 0; i--) {
+        route.add(leg.get(i));
+      }
+    }
+  }
+
+  /**
+   * Index of the pair of points i < j, counting pairs row by row as {@link #computeRoutes} does.
+   */
+  private static int pair(int n, int i, int j) {
+    return i * (2 * n - i - 1) / 2 + (j - i - 1);
+  }
+}
@@ -0,0 +1,278 @@
+package com.test.routing.service;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.routing.dto.ErrorResponse;
+import com.test.routing.dto.RouteResponse;
+import com.test.routing.graph.GraphSnapshot;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Replays a synthetic query mix through the routing code and the JSON serialization of its
+ * responses, so the JIT compiler has compiled the request path before the instance takes traffic.
+ * Queries run in rounds until the JIT compilation time grows by no more than the settle threshold
+ * in several consecutive rounds, or until the time budget runs out.
+ *
+ * <p>The queries go through a routing service of their own with a small private route cache, so
+ * they exercise the same code as real requests, cache hits and misses included, without filling the
+ * real cache or counting against admission control.
+ */
+public class JitWarmUp implements MeterBinder {
+
+  private static final Logger log = LoggerFactory.getLogger(JitWarmUp.class);
+
+  private static final int CACHE_SIZE = 256;
+  private static final long SEED = 42;
+
+  /**
+   * Outcome of a warm-up.
+   *
+   * @param duration wall time of the warm-up
+   * @param queries the number of queries replayed
+   * @param rounds the number of rounds, the last one possibly cut short by the budget
+   * @param compilationTime JIT compilation time accumulated during the warm-up, or null if the JVM
+   *     does not report it
+   * @param settled true if compilation settled before the budget ran out
+   * @param firstRoundNanosPerQuery mean time per query in the first round
+   * @param lastRoundNanosPerQuery mean time per query in the last round
+   */
+  public record Report(
+      Duration duration,
+      long queries,
+      int rounds,
+      Duration compilationTime,
+      boolean settled,
+      long firstRoundNanosPerQuery,
+      long lastRoundNanosPerQuery) {}
+
+  private final CountryService countryService;
+  private final RoutingService routingService;
+  private final ObjectMapper objectMapper;
+  private final Duration budget;
+  private final int roundSize;
+  private final Duration settleThreshold;
+  private final int settledRounds;
+  private final CompilationMXBean compilation;
+
+  private volatile Report report;
+
+  /**
+   * @param budget the longest time the warm-up may take
+   * @param roundSize the number of queries per round
+   * @param settleThreshold the compilation time a round may add and still count as settled
+   * @param settledRounds the number of consecutive settled rounds that end the warm-up
+   */
+  public JitWarmUp(
+      CountryService countryService,
+      ObjectMapper objectMapper,
+      Duration budget,
+      int roundSize,
+      Duration settleThreshold,
+      int settledRounds) {
+    if (roundSize < 1 || settledRounds < 1) {
+      throw new IllegalArgumentException("Round size and settled rounds must be at least 1");
+    }
+    this.countryService = countryService;
+    this.routingService =
+        RoutingService.builder(countryService).routeCache(new RouteCache(CACHE_SIZE)).build();
+    this.objectMapper = objectMapper;
+    this.budget = budget;
+    this.roundSize = roundSize;
+    this.settleThreshold = settleThreshold;
+    this.settledRounds = settledRounds;
+    CompilationMXBean bean = ManagementFactory.getCompilationMXBean();
+    this.compilation = bean != null && bean.isCompilationTimeMonitoringSupported() ? bean : null;
+  }
+
+  /**
+   * Runs the warm-up on the calling thread against the current graph.
+   *
+   * @return the report, which is kept for the metrics as well
+   */
+  public Report run() {
+    GraphSnapshot graph = countryService.getSnapshot();
+    List<String[]> mix = queryMix(graph, new Random(SEED));
+    long start = System.nanoTime();
+    long deadline = start + budget.toNanos();
+    long compilationStart = compilationMillis();
+    long previousCompilation = compilationStart;
+
+    long queries = 0;
+    int rounds = 0;
+    int stable = 0;
+    boolean settled = false;
+    long firstRoundNanosPerQuery = 0;
+    long lastRoundNanosPerQuery = 0;
+    while (!settled && System.nanoTime() < deadline) {
+      long roundStart = System.nanoTime();
+      int executed = 0;
+      while (executed < roundSize && System.nanoTime() < deadline) {
+        String[] query = mix.get((int) (queries % mix.size()));
+        execute(query[0], query[1]);
+        executed++;
+        queries++;
+      }
+      if (executed == 0) {
+        break;
+      }
+      lastRoundNanosPerQuery = (System.nanoTime() - roundStart) / executed;
+      if (rounds++ == 0) {
+        firstRoundNanosPerQuery = lastRoundNanosPerQuery;
+      }
+
+      long compilationNow = compilationMillis();
+      if (compilation != null
+          && compilationNow - previousCompilation <= settleThreshold.toMillis()) {
+        stable++;
+      } else {
+        stable = 0;
+      }
+      previousCompilation = compilationNow;
+      settled = stable >= settledRounds;
+    }
+
+    Report result =
+        new Report(
+            Duration.ofNanos(System.nanoTime() - start),
+            queries,
+            rounds,
+            compilation == null ? null : Duration.ofMillis(previousCompilation - compilationStart),
+            settled,
+            firstRoundNanosPerQuery,
+            lastRoundNanosPerQuery);
+    log.info(
+        "JIT warm-up {} after {} ms: {} queries in {} rounds, {} compilation, {} us per query in the"
+            + " first round and {} us in the last",
+        settled ? "settled" : "ran out of budget",
+        result.duration().toMillis(),
+        queries,
+        rounds,
+        result.compilationTime() == null
+            ? "unknown"
+            : result.compilationTime().toMillis() + " ms of",
+        String.format(Locale.ROOT, "%.1f", firstRoundNanosPerQuery / 1000.0),
+        String.format(Locale.ROOT, "%.1f", lastRoundNanosPerQuery / 1000.0));
+    report = result;
+    return result;
+  }
+
+  /** Returns the report of the last warm-up, or null if none has run. */
+  public Report getReport() {
+    return report;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    TimeGauge.builder(
+            "routing.warmup.duration",
+            this,
+            TimeUnit.MILLISECONDS,
+            warmUp -> warmUp.report == null ? 0 : warmUp.report.duration().toMillis())
+        .description("Wall time of the JIT warm-up before the instance reported ready")
+        .register(registry);
+    Gauge.builder(
+            "routing.warmup.queries",
+            this,
+            warmUp -> warmUp.report == null ? 0 : warmUp.report.queries())
+        .description("Synthetic queries replayed by the JIT warm-up")
+        .register(registry);
+    Gauge.builder(
+            "routing.warmup.settled",
+            this,
+            warmUp -> warmUp.report != null && warmUp.report.settled() ? 1 : 0)
+        .description("1 if JIT compilation settled before the warm-up budget ran out")
+        .register(registry);
+  }
+
+  /** Resolves and routes one query like the route endpoint, and serializes its response. */
+  private void execute(String origin, String destination) {
+    GraphSnapshot graph = countryService.getSnapshot();
+    int from = graph.resolve(origin);
+    int to = graph.resolve(destination);
+    Object response;
+    if (from < 0 || to < 0) {
+      response = noRoute(origin, destination);
+    } else {
+      List<String> route =
+          routingService.calculateRoute(graph.codeOf(from), graph.codeOf(to)).block();
+      response =
+          route == null || route.isEmpty()
+              ? noRoute(graph.codeOf(from), graph.codeOf(to))
+              : new RouteResponse(route);
+    }
+    try {
+      objectMapper.writeValueAsBytes(response);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Warm-up response cannot be serialized", e);
+    }
+  }
+
+  private static ErrorResponse noRoute(String origin, String destination) {
+    return new ErrorResponse(
+        "No land route found between " + origin + " and " + destination,
+        "/routing/" + origin + "/" + destination);
+  }
+
+  private long compilationMillis() {
+    return compilation == null ? 0 : compilation.getTotalCompilationTime();
+  }
+
+  /**
+   * Builds the query mix: mostly pairs within one component, some arbitrary pairs, which mostly end
+   * in other components, some identical countries and some unknown codes, in lower case as clients
+   * often send them.
+   */
+  private static List<String[]> queryMix(GraphSnapshot graph, Random random) {
+    List<Integer> enabled = new ArrayList<>();
+    Map<Integer, List<Integer>> components = new HashMap<>();
+    for (int id = 0; id < graph.size(); id++) {
+      if (graph.isEnabled(id)) {
+        enabled.add(id);
+        components.computeIfAbsent(graph.componentOf(id), label -> new ArrayList<>()).add(id);
+      }
+    }
+    List<String[]> mix = new ArrayList<>();
+    if (enabled.isEmpty()) {
+      mix.add(new String[] {"zzz", "zzy"});
+      return mix;
+    }
+    for (int i = 0; i < 1000; i++) {
+      int origin = enabled.get(random.nextInt(enabled.size()));
+      int kind = random.nextInt(100);
+      String destination;
+      if (kind < 80) {
+        List<Integer> component = components.get(graph.componentOf(origin));
+        destination = graph.codeOf(component.get(random.nextInt(component.size())));
+      } else if (kind < 90) {
+        destination = graph.codeOf(enabled.get(random.nextInt(enabled.size())));
+      } else if (kind < 95) {
+        destination = graph.codeOf(origin);
+      } else {
+        destination = "zz" + (char) ('a' + random.nextInt(26));
+      }
+      mix.add(
+          new String[] {
+            graph.codeOf(origin).toLowerCase(Locale.ROOT), destination.toLowerCase(Locale.ROOT)
+          });
+    }
+    return mix;
+  }
+}
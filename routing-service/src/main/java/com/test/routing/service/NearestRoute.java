@@ -0,0 +1,20 @@
+package com.test.routing.service;
+
+import java.util.List;
+
+/**
+ * Route from an origin to the nearest country matching a predicate.
+ *
+ * @param graphVersion the version of the graph snapshot that was searched
+ * @param origin the canonical cca3 code of the origin
+ * @param route the cca3 codes from the origin to the matching country, which is the last one
+ * @param nodesExpanded the number of countries whose neighbors were examined
+ */
+public record NearestRoute(
+    long graphVersion, String origin, List<String> route, int nodesExpanded) {
+
+  public NearestRoute {
+    // Defensive copy to ensure immutability
+    route = List.copyOf(route);
+  }
+}
@@ -0,0 +1,123 @@
+package com.test.routing.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import com.test.routing.exception.InvalidRequestException;
+import com.test.routing.exception.NoRouteFoundException;
+import com.test.routing.exception.SearchTimeoutException;
+import com.test.routing.exception.ServiceOverloadedException;
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.graph.CountryAttributes;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.NearestMatch;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Answers "shortest route to any country matching a predicate" queries with a single BFS that stops
+ * at the first match, instead of one route search per candidate. Searches pass the same admission
+ * control as route searches and run in the interactive lane, since they answer one user request
+ * like a route lookup does. For the same reason they stop once their deadline expires or their
+ * subscriber cancels, see {@link SearchDeadlines}.
+ */
+public class NearestService {
+
+  private final CountryService countryService;
+  private final ConcurrencyLimiter concurrencyLimiter;
+  private final PriorityLanes lanes;
+  private final SearchDeadlines deadlines;
+
+  public NearestService(CountryService countryService, ConcurrencyLimiter concurrencyLimiter) {
+    this(countryService, concurrencyLimiter, PriorityLanes.direct(), SearchDeadlines.none());
+  }
+
+  public NearestService(
+      CountryService countryService,
+      ConcurrencyLimiter concurrencyLimiter,
+      PriorityLanes lanes,
+      SearchDeadlines deadlines) {
+    this.countryService = countryService;
+    this.concurrencyLimiter = concurrencyLimiter;
+    this.lanes = lanes;
+    this.deadlines = deadlines;
+  }
+
+  /**
+   * Finds the shortest land route from the origin to the nearest country matching the predicate,
+   * see {@link CountryAttributes#select} for its syntax. The origin itself is the answer when it
+   * matches.
+   *
+   * @param origin the starting country code in any supported scheme
+   * @param predicate the attribute predicate, e.g. {@code coastal} or {@code
+   *     region:Europe,unMember}
+   * @return Mono containing the route to the nearest matching country
+   * @throws UnknownCountryException (as error signal) if the origin does not exist
+   * @throws InvalidRequestException (as error signal) if the predicate is invalid
+   * @throws NoRouteFoundException (as error signal) if no matching country can be reached
+   * @throws ServiceOverloadedException (as error signal) if the concurrency limit is reached or the
+   *     interactive lane is full
+   * @throws SearchTimeoutException (as error signal) if the search exceeded its budget
+   */
+  public Mono<NearestRoute> nearest(String origin, String predicate) {
+    return Mono.deferContextual(
+        context -> {
+          GraphSnapshot graph = countryService.getSnapshot();
+          int id = graph.resolve(origin);
+          if (id < 0) {
+            return Mono.error(new UnknownCountryException(origin));
+          }
+          BitSet targets;
+          try {
+            targets = attributes().select(predicate);
+          } catch (IllegalArgumentException e) {
+            return Mono.error(new InvalidRequestException(e.getMessage()));
+          }
+          String code = graph.codeOf(id);
+          if (!graph.isEnabled(id)) {
+            return Mono.error(noMatch(code, predicate));
+          }
+
+          if (!concurrencyLimiter.tryAcquire()) {
+            return Mono.error(new ServiceOverloadedException(concurrencyLimiter.getRetryAfter()));
+          }
+
+          long start = System.nanoTime();
+          SearchDeadlines.Deadline deadline = deadlines.start(context);
+          return lanes
+              .submit(
+                  PriorityLanes.Lane.INTERACTIVE,
+                  () ->
+                      deadlines.run(
+                          deadline, () -> NearestMatch.search(graph, id, targets, deadline)))
+              .doOnCancel(deadline::cancel)
+              .doFinally(
+                  signal ->
+                      concurrencyLimiter.release(
+                          signal == SignalType.ON_COMPLETE ? System.nanoTime() - start : -1))
+              .flatMap(
+                  result -> {
+                    if (result.route() == null) {
+                      return Mono.error(noMatch(code, predicate));
+                    }
+                    List<String> route = new ArrayList<>(result.route().length);
+                    for (int country : result.route()) {
+                      route.add(graph.codeOf(country));
+                    }
+                    return Mono.just(
+                        new NearestRoute(graph.version(), code, route, result.nodesExpanded()));
+                  });
+        });
+  }
+
+  private CountryAttributes attributes() {
+    CountryAttributes attributes = countryService.getAttributes();
+    return attributes == null ? CountryAttributes.empty() : attributes;
+  }
+
+  private static NoRouteFoundException noMatch(String origin, String predicate) {
+    return new NoRouteFoundException(origin, "any country matching " + predicate);
+  }
+}
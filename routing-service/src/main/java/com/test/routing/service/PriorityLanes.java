@@ -0,0 +1,335 @@
+package com.test.routing.service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import com.test.routing.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Runs searches in request classes ("lanes") with their own worker threads and bounded queues, so
+ * bulk work can never occupy the capacity reserved for interactive lookups or the event loops.
+ * Interactive work runs on up to its own concurrency at any time. Bulk work waits behind it: while
+ * interactive work is running or queued, bulk work is throttled to its contended concurrency, and
+ * only an idle interactive lane lets bulk work use its full concurrency. Work beyond a lane's queue
+ * limit is shed immediately. The lanes divide the processors of the host, so they are shared by
+ * every dataset and their meters are tagged with all of them.
+ */
+public class PriorityLanes implements MeterBinder {
+
+  /** Request classes in order of priority. */
+  public enum Lane {
+    /** Single point-to-point lookups that a customer is waiting for. */
+    INTERACTIVE,
+    /** One-to-many and many-to-many searches. */
+    BULK;
+
+    String tag() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private final LaneState interactive;
+  private final LaneState bulk;
+  private final int bulkContendedConcurrency;
+  private final Duration retryAfter;
+
+  /**
+   * @param interactiveConcurrency worker threads reserved for interactive work
+   * @param interactiveQueueLimit interactive tasks that may wait for a worker
+   * @param bulkConcurrency worker threads for bulk work while the interactive lane is idle
+   * @param bulkContendedConcurrency bulk tasks that may run while interactive work is pending
+   * @param bulkQueueLimit bulk tasks that may wait for a worker
+   * @param retryAfter the Retry-After hint of shed requests
+   */
+  public PriorityLanes(
+      int interactiveConcurrency,
+      int interactiveQueueLimit,
+      int bulkConcurrency,
+      int bulkContendedConcurrency,
+      int bulkQueueLimit,
+      Duration retryAfter) {
+    if (interactiveConcurrency < 1 || bulkConcurrency < 1) {
+      throw new IllegalArgumentException("Lane concurrency must be at least 1");
+    }
+    if (bulkContendedConcurrency < 1 || bulkContendedConcurrency > bulkConcurrency) {
+      throw new IllegalArgumentException(
+          "Contended bulk concurrency must satisfy 1 <= contended <= bulk concurrency");
+    }
+    if (interactiveQueueLimit < 0 || bulkQueueLimit < 0) {
+      throw new IllegalArgumentException("Queue limits must not be negative");
+    }
+    this.interactive =
+        new LaneState(Lane.INTERACTIVE, interactiveConcurrency, interactiveQueueLimit);
+    this.bulk = new LaneState(Lane.BULK, bulkConcurrency, bulkQueueLimit);
+    this.bulkContendedConcurrency = bulkContendedConcurrency;
+    this.retryAfter = retryAfter;
+  }
+
+  /** Creates lanes that run all work directly on the subscribing thread, without any isolation. */
+  public static PriorityLanes direct() {
+    return new PriorityLanes(null, null, 1, null);
+  }
+
+  private PriorityLanes(
+      LaneState interactive, LaneState bulk, int bulkContendedConcurrency, Duration retryAfter) {
+    this.interactive = interactive;
+    this.bulk = bulk;
+    this.bulkContendedConcurrency = bulkContendedConcurrency;
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * Runs the work on a worker of the lane once the lane has capacity for it. Cancelling the
+   * returned Mono while the work is still queued removes it from the queue.
+   *
+   * @return Mono emitting the result of the work, or empty if it returned null
+   * @throws ServiceOverloadedException (as error signal) if the lane's queue is full
+   */
+  public <T> Mono<T> submit(Lane lane, Callable<T> work) {
+    if (interactive == null) {
+      return Mono.fromCallable(work);
+    }
+    LaneState state = lane == Lane.INTERACTIVE ? interactive : bulk;
+    return Mono.create(
+        sink -> {
+          Task<T> task = new Task<>(state, work, sink);
+          if (!offer(task)) {
+            sink.error(new ServiceOverloadedException(retryAfter));
+            return;
+          }
+          sink.onCancel(() -> cancel(task));
+          dispatch();
+        });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (interactive != null) {
+      interactive.executor.shutdownNow();
+      bulk.executor.shutdownNow();
+    }
+  }
+
+  public int getRunning(Lane lane) {
+    synchronized (this) {
+      return state(lane).running;
+    }
+  }
+
+  public int getQueued(Lane lane) {
+    synchronized (this) {
+      return state(lane).queue.size();
+    }
+  }
+
+  /** Returns the number of tasks the lane may currently run at the same time. */
+  public int getLimit(Lane lane) {
+    synchronized (this) {
+      return lane == Lane.INTERACTIVE ? interactive.concurrency : bulkLimit();
+    }
+  }
+
+  public long getRejectedCount(Lane lane) {
+    synchronized (this) {
+      return state(lane).rejected;
+    }
+  }
+
+  public long getCompletedCount(Lane lane) {
+    synchronized (this) {
+      return state(lane).completed;
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (interactive == null) {
+      return;
+    }
+    for (Lane lane : Lane.values()) {
+      LaneState state = state(lane);
+      Gauge.builder("routing.lane.running", this, lanes -> lanes.getRunning(lane))
+          .description("Searches currently running in the lane")
+          .tag("lane", lane.tag())
+          .tag("dataset", DatasetRegistry.ALL_DATASETS)
+          .register(registry);
+      Gauge.builder("routing.lane.queued", this, lanes -> lanes.getQueued(lane))
+          .description("Searches waiting for a worker of the lane")
+          .tag("lane", lane.tag())
+          .tag("dataset", DatasetRegistry.ALL_DATASETS)
+          .register(registry);
+      Gauge.builder("routing.lane.limit", this, lanes -> lanes.getLimit(lane))
+          .description("Searches the lane may currently run at the same time")
+          .tag("lane", lane.tag())
+          .tag("dataset", DatasetRegistry.ALL_DATASETS)
+          .register(registry);
+      FunctionCounter.builder("routing.lane.rejected", this, lanes -> lanes.getRejectedCount(lane))
+          .description("Searches shed because the lane's queue was full")
+          .tag("lane", lane.tag())
+          .tag("dataset", DatasetRegistry.ALL_DATASETS)
+          .register(registry);
+      FunctionCounter.builder(
+              "routing.lane.completed", this, lanes -> lanes.getCompletedCount(lane))
+          .description("Searches that ran in the lane")
+          .tag("lane", lane.tag())
+          .tag("dataset", DatasetRegistry.ALL_DATASETS)
+          .register(registry);
+      state.wait =
+          Timer.builder("routing.lane.wait")
+              .description("Time searches spent queued before a worker of the lane picked them up")
+              .tag("lane", lane.tag())
+              .tag("dataset", DatasetRegistry.ALL_DATASETS)
+              .tag("dataset", DatasetRegistry.ALL_DATASETS)
+              .publishPercentiles(0.5, 0.99)
+              .register(registry);
+    }
+  }
+
+  private LaneState state(Lane lane) {
+    return lane == Lane.INTERACTIVE ? interactive : bulk;
+  }
+
+  private synchronized boolean offer(Task<?> task) {
+    LaneState state = task.lane;
+    // Tasks that will start right away never count against the queue limit
+    int free = Math.max(0, limit(state) - state.running);
+    if (state.queue.size() >= state.queueLimit + free) {
+      state.rejected++;
+      return false;
+    }
+    state.queue.add(task);
+    return true;
+  }
+
+  private synchronized void cancel(Task<?> task) {
+    task.lane.queue.remove(task);
+  }
+
+  private int limit(LaneState state) {
+    return state == interactive ? interactive.concurrency : bulkLimit();
+  }
+
+  private int bulkLimit() {
+    boolean contended = interactive.running > 0 || !interactive.queue.isEmpty();
+    return contended ? bulkContendedConcurrency : bulk.concurrency;
+  }
+
+  /** Starts queued tasks for which their lane has capacity, interactive tasks first. */
+  private void dispatch() {
+    List<Task<?>> ready = new ArrayList<>();
+    synchronized (this) {
+      take(interactive, ready);
+      take(bulk, ready);
+    }
+    for (Task<?> task : ready) {
+      try {
+        task.lane.executor.execute(task);
+      } catch (RejectedExecutionException e) {
+        // Shutting down, the subscriber is cancelled with the application context
+        synchronized (this) {
+          task.lane.running--;
+        }
+      }
+    }
+  }
+
+  private void take(LaneState state, List<Task<?>> ready) {
+    int limit = limit(state);
+    while (state.running < limit && !state.queue.isEmpty()) {
+      state.running++;
+      ready.add(state.queue.poll());
+    }
+  }
+
+  private void finished(Task<?> task) {
+    synchronized (this) {
+      task.lane.running--;
+      task.lane.completed++;
+    }
+    dispatch();
+  }
+
+  private static final class LaneState {
+
+    private final int concurrency;
+    private final int queueLimit;
+    private final ExecutorService executor;
+    private final ArrayDeque<Task<?>> queue = new ArrayDeque<>();
+    private int running;
+    private long rejected;
+    private long completed;
+    private volatile Timer wait;
+
+    LaneState(Lane lane, int concurrency, int queueLimit) {
+      this.concurrency = concurrency;
+      this.queueLimit = queueLimit;
+      this.executor = Executors.newFixedThreadPool(concurrency, threadFactory(lane));
+    }
+
+    private static ThreadFactory threadFactory(Lane lane) {
+      AtomicInteger counter = new AtomicInteger();
+      return runnable -> {
+        Thread thread =
+            new Thread(runnable, "lane-" + lane.tag() + "-" + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      };
+    }
+  }
+
+  private final class Task<T> implements Runnable {
+
+    private final LaneState lane;
+    private final Callable<T> work;
+    private final MonoSink<T> sink;
+    private final long enqueued = System.nanoTime();
+
+    Task(LaneState lane, Callable<T> work, MonoSink<T> sink) {
+      this.lane = lane;
+      this.work = work;
+      this.sink = sink;
+    }
+
+    @Override
+    public void run() {
+      Timer wait = lane.wait;
+      if (wait != null) {
+        wait.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+      }
+      T result = null;
+      Throwable failure = null;
+      try {
+        result = work.call();
+      } catch (Throwable e) {
+        failure = e;
+      }
+      // Free the worker before signalling, subscribers may submit follow-up work right away
+      finished(this);
+      if (failure != null) {
+        sink.error(failure);
+      } else {
+        sink.success(result);
+      }
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.test.routing.service;
+
+import com.test.routing.exception.InvalidRequestException;
+import com.test.routing.exception.SearchTimeoutException;
+import com.test.routing.exception.ServiceOverloadedException;
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.graph.BoundedReachability;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.HopLevels;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Answers "which countries are within k crossings" queries with a single bounded BFS instead of one
+ * route search per destination. Searches take an admission slot like route searches and run in the
+ * bulk lane, behind interactive route lookups. Their latency includes bulk lane queueing, so it is
+ * not fed into the adaptive limit of point lookups. Like route searches they stop between levels
+ * once their deadline expires or their subscriber cancels, see {@link SearchDeadlines}.
+ */
+public class ReachabilityService {
+
+  private final CountryService countryService;
+  private final ConcurrencyLimiter concurrencyLimiter;
+  private final int parallelThreshold;
+  private final PriorityLanes lanes;
+  private final SearchDeadlines deadlines;
+
+  public ReachabilityService(
+      CountryService countryService, ConcurrencyLimiter concurrencyLimiter, int parallelThreshold) {
+    this(
+        countryService,
+        concurrencyLimiter,
+        parallelThreshold,
+        PriorityLanes.direct(),
+        SearchDeadlines.none());
+  }
+
+  public ReachabilityService(
+      CountryService countryService,
+      ConcurrencyLimiter concurrencyLimiter,
+      int parallelThreshold,
+      PriorityLanes lanes,
+      SearchDeadlines deadlines) {
+    this.countryService = countryService;
+    this.concurrencyLimiter = concurrencyLimiter;
+    this.parallelThreshold = parallelThreshold;
+    this.lanes = lanes;
+    this.deadlines = deadlines;
+  }
+
+  /**
+   * Finds every country reachable from the origin within the given number of crossings, grouped by
+   * the number of crossings needed. A disabled origin reaches nothing.
+   *
+   * @param origin the starting country code in any supported scheme
+   * @param maxHops the maximum number of crossings
+   * @param countOnly true to only count the countries of each level
+   * @return Mono containing the reached countries per level
+   * @throws UnknownCountryException (as error signal) if the origin does not exist
+   * @throws InvalidRequestException (as error signal) if maxHops is negative
+   * @throws ServiceOverloadedException (as error signal) if the concurrency limit is reached or the
+   *     bulk lane is full
+   * @throws SearchTimeoutException (as error signal) if the search exceeded its budget
+   */
+  public Mono<HopLevels> reachableWithin(String origin, int maxHops, boolean countOnly) {
+    return Mono.deferContextual(
+        context -> {
+          if (maxHops < 0) {
+            return Mono.error(
+                new InvalidRequestException("Number of crossings must not be negative"));
+          }
+          GraphSnapshot graph = countryService.getSnapshot();
+          int id = graph.resolve(origin);
+          if (id < 0) {
+            return Mono.error(new UnknownCountryException(origin));
+          }
+          if (!graph.isEnabled(id)) {
+            return Mono.just(new HopLevels(graph, id, new int[0], new long[0][]));
+          }
+
+          if (!concurrencyLimiter.tryAcquire()) {
+            return Mono.error(new ServiceOverloadedException(concurrencyLimiter.getRetryAfter()));
+          }
+
+          // Started before queueing, waiting for a lane worker uses up the budget too
+          SearchDeadlines.Deadline deadline = deadlines.start(context);
+          return lanes
+              .submit(
+                  PriorityLanes.Lane.BULK,
+                  () ->
+                      deadlines.run(
+                          deadline,
+                          () ->
+                              BoundedReachability.search(
+                                  graph, id, maxHops, !countOnly, parallelThreshold, deadline)))
+              .doOnCancel(deadline::cancel)
+              .doFinally(signal -> concurrencyLimiter.release(-1));
+        });
+  }
+}
@@ -0,0 +1,145 @@
+package com.test.routing.service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.test.routing.graph.GraphChange;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Bounded cache of computed routes keyed by origin and destination. Empty routes are cached as
+ * well, so repeated queries for unreachable pairs are answered without a search. When the cache is
+ * full an arbitrary entry is evicted, which keeps lookups lock-free.
+ *
+ * <p>Every route is stored together with the graph version it was computed on. Graph changes
+ * invalidate only the entries they can affect, and routes computed on a version older than the last
+ * applied change are never stored.
+ *
+ * <p>Every graph dataset has its own cache; its metrics are tagged with the dataset name.
+ */
+public class RouteCache implements MeterBinder {
+
+  private final int maxSize;
+  private final String dataset;
+  private final Map<Key, List<String>> routes = new ConcurrentHashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  // Puts share the read lock, invalidation takes the write lock so that no route computed on an
+  // outdated snapshot can slip in between the version bump and the invalidation scan.
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private volatile long version;
+
+  public RouteCache(int maxSize) {
+    this(maxSize, DatasetRegistry.DEFAULT_DATASET);
+  }
+
+  public RouteCache(int maxSize, String dataset) {
+    this.maxSize = maxSize;
+    this.dataset = dataset;
+  }
+
+  /** Returns the cached route, or null if the pair has not been computed yet. */
+  public List<String> get(String origin, String destination) {
+    List<String> route = routes.get(new Key(origin, destination));
+    if (route == null) {
+      misses.incrementAndGet();
+    } else {
+      hits.incrementAndGet();
+    }
+    return route;
+  }
+
+  /** Returns true if the pair is cached, without counting a hit or miss. */
+  public boolean contains(String origin, String destination) {
+    return routes.containsKey(new Key(origin, destination));
+  }
+
+  /**
+   * Stores a route computed on the given graph version. The route is dropped if the graph changed
+   * since then.
+   */
+  public void put(long graphVersion, String origin, String destination, List<String> route) {
+    if (maxSize <= 0) {
+      return;
+    }
+    lock.readLock().lock();
+    try {
+      if (graphVersion < version) {
+        return;
+      }
+      if (routes.size() >= maxSize) {
+        Iterator<Key> iterator = routes.keySet().iterator();
+        if (iterator.hasNext()) {
+          iterator.next();
+          iterator.remove();
+        }
+      }
+      routes.put(new Key(origin, destination), List.copyOf(route));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Drops every cached route that the graph change may have made wrong. */
+  public void invalidate(GraphChange change) {
+    lock.writeLock().lock();
+    try {
+      version = change.current().version();
+      int before = routes.size();
+      if (change.kind() == GraphChange.Kind.RELOAD) {
+        routes.clear();
+      } else {
+        routes
+            .entrySet()
+            .removeIf(
+                entry ->
+                    change.invalidates(
+                        entry.getKey().origin(), entry.getKey().destination(), entry.getValue()));
+      }
+      invalidations.addAndGet(before - routes.size());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void clear() {
+    routes.clear();
+  }
+
+  public int size() {
+    return routes.size();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("routing.cache.size", this, RouteCache::size)
+        .description("Number of cached routes")
+        .tag("dataset", dataset)
+        .register(registry);
+    FunctionCounter.builder("routing.cache.hits", hits, AtomicLong::get)
+        .description("Route lookups answered from the cache")
+        .tag("dataset", dataset)
+        .register(registry);
+    FunctionCounter.builder("routing.cache.misses", misses, AtomicLong::get)
+        .description("Route lookups that required a search")
+        .tag("dataset", dataset)
+        .register(registry);
+    FunctionCounter.builder("routing.cache.invalidations", invalidations, AtomicLong::get)
+        .description("Cached routes dropped because of graph changes")
+        .tag("dataset", dataset)
+        .register(registry);
+  }
+
+  private record Key(String origin, String destination) {}
+}
@@ -0,0 +1,66 @@
+package com.test.routing.service;
+
+import java.util.List;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted once per {@link RoutingService#calculateRoute} call. Disabled by
+ * default; the {@code jfr/routing.jfc} settings profile enables it.
+ */
+@Name("com.test.routing.RouteComputation")
+@Label("Route Computation")
+@Category({"Country Routing", "Routing"})
+@Description("One route request, from the cache lookup to the finished search")
+@StackTrace(false)
+@Enabled(false)
+final class RouteComputationEvent extends jdk.jfr.Event {
+
+  static final String CACHE_HIT = "hit";
+  static final String CACHE_MISS = "miss";
+  static final String CACHE_REJECTED = "rejected";
+
+  @Label("Origin")
+  String origin;
+
+  @Label("Destination")
+  String destination;
+
+  @Label("Engine")
+  @Description("Search engine that produced the route")
+  String engine;
+
+  @Label("Nodes Expanded")
+  @Description("Countries taken off the search frontier")
+  int nodesExpanded;
+
+  @Label("Route Length")
+  @Description("Countries on the returned route, 0 if there is none")
+  int routeLength;
+
+  @Label("Cache Outcome")
+  @Description("hit, miss, or rejected by admission control before searching")
+  String cacheOutcome;
+
+  RouteComputationEvent(String origin, String destination) {
+    this.origin = origin;
+    this.destination = destination;
+  }
+
+  /** Ends the event and commits it if the recording wants it. */
+  void finish(String cacheOutcome, String engine, int nodesExpanded, List<String> route) {
+    end();
+    if (shouldCommit()) {
+      this.cacheOutcome = cacheOutcome;
+      this.engine = engine;
+      this.nodesExpanded = nodesExpanded;
+      this.routeLength = route == null ? 0 : route.size();
+      commit();
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.test.routing.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * How one route request was answered. Phases that did not run report zero.
+ *
+ * @param route the route, empty if no route exists
+ * @param engine the engine that answered: cache, precheck (unknown, disabled or identical
+ *     countries), component (countries in different components), bfs or table
+ * @param graphVersion the version of the graph the route holds in
+ * @param nodesExpanded the countries whose borders the search expanded
+ * @param frontierSizes the number of countries in the BFS frontier of each level that was reached,
+ *     starting with the origin alone
+ * @param lookupNanos time spent in the route cache and admission control
+ * @param queueNanos time spent waiting for a worker of the interactive lane
+ * @param searchNanos time spent searching, excluding the reconstruction
+ * @param reconstructionNanos time spent turning the search result into country codes
+ */
+public record RouteExplanation(
+    List<String> route,
+    String engine,
+    long graphVersion,
+    int nodesExpanded,
+    List<Integer> frontierSizes,
+    long lookupNanos,
+    long queueNanos,
+    long searchNanos,
+    long reconstructionNanos) {
+
+  public RouteExplanation {
+    // Defensive copy to ensure immutability
+    route = route == null ? Collections.emptyList() : List.copyOf(route);
+    frontierSizes = frontierSizes == null ? Collections.emptyList() : List.copyOf(frontierSizes);
+  }
+}
@@ -0,0 +1,132 @@
+package com.test.routing.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ForkJoinPool;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.test.routing.graph.GraphChange;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.RouteTable;
+
+/**
+ * Keeps a memory-mapped all-pairs {@link RouteTable} for the current graph version. Tables are
+ * computed in the background after every graph change, or mapped from the shared directory if
+ * another instance on the host already wrote the file for the same graph. Until the table for the
+ * current version is ready, routing falls back to searching. Mapping a table refreshes the
+ * modification time of its file. Whenever a new table is mapped, table files nobody wrote or mapped
+ * for the retention period are deleted, so the directory does not grow by a table per graph change
+ * while files that other instances on the host have just written or still start from are kept.
+ * Without a directory the service is disabled and never provides a table.
+ */
+public class RouteTableService {
+
+  private static final Logger log = LoggerFactory.getLogger(RouteTableService.class);
+
+  private final Path directory;
+  private final Duration retention;
+  private final ForkJoinPool pool;
+  private final SnapshotComputation<RouteTable> computation;
+
+  /**
+   * @param directory the directory shared by the instances on a host, or null to disable tables
+   * @param parallelism the number of threads computing a table
+   * @param retention how long table files nobody wrote or mapped are kept
+   */
+  public RouteTableService(
+      CountryService countryService, Path directory, int parallelism, Duration retention) {
+    this.directory = directory;
+    this.retention = retention;
+    this.pool = directory == null ? null : new ForkJoinPool(parallelism);
+    this.computation =
+        new SnapshotComputation<>(
+            "route-table",
+            countryService::getSnapshot,
+            this::open,
+            table -> table.graph().version());
+  }
+
+  /** Starts building the table of the graph loaded at startup. */
+  @PostConstruct
+  public void start() {
+    if (directory != null) {
+      computation.refresh();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    computation.shutdown();
+    if (pool != null) {
+      pool.shutdownNow();
+    }
+  }
+
+  /** Schedules a table for the graph produced by the change. */
+  public void onGraphChange(GraphChange change) {
+    if (directory != null) {
+      computation.refresh();
+    }
+  }
+
+  /** Returns the table of exactly this snapshot, or null if it is not ready. */
+  public RouteTable tableFor(GraphSnapshot graph) {
+    RouteTable table = computation.current();
+    return table != null && table.graph() == graph ? table : null;
+  }
+
+  private RouteTable open(GraphSnapshot graph) {
+    try {
+      RouteTable table = RouteTable.open(graph, directory, pool);
+      log.info("Route table for graph version {} mapped from {}", graph.version(), table.file());
+      touch(table.file());
+      deleteExpired(table.file());
+      return table;
+    } catch (IOException e) {
+      log.error("Could not build the route table for graph version {}", graph.version(), e);
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void touch(Path file) {
+    try {
+      Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+    } catch (IOException e) {
+      log.warn("Could not mark the route table {} as used", file, e);
+    }
+  }
+
+  /** Deletes the table files, and temporary files of failed writes, unused for the retention. */
+  private void deleteExpired(Path current) {
+    Instant cutoff = Instant.now().minus(retention);
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "route-table*")) {
+      for (Path file : files) {
+        if (file.equals(current)) {
+          continue;
+        }
+        try {
+          if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+            Files.deleteIfExists(file);
+            log.info("Deleted route table {}, unused for {}", file, retention);
+          }
+        } catch (IOException e) {
+          // E.g. where mapped files cannot be deleted; the next table tries again
+          log.warn("Could not delete the expired route table {}", file, e);
+        }
+      }
+    } catch (IOException e) {
+      log.warn("Could not list the route tables in {}", directory, e);
+    }
+  }
+}
@@ -0,0 +1,423 @@
+package com.test.routing.service;
+
+import java.util.*;
+
+import com.test.routing.exception.SearchTimeoutException;
+import com.test.routing.exception.ServiceOverloadedException;
+import com.test.routing.graph.GraphChange;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.ParallelBfs;
+import com.test.routing.graph.RouteSearch;
+import com.test.routing.graph.RouteTable;
+import com.test.routing.graph.SearchAbortedException;
+import com.test.routing.graph.SearchGuard;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+public class RoutingService {
+
+  private static final int DEFAULT_CACHE_SIZE = 10_000;
+
+  /** Engine names reported to Flight Recorder and in route explanations. */
+  static final String ENGINE_CACHE = "cache";
+
+  static final String ENGINE_PRECHECK = "precheck";
+  static final String ENGINE_COMPONENT = "component";
+  static final String ENGINE_BFS = "bfs";
+  static final String ENGINE_TABLE = "table";
+  static final String ENGINE_PARALLEL_BFS = "parallel-bfs";
+
+  private final CountryService countryService;
+  private final RouteCache routeCache;
+  private final ConcurrencyLimiter concurrencyLimiter;
+  private final RouteTableService routeTables;
+  private final PriorityLanes lanes;
+  private final TrafficSketch traffic;
+  private final int parallelThreshold;
+  private final SearchDeadlines deadlines;
+  // Searches run on lane workers and event loops, each keeps its own workspace
+  private final ThreadLocal<RouteSearch> searches = ThreadLocal.withInitial(RouteSearch::new);
+
+  public RoutingService(CountryService countryService) {
+    this(builder(countryService));
+  }
+
+  private RoutingService(Builder builder) {
+    this.countryService = builder.countryService;
+    this.routeCache = builder.routeCache;
+    this.concurrencyLimiter = builder.concurrencyLimiter;
+    this.routeTables = builder.routeTables;
+    this.lanes = builder.lanes;
+    this.traffic = builder.traffic;
+    this.parallelThreshold = builder.parallelThreshold;
+    this.deadlines = builder.deadlines;
+  }
+
+  /**
+   * Returns a builder of a service that, unless configured otherwise, searches every route
+   * sequentially on the calling thread, without admission control, route tables, traffic recording
+   * or deadlines.
+   */
+  public static Builder builder(CountryService countryService) {
+    return new Builder(countryService);
+  }
+
+  /**
+   * Calculates the shortest land route from origin to destination using BFS algorithm. BFS
+   * guarantees finding the shortest path in an unweighted graph. Cached routes are returned
+   * directly; every other request has to pass admission control before a search is started in the
+   * interactive lane. The search stops early once its deadline expires, see {@link
+   * SearchDeadlines}, or once the subscriber cancels. Each call emits a {@link
+   * RouteComputationEvent} when Flight Recorder has it enabled.
+   *
+   * @param origin the starting country code (cca3)
+   * @param destination the destination country code (cca3)
+   * @return Mono containing the list of country codes representing the route, or empty if no route
+   *     exists
+   * @throws ServiceOverloadedException (as error signal) if the concurrency limit is reached or the
+   *     interactive lane is full
+   * @throws SearchTimeoutException (as error signal) if the search exceeded its budget
+   */
+  public Mono<List<String>> calculateRoute(String origin, String destination) {
+    return route(origin, destination, null).map(Search::route);
+  }
+
+  /**
+   * Calculates the route exactly like {@link #calculateRoute(String, String)}, including the cache
+   * and admission control, and reports how it was answered: the engine, the graph version, the work
+   * of the search and the time spent in each phase.
+   *
+   * @param origin the starting country code (cca3)
+   * @param destination the destination country code (cca3)
+   * @return Mono containing the route, empty if no route exists, and how it was found
+   * @throws ServiceOverloadedException (as error signal) if the concurrency limit is reached or the
+   *     interactive lane is full
+   */
+  public Mono<RouteExplanation> explainRoute(String origin, String destination) {
+    return Mono.defer(
+        () -> {
+          Trace trace = new Trace();
+          return route(origin, destination, trace).map(trace::explain);
+        });
+  }
+
+  /**
+   * Answers one route request from the cache or with an admitted search.
+   *
+   * @param trace collects the internals of the request, or null if they are not needed
+   */
+  private Mono<Search> route(String origin, String destination, Trace trace) {
+    return Mono.deferContextual(
+        context -> {
+          if (traffic != null) {
+            traffic.record(origin, destination);
+          }
+          RouteComputationEvent event = new RouteComputationEvent(origin, destination);
+          event.begin();
+          long lookupStart = System.nanoTime();
+          List<String> cached = routeCache.get(origin, destination);
+          if (cached != null) {
+            event.finish(RouteComputationEvent.CACHE_HIT, ENGINE_CACHE, 0, cached);
+            if (trace != null) {
+              // Graph changes invalidate affected entries, so a cached route holds in the current
+              // version
+              trace.graphVersion = countryService.getSnapshot().version();
+              trace.lookupNanos = System.nanoTime() - lookupStart;
+            }
+            return Mono.just(new Search(cached, ENGINE_CACHE, 0));
+          }
+
+          if (!concurrencyLimiter.tryAcquire()) {
+            event.finish(RouteComputationEvent.CACHE_REJECTED, null, 0, null);
+            return Mono.error(new ServiceOverloadedException(concurrencyLimiter.getRetryAfter()));
+          }
+
+          long start = System.nanoTime();
+          if (trace != null) {
+            trace.lookupNanos = start - lookupStart;
+          }
+          // Started before queueing, waiting for a lane worker uses up the budget too
+          SearchDeadlines.Deadline deadline = deadlines.start(context);
+          return lanes
+              .submit(
+                  PriorityLanes.Lane.INTERACTIVE,
+                  () -> {
+                    long searchStart = System.nanoTime();
+                    GraphSnapshot graph = countryService.getSnapshot();
+                    Search search;
+                    try {
+                      search = findRoute(graph, origin, destination, trace, deadline);
+                    } catch (SearchAbortedException e) {
+                      deadlines.aborted(deadline, e, System.nanoTime() - searchStart);
+                      event.finish(RouteComputationEvent.CACHE_MISS, null, e.nodesExpanded(), null);
+                      if (deadline.isCancelled()) {
+                        // Nobody waits for the result, an error would only be dropped
+                        return null;
+                      }
+                      throw new SearchTimeoutException(deadline.budget());
+                    }
+                    if (trace != null) {
+                      trace.graphVersion = graph.version();
+                      trace.queueNanos = searchStart - start;
+                      trace.searchNanos =
+                          System.nanoTime() - searchStart - trace.reconstructionNanos;
+                    }
+                    routeCache.put(graph.version(), origin, destination, search.route());
+                    event.finish(
+                        RouteComputationEvent.CACHE_MISS,
+                        search.engine(),
+                        search.nodesExpanded(),
+                        search.route());
+                    return search;
+                  })
+              .doOnCancel(deadline::cancel)
+              .doFinally(
+                  signal ->
+                      concurrencyLimiter.release(
+                          signal == SignalType.ON_COMPLETE ? System.nanoTime() - start : -1));
+        });
+  }
+
+  /**
+   * Computes and caches the route of a pair that is not cached yet, on the calling thread. Unlike
+   * requests it neither passes admission control nor counts as traffic or as a cache lookup; the
+   * caller is expected to schedule it as bulk work.
+   *
+   * @return true if a route had to be computed
+   */
+  public boolean precompute(String origin, String destination) {
+    if (routeCache.contains(origin, destination)) {
+      return false;
+    }
+    GraphSnapshot graph = countryService.getSnapshot();
+    Search search = findRoute(graph, origin, destination, null, SearchGuard.NONE);
+    routeCache.put(graph.version(), origin, destination, search.route());
+    return true;
+  }
+
+  /**
+   * Returns the route of a pair from the cache, or computes and caches it on the calling thread.
+   * Like {@link #precompute} it neither passes admission control nor counts as traffic; the caller
+   * is expected to have admitted the request it belongs to and to schedule it as bulk work.
+   *
+   * @return the route, or an empty list if no route exists
+   */
+  public List<String> computeRoute(String origin, String destination) {
+    return computeRoute(origin, destination, SearchGuard.NONE);
+  }
+
+  /**
+   * Returns the route of a pair like {@link #computeRoute(String, String)}, stopping the search
+   * once the guard asks it to.
+   *
+   * @throws SearchAbortedException if the guard stopped the search
+   */
+  public List<String> computeRoute(String origin, String destination, SearchGuard guard) {
+    List<String> cached = routeCache.get(origin, destination);
+    if (cached != null) {
+      return cached;
+    }
+    GraphSnapshot graph = countryService.getSnapshot();
+    Search search = findRoute(graph, origin, destination, null, guard);
+    routeCache.put(graph.version(), origin, destination, search.route());
+    return search.route();
+  }
+
+  /** Drops the cached routes affected by a graph change. */
+  public void onGraphChange(GraphChange change) {
+    routeCache.invalidate(change);
+  }
+
+  /**
+   * Runs the BFS search for a single origin and destination pair, or reads the route from the route
+   * table if one is ready for this graph. Pairs in different components are rejected without
+   * searching.
+   *
+   * @param trace receives the frontier sizes and the reconstruction time, or null
+   * @param guard stops the BFS engines early
+   * @throws SearchAbortedException if the guard stopped the search
+   */
+  private Search findRoute(
+      GraphSnapshot graph, String origin, String destination, Trace trace, SearchGuard guard) {
+    int from = graph.idOf(origin);
+    int to = graph.idOf(destination);
+
+    // Validate that both countries exist and can be routed through
+    if (from < 0 || to < 0 || !graph.isEnabled(from) || !graph.isEnabled(to)) {
+      return new Search(Collections.emptyList(), ENGINE_PRECHECK, 0);
+    }
+
+    // If origin equals destination
+    if (from == to) {
+      return new Search(List.of(origin), ENGINE_PRECHECK, 0);
+    }
+
+    // Countries in different components can never be connected
+    if (graph.componentOf(from) != graph.componentOf(to)) {
+      return new Search(Collections.emptyList(), ENGINE_COMPONENT, 0);
+    }
+
+    RouteTable table = routeTables == null ? null : routeTables.tableFor(graph);
+    if (table != null) {
+      long reconstructionStart = System.nanoTime();
+      List<String> route = codes(graph, table.route(from, to));
+      if (trace != null) {
+        trace.reconstructionNanos = System.nanoTime() - reconstructionStart;
+      }
+      return new Search(route, ENGINE_TABLE, 0);
+    }
+
+    if (graph.componentSize(graph.componentOf(from)) >= parallelThreshold) {
+      return findRouteInParallel(graph, from, to, trace, guard);
+    }
+
+    RouteSearch search = searches.get();
+    int[] ids = search.search(graph, from, to, guard);
+    if (trace != null) {
+      for (int level = 0; level < search.levelCount(); level++) {
+        trace.frontierSizes.add(search.levelSize(level));
+      }
+    }
+    if (ids == null) {
+      return new Search(Collections.emptyList(), ENGINE_BFS, search.nodesExpanded());
+    }
+    long reconstructionStart = System.nanoTime();
+    List<String> route = codes(graph, ids);
+    if (trace != null) {
+      trace.reconstructionNanos = System.nanoTime() - reconstructionStart;
+    }
+    return new Search(route, ENGINE_BFS, search.nodesExpanded());
+  }
+
+  /** Runs the parallel BFS, which finds the same route as the sequential one. */
+  private Search findRouteInParallel(
+      GraphSnapshot graph, int from, int to, Trace trace, SearchGuard guard) {
+    ParallelBfs.Result result = ParallelBfs.search(graph, from, to, guard);
+    if (trace != null) {
+      for (int size : result.frontierSizes()) {
+        trace.frontierSizes.add(size);
+      }
+    }
+    if (result.route() == null) {
+      return new Search(Collections.emptyList(), ENGINE_PARALLEL_BFS, result.nodesExpanded());
+    }
+    long reconstructionStart = System.nanoTime();
+    List<String> route = codes(graph, result.route());
+    if (trace != null) {
+      trace.reconstructionNanos = System.nanoTime() - reconstructionStart;
+    }
+    return new Search(route, ENGINE_PARALLEL_BFS, result.nodesExpanded());
+  }
+
+  private static List<String> codes(GraphSnapshot graph, int[] ids) {
+    List<String> route = new ArrayList<>(ids.length);
+    for (int id : ids) {
+      route.add(graph.codeOf(id));
+    }
+    return route;
+  }
+
+  /** Outcome of one search together with the work it took. */
+  private record Search(List<String> route, String engine, int nodesExpanded) {}
+
+  /** Internals of one explained request, filled in as it passes the phases. */
+  private static final class Trace {
+
+    private final List<Integer> frontierSizes = new ArrayList<>();
+    private long graphVersion;
+    private long lookupNanos;
+    private long queueNanos;
+    private long searchNanos;
+    private long reconstructionNanos;
+
+    RouteExplanation explain(Search search) {
+      return new RouteExplanation(
+          search.route(),
+          search.engine(),
+          graphVersion,
+          search.nodesExpanded(),
+          frontierSizes,
+          lookupNanos,
+          queueNanos,
+          searchNanos,
+          reconstructionNanos);
+    }
+  }
+
+  /** Collects the optional collaborators and settings of a routing service. */
+  public static final class Builder {
+
+    private final CountryService countryService;
+    private RouteCache routeCache = new RouteCache(DEFAULT_CACHE_SIZE);
+    private ConcurrencyLimiter concurrencyLimiter = ConcurrencyLimiter.unlimited();
+    private RouteTableService routeTables;
+    private PriorityLanes lanes = PriorityLanes.direct();
+    private TrafficSketch traffic;
+    private int parallelThreshold = Integer.MAX_VALUE;
+    private SearchDeadlines deadlines = SearchDeadlines.none();
+
+    private Builder(CountryService countryService) {
+      this.countryService = countryService;
+    }
+
+    public Builder routeCache(RouteCache routeCache) {
+      this.routeCache = routeCache;
+      return this;
+    }
+
+    /** Sets the admission control searches have to pass; cache hits bypass it. */
+    public Builder concurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+      this.concurrencyLimiter = concurrencyLimiter;
+      return this;
+    }
+
+    /**
+     * Answers from the precomputed all-pairs route table whenever the table of the current graph is
+     * ready, and searches otherwise.
+     *
+     * @param routeTables the route tables, or null to always search
+     */
+    public Builder routeTables(RouteTableService routeTables) {
+      this.routeTables = routeTables;
+      return this;
+    }
+
+    /** Runs searches in the interactive lane, isolated from bulk work. */
+    public Builder lanes(PriorityLanes lanes) {
+      this.lanes = lanes;
+      return this;
+    }
+
+    /**
+     * Records the pairs the service is asked for in a traffic sketch, which the cache pre-warmer
+     * ranks hot pairs by.
+     *
+     * @param traffic the sketch requests are recorded in, or null to not record them
+     */
+    public Builder traffic(TrafficSketch traffic) {
+      this.traffic = traffic;
+      return this;
+    }
+
+    /** Sets the component size from which searches run in parallel. */
+    public Builder parallelThreshold(int parallelThreshold) {
+      this.parallelThreshold = parallelThreshold;
+      return this;
+    }
+
+    /**
+     * Stops searches once their deadline expires or their subscriber cancels.
+     *
+     * @param deadlines the budgets of searches and the accounting of aborted ones
+     */
+    public Builder deadlines(SearchDeadlines deadlines) {
+      this.deadlines = deadlines;
+      return this;
+    }
+
+    public RoutingService build() {
+      return new RoutingService(this);
+    }
+  }
+}
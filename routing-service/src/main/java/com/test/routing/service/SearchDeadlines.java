@@ -0,0 +1,195 @@
+package com.test.routing.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.test.routing.exception.SearchTimeoutException;
+import com.test.routing.graph.SearchAbortedException;
+import com.test.routing.graph.SearchGuard;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Time budgets of searches and the accounting of searches that were aborted. Every admitted search
+ * gets a {@link Deadline}: the budget the caller put into the Reactor context with {@link
+ * #withBudget(Duration)}, at most the server-side default budget, counted from admission so time
+ * spent queued in a lane is part of it. The deadline is also cancelled when the subscriber goes
+ * away. Searches poll it and stop early, and the countries and time they spent until then are
+ * reported as wasted work.
+ */
+public class SearchDeadlines implements MeterBinder {
+
+  private static final String BUDGET_KEY = SearchDeadlines.class.getName() + ".budget";
+
+  private final Duration defaultBudget;
+  private final String dataset;
+  private final AtomicLong timedOut = new AtomicLong();
+  private final AtomicLong cancelled = new AtomicLong();
+  private final AtomicLong wastedNodes = new AtomicLong();
+  private volatile Timer wastedTime;
+
+  /**
+   * @param defaultBudget the budget of searches whose caller gave none and the upper bound of those
+   *     that did, or null for no limit
+   */
+  public SearchDeadlines(Duration defaultBudget) {
+    this(defaultBudget, DatasetRegistry.DEFAULT_DATASET);
+  }
+
+  /**
+   * @param defaultBudget the budget of searches whose caller gave none and the upper bound of those
+   *     that did, or null for no limit
+   * @param dataset the dataset whose searches are accounted, the tag of the meters
+   */
+  public SearchDeadlines(Duration defaultBudget, String dataset) {
+    if (defaultBudget != null && (defaultBudget.isZero() || defaultBudget.isNegative())) {
+      throw new IllegalArgumentException("Default budget must be positive");
+    }
+    this.defaultBudget = defaultBudget;
+    this.dataset = dataset;
+  }
+
+  /** Creates deadlines without a default budget, searches then only stop when cancelled. */
+  public static SearchDeadlines none() {
+    return none(DatasetRegistry.DEFAULT_DATASET);
+  }
+
+  /** Creates deadlines without a default budget for the searches of the dataset. */
+  public static SearchDeadlines none(String dataset) {
+    return new SearchDeadlines(null, dataset);
+  }
+
+  /**
+   * Returns a context update that gives the route searches of a request the budget, e.g. {@code
+   * mono.contextWrite(SearchDeadlines.withBudget(Duration.ofMillis(200)))}.
+   */
+  public static Function<Context, Context> withBudget(Duration budget) {
+    return context -> context.put(BUDGET_KEY, budget);
+  }
+
+  public Duration getDefaultBudget() {
+    return defaultBudget;
+  }
+
+  /** Starts the deadline of a search with the budget in the context, capped by the default. */
+  public Deadline start(ContextView context) {
+    Duration budget = context.getOrDefault(BUDGET_KEY, null);
+    if (budget == null || (defaultBudget != null && budget.compareTo(defaultBudget) > 0)) {
+      budget = defaultBudget;
+    }
+    return new Deadline(budget);
+  }
+
+  /**
+   * Runs a search that polls the deadline and records it if the deadline stopped it.
+   *
+   * @return the result of the search, or null if its subscriber cancelled it, since nobody waits
+   *     for the result anymore
+   * @throws SearchTimeoutException if the budget of the search ran out
+   */
+  public <T> T run(Deadline deadline, Supplier<T> search) {
+    long start = System.nanoTime();
+    try {
+      return search.get();
+    } catch (SearchAbortedException e) {
+      aborted(deadline, e, System.nanoTime() - start);
+      if (deadline.isCancelled()) {
+        return null;
+      }
+      throw new SearchTimeoutException(deadline.budget());
+    }
+  }
+
+  /** Records a search that its deadline stopped after the given time. */
+  public void aborted(Deadline deadline, SearchAbortedException e, long searchNanos) {
+    if (deadline.isCancelled()) {
+      cancelled.incrementAndGet();
+    } else {
+      timedOut.incrementAndGet();
+    }
+    wastedNodes.addAndGet(e.nodesExpanded());
+    Timer timer = wastedTime;
+    if (timer != null) {
+      timer.record(searchNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  public long getTimedOutCount() {
+    return timedOut.get();
+  }
+
+  public long getCancelledCount() {
+    return cancelled.get();
+  }
+
+  /** Returns the countries expanded by aborted searches, work that produced no route. */
+  public long getWastedNodes() {
+    return wastedNodes.get();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("routing.search.aborted", this, SearchDeadlines::getTimedOutCount)
+        .description("Route searches stopped because their budget ran out")
+        .tag("reason", "timeout")
+        .tag("dataset", dataset)
+        .register(registry);
+    FunctionCounter.builder("routing.search.aborted", this, SearchDeadlines::getCancelledCount)
+        .description("Route searches stopped because nobody waited for them anymore")
+        .tag("reason", "cancelled")
+        .tag("dataset", dataset)
+        .register(registry);
+    FunctionCounter.builder("routing.search.aborted.nodes", this, SearchDeadlines::getWastedNodes)
+        .description("Countries expanded by route searches that were aborted")
+        .tag("dataset", dataset)
+        .register(registry);
+    wastedTime =
+        Timer.builder("routing.search.aborted.time")
+            .description("Time aborted route searches ran before they stopped")
+            .tag("dataset", dataset)
+            .register(registry);
+  }
+
+  /** Deadline of one search, polled by the search and cancelled with its subscriber. */
+  public static final class Deadline implements SearchGuard {
+
+    private final Duration budget;
+    private final long expiresAt;
+    private volatile boolean cancelled;
+
+    Deadline(Duration budget) {
+      this.budget = budget;
+      this.expiresAt = budget == null ? 0 : System.nanoTime() + budget.toNanos();
+    }
+
+    /** Returns the budget, or null if only cancellation stops the search. */
+    public Duration budget() {
+      return budget;
+    }
+
+    public void cancel() {
+      cancelled = true;
+    }
+
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    public boolean isExpired() {
+      return budget != null && System.nanoTime() - expiresAt >= 0;
+    }
+
+    @Override
+    public boolean shouldStop() {
+      return cancelled || isExpired();
+    }
+  }
+}
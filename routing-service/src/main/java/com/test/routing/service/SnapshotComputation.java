@@ -0,0 +1,115 @@
+package com.test.routing.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.SearchAbortedException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps a value derived from the graph snapshot up to date on a dedicated background thread.
+ * Requests are answered with the latest completed value, which may belong to an older graph version
+ * while a recomputation is running. Refreshes requested while a computation is busy collapse into a
+ * single run for the newest snapshot. A computation may stop early with a {@link
+ * SearchAbortedException} once its snapshot is superseded; it then starts over for the newest one.
+ *
+ * @param <T> the derived value
+ */
+class SnapshotComputation<T> {
+
+  private static final Logger log = LoggerFactory.getLogger(SnapshotComputation.class);
+
+  private final String name;
+  private final Supplier<GraphSnapshot> snapshots;
+  private final Function<GraphSnapshot, T> computation;
+  private final ToLongFunction<T> versionOf;
+  private final ExecutorService executor;
+
+  private volatile T latest;
+  private volatile CompletableFuture<T> pending;
+
+  SnapshotComputation(
+      String name,
+      Supplier<GraphSnapshot> snapshots,
+      Function<GraphSnapshot, T> computation,
+      ToLongFunction<T> versionOf) {
+    this.name = name;
+    this.snapshots = snapshots;
+    this.computation = computation;
+    this.versionOf = versionOf;
+    this.executor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, name);
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Schedules a computation for the snapshot that is current when the task runs. */
+  synchronized void refresh() {
+    pending = CompletableFuture.supplyAsync(this::computeForCurrentVersion, executor);
+  }
+
+  /**
+   * Returns the latest completed value. Only before the first computation has finished does the
+   * returned Mono wait for it; it is empty if no computation was ever scheduled.
+   */
+  Mono<T> latest() {
+    T current = latest;
+    if (current != null) {
+      return Mono.just(current);
+    }
+    CompletableFuture<T> inFlight = pending;
+    return inFlight == null ? Mono.empty() : Mono.fromFuture(inFlight);
+  }
+
+  /** Returns the latest completed value without waiting, or null if there is none yet. */
+  T current() {
+    return latest;
+  }
+
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private T computeForCurrentVersion() {
+    while (true) {
+      GraphSnapshot graph = snapshots.get();
+      T current = latest;
+      if (graph == null || (current != null && versionOf.applyAsLong(current) == graph.version())) {
+        // Several changes arrived while the previous run was busy, it already covered this one
+        return current;
+      }
+
+      long start = System.nanoTime();
+      T value;
+      try {
+        value = computation.apply(graph);
+      } catch (SearchAbortedException e) {
+        log.info(
+            "Stopped {} for graph version {} after {} ms, a newer snapshot replaced it",
+            name,
+            graph.version(),
+            (System.nanoTime() - start) / 1_000_000);
+        continue;
+      }
+      latest = value;
+      log.info(
+          "Computed {} for graph version {} in {} ms",
+          name,
+          graph.version(),
+          (System.nanoTime() - start) / 1_000_000);
+      return value;
+    }
+  }
+}
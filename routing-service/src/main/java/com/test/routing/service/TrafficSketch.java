@@ -0,0 +1,267 @@
+package com.test.routing.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compact, sampled record of the route traffic of one dataset: a Count-Min sketch estimates how
+ * often each origin and each pair has been requested, and two small top-K tables keep the hottest
+ * pairs and origins by those estimates. Memory stays fixed no matter how many distinct pairs are
+ * requested.
+ *
+ * <p>Only one in {@code sampleRate} requests is recorded, which keeps the cost on the request path
+ * down to a random number for most requests. Estimates are therefore in sampled units, which is all
+ * a ranking needs. Hash functions are derived from {@link String#hashCode()}, which is specified,
+ * so a persisted sketch stays valid across restarts.
+ */
+public class TrafficSketch {
+
+  static final int MAGIC = 0x544b5331;
+  static final int FORMAT_VERSION = 1;
+
+  private static final long[] SEEDS = {
+    0x9e3779b97f4a7c15L, 0xc2b2ae3d27d4eb4fL, 0x165667b19e3779f9L, 0xd6e8feb86659fd93L,
+    0xff51afd7ed558ccdL, 0xc4ceb9fe1a85ec53L, 0x27d4eb2f165667c5L, 0x85ebca77c2b2ae63L
+  };
+
+  private final int depth;
+  private final int width;
+  private final int capacity;
+  private final int sampleRate;
+  private final long[] counters;
+  private final TopK hotPairs;
+  private final TopK hotOrigins;
+  private final AtomicLong samples = new AtomicLong();
+
+  /**
+   * @param depth the number of hash rows, at most 8
+   * @param width the number of counters per row
+   * @param capacity the number of hot pairs and hot origins kept
+   * @param sampleRate record one in this many requests
+   */
+  public TrafficSketch(int depth, int width, int capacity, int sampleRate) {
+    if (depth < 1 || depth > SEEDS.length || width < 1 || capacity < 1 || sampleRate < 1) {
+      throw new IllegalArgumentException(
+          "Sketch needs 1 <= depth <= " + SEEDS.length + " and positive width, capacity and rate");
+    }
+    this.depth = depth;
+    this.width = width;
+    this.capacity = capacity;
+    this.sampleRate = sampleRate;
+    this.counters = new long[depth * width];
+    this.hotPairs = new TopK(capacity);
+    this.hotOrigins = new TopK(capacity);
+  }
+
+  /** Records one request, or skips it when it is not sampled. */
+  public void record(String origin, String destination) {
+    if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+      return;
+    }
+    samples.incrementAndGet();
+    String pair = pairKey(origin, destination);
+    String originKey = originKey(origin);
+    synchronized (this) {
+      hotPairs.offer(pair, add(pair, 1));
+      hotOrigins.offer(originKey, add(originKey, 1));
+    }
+  }
+
+  /** Returns the estimated number of sampled requests for the pair. */
+  public synchronized long estimatePair(String origin, String destination) {
+    return estimate(pairKey(origin, destination));
+  }
+
+  /** Returns the estimated number of sampled requests from the origin. */
+  public synchronized long estimateOrigin(String origin) {
+    return estimate(originKey(origin));
+  }
+
+  /** Returns up to limit of the hottest pairs as origin and destination, hottest first. */
+  public synchronized List<String[]> hotPairs(int limit) {
+    List<String[]> pairs = new ArrayList<>();
+    for (String key : hotPairs.ranked(limit)) {
+      int separator = key.indexOf('>');
+      pairs.add(new String[] {key.substring(2, separator), key.substring(separator + 1)});
+    }
+    return pairs;
+  }
+
+  /** Returns up to limit of the hottest origins, hottest first. */
+  public synchronized List<String> hotOrigins(int limit) {
+    List<String> origins = new ArrayList<>();
+    for (String key : hotOrigins.ranked(limit)) {
+      origins.add(key.substring(2));
+    }
+    return origins;
+  }
+
+  /** Returns the number of requests recorded since this sketch was created. */
+  public long getSampleCount() {
+    return samples.get();
+  }
+
+  /**
+   * Writes the counters and the hot entries. Layout: magic, format version, depth, width, the
+   * counters, then the number of hot pairs and hot origins followed by their keys.
+   */
+  public synchronized void writeTo(DataOutputStream out) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    out.writeInt(depth);
+    out.writeInt(width);
+    for (long counter : counters) {
+      out.writeLong(counter);
+    }
+    writeKeys(out, hotPairs.ranked(capacity));
+    writeKeys(out, hotOrigins.ranked(capacity));
+  }
+
+  /**
+   * Adds a persisted sketch to this one with every count halved, so that traffic from before a
+   * restart weighs less than the traffic that follows.
+   *
+   * @throws IOException if the data is not a sketch of the same dimensions
+   */
+  public synchronized void mergeFrom(DataInputStream in) throws IOException {
+    if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+      throw new IOException("Not a traffic sketch of format " + FORMAT_VERSION);
+    }
+    if (in.readInt() != depth || in.readInt() != width) {
+      throw new IOException("Traffic sketch dimensions differ from " + depth + "x" + width);
+    }
+    long[] persisted = new long[counters.length];
+    for (int i = 0; i < persisted.length; i++) {
+      persisted[i] = in.readLong();
+    }
+    List<String> pairs = readKeys(in);
+    List<String> origins = readKeys(in);
+
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] += persisted[i] / 2;
+    }
+    for (String key : pairs) {
+      hotPairs.offer(key, estimate(key));
+    }
+    for (String key : origins) {
+      hotOrigins.offer(key, estimate(key));
+    }
+  }
+
+  private long add(String key, long amount) {
+    long estimate = Long.MAX_VALUE;
+    int hash = key.hashCode();
+    for (int row = 0; row < depth; row++) {
+      int index = row * width + column(hash, row);
+      counters[index] += amount;
+      estimate = Math.min(estimate, counters[index]);
+    }
+    return estimate;
+  }
+
+  private long estimate(String key) {
+    long estimate = Long.MAX_VALUE;
+    int hash = key.hashCode();
+    for (int row = 0; row < depth; row++) {
+      estimate = Math.min(estimate, counters[row * width + column(hash, row)]);
+    }
+    return estimate;
+  }
+
+  private int column(int hash, int row) {
+    long mixed = (hash ^ SEEDS[row]) * 0xbf58476d1ce4e5b9L;
+    mixed ^= mixed >>> 31;
+    return (int) Long.remainderUnsigned(mixed, width);
+  }
+
+  private static String pairKey(String origin, String destination) {
+    return "p:" + origin + ">" + destination;
+  }
+
+  private static String originKey(String origin) {
+    return "o:" + origin;
+  }
+
+  private static void writeKeys(DataOutputStream out, List<String> keys) throws IOException {
+    out.writeInt(keys.size());
+    for (String key : keys) {
+      out.writeUTF(key);
+    }
+  }
+
+  private List<String> readKeys(DataInputStream in) throws IOException {
+    int count = in.readInt();
+    if (count < 0 || count > 1_000_000) {
+      throw new IOException("Invalid number of hot entries: " + count);
+    }
+    List<String> keys = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      keys.add(in.readUTF());
+    }
+    return keys;
+  }
+
+  /**
+   * The keys with the highest estimates seen so far. A key enters once its estimate exceeds the
+   * smallest kept estimate, which then leaves; the smallest estimate is cached, so a request for a
+   * cold key costs one comparison.
+   */
+  private static final class TopK {
+
+    private final int capacity;
+    private final Map<String, Long> estimates = new HashMap<>();
+    private String minimumKey;
+    private long minimum;
+
+    TopK(int capacity) {
+      this.capacity = capacity;
+    }
+
+    void offer(String key, long estimate) {
+      if (estimates.containsKey(key)) {
+        estimates.put(key, estimate);
+        if (key.equals(minimumKey)) {
+          findMinimum();
+        }
+      } else if (estimates.size() < capacity) {
+        estimates.put(key, estimate);
+        if (minimumKey == null || estimate < minimum) {
+          minimumKey = key;
+          minimum = estimate;
+        }
+      } else if (estimate > minimum) {
+        estimates.remove(minimumKey);
+        estimates.put(key, estimate);
+        findMinimum();
+      }
+    }
+
+    List<String> ranked(int limit) {
+      return estimates.entrySet().stream()
+          .sorted(
+              Map.Entry.<String, Long>comparingByValue()
+                  .reversed()
+                  .thenComparing(Map.Entry.comparingByKey()))
+          .limit(Math.max(0, limit))
+          .map(Map.Entry::getKey)
+          .toList();
+    }
+
+    private void findMinimum() {
+      minimumKey = null;
+      for (Map.Entry<String, Long> entry : estimates.entrySet()) {
+        if (minimumKey == null || entry.getValue() < minimum) {
+          minimumKey = entry.getKey();
+          minimum = entry.getValue();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,514 @@
+package com.test.routing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.rsocket.server.LocalRSocketServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.test.routing.dto.RouteBatchRequest;
+import com.test.routing.dto.RouteRequest;
+import com.test.routing.dto.RouteResponse;
+import com.test.routing.dto.RouteResult;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "routing.warm-up.budget=2s",
+      "routing.prewarm.directory=",
+      "spring.rsocket.server.port=0"
+    })
+class RoutingApplicationIntegrationTest {
+
+  @Autowired private WebTestClient webTestClient;
+
+  @Autowired private RSocketRequester.Builder requesterBuilder;
+
+  @LocalRSocketServerPort private int rsocketPort;
+
+  @Test
+  void shouldCalculateRouteBetweenCzechRepublicAndItaly() {
+    webTestClient
+        .get()
+        .uri("/routing/CZE/ITA")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(RouteResponse.class)
+        .value(
+            response -> {
+              assertNotNull(response);
+              assertNotNull(response.route());
+              assertFalse(response.route().isEmpty());
+              assertEquals("CZE", response.route().get(0));
+              assertEquals("ITA", response.route().get(response.route().size() - 1));
+              // CZE -> AUT -> ITA (shortest path)
+              assertTrue(response.route().contains("AUT"));
+            });
+  }
+
+  @Test
+  void shouldCalculateRouteWithLowercaseCountryCodes() {
+    webTestClient
+        .get()
+        .uri("/routing/cze/ita")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(RouteResponse.class)
+        .value(
+            response -> {
+              assertNotNull(response);
+              assertEquals("CZE", response.route().get(0));
+              assertEquals("ITA", response.route().get(response.route().size() - 1));
+            });
+  }
+
+  @Test
+  void shouldReturnBadRequestForNoLandRoute() {
+    webTestClient
+        .get()
+        .uri("/routing/USA/JPN")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isBadRequest()
+        .expectBody()
+        .jsonPath("$.message")
+        .isEqualTo("400 BAD_REQUEST \"No land route found between USA and JPN\"")
+        .jsonPath("$.path")
+        .isEqualTo("/routing/USA/JPN");
+  }
+
+  @Test
+  void shouldRouteWithinRequestedTimeout() {
+    webTestClient
+        .get()
+        .uri("/routing/PRT/CHN")
+        .header("X-Request-Timeout", "500ms")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk();
+  }
+
+  @Test
+  void shouldReturnBadRequestForInvalidTimeout() {
+    webTestClient
+        .get()
+        .uri("/routing/CZE/ITA")
+        .header("X-Request-Timeout", "soon")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isBadRequest()
+        .expectBody()
+        .jsonPath("$.message")
+        .isEqualTo("400 BAD_REQUEST \"X-Request-Timeout must be a positive duration: soon\"");
+  }
+
+  @Test
+  void shouldReturnBadRequestForNonExistentCountry() {
+    webTestClient
+        .get()
+        .uri("/routing/XXX/YYY")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isBadRequest()
+        .expectBody()
+        .jsonPath("$.message")
+        .isEqualTo("400 BAD_REQUEST \"No land route found between XXX and YYY\"")
+        .jsonPath("$.path")
+        .isEqualTo("/routing/XXX/YYY");
+  }
+
+  @Test
+  void shouldHandleSameOriginAndDestination() {
+    webTestClient
+        .get()
+        .uri("/routing/CZE/CZE")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(RouteResponse.class)
+        .value(
+            response -> {
+              assertNotNull(response);
+              assertEquals(1, response.route().size());
+              assertEquals("CZE", response.route().get(0));
+            });
+  }
+
+  @Test
+  void shouldCalculateRouteForDirectNeighbors() {
+    webTestClient
+        .get()
+        .uri("/routing/CZE/AUT")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(RouteResponse.class)
+        .value(
+            response -> {
+              assertNotNull(response);
+              assertEquals(2, response.route().size());
+              assertEquals("CZE", response.route().get(0));
+              assertEquals("AUT", response.route().get(1));
+            });
+  }
+
+  @Test
+  void shouldCalculateLongRoute() {
+    webTestClient
+        .get()
+        .uri("/routing/PRT/CHN")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(RouteResponse.class)
+        .value(
+            response -> {
+              assertNotNull(response);
+              assertFalse(response.route().isEmpty());
+              assertTrue(response.route().size() > 3);
+              assertEquals("PRT", response.route().get(0));
+              assertEquals("CHN", response.route().get(response.route().size() - 1));
+            });
+  }
+
+  @Test
+  void shouldCalculateRouteBetweenFranceAndGermany() {
+    webTestClient
+        .get()
+        .uri("/routing/FRA/DEU")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(RouteResponse.class)
+        .value(
+            response -> {
+              assertNotNull(response);
+              assertEquals(2, response.route().size());
+              assertEquals("FRA", response.route().get(0));
+              assertEquals("DEU", response.route().get(1));
+            });
+  }
+
+  @Test
+  void shouldReturnBadRequestForIslandToIsland() {
+    webTestClient
+        .get()
+        .uri("/routing/JPN/AUS")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isBadRequest()
+        .expectBody()
+        .jsonPath("$.message")
+        .isEqualTo("400 BAD_REQUEST \"No land route found between JPN and AUS\"")
+        .jsonPath("$.path")
+        .isEqualTo("/routing/JPN/AUS");
+  }
+
+  @Test
+  void shouldCalculateRouteAcrossMultipleContinents() {
+    webTestClient
+        .get()
+        .uri("/routing/ESP/IND")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(RouteResponse.class)
+        .value(
+            response -> {
+              assertNotNull(response);
+              assertTrue(response.route().size() > 5);
+              assertEquals("ESP", response.route().get(0));
+              assertEquals("IND", response.route().get(response.route().size() - 1));
+            });
+  }
+
+  @Test
+  void shouldVerifyRouteResponseIsImmutable() {
+    webTestClient
+        .get()
+        .uri("/routing/CZE/ITA")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(RouteResponse.class)
+        .value(
+            response -> {
+              assertNotNull(response);
+              // Verify that the route list is immutable
+              assertThrows(UnsupportedOperationException.class, () -> response.route().add("TEST"));
+            });
+  }
+
+  @Test
+  void shouldHandleMultipleConcurrentRequests() {
+    // Test thread safety by making multiple concurrent requests
+    for (int i = 0; i < 10; i++) {
+      webTestClient
+          .get()
+          .uri("/routing/CZE/ITA")
+          .accept(MediaType.APPLICATION_JSON)
+          .exchange()
+          .expectStatus()
+          .isOk()
+          .expectBody(RouteResponse.class)
+          .value(
+              response -> {
+                assertNotNull(response);
+                assertEquals("CZE", response.route().get(0));
+                assertEquals("ITA", response.route().get(response.route().size() - 1));
+              });
+    }
+  }
+
+  @Test
+  void shouldExplainRouteWhenRequested() {
+    webTestClient
+        .get()
+        .uri("/routing/POL/ESP?explain=true")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.route[0]")
+        .isEqualTo("POL")
+        .jsonPath("$.engine")
+        .isEqualTo("bfs")
+        .jsonPath("$.frontierSizes[0]")
+        .isEqualTo(1)
+        .jsonPath("$.phaseNanos.search")
+        .exists()
+        .jsonPath("$.phaseNanos.serialization")
+        .exists();
+
+    // Without the parameter the plain route is returned, now from the cache
+    webTestClient
+        .get()
+        .uri("/routing/POL/ESP?explain=false")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.route[0]")
+        .isEqualTo("POL")
+        .jsonPath("$.engine")
+        .doesNotExist();
+  }
+
+  @Test
+  void shouldExplainPairsWithoutLandRoute() {
+    webTestClient
+        .get()
+        .uri("/routing/MEX/AUS?explain=true")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.route")
+        .isEmpty()
+        .jsonPath("$.engine")
+        .isEqualTo("component");
+  }
+
+  @Test
+  void shouldReportReadyAfterWarmUp() {
+    webTestClient
+        .get()
+        .uri("/actuator/health/readiness")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.status")
+        .isEqualTo("UP");
+    webTestClient
+        .get()
+        .uri("/actuator/metrics/routing.warmup.queries")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.measurements[0].value")
+        .value(value -> assertTrue(((Number) value).doubleValue() > 0));
+  }
+
+  @Test
+  void shouldRouteInNamedDataset() {
+    webTestClient
+        .get()
+        .uri("/routing/default/CZE/ITA")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(RouteResponse.class)
+        .value(response -> assertEquals("CZE", response.route().get(0)));
+  }
+
+  @Test
+  void shouldReturnNotFoundForUnknownDataset() {
+    webTestClient
+        .get()
+        .uri("/routing/CZE/ITA")
+        .header("X-Dataset", "missing")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isNotFound()
+        .expectBody()
+        .jsonPath("$.message")
+        .isEqualTo("404 NOT_FOUND \"Unknown dataset missing\"");
+  }
+
+  @Test
+  void shouldResolveAlternativeCodeSchemes() {
+    // cca2 origin, numeric ccn3 destination
+    webTestClient
+        .get()
+        .uri("/routing/cz/380")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody(RouteResponse.class)
+        .value(
+            response -> {
+              assertEquals("CZE", response.route().get(0));
+              assertEquals("ITA", response.route().get(response.route().size() - 1));
+            });
+  }
+
+  @Test
+  void shouldSuggestCountriesByName() {
+    webTestClient
+        .get()
+        .uri("/countries/suggest?q=deutsch&limit=3")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.countries[0]")
+        .isEqualTo("DEU");
+  }
+
+  @Test
+  void shouldRouteToNearestCoastalCountry() {
+    webTestClient
+        .get()
+        .uri("/routing/bol/nearest?attr=coastal")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.origin")
+        .isEqualTo("BOL")
+        .jsonPath("$.hops")
+        .isEqualTo(1)
+        .jsonPath("$.route[0]")
+        .isEqualTo("BOL");
+  }
+
+  @Test
+  void shouldRejectUnknownNearestAttribute() {
+    webTestClient
+        .get()
+        .uri("/routing/BOL/nearest?attr=eu")
+        .accept(MediaType.APPLICATION_JSON)
+        .exchange()
+        .expectStatus()
+        .isBadRequest();
+  }
+
+  @Test
+  void shouldPlanItinerary() {
+    webTestClient
+        .post()
+        .uri("/routing/itinerary")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"start\": \"PRT\", \"stops\": [\"POL\", \"FRA\", \"ESP\"]}")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectBody()
+        .jsonPath("$.order[0]")
+        .isEqualTo("ESP")
+        .jsonPath("$.order[2]")
+        .isEqualTo("POL")
+        .jsonPath("$.crossings")
+        .isEqualTo(4)
+        .jsonPath("$.solver")
+        .isEqualTo("exact")
+        .jsonPath("$.route[0]")
+        .isEqualTo("PRT");
+  }
+
+  @Test
+  void shouldAnswerRoutesOverRSocketTcp() {
+    RSocketRequester requester = requesterBuilder.tcp("localhost", rsocketPort);
+    try {
+      StepVerifier.create(
+              requester
+                  .route("route")
+                  .data(new RouteRequest("CZE", "ITA", null))
+                  .retrieveMono(RouteResponse.class))
+          .assertNext(response -> assertEquals(List.of("CZE", "AUT", "ITA"), response.route()))
+          .verifyComplete();
+
+      StepVerifier.create(
+              requester
+                  .route("route")
+                  .data(new RouteRequest("USA", "JPN", null))
+                  .retrieveMono(RouteResponse.class))
+          .expectErrorMessage("No land route found between USA and JPN")
+          .verify();
+
+      RouteBatchRequest batch =
+          new RouteBatchRequest(
+              null,
+              List.of(new RouteRequest("cz", "it", null), new RouteRequest("USA", "JPN", null)));
+      StepVerifier.create(requester.route("routes").data(batch).retrieveFlux(RouteResult.class), 1)
+          .assertNext(result -> assertEquals(List.of("CZE", "AUT", "ITA"), result.route()))
+          .thenRequest(1)
+          .assertNext(
+              result -> assertEquals("No land route found between USA and JPN", result.error()))
+          .verifyComplete();
+
+      Flux<RouteRequest> channel =
+          Flux.range(0, 100).map(i -> new RouteRequest("PRT", i % 2 == 0 ? "ESP" : "FRA", null));
+      StepVerifier.create(
+              requester.route("routes.channel").data(channel).retrieveFlux(RouteResult.class))
+          .expectNextCount(100)
+          .verifyComplete();
+    } finally {
+      requester.dispose();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.test.routing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.rsocket.RSocketRequester;
+
+import com.test.routing.dto.RouteRequest;
+import com.test.routing.dto.RouteResponse;
+
+import reactor.test.StepVerifier;
+
+/** The RSocket endpoint served over WebSocket on the HTTP port instead of its own TCP port. */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "routing.warm-up.enabled=false",
+      "routing.prewarm.directory=",
+      "spring.rsocket.server.port=",
+      "spring.rsocket.server.transport=websocket",
+      "spring.rsocket.server.mapping-path=/rsocket"
+    })
+class RoutingRSocketWebSocketIntegrationTest {
+
+  @Autowired private RSocketRequester.Builder requesterBuilder;
+
+  @LocalServerPort private int port;
+
+  @Test
+  void shouldAnswerRouteOverWebSocket() {
+    RSocketRequester requester =
+        requesterBuilder.websocket(URI.create("ws://localhost:" + port + "/rsocket"));
+    try {
+      StepVerifier.create(
+              requester
+                  .route("route")
+                  .data(new RouteRequest("CZE", "ITA", null))
+                  .retrieveMono(RouteResponse.class))
+          .assertNext(response -> assertEquals(List.of("CZE", "AUT", "ITA"), response.route()))
+          .verifyComplete();
+    } finally {
+      requester.dispose();
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package com.test.routing.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.graph.CentralityScores;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.GraphStructure;
+import com.test.routing.service.CentralityService;
+import com.test.routing.service.CountryService;
+import com.test.routing.service.DatasetRegistry;
+import com.test.routing.service.GraphAnalyticsService;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class AnalyticsControllerTest {
+
+  private AnalyticsController controller;
+  private CentralityService centralityService;
+  private GraphAnalyticsService graphAnalyticsService;
+  private GraphSnapshot graph;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B"));
+    borderGraph.put("B", List.of("A", "C"));
+    borderGraph.put("C", List.of("B"));
+    borderGraph.put("ISL", List.of());
+    graph = GraphSnapshot.of(borderGraph);
+
+    centralityService = mock(CentralityService.class);
+    graphAnalyticsService = mock(GraphAnalyticsService.class);
+    when(graphAnalyticsService.getStructure()).thenReturn(Mono.just(GraphStructure.analyze(graph)));
+    controller =
+        new AnalyticsController(
+            new DatasetRegistry(
+                DatasetRegistry.Dataset.builder(
+                        DatasetRegistry.DEFAULT_DATASET, mock(CountryService.class))
+                    .centralityService(centralityService)
+                    .graphAnalyticsService(graphAnalyticsService)
+                    .build()));
+  }
+
+  @Test
+  void shouldReturnTopCountriesByCentrality() {
+    when(centralityService.getCentrality())
+        .thenReturn(Mono.just(new CentralityScores(graph, false, 3, new double[] {0, 1, 0, 0})));
+
+    StepVerifier.create(controller.getCentrality(2, null))
+        .assertNext(
+            response -> {
+              assertEquals(1, response.graphVersion());
+              assertFalse(response.approximate());
+              assertEquals(2, response.countries().size());
+              assertEquals("B", response.countries().get(0).country());
+              assertEquals(1.0, response.countries().get(0).score());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldReturnEmptyWhenNotComputedYet() {
+    when(centralityService.getCentrality()).thenReturn(Mono.empty());
+
+    StepVerifier.create(controller.getCentrality(10, null)).verifyComplete();
+  }
+
+  @Test
+  void shouldReturnGraphStats() {
+    StepVerifier.create(controller.getStats(null))
+        .assertNext(
+            response -> {
+              assertEquals(1, response.graphVersion());
+              assertEquals(4, response.countries());
+              assertEquals(2, response.components());
+              assertEquals(List.of("B"), response.articulationPoints());
+              assertEquals(2, response.bridges().size());
+              assertEquals(3, response.componentStats().get(0).size());
+              assertEquals(2, response.componentStats().get(0).diameter());
+              assertEquals(List.of("ISL"), response.componentStats().get(1).countries());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldReturnCountryStats() {
+    StepVerifier.create(controller.getCountryStats("b", null))
+        .assertNext(
+            stats -> {
+              assertEquals("B", stats.country());
+              assertTrue(stats.enabled());
+              assertTrue(stats.articulationPoint());
+              assertEquals(1, stats.eccentricity());
+              assertEquals(3, stats.componentSize());
+              assertEquals(List.of("A", "C"), stats.bridgeBorders().stream().sorted().toList());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldRejectUnknownCountryStats() {
+    StepVerifier.create(controller.getCountryStats("XXX", null))
+        .expectError(UnknownCountryException.class)
+        .verify();
+  }
+}
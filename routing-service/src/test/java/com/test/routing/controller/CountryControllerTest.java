@@ -0,0 +1,74 @@
+package com.test.routing.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.exception.UnknownDatasetException;
+import com.test.routing.graph.CountryCodes;
+import com.test.routing.graph.NameIndex;
+import com.test.routing.service.CountryService;
+import com.test.routing.service.DatasetRegistry;
+import com.test.routing.service.RouteCache;
+import com.test.routing.service.RoutingService;
+
+import reactor.test.StepVerifier;
+
+class CountryControllerTest {
+
+  private CountryController controller;
+  private CountryService countryService;
+
+  @BeforeEach
+  void setUp() {
+    CountryCodes table = new CountryCodes();
+    table.intern("CZE");
+    table.intern("CHE");
+    countryService = mock(CountryService.class);
+    when(countryService.getNameIndex())
+        .thenReturn(
+            NameIndex.builder(table)
+                .add("CZE", "Czechia", NameIndex.COMMON_NAME)
+                .add("CHE", "Switzerland", NameIndex.COMMON_NAME)
+                .add("CHE", "Confoederatio Helvetica", NameIndex.OTHER_NAME)
+                .build());
+    controller =
+        new CountryController(
+            new DatasetRegistry(
+                DatasetRegistry.Dataset.builder(DatasetRegistry.DEFAULT_DATASET, countryService)
+                    .routeCache(new RouteCache(10))
+                    .routingService(new RoutingService(countryService))
+                    .build()));
+  }
+
+  @Test
+  void shouldSuggestCountries() {
+    StepVerifier.create(controller.suggest("c", 10, null))
+        .assertNext(
+            response -> {
+              assertEquals("c", response.query());
+              assertEquals(List.of("CZE", "CHE"), response.countries());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldReturnEmptyListBeforeDataIsLoaded() {
+    when(countryService.getNameIndex()).thenReturn(null);
+
+    StepVerifier.create(controller.suggest("c", 10, null))
+        .assertNext(response -> assertEquals(List.of(), response.countries()))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldRejectUnknownDataset() {
+    StepVerifier.create(controller.suggest("c", 10, "missing"))
+        .expectError(UnknownDatasetException.class)
+        .verify();
+  }
+}
@@ -0,0 +1,77 @@
+package com.test.routing.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.dto.DatasetInfo;
+import com.test.routing.exception.UnknownDatasetException;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.service.CountryService;
+import com.test.routing.service.DatasetRegistry;
+import com.test.routing.service.RouteCache;
+import com.test.routing.service.RoutingService;
+
+import reactor.test.StepVerifier;
+
+class DatasetAdminControllerTest {
+
+  private DatasetAdminController controller;
+  private CountryService defaultCountryService;
+  private CountryService historicalCountryService;
+
+  @BeforeEach
+  void setUp() {
+    defaultCountryService = mock(CountryService.class);
+    historicalCountryService = mock(CountryService.class);
+    when(defaultCountryService.getSourceUrl()).thenReturn("http://current/countries.json");
+    when(defaultCountryService.getSnapshot())
+        .thenReturn(GraphSnapshot.of(Map.of("CZE", List.of("AUT"), "AUT", List.of())));
+    when(historicalCountryService.getSourceUrl()).thenReturn("file:historical.json");
+    when(historicalCountryService.getSnapshot())
+        .thenReturn(GraphSnapshot.of(Map.of("DDR", List.of()), 4));
+
+    DatasetRegistry registry =
+        new DatasetRegistry(
+            DatasetRegistry.Dataset.builder(DatasetRegistry.DEFAULT_DATASET, defaultCountryService)
+                .routeCache(new RouteCache(10))
+                .routingService(new RoutingService(defaultCountryService))
+                .build());
+    registry.register(
+        DatasetRegistry.Dataset.builder("historical", historicalCountryService)
+            .routeCache(new RouteCache(10, "historical"))
+            .routingService(new RoutingService(historicalCountryService))
+            .build());
+    controller = new DatasetAdminController(registry);
+  }
+
+  @Test
+  void shouldListDatasets() {
+    StepVerifier.create(controller.getDatasets())
+        .expectNext(new DatasetInfo("default", "http://current/countries.json", 1, 2))
+        .expectNext(new DatasetInfo("historical", "file:historical.json", 4, 1))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldReloadSelectedDataset() {
+    StepVerifier.create(controller.reload("historical"))
+        .assertNext(info -> assertEquals("historical", info.name()))
+        .verifyComplete();
+
+    verify(historicalCountryService).loadCountryData();
+    verify(defaultCountryService, never()).loadCountryData();
+  }
+
+  @Test
+  void shouldRejectUnknownDataset() {
+    StepVerifier.create(controller.reload("missing"))
+        .expectError(UnknownDatasetException.class)
+        .verify();
+  }
+}
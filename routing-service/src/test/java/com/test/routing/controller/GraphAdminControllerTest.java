@@ -0,0 +1,81 @@
+package com.test.routing.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.graph.GraphChange;
+import com.test.routing.model.GraphMutation;
+import com.test.routing.service.CountryService;
+
+import reactor.test.StepVerifier;
+
+class GraphAdminControllerTest {
+
+  private GraphAdminController controller;
+  private CountryService countryService;
+
+  @BeforeEach
+  void setUp() {
+    countryService = mock(CountryService.class);
+    controller = new GraphAdminController(countryService);
+  }
+
+  @Test
+  void shouldRemoveBorderWithUppercaseCodes() {
+    GraphMutation mutation =
+        new GraphMutation(
+            2, Instant.now(), GraphChange.Kind.REMOVE_BORDER, List.of("CZE", "AUT"), "ops");
+    when(countryService.removeBorder("CZE", "AUT", "ops")).thenReturn(mutation);
+
+    StepVerifier.create(controller.removeBorder("cze", "aut", "ops"))
+        .assertNext(result -> assertEquals(mutation, result))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldAddBorder() {
+    GraphMutation mutation =
+        new GraphMutation(
+            2, Instant.now(), GraphChange.Kind.ADD_BORDER, List.of("FRA", "POL"), "ops");
+    when(countryService.addBorder("FRA", "POL", "ops")).thenReturn(mutation);
+
+    StepVerifier.create(controller.addBorder("FRA", "POL", "ops"))
+        .expectNext(mutation)
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldDisableAndEnableCountry() {
+    controller.disableCountry("aut", "ops").block();
+    controller.enableCountry("aut", "ops").block();
+
+    verify(countryService).disableCountry("AUT", "ops");
+    verify(countryService).enableCountry("AUT", "ops");
+  }
+
+  @Test
+  void shouldPropagateUnknownCountry() {
+    when(countryService.disableCountry("XXX", "ops")).thenThrow(new UnknownCountryException("XXX"));
+
+    StepVerifier.create(controller.disableCountry("XXX", "ops"))
+        .expectError(UnknownCountryException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldReturnAuditLog() {
+    GraphMutation mutation =
+        new GraphMutation(
+            2, Instant.now(), GraphChange.Kind.DISABLE_COUNTRY, List.of("AUT"), "ops");
+    when(countryService.getAuditLog()).thenReturn(List.of(mutation));
+
+    StepVerifier.create(controller.getAuditLog()).expectNext(mutation).verifyComplete();
+  }
+}
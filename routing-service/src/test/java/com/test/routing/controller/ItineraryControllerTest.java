@@ -0,0 +1,84 @@
+package com.test.routing.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.dto.ItineraryRequest;
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.service.CountryService;
+import com.test.routing.service.DatasetRegistry;
+import com.test.routing.service.Itinerary;
+import com.test.routing.service.ItineraryService;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class ItineraryControllerTest {
+
+  private ItineraryController controller;
+  private ItineraryService itineraryService;
+
+  @BeforeEach
+  void setUp() {
+    itineraryService = mock(ItineraryService.class);
+    controller =
+        new ItineraryController(
+            new DatasetRegistry(
+                DatasetRegistry.Dataset.builder(
+                        DatasetRegistry.DEFAULT_DATASET, mock(CountryService.class))
+                    .itineraryService(itineraryService)
+                    .build()));
+  }
+
+  @Test
+  void shouldReturnOrderAndRoute() {
+    when(itineraryService.plan("PRT", List.of("FRA", "ESP"), false))
+        .thenReturn(
+            Mono.just(
+                new Itinerary(
+                    2, "PRT", List.of("ESP", "FRA"), List.of("PRT", "ESP", "FRA"), 2, true)));
+
+    StepVerifier.create(
+            controller.planItinerary(
+                new ItineraryRequest("PRT", List.of("FRA", "ESP"), false), null))
+        .assertNext(
+            response -> {
+              assertEquals(2, response.graphVersion());
+              assertEquals("PRT", response.start());
+              assertEquals(List.of("ESP", "FRA"), response.order());
+              assertEquals(List.of("PRT", "ESP", "FRA"), response.route());
+              assertEquals(2, response.crossings());
+              assertEquals("exact", response.solver());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldReportHeuristicSolver() {
+    when(itineraryService.plan("PRT", List.of("ESP"), true))
+        .thenReturn(
+            Mono.just(
+                new Itinerary(1, "PRT", List.of("ESP"), List.of("PRT", "ESP", "PRT"), 2, false)));
+
+    StepVerifier.create(
+            controller.planItinerary(new ItineraryRequest("PRT", List.of("ESP"), true), null))
+        .assertNext(response -> assertEquals("heuristic", response.solver()))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldPropagateErrors() {
+    when(itineraryService.plan("PRT", List.of("XXX"), false))
+        .thenReturn(Mono.error(new UnknownCountryException("XXX")));
+
+    StepVerifier.create(
+            controller.planItinerary(new ItineraryRequest("PRT", List.of("XXX"), false), null))
+        .expectError(UnknownCountryException.class)
+        .verify();
+  }
+}
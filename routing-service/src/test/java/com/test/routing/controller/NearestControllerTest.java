@@ -0,0 +1,78 @@
+package com.test.routing.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.exception.InvalidRequestException;
+import com.test.routing.service.CountryService;
+import com.test.routing.service.DatasetRegistry;
+import com.test.routing.service.NearestRoute;
+import com.test.routing.service.NearestService;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class NearestControllerTest {
+
+  private NearestController controller;
+  private NearestService nearestService;
+
+  @BeforeEach
+  void setUp() {
+    nearestService = mock(NearestService.class);
+    controller =
+        new NearestController(
+            new DatasetRegistry(
+                DatasetRegistry.Dataset.builder(
+                        DatasetRegistry.DEFAULT_DATASET, mock(CountryService.class))
+                    .nearestService(nearestService)
+                    .build()));
+  }
+
+  @Test
+  void shouldReturnRouteToNearestMatch() {
+    when(nearestService.nearest("bol", "coastal"))
+        .thenReturn(Mono.just(new NearestRoute(3, "BOL", List.of("BOL", "PER"), 1)));
+
+    StepVerifier.create(controller.getNearest("bol", "coastal", null))
+        .assertNext(
+            response -> {
+              assertEquals(3, response.graphVersion());
+              assertEquals("BOL", response.origin());
+              assertEquals("coastal", response.attr());
+              assertEquals("PER", response.match());
+              assertEquals(1, response.hops());
+              assertEquals(List.of("BOL", "PER"), response.route());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldReturnOriginWhenItMatches() {
+    when(nearestService.nearest("PER", "coastal"))
+        .thenReturn(Mono.just(new NearestRoute(1, "PER", List.of("PER"), 0)));
+
+    StepVerifier.create(controller.getNearest("PER", "coastal", null))
+        .assertNext(
+            response -> {
+              assertEquals("PER", response.match());
+              assertEquals(0, response.hops());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldPropagateErrors() {
+    when(nearestService.nearest("BOL", "eu"))
+        .thenReturn(Mono.error(new InvalidRequestException("Unknown attribute eu")));
+
+    StepVerifier.create(controller.getNearest("BOL", "eu", null))
+        .expectError(InvalidRequestException.class)
+        .verify();
+  }
+}
@@ -0,0 +1,109 @@
+package com.test.routing.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.exception.UnknownDatasetException;
+import com.test.routing.graph.BoundedReachability;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.service.CountryService;
+import com.test.routing.service.DatasetRegistry;
+import com.test.routing.service.ReachabilityService;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class ReachabilityControllerTest {
+
+  private ReachabilityController controller;
+  private ReachabilityService reachabilityService;
+  private ReachabilityService historicalReachabilityService;
+  private GraphSnapshot graph;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("CZE", List.of("AUT", "DEU"));
+    borderGraph.put("AUT", List.of("ITA"));
+    borderGraph.put("DEU", List.of());
+    borderGraph.put("ITA", List.of());
+    graph = GraphSnapshot.of(borderGraph);
+
+    reachabilityService = mock(ReachabilityService.class);
+    historicalReachabilityService = mock(ReachabilityService.class);
+    DatasetRegistry datasetRegistry =
+        new DatasetRegistry(
+            DatasetRegistry.Dataset.builder(
+                    DatasetRegistry.DEFAULT_DATASET, mock(CountryService.class))
+                .reachabilityService(reachabilityService)
+                .build());
+    datasetRegistry.register(
+        DatasetRegistry.Dataset.builder("historical", mock(CountryService.class))
+            .reachabilityService(historicalReachabilityService)
+            .build());
+    controller = new ReachabilityController(datasetRegistry);
+  }
+
+  @Test
+  void shouldReturnCountriesGroupedByHops() {
+    when(reachabilityService.reachableWithin("cze", 3, false))
+        .thenReturn(Mono.just(BoundedReachability.search(graph, graph.idOf("CZE"), 3, true, 4096)));
+
+    StepVerifier.create(controller.getReachable("cze", 3, false, null))
+        .assertNext(
+            response -> {
+              assertEquals("CZE", response.origin());
+              assertEquals(3, response.maxHops());
+              assertEquals(3, response.total());
+              assertEquals(2, response.levels().size());
+              assertEquals(1, response.levels().get(0).hops());
+              assertEquals(List.of("AUT", "DEU"), response.levels().get(0).countries());
+              assertEquals(List.of("ITA"), response.levels().get(1).countries());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldOmitCountriesInCountOnlyMode() {
+    when(reachabilityService.reachableWithin("CZE", 3, true))
+        .thenReturn(
+            Mono.just(BoundedReachability.search(graph, graph.idOf("CZE"), 3, false, 4096)));
+
+    StepVerifier.create(controller.getReachable("CZE", 3, true, null))
+        .assertNext(
+            response -> {
+              assertEquals(3, response.total());
+              assertEquals(2, response.levels().get(0).count());
+              assertNull(response.levels().get(0).countries());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldSearchSelectedDataset() {
+    when(historicalReachabilityService.reachableWithin("CZE", 1, false))
+        .thenReturn(Mono.just(BoundedReachability.search(graph, graph.idOf("CZE"), 1, true, 4096)));
+
+    StepVerifier.create(controller.getDatasetReachable("historical", "CZE", 1, false))
+        .assertNext(response -> assertEquals(2, response.total()))
+        .verifyComplete();
+    StepVerifier.create(controller.getReachable("CZE", 1, false, "historical"))
+        .assertNext(response -> assertEquals(2, response.total()))
+        .verifyComplete();
+    verifyNoInteractions(reachabilityService);
+  }
+
+  @Test
+  void shouldRejectUnknownDataset() {
+    StepVerifier.create(controller.getDatasetReachable("missing", "CZE", 1, false))
+        .expectError(UnknownDatasetException.class)
+        .verify();
+  }
+}
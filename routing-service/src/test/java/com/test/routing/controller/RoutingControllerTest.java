@@ -0,0 +1,390 @@
+package com.test.routing.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.routing.dto.RouteResponse;
+import com.test.routing.exception.InvalidRequestException;
+import com.test.routing.exception.NoRouteFoundException;
+import com.test.routing.exception.SearchTimeoutException;
+import com.test.routing.exception.UnknownDatasetException;
+import com.test.routing.graph.CountryCodes;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.service.CountryService;
+import com.test.routing.service.DatasetRegistry;
+import com.test.routing.service.RouteCache;
+import com.test.routing.service.RouteExplanation;
+import com.test.routing.service.RoutingService;
+import com.test.routing.service.SearchDeadlines;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class RoutingControllerTest {
+
+  private RoutingController routingController;
+  private RoutingService routingService;
+  private RoutingService historicalRoutingService;
+
+  @BeforeEach
+  void setUp() {
+    routingService = mock(RoutingService.class);
+    historicalRoutingService = mock(RoutingService.class);
+
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (String code : List.of("CZE", "AUT", "ITA", "USA", "JPN", "PRT", "RUS")) {
+      borderGraph.put(code, List.of());
+    }
+    CountryService countryService = mock(CountryService.class);
+    when(countryService.getSnapshot())
+        .thenReturn(
+            GraphSnapshot.of(
+                borderGraph,
+                1,
+                new CountryCodes(),
+                Map.of("CZE", List.of("CZ", "203", "CZE"), "ITA", List.of("IT", "380", "ITA"))));
+    CountryService historicalCountryService = mock(CountryService.class);
+    when(historicalCountryService.getSnapshot())
+        .thenReturn(GraphSnapshot.of(Map.of("DDR", List.of(), "CSK", List.of())));
+
+    DatasetRegistry datasetRegistry =
+        new DatasetRegistry(
+            DatasetRegistry.Dataset.builder(DatasetRegistry.DEFAULT_DATASET, countryService)
+                .routeCache(new RouteCache(10))
+                .routingService(routingService)
+                .build());
+    datasetRegistry.register(
+        DatasetRegistry.Dataset.builder("historical", historicalCountryService)
+            .routeCache(new RouteCache(10, "historical"))
+            .routingService(historicalRoutingService)
+            .build());
+    routingController = new RoutingController(datasetRegistry, new ObjectMapper());
+  }
+
+  @Test
+  void shouldReturnRouteWhenPathExists() {
+    List<String> expectedRoute = List.of("CZE", "AUT", "ITA");
+    when(routingService.calculateRoute("CZE", "ITA")).thenReturn(Mono.just(expectedRoute));
+
+    Mono<RouteResponse> result = routingController.getRoute("CZE", "ITA", null, null);
+
+    StepVerifier.create(result)
+        .assertNext(response -> assertEquals(expectedRoute, response.route()))
+        .verifyComplete();
+
+    verify(routingService).calculateRoute("CZE", "ITA");
+  }
+
+  @Test
+  void shouldHandleLowercaseInput() {
+    List<String> expectedRoute = List.of("CZE", "AUT", "ITA");
+    when(routingService.calculateRoute("CZE", "ITA")).thenReturn(Mono.just(expectedRoute));
+
+    Mono<RouteResponse> result = routingController.getRoute("cze", "ita", null, null);
+
+    StepVerifier.create(result)
+        .assertNext(response -> assertEquals(expectedRoute, response.route()))
+        .verifyComplete();
+
+    verify(routingService).calculateRoute("CZE", "ITA");
+  }
+
+  @Test
+  void shouldHandleMixedCaseInput() {
+    List<String> expectedRoute = List.of("CZE", "AUT", "ITA");
+    when(routingService.calculateRoute("CZE", "ITA")).thenReturn(Mono.just(expectedRoute));
+
+    Mono<RouteResponse> result = routingController.getRoute("CzE", "ItA", null, null);
+
+    StepVerifier.create(result)
+        .assertNext(response -> assertEquals(expectedRoute, response.route()))
+        .verifyComplete();
+
+    verify(routingService).calculateRoute("CZE", "ITA");
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenNoRouteExists() {
+    when(routingService.calculateRoute("USA", "JPN"))
+        .thenReturn(Mono.just(Collections.emptyList()));
+
+    Mono<RouteResponse> result = routingController.getRoute("USA", "JPN", null, null);
+
+    StepVerifier.create(result)
+        .expectErrorMatches(
+            throwable ->
+                throwable instanceof NoRouteFoundException
+                    && ((NoRouteFoundException) throwable).getStatusCode() == HttpStatus.BAD_REQUEST
+                    && ((NoRouteFoundException) throwable)
+                        .getMessage()
+                        .contains("No land route found"))
+        .verify();
+
+    verify(routingService).calculateRoute("USA", "JPN");
+  }
+
+  @Test
+  void shouldReturnBadRequestWhenCountryDoesNotExist() {
+    Mono<RouteResponse> result = routingController.getRoute("XXX", "YYY", null, null);
+
+    StepVerifier.create(result)
+        .expectErrorMatches(
+            throwable ->
+                throwable instanceof ResponseStatusException
+                    && ((ResponseStatusException) throwable).getStatusCode()
+                        == HttpStatus.BAD_REQUEST)
+        .verify();
+
+    // Unknown codes are rejected before any search
+    verifyNoInteractions(routingService);
+  }
+
+  @Test
+  void shouldResolveOtherCodeSchemes() {
+    List<String> expectedRoute = List.of("CZE", "AUT", "ITA");
+    when(routingService.calculateRoute("CZE", "ITA")).thenReturn(Mono.just(expectedRoute));
+
+    StepVerifier.create(routingController.getRoute("cz", "380", null, null))
+        .assertNext(response -> assertEquals(expectedRoute, response.route()))
+        .verifyComplete();
+
+    verify(routingService).calculateRoute("CZE", "ITA");
+  }
+
+  @Test
+  void shouldReturnSingleCountryRouteForSameOriginDestination() {
+    List<String> expectedRoute = List.of("CZE");
+    when(routingService.calculateRoute("CZE", "CZE")).thenReturn(Mono.just(expectedRoute));
+
+    Mono<RouteResponse> result = routingController.getRoute("CZE", "CZE", null, null);
+
+    StepVerifier.create(result)
+        .assertNext(
+            response -> {
+              assertEquals(1, response.route().size());
+              assertEquals("CZE", response.route().get(0));
+            })
+        .verifyComplete();
+
+    verify(routingService).calculateRoute("CZE", "CZE");
+  }
+
+  @Test
+  void shouldReturnLongRoute() {
+    List<String> expectedRoute = List.of("PRT", "ESP", "FRA", "DEU", "POL", "RUS");
+    when(routingService.calculateRoute("PRT", "RUS")).thenReturn(Mono.just(expectedRoute));
+
+    Mono<RouteResponse> result = routingController.getRoute("PRT", "RUS", null, null);
+
+    StepVerifier.create(result)
+        .assertNext(
+            response -> {
+              assertEquals(6, response.route().size());
+              assertEquals(expectedRoute, response.route());
+            })
+        .verifyComplete();
+
+    verify(routingService).calculateRoute("PRT", "RUS");
+  }
+
+  @Test
+  void shouldHandleServiceError() {
+    when(routingService.calculateRoute("CZE", "ITA"))
+        .thenReturn(Mono.error(new RuntimeException("Service error")));
+
+    Mono<RouteResponse> result = routingController.getRoute("CZE", "ITA", null, null);
+
+    StepVerifier.create(result).expectError(RuntimeException.class).verify();
+
+    verify(routingService).calculateRoute("CZE", "ITA");
+  }
+
+  @Test
+  void shouldReturnDirectBorderCrossing() {
+    List<String> expectedRoute = List.of("CZE", "AUT");
+    when(routingService.calculateRoute("CZE", "AUT")).thenReturn(Mono.just(expectedRoute));
+
+    Mono<RouteResponse> result = routingController.getRoute("CZE", "AUT", null, null);
+
+    StepVerifier.create(result)
+        .assertNext(
+            response -> {
+              assertEquals(2, response.route().size());
+              assertEquals("CZE", response.route().get(0));
+              assertEquals("AUT", response.route().get(1));
+            })
+        .verifyComplete();
+
+    verify(routingService).calculateRoute("CZE", "AUT");
+  }
+
+  @Test
+  void shouldRouteInDatasetSelectedByPath() {
+    List<String> expectedRoute = List.of("DDR", "CSK");
+    when(historicalRoutingService.calculateRoute("DDR", "CSK"))
+        .thenReturn(Mono.just(expectedRoute));
+
+    StepVerifier.create(routingController.getDatasetRoute("historical", "ddr", "csk", null))
+        .assertNext(response -> assertEquals(expectedRoute, response.route()))
+        .verifyComplete();
+
+    verifyNoInteractions(routingService);
+  }
+
+  @Test
+  void shouldRouteInDatasetSelectedByHeader() {
+    List<String> expectedRoute = List.of("DDR", "CSK");
+    when(historicalRoutingService.calculateRoute("DDR", "CSK"))
+        .thenReturn(Mono.just(expectedRoute));
+
+    StepVerifier.create(routingController.getRoute("DDR", "CSK", "historical", null))
+        .assertNext(response -> assertEquals(expectedRoute, response.route()))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldRejectUnknownDataset() {
+    StepVerifier.create(routingController.getDatasetRoute("missing", "CZE", "ITA", null))
+        .expectError(UnknownDatasetException.class)
+        .verify();
+
+    verifyNoInteractions(routingService, historicalRoutingService);
+  }
+
+  @Test
+  void shouldPassTimeoutHeaderAsSearchBudget() {
+    SearchDeadlines deadlines = new SearchDeadlines(Duration.ofSeconds(2));
+    AtomicReference<Duration> budget = new AtomicReference<>();
+    when(routingService.calculateRoute("CZE", "AUT"))
+        .thenReturn(
+            Mono.deferContextual(
+                context -> {
+                  budget.set(deadlines.start(context).budget());
+                  return Mono.just(List.of("CZE", "AUT"));
+                }));
+
+    StepVerifier.create(routingController.getRoute("CZE", "AUT", null, "250"))
+        .expectNextCount(1)
+        .verifyComplete();
+    assertEquals(Duration.ofMillis(250), budget.get());
+
+    StepVerifier.create(routingController.getRoute("CZE", "AUT", null, " 1s "))
+        .expectNextCount(1)
+        .verifyComplete();
+    assertEquals(Duration.ofSeconds(1), budget.get());
+
+    StepVerifier.create(routingController.getRoute("CZE", "AUT", null, null))
+        .expectNextCount(1)
+        .verifyComplete();
+    assertEquals(Duration.ofSeconds(2), budget.get(), "Default budget without the header");
+  }
+
+  @Test
+  void shouldRejectInvalidTimeoutHeader() {
+    for (String timeout : List.of("soon", "0", "-5ms")) {
+      StepVerifier.create(routingController.getRoute("CZE", "ITA", null, timeout))
+          .expectErrorSatisfies(
+              error -> {
+                assertTrue(error instanceof InvalidRequestException);
+                assertEquals(
+                    HttpStatus.BAD_REQUEST, ((ResponseStatusException) error).getStatusCode());
+              })
+          .verify();
+    }
+
+    verifyNoInteractions(routingService);
+  }
+
+  @Test
+  void shouldReturnGatewayTimeoutWhenSearchExceedsBudget() {
+    when(routingService.calculateRoute("CZE", "ITA"))
+        .thenReturn(Mono.error(new SearchTimeoutException(Duration.ofMillis(50))));
+
+    StepVerifier.create(routingController.getRoute("CZE", "ITA", null, "50ms"))
+        .expectErrorSatisfies(
+            error ->
+                assertEquals(
+                    HttpStatus.GATEWAY_TIMEOUT, ((ResponseStatusException) error).getStatusCode()))
+        .verify();
+  }
+
+  @Test
+  void shouldExplainRouteWithPhasesInOrder() {
+    RouteExplanation explanation =
+        new RouteExplanation(
+            List.of("CZE", "AUT", "ITA"), "bfs", 1, 3, List.of(1, 2, 4), 10, 20, 30, 40);
+    when(routingService.explainRoute("CZE", "ITA")).thenReturn(Mono.just(explanation));
+
+    StepVerifier.create(routingController.explainRoute("cz", "380", null, null))
+        .assertNext(
+            response -> {
+              assertEquals(List.of("CZE", "AUT", "ITA"), response.route());
+              assertEquals("bfs", response.engine());
+              assertEquals(1, response.graphVersion());
+              assertEquals(3, response.nodesExpanded());
+              assertEquals(List.of(1, 2, 4), response.frontierSizes());
+              assertEquals(
+                  List.of("lookup", "queue", "search", "reconstruction", "serialization"),
+                  List.copyOf(response.phaseNanos().keySet()));
+              assertTrue(response.phaseNanos().get("lookup") >= 10);
+              assertEquals(20, response.phaseNanos().get("queue"));
+              assertEquals(30, response.phaseNanos().get("search"));
+              assertEquals(40, response.phaseNanos().get("reconstruction"));
+              assertTrue(response.phaseNanos().get("serialization") > 0);
+            })
+        .verifyComplete();
+
+    verify(routingService, never()).calculateRoute(any(), any());
+  }
+
+  @Test
+  void shouldExplainPairWithoutRouteInsteadOfFailing() {
+    RouteExplanation explanation =
+        new RouteExplanation(List.of(), "component", 1, 0, List.of(), 10, 0, 0, 0);
+    when(routingService.explainRoute("USA", "JPN")).thenReturn(Mono.just(explanation));
+
+    StepVerifier.create(routingController.explainRoute("USA", "JPN", null, null))
+        .assertNext(
+            response -> {
+              assertTrue(response.route().isEmpty());
+              assertEquals("component", response.engine());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldRejectUnknownCodesWhenExplaining() {
+    StepVerifier.create(routingController.explainRoute("XXX", "CZE", null, null))
+        .expectError(NoRouteFoundException.class)
+        .verify();
+
+    verifyNoInteractions(routingService);
+  }
+
+  @Test
+  void shouldExplainRouteInNamedDataset() {
+    RouteExplanation explanation =
+        new RouteExplanation(List.of("DDR", "CSK"), "cache", 1, 0, List.of(), 10, 0, 0, 0);
+    when(historicalRoutingService.explainRoute("DDR", "CSK")).thenReturn(Mono.just(explanation));
+
+    StepVerifier.create(routingController.explainDatasetRoute("historical", "ddr", "csk", null))
+        .assertNext(response -> assertEquals("cache", response.engine()))
+        .verifyComplete();
+
+    verifyNoInteractions(routingService);
+  }
+}
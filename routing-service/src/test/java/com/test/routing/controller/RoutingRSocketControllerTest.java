@@ -0,0 +1,188 @@
+package com.test.routing.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.dto.RouteBatchRequest;
+import com.test.routing.dto.RouteRequest;
+import com.test.routing.dto.RouteResult;
+import com.test.routing.exception.ServiceOverloadedException;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.service.CountryService;
+import com.test.routing.service.DatasetRegistry;
+import com.test.routing.service.RouteCache;
+import com.test.routing.service.RoutingService;
+
+import io.rsocket.exceptions.ApplicationErrorException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+class RoutingRSocketControllerTest {
+
+  private RoutingRSocketController controller;
+  private RoutingService routingService;
+  private RoutingService historicalRoutingService;
+
+  @BeforeEach
+  void setUp() {
+    routingService = mock(RoutingService.class);
+    historicalRoutingService = mock(RoutingService.class);
+
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (String code : List.of("CZE", "AUT", "ITA", "USA", "JPN")) {
+      borderGraph.put(code, List.of());
+    }
+    CountryService countryService = mock(CountryService.class);
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+    CountryService historicalCountryService = mock(CountryService.class);
+    when(historicalCountryService.getSnapshot())
+        .thenReturn(GraphSnapshot.of(Map.of("DDR", List.of(), "CSK", List.of())));
+
+    DatasetRegistry datasetRegistry =
+        new DatasetRegistry(
+            DatasetRegistry.Dataset.builder(DatasetRegistry.DEFAULT_DATASET, countryService)
+                .routeCache(new RouteCache(10))
+                .routingService(routingService)
+                .build());
+    datasetRegistry.register(
+        DatasetRegistry.Dataset.builder("historical", historicalCountryService)
+            .routeCache(new RouteCache(10, "historical"))
+            .routingService(historicalRoutingService)
+            .build());
+    controller = new RoutingRSocketController(datasetRegistry, 2);
+  }
+
+  @Test
+  void shouldAnswerSingleRoute() {
+    when(routingService.calculateRoute("CZE", "ITA"))
+        .thenReturn(Mono.just(List.of("CZE", "AUT", "ITA")));
+
+    StepVerifier.create(controller.route(new RouteRequest("cze", "ita", null)))
+        .assertNext(response -> assertEquals(List.of("CZE", "AUT", "ITA"), response.route()))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldSignalReasonOfFailedRoute() {
+    when(routingService.calculateRoute("USA", "JPN")).thenReturn(Mono.just(List.of()));
+
+    StepVerifier.create(controller.route(new RouteRequest("USA", "JPN", null)))
+        .expectErrorSatisfies(
+            error -> {
+              assertInstanceOf(ApplicationErrorException.class, error);
+              assertEquals("No land route found between USA and JPN", error.getMessage());
+            })
+        .verify();
+    StepVerifier.create(controller.route(new RouteRequest("CZE", null, null)))
+        .expectErrorMessage("An origin and a destination are required")
+        .verify();
+  }
+
+  @Test
+  void shouldStreamBatchInOrderWithFailuresInline() {
+    when(routingService.calculateRoute("CZE", "ITA"))
+        .thenReturn(Mono.delay(Duration.ofMillis(50)).thenReturn(List.of("CZE", "AUT", "ITA")));
+    when(routingService.calculateRoute("CZE", "AUT")).thenReturn(Mono.just(List.of("CZE", "AUT")));
+    when(routingService.calculateRoute("ITA", "AUT"))
+        .thenReturn(Mono.error(new ServiceOverloadedException(Duration.ofSeconds(1))));
+
+    RouteBatchRequest batch =
+        new RouteBatchRequest(
+            null,
+            List.of(
+                new RouteRequest("CZE", "ITA", null),
+                new RouteRequest("XXX", "ITA", null),
+                new RouteRequest("CZE", "AUT", null),
+                new RouteRequest("ITA", "AUT", null)));
+
+    StepVerifier.create(controller.routes(batch))
+        .expectNext(new RouteResult("CZE", "ITA", List.of("CZE", "AUT", "ITA"), null))
+        .expectNext(
+            new RouteResult("XXX", "ITA", List.of(), "No land route found between XXX and ITA"))
+        .expectNext(new RouteResult("CZE", "AUT", List.of("CZE", "AUT"), null))
+        .assertNext(
+            result -> {
+              assertTrue(result.route().isEmpty());
+              assertNotNull(result.error());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldRejectBatchWithoutRoutes() {
+    StepVerifier.create(controller.routes(new RouteBatchRequest(null, null)))
+        .expectErrorSatisfies(
+            error -> {
+              assertInstanceOf(ApplicationErrorException.class, error);
+              assertEquals("A batch of at least one route is required", error.getMessage());
+            })
+        .verify();
+    List<RouteRequest> routes = new ArrayList<>();
+    routes.add(new RouteRequest("CZE", "AUT", null));
+    routes.add(null);
+    StepVerifier.create(controller.routes(new RouteBatchRequest(null, routes)))
+        .expectError(ApplicationErrorException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldApplyBatchDatasetToRoutesWithoutOne() {
+    when(historicalRoutingService.calculateRoute("DDR", "CSK"))
+        .thenReturn(Mono.just(List.of("DDR", "CSK")));
+    when(routingService.calculateRoute("CZE", "AUT")).thenReturn(Mono.just(List.of("CZE", "AUT")));
+
+    RouteBatchRequest batch =
+        new RouteBatchRequest(
+            "historical",
+            // A blank dataset selects the default one
+            List.of(new RouteRequest("DDR", "CSK", null), new RouteRequest("CZE", "AUT", "")));
+
+    StepVerifier.create(controller.routes(batch).map(RouteResult::route))
+        .expectNext(List.of("DDR", "CSK"))
+        .expectNext(List.of("CZE", "AUT"))
+        .verifyComplete();
+  }
+
+  @Test
+  void channelShouldRequestRoutesOnlyAsSearchesComplete() {
+    when(routingService.calculateRoute("CZE", "AUT")).thenReturn(Mono.never());
+    TestPublisher<RouteRequest> requests = TestPublisher.create();
+
+    StepVerifier.create(controller.routeChannel(requests.flux()))
+        .then(
+            () -> {
+              // Concurrency of two: only two routes are requested while both are pending
+              requests.assertMaxRequested(2);
+              requests.next(new RouteRequest("CZE", "AUT", null));
+              requests.next(new RouteRequest("CZE", "AUT", null));
+            })
+        .then(() -> requests.assertMaxRequested(2))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void channelShouldAnswerRoutesAsTheyArrive() {
+    when(routingService.calculateRoute("CZE", "AUT")).thenReturn(Mono.just(List.of("CZE", "AUT")));
+
+    Flux<RouteRequest> requests =
+        Flux.just(new RouteRequest("CZE", "AUT", null), new RouteRequest("CZE", "DDR", null));
+
+    StepVerifier.create(controller.routeChannel(requests))
+        .expectNext(new RouteResult("CZE", "AUT", List.of("CZE", "AUT"), null))
+        .expectNext(
+            new RouteResult("CZE", "DDR", List.of(), "No land route found between CZE and DDR"))
+        .verifyComplete();
+  }
+}
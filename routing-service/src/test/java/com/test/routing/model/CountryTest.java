@@ -91,4 +91,14 @@ class CountryTest {
 
     assertThrows(UnsupportedOperationException.class, () -> country.borders().add("XXX"));
   }
+
+  @Test
+  void shouldListAlternativeCodesThatArePresent() {
+    Country country =
+        new Country(
+            "CZE", "CZ", "203", null, null, null, null, List.of("AUT"), true, "Europe", true);
+
+    assertEquals(List.of("CZ", "203"), country.alternativeCodes());
+    assertEquals(List.of(), new Country("CZE", List.of()).alternativeCodes());
+  }
 }
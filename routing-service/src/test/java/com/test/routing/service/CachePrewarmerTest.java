@@ -0,0 +1,189 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.test.routing.graph.GraphChange;
+import com.test.routing.graph.GraphSnapshot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachePrewarmerTest {
+
+  @TempDir Path directory;
+
+  private CountryService countryService;
+  private GraphSnapshot graph;
+  private RouteCache routeCache;
+  private TrafficSketch traffic;
+  private RoutingService routingService;
+  private PriorityLanes lanes;
+  private CachePrewarmer prewarmer;
+
+  @BeforeEach
+  void setUp() {
+    // A - B - C - D and the island E
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B"));
+    borderGraph.put("B", List.of("A", "C"));
+    borderGraph.put("C", List.of("B", "D"));
+    borderGraph.put("D", List.of("C"));
+    borderGraph.put("E", List.of());
+    graph = GraphSnapshot.of(borderGraph);
+    countryService = mock(CountryService.class);
+    when(countryService.getSnapshot()).thenReturn(graph);
+    routeCache = new RouteCache(100);
+    traffic = new TrafficSketch(4, 1024, 16, 1);
+    lanes = new PriorityLanes(1, 8, 1, 1, 8, Duration.ofSeconds(1));
+    routingService =
+        RoutingService.builder(countryService)
+            .routeCache(routeCache)
+            .lanes(lanes)
+            .traffic(traffic)
+            .build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (prewarmer != null) {
+      prewarmer.shutdown();
+    }
+    lanes.shutdown();
+  }
+
+  @Test
+  void shouldPrecomputeHotPairsInBulkLane() throws InterruptedException {
+    routingService.calculateRoute("A", "D").block();
+    routingService.calculateRoute("A", "D").block();
+    routingService.calculateRoute("B", "C").block();
+    routingService.calculateRoute("X", "A").block();
+    routeCache.clear();
+    prewarmer = prewarmer(null, 0);
+
+    prewarmer.start();
+    awaitPrecomputed(2);
+
+    assertTrue(routeCache.contains("A", "D"));
+    assertTrue(routeCache.contains("B", "C"));
+    assertFalse(routeCache.contains("X", "A"));
+    assertEquals(2, lanes.getCompletedCount(PriorityLanes.Lane.BULK));
+  }
+
+  @Test
+  void shouldPrecomputeRoutesFromHotOriginsWithinComponent() throws InterruptedException {
+    routingService.calculateRoute("B", "A").block();
+    routeCache.clear();
+    prewarmer = prewarmer(null, 1);
+
+    prewarmer.start();
+    awaitPrecomputed(3);
+
+    assertTrue(routeCache.contains("B", "A"));
+    assertTrue(routeCache.contains("B", "C"));
+    assertTrue(routeCache.contains("B", "D"));
+    assertFalse(routeCache.contains("B", "E"));
+  }
+
+  @Test
+  void shouldPrewarmNewSnapshotAfterGraphChange() throws InterruptedException {
+    routingService.calculateRoute("A", "D").block();
+    prewarmer = prewarmer(null, 0);
+    prewarmer.start();
+
+    GraphChange change = graph.addBorder(graph.idOf("A"), graph.idOf("D"));
+    when(countryService.getSnapshot()).thenReturn(change.current());
+    routingService.onGraphChange(change);
+    assertFalse(routeCache.contains("A", "D"));
+    prewarmer.onGraphChange(change);
+    awaitPrecomputed(1);
+
+    assertEquals(List.of("A", "D"), routingService.calculateRoute("A", "D").block());
+  }
+
+  @Test
+  void shouldRestorePersistedTrafficOnStart() throws InterruptedException {
+    routingService.calculateRoute("C", "A").block();
+    routingService.calculateRoute("C", "A").block();
+    prewarmer = prewarmer(directory, 0);
+    prewarmer.start();
+    prewarmer.shutdown();
+    assertTrue(Files.isRegularFile(directory.resolve("traffic-test.bin")));
+
+    // A fresh instance with an empty sketch and cache
+    traffic = new TrafficSketch(4, 1024, 16, 1);
+    routeCache = new RouteCache(100);
+    routingService =
+        RoutingService.builder(countryService)
+            .routeCache(routeCache)
+            .lanes(lanes)
+            .traffic(traffic)
+            .build();
+    prewarmer = prewarmer(directory, 0);
+    prewarmer.start();
+    awaitPrecomputed(1);
+
+    assertTrue(routeCache.contains("C", "A"));
+    assertEquals(0, traffic.getSampleCount());
+  }
+
+  @Test
+  void shouldIgnoreUnreadablePersistedTraffic() throws Exception {
+    Files.write(directory.resolve("traffic-test.bin"), new byte[] {1, 2, 3});
+    prewarmer = prewarmer(directory, 0);
+
+    prewarmer.start();
+
+    assertTrue(traffic.hotPairs(10).isEmpty());
+  }
+
+  @Test
+  void shouldExposeMetrics() throws InterruptedException {
+    routingService.calculateRoute("A", "B").block();
+    routeCache.clear();
+    prewarmer = prewarmer(null, 0);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    prewarmer.bindTo(registry);
+
+    prewarmer.start();
+    awaitPrecomputed(1);
+
+    assertEquals(
+        1, registry.get("routing.prewarm.routes").tag("dataset", "test").functionCounter().count());
+    assertEquals(
+        1,
+        registry.get("routing.traffic.samples").tag("dataset", "test").functionCounter().count());
+  }
+
+  private CachePrewarmer prewarmer(Path persistDirectory, int origins) {
+    return new CachePrewarmer(
+        "test",
+        countryService,
+        routingService,
+        traffic,
+        lanes,
+        persistDirectory,
+        Duration.ofMinutes(1),
+        16,
+        origins);
+  }
+
+  private void awaitPrecomputed(long count) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (prewarmer.getPrecomputedCount() < count && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(count, prewarmer.getPrecomputedCount());
+  }
+}
@@ -0,0 +1,116 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.graph.CentralityScores;
+import com.test.routing.graph.GraphChange;
+import com.test.routing.graph.GraphSnapshot;
+
+class CentralityServiceTest {
+
+  private CountryService countryService;
+  private CentralityService centralityService;
+  private GraphSnapshot graph;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B"));
+    borderGraph.put("B", List.of("A", "C"));
+    borderGraph.put("C", List.of("B"));
+    graph = GraphSnapshot.of(borderGraph);
+
+    countryService = mock(CountryService.class);
+    when(countryService.getSnapshot()).thenReturn(graph);
+    centralityService = new CentralityService(countryService, 100, 10, 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    centralityService.shutdown();
+  }
+
+  @Test
+  void shouldRejectSampleSizeBelowOne() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new CentralityService(countryService, 100, 0, 2));
+  }
+
+  @Test
+  void shouldBeEmptyBeforeStart() {
+    assertNull(centralityService.getCentrality().block());
+  }
+
+  @Test
+  void shouldComputeScoresInBackgroundOnStart() {
+    centralityService.start();
+
+    CentralityScores scores = centralityService.getCentrality().block(Duration.ofSeconds(5));
+
+    assertNotNull(scores);
+    assertEquals(1, scores.graphVersion());
+    assertFalse(scores.approximate());
+    assertEquals(1.0, scores.scores()[graph.idOf("B")], 1e-9);
+  }
+
+  @Test
+  void shouldRecomputeAfterGraphChange() throws InterruptedException {
+    centralityService.start();
+    centralityService.getCentrality().block(Duration.ofSeconds(5));
+
+    GraphChange change = graph.addBorder(graph.idOf("A"), graph.idOf("C"));
+    when(countryService.getSnapshot()).thenReturn(change.current());
+    centralityService.onGraphChange(change);
+
+    CentralityScores scores = awaitVersion(2);
+    assertEquals(0.0, scores.scores()[graph.idOf("B")], 1e-9);
+  }
+
+  @Test
+  void shouldStartOverWhenSnapshotIsSuperseded() {
+    GraphSnapshot next = graph.addBorder(graph.idOf("A"), graph.idOf("C")).current();
+    // The computation reads the first snapshot, which is replaced before it polls
+    when(countryService.getSnapshot()).thenReturn(graph, next);
+    centralityService.start();
+
+    CentralityScores scores = centralityService.getCentrality().block(Duration.ofSeconds(5));
+
+    assertNotNull(scores);
+    assertEquals(2, scores.graphVersion());
+    assertEquals(0.0, scores.scores()[next.idOf("B")], 1e-9);
+  }
+
+  @Test
+  void shouldUseSamplingForLargeGraphs() {
+    centralityService.shutdown();
+    centralityService = new CentralityService(countryService, 2, 2, 2);
+    centralityService.start();
+
+    CentralityScores scores = centralityService.getCentrality().block(Duration.ofSeconds(5));
+
+    assertNotNull(scores);
+    assertTrue(scores.approximate());
+    assertEquals(2, scores.sources());
+  }
+
+  private CentralityScores awaitVersion(long version) throws InterruptedException {
+    for (int attempt = 0; attempt < 100; attempt++) {
+      CentralityScores scores = centralityService.getCentrality().block();
+      if (scores != null && scores.graphVersion() == version) {
+        return scores;
+      }
+      Thread.sleep(50);
+    }
+    return fail("Scores for graph version " + version + " were not computed");
+  }
+}
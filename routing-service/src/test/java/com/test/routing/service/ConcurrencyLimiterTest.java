@@ -0,0 +1,149 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConcurrencyLimiterTest {
+
+  private static final long FAST = Duration.ofMillis(1).toNanos();
+  private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+  private ConcurrencyLimiter limiter(int initialLimit) {
+    return new ConcurrencyLimiter(
+        initialLimit, 1, 10, Duration.ofMillis(50), 0.5, Duration.ofSeconds(2));
+  }
+
+  @Test
+  void shouldRejectWhenLimitIsReached() {
+    ConcurrencyLimiter limiter = limiter(2);
+
+    assertTrue(limiter.tryAcquire());
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+
+    assertEquals(2, limiter.getInFlight());
+    assertEquals(1, limiter.getRejectedCount());
+  }
+
+  @Test
+  void shouldAdmitAgainAfterRelease() {
+    ConcurrencyLimiter limiter = limiter(1);
+
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+    limiter.release(-1);
+
+    assertTrue(limiter.tryAcquire());
+  }
+
+  @Test
+  void shouldDecreaseLimitOnSlowSamples() {
+    ConcurrencyLimiter limiter = limiter(8);
+
+    limiter.tryAcquire();
+    limiter.release(SLOW);
+
+    assertEquals(4, limiter.getLimit());
+  }
+
+  @Test
+  void shouldNotDecreaseBelowMinimum() {
+    ConcurrencyLimiter limiter = limiter(2);
+
+    for (int i = 0; i < 5; i++) {
+      limiter.tryAcquire();
+      limiter.release(SLOW);
+    }
+
+    assertEquals(1, limiter.getLimit());
+  }
+
+  @Test
+  void shouldIncreaseLimitOnFastSamplesWhenSaturated() {
+    ConcurrencyLimiter limiter = limiter(2);
+
+    limiter.tryAcquire();
+    limiter.tryAcquire();
+    limiter.release(FAST);
+
+    assertEquals(3, limiter.getLimit());
+  }
+
+  @Test
+  void shouldNotIncreaseLimitWhenIdle() {
+    ConcurrencyLimiter limiter = limiter(8);
+
+    limiter.tryAcquire();
+    limiter.release(FAST);
+
+    assertEquals(8, limiter.getLimit());
+  }
+
+  @Test
+  void shouldNotIncreaseAboveMaximum() {
+    ConcurrencyLimiter limiter = limiter(10);
+
+    for (int i = 0; i < 10; i++) {
+      limiter.tryAcquire();
+    }
+    limiter.release(FAST);
+
+    assertEquals(10, limiter.getLimit());
+  }
+
+  @Test
+  void shouldIgnoreSamplesOfAbortedSearches() {
+    ConcurrencyLimiter limiter = limiter(4);
+
+    limiter.tryAcquire();
+    limiter.release(-1);
+
+    assertEquals(4, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void unlimitedLimiterShouldNeverReject() {
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.unlimited();
+
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(limiter.tryAcquire());
+    }
+    assertEquals(0, limiter.getRejectedCount());
+  }
+
+  @Test
+  void shouldRejectInvalidConfiguration() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ConcurrencyLimiter(1, 0, 10, Duration.ofMillis(1), 0.5, Duration.ZERO));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ConcurrencyLimiter(1, 1, 10, Duration.ofMillis(1), 1.5, Duration.ZERO));
+  }
+
+  @Test
+  void shouldExposeMetrics() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ConcurrencyLimiter limiter = limiter(1);
+    limiter.bindTo(registry);
+
+    limiter.tryAcquire();
+    limiter.tryAcquire();
+
+    assertEquals(1.0, registry.get("routing.admission.limit").gauge().value());
+    assertEquals(1.0, registry.get("routing.admission.in.flight").gauge().value());
+    assertEquals(
+        1.0,
+        registry
+            .get("routing.admission.rejected")
+            .tag("dataset", DatasetRegistry.ALL_DATASETS)
+            .functionCounter()
+            .count());
+  }
+}
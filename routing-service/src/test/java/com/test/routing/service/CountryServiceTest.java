@@ -0,0 +1,574 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.test.routing.core.RoutingEngine;
+import com.test.routing.exception.GraphMutationConflictException;
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.graph.CountryAttributes;
+import com.test.routing.graph.GraphChange;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.model.GraphMutation;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class CountryServiceTest {
+
+  private CountryService countryService;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    // Read the countries.json bundled with the core
+    ClassPathResource resource = new ClassPathResource("com/test/routing/core/countries.json");
+    String jsonContent =
+        new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+    // Mock WebClient
+    WebClient.RequestHeadersUriSpec requestHeadersUriSpec =
+        mock(WebClient.RequestHeadersUriSpec.class);
+    WebClient.RequestHeadersSpec requestHeadersSpec = mock(WebClient.RequestHeadersSpec.class);
+    WebClient.ResponseSpec responseSpec = mock(WebClient.ResponseSpec.class);
+    WebClient webClient = mock(WebClient.class);
+
+    when(webClient.get()).thenReturn(requestHeadersUriSpec);
+    when(requestHeadersUriSpec.uri(any(java.net.URI.class))).thenReturn(requestHeadersSpec);
+    when(requestHeadersSpec.headers(any())).thenReturn(requestHeadersSpec);
+    when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+    when(responseSpec.toEntityFlux(DataBuffer.class))
+        .thenAnswer(invocation -> Mono.just(ResponseEntity.ok(chunks(jsonContent, 4096))));
+
+    String testUrl = "https://test.example.com/countries.json";
+    countryService = new CountryService(objectMapper, webClient, testUrl);
+    countryService.loadCountryData();
+  }
+
+  @Test
+  void shouldLoadCountryDataSuccessfully() {
+    Map<String, List<String>> borderGraph = countryService.getBorderGraph();
+
+    assertNotNull(borderGraph);
+    assertFalse(borderGraph.isEmpty());
+  }
+
+  @Test
+  void shouldBuildSameDatasetAsEmbeddedEngine() {
+    RoutingEngine engine = RoutingEngine.bundled();
+
+    assertEquals(engine.graph().borderGraph(), countryService.getBorderGraph());
+    assertEquals(engine.names().size(), countryService.getNameIndex().size());
+    assertEquals(engine.names().suggest("re", 20), countryService.getNameIndex().suggest("re", 20));
+    assertEquals(
+        engine.attributes().select("region:europe,!landlocked"),
+        countryService.getAttributes().select("region:europe,!landlocked"));
+  }
+
+  @Test
+  void shouldContainCzechRepublicWithCorrectBorders() {
+    Map<String, List<String>> borderGraph = countryService.getBorderGraph();
+
+    assertTrue(borderGraph.containsKey("CZE"));
+    List<String> czeBorders = borderGraph.get("CZE");
+
+    assertNotNull(czeBorders);
+    assertTrue(czeBorders.contains("AUT"));
+    assertTrue(czeBorders.contains("DEU"));
+    assertTrue(czeBorders.contains("POL"));
+    assertTrue(czeBorders.contains("SVK"));
+  }
+
+  @Test
+  void shouldContainItalyWithCorrectBorders() {
+    Map<String, List<String>> borderGraph = countryService.getBorderGraph();
+
+    assertTrue(borderGraph.containsKey("ITA"));
+    List<String> itaBorders = borderGraph.get("ITA");
+
+    assertNotNull(itaBorders);
+    assertTrue(itaBorders.contains("AUT"));
+    assertTrue(itaBorders.contains("FRA"));
+    assertTrue(itaBorders.contains("SVN"));
+    assertTrue(itaBorders.contains("CHE"));
+  }
+
+  @Test
+  void shouldHandleIslandCountriesWithNoBorders() {
+    Map<String, List<String>> borderGraph = countryService.getBorderGraph();
+
+    // Japan is an island with no land borders
+    assertTrue(borderGraph.containsKey("JPN"));
+    List<String> jpnBorders = borderGraph.get("JPN");
+
+    assertNotNull(jpnBorders);
+    assertTrue(jpnBorders.isEmpty());
+  }
+
+  @Test
+  void shouldReturnEmptyListForCountriesWithNoBorders() {
+    Map<String, List<String>> borderGraph = countryService.getBorderGraph();
+
+    // Australia is an island with no land borders
+    assertTrue(borderGraph.containsKey("AUS"));
+    List<String> ausBorders = borderGraph.get("AUS");
+
+    assertNotNull(ausBorders);
+    assertEquals(0, ausBorders.size());
+  }
+
+  @Test
+  void shouldLoadMultipleCountries() {
+    Map<String, List<String>> borderGraph = countryService.getBorderGraph();
+
+    // Verify some known countries exist
+    assertTrue(borderGraph.containsKey("USA"));
+    assertTrue(borderGraph.containsKey("CHN"));
+    assertTrue(borderGraph.containsKey("BRA"));
+    assertTrue(borderGraph.containsKey("DEU"));
+    assertTrue(borderGraph.containsKey("FRA"));
+  }
+
+  @Test
+  void shouldNotContainNullCountryCodes() {
+    Map<String, List<String>> borderGraph = countryService.getBorderGraph();
+
+    assertFalse(borderGraph.containsKey(null));
+    borderGraph.keySet().forEach(Assertions::assertNotNull);
+  }
+
+  @Test
+  void shouldReturnImmutableBorderGraph() {
+    Map<String, List<String>> borderGraph = countryService.getBorderGraph();
+
+    assertNotNull(borderGraph);
+    assertSame(borderGraph, countryService.getBorderGraph());
+  }
+
+  @Test
+  void shouldExposeVersionedSnapshot() {
+    GraphSnapshot snapshot = countryService.getSnapshot();
+
+    assertNotNull(snapshot);
+    assertEquals(1, snapshot.version());
+    assertEquals(countryService.getBorderGraph().size(), snapshot.size());
+  }
+
+  @Test
+  void shouldRemoveBorderAndBumpVersion() {
+    GraphMutation mutation = countryService.removeBorder("CZE", "AUT", "ops");
+
+    assertEquals(2, mutation.version());
+    assertEquals(GraphChange.Kind.REMOVE_BORDER, mutation.operation());
+    assertEquals(List.of("CZE", "AUT"), mutation.countries());
+    assertEquals("ops", mutation.actor());
+    assertFalse(countryService.getBorderGraph().get("CZE").contains("AUT"));
+    assertFalse(countryService.getBorderGraph().get("AUT").contains("CZE"));
+  }
+
+  @Test
+  void shouldAddBorder() {
+    countryService.addBorder("FRA", "POL", "ops");
+
+    assertTrue(countryService.getBorderGraph().get("FRA").contains("POL"));
+    assertTrue(countryService.getBorderGraph().get("POL").contains("FRA"));
+  }
+
+  @Test
+  void shouldDisableAndEnableCountry() {
+    countryService.disableCountry("AUT", "ops");
+
+    assertTrue(countryService.getBorderGraph().get("AUT").isEmpty());
+    assertFalse(countryService.getBorderGraph().get("CZE").contains("AUT"));
+
+    countryService.enableCountry("AUT", "ops");
+
+    assertTrue(countryService.getBorderGraph().get("CZE").contains("AUT"));
+    assertEquals(3, countryService.getSnapshot().version());
+  }
+
+  @Test
+  void shouldRejectMutationsOfUnknownCountries() {
+    assertThrows(
+        UnknownCountryException.class, () -> countryService.addBorder("CZE", "XXX", "ops"));
+    assertThrows(UnknownCountryException.class, () -> countryService.disableCountry("XXX", "ops"));
+  }
+
+  @Test
+  void shouldRejectConflictingMutations() {
+    assertThrows(
+        GraphMutationConflictException.class, () -> countryService.addBorder("CZE", "AUT", "ops"));
+    assertThrows(
+        GraphMutationConflictException.class,
+        () -> countryService.removeBorder("CZE", "JPN", "ops"));
+    assertThrows(
+        GraphMutationConflictException.class, () -> countryService.enableCountry("CZE", "ops"));
+    assertEquals(1, countryService.getSnapshot().version());
+  }
+
+  @Test
+  void shouldRecordAuditLogInOrder() {
+    countryService.removeBorder("CZE", "AUT", "alice");
+    countryService.disableCountry("POL", "bob");
+
+    List<GraphMutation> auditLog = countryService.getAuditLog();
+
+    assertEquals(2, auditLog.size());
+    assertEquals("alice", auditLog.get(0).actor());
+    assertEquals(GraphChange.Kind.DISABLE_COUNTRY, auditLog.get(1).operation());
+    assertEquals(3, auditLog.get(1).version());
+  }
+
+  @Test
+  void shouldNotifyListenersOfChanges() {
+    List<GraphChange> changes = new ArrayList<>();
+    countryService.addGraphChangeListener(changes::add);
+
+    countryService.removeBorder("CZE", "AUT", "ops");
+    countryService.loadCountryData();
+
+    assertEquals(2, changes.size());
+    assertEquals(GraphChange.Kind.REMOVE_BORDER, changes.get(0).kind());
+    assertEquals(GraphChange.Kind.RELOAD, changes.get(1).kind());
+    assertEquals(3, countryService.getSnapshot().version());
+    assertTrue(countryService.getBorderGraph().get("CZE").contains("AUT"));
+  }
+
+  @Test
+  void shouldKeepCountryAttributesAsBitsets() {
+    GraphSnapshot graph = countryService.getSnapshot();
+    CountryAttributes attributes = countryService.getAttributes();
+
+    assertTrue(attributes.select("landlocked").get(graph.idOf("BOL")));
+    assertFalse(attributes.select("coastal").get(graph.idOf("BOL")));
+    assertTrue(attributes.select("region:Europe,unMember,coastal").get(graph.idOf("ITA")));
+    assertFalse(attributes.select("unMember").get(graph.idOf("UNK")));
+  }
+
+  @Test
+  void shouldIndexCountryNamesInEveryLanguage() {
+    assertEquals(List.of("CZE"), countryService.getNameIndex().suggest("czechia", 5));
+    assertEquals(List.of("DEU"), countryService.getNameIndex().suggest("deutschland", 5));
+    assertEquals(List.of("CZE"), countryService.getNameIndex().suggest("cesko", 5));
+  }
+
+  @Test
+  void shouldRecordLoadPhaseEvents(@TempDir Path directory) throws Exception {
+    Path file = directory.resolve("load.jfr");
+    try (Reader settings =
+            new InputStreamReader(
+                getClass().getResourceAsStream("/jfr/routing.jfc"), StandardCharsets.UTF_8);
+        Recording recording = new Recording(Configuration.create(settings))) {
+      recording.start();
+      countryService.loadCountryData();
+      recording.stop();
+      recording.dump(file);
+    }
+
+    List<RecordedEvent> events =
+        RecordingFile.readAllEvents(file).stream()
+            .filter(e -> e.getEventType().getName().equals("com.test.routing.CountryLoad"))
+            .toList();
+    assertEquals(
+        List.of("fetch", "parse", "build"),
+        events.stream().map(e -> e.getString("phase")).toList());
+    int countries = countryService.getSnapshot().countryCount();
+    assertTrue(events.get(0).getLong("bodyLength") > 0);
+    assertEquals(countries, events.get(1).getInt("countries"));
+    assertEquals(countries, events.get(2).getInt("countries"));
+    assertEquals(2, events.get(2).getLong("graphVersion"));
+    assertEquals("https://test.example.com/countries.json", events.get(2).getString("source"));
+  }
+
+  @Test
+  void shouldLoadFileUrlsFromDisk(@TempDir Path directory) throws IOException {
+    WebClient webClient = mock(WebClient.class);
+    String url = countriesFile(directory);
+    CountryService fileService = new CountryService(new ObjectMapper(), webClient, url);
+
+    fileService.loadCountryData();
+
+    assertEquals(
+        countryService.getSnapshot().countryCount(), fileService.getSnapshot().countryCount());
+    verifyNoInteractions(webClient);
+  }
+
+  @Test
+  void shouldLoadMappedCompressedAdjacency(@TempDir Path directory) throws IOException {
+    String url = countriesFile(directory);
+    CountryService mappedService =
+        CountryService.builder(new ObjectMapper(), mock(WebClient.class), url)
+            .adjacency(CountryService.AdjacencyLayout.MAPPED, directory)
+            .build();
+
+    mappedService.loadCountryData();
+
+    GraphSnapshot mapped = mappedService.getSnapshot();
+    assertNotNull(mapped.compressedAdjacency().file());
+    assertTrue(mapped.compressedAdjacency().file().startsWith(directory));
+    Map<String, List<String>> expected = countryService.getBorderGraph();
+    mappedService
+        .getBorderGraph()
+        .forEach(
+            (code, borders) ->
+                assertEquals(
+                    expected.get(code).stream().sorted().toList(),
+                    borders.stream().sorted().toList(),
+                    code));
+  }
+
+  @Test
+  void shouldSkipParsingWhenUpstreamIsNotModified() throws Exception {
+    try (StandInServer upstream = new StandInServer(json("CZE", "AUT"), "\"v1\"")) {
+      CountryService service = upstream.service(DatasetCache.inMemory());
+      service.loadCountryData();
+      GraphSnapshot first = service.getSnapshot();
+      List<GraphChange> changes = new ArrayList<>();
+      service.addGraphChangeListener(changes::add);
+
+      service.loadCountryData();
+
+      assertSame(first, service.getSnapshot());
+      assertTrue(changes.isEmpty());
+      assertEquals(List.of("\"v1\""), upstream.ifNoneMatch);
+      assertEquals(1, upstream.notModified);
+    }
+  }
+
+  @Test
+  void shouldReloadWhenUpstreamChanged() throws Exception {
+    try (StandInServer upstream = new StandInServer(json("CZE", "AUT"), "\"v1\"")) {
+      CountryService service = upstream.service(DatasetCache.inMemory());
+      service.loadCountryData();
+
+      upstream.update(json("CZE", "DEU"), "\"v2\"");
+      service.loadCountryData();
+
+      assertEquals(2, service.getSnapshot().version());
+      assertEquals(List.of("DEU"), service.getBorderGraph().get("CZE"));
+      assertEquals(0, upstream.notModified);
+    }
+  }
+
+  @Test
+  void shouldRebuildFromCachedBodyAfterMutations(@TempDir Path directory) throws Exception {
+    try (StandInServer upstream = new StandInServer(json("CZE", "AUT"), "\"v1\"")) {
+      CountryService service = upstream.service(new DatasetCache(directory));
+      service.loadCountryData();
+      service.removeBorder("CZE", "AUT", "ops");
+
+      service.loadCountryData();
+
+      assertEquals(1, upstream.notModified);
+      assertEquals(3, service.getSnapshot().version());
+      assertEquals(List.of("AUT"), service.getBorderGraph().get("CZE"));
+    }
+  }
+
+  @Test
+  void shouldFetchUnconditionallyAfterMutationsWithoutCachedBody() throws Exception {
+    try (StandInServer upstream = new StandInServer(json("CZE", "AUT"), "\"v1\"")) {
+      CountryService service = upstream.service(DatasetCache.inMemory());
+      service.loadCountryData();
+      service.removeBorder("CZE", "AUT", "ops");
+
+      service.loadCountryData();
+
+      assertTrue(upstream.ifNoneMatch.isEmpty());
+      assertEquals(3, service.getSnapshot().version());
+      assertEquals(List.of("AUT"), service.getBorderGraph().get("CZE"));
+    }
+  }
+
+  @Test
+  void shouldStartFromPersistedCopyWhenUpstreamIsDown(@TempDir Path directory) throws Exception {
+    String url;
+    try (StandInServer upstream = new StandInServer(json("CZE", "AUT"), "\"v1\"")) {
+      upstream.service(new DatasetCache(directory)).loadCountryData();
+      url = upstream.url;
+    }
+
+    CountryService restarted =
+        CountryService.builder(new ObjectMapper(), WebClient.create(), url)
+            .datasetCache(new DatasetCache(directory))
+            .build();
+    restarted.loadCountryData();
+
+    assertEquals(List.of("AUT"), restarted.getBorderGraph().get("CZE"));
+  }
+
+  @Test
+  void shouldFailWithoutCachedCopyWhenUpstreamIsDown() throws Exception {
+    String url;
+    try (StandInServer upstream = new StandInServer(json("CZE", "AUT"), null)) {
+      url = upstream.url;
+    }
+    CountryService service = new CountryService(new ObjectMapper(), WebClient.create(), url);
+
+    assertThrows(RuntimeException.class, service::loadCountryData);
+  }
+
+  /** Splits the content into buffers of the given size, cutting through tokens. */
+  private static Flux<DataBuffer> chunks(String content, int size) {
+    byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+    return Flux.range(0, (bytes.length + size - 1) / size)
+        .map(
+            i ->
+                DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(bytes, i * size, Math.min(bytes.length, (i + 1) * size))));
+  }
+
+  @Test
+  void shouldStreamBodiesLargerThanAnyCodecLimitWithBoundedBuffering() throws Exception {
+    // Countries padded with long alternative spellings to about 8 MB
+    StringBuilder body = new StringBuilder("[");
+    String padding = "x".repeat(1000);
+    for (int i = 0; i < 4000; i++) {
+      String code = String.format("C%04d", i);
+      String neighbor = String.format("C%04d", (i + 1) % 4000);
+      body.append(i == 0 ? "" : ",")
+          .append(
+              String.format(
+                  "{\"cca3\": \"%s\", \"borders\": [\"%s\"], \"altSpellings\": [\"%s\", \"%s\"]}",
+                  code, neighbor, padding, padding));
+    }
+    body.append("]");
+
+    try (StandInServer upstream = new StandInServer(body.toString(), "\"v1\"")) {
+      CountryService service = upstream.service(DatasetCache.inMemory());
+      service.loadCountryData();
+
+      assertEquals(4000, service.getSnapshot().countryCount());
+      assertEquals(List.of("C0001", "C3999"), service.getBorderGraph().get("C0000"));
+      assertTrue(service.getPeakBufferedBytes() > 0);
+      assertTrue(
+          service.getPeakBufferedBytes() < body.length() / 16,
+          "peak " + service.getPeakBufferedBytes() + " of " + body.length());
+    }
+  }
+
+  @Test
+  void shouldKeepPreviousGraphAndCacheWhenBodyIsTruncated() throws Exception {
+    try (StandInServer upstream = new StandInServer(json("CZE", "AUT"), "\"v1\"")) {
+      DatasetCache cache = DatasetCache.inMemory();
+      CountryService service = upstream.service(cache);
+      service.loadCountryData();
+      GraphSnapshot first = service.getSnapshot();
+
+      String truncated = json("CZE", "DEU");
+      upstream.update(truncated.substring(0, truncated.length() - 10), "\"v2\"");
+      assertThrows(RuntimeException.class, service::loadCountryData);
+
+      assertSame(first, service.getSnapshot());
+      assertEquals("\"v1\"", cache.read(upstream.url).etag());
+    }
+  }
+
+  /**
+   * Copies the bundled dataset into the directory and returns its {@code file:} URL. The classpath
+   * resource itself is a {@code jar:} URL once routing-core is packaged.
+   */
+  private static String countriesFile(Path directory) throws IOException {
+    Path file = directory.resolve("countries.json");
+    try (InputStream in =
+        new ClassPathResource("com/test/routing/core/countries.json").getInputStream()) {
+      Files.copy(in, file);
+    }
+    return file.toUri().toString();
+  }
+
+  private static String json(String country, String neighbor) {
+    return String.format(
+        "[{\"cca3\": \"%s\", \"borders\": [\"%s\"]}, {\"cca3\": \"%s\", \"borders\": [\"%s\"]}]",
+        country, neighbor, neighbor, country);
+  }
+
+  /** Local upstream answering conditional requests on its ETag. */
+  private static final class StandInServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final String url;
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+    private volatile String body;
+    private volatile String etag;
+    private volatile int notModified;
+
+    StandInServer(String body, String etag) throws IOException {
+      this.body = body;
+      this.etag = etag;
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+      server.createContext(
+          "/countries.json",
+          exchange -> {
+            String condition = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (condition != null) {
+              ifNoneMatch.add(condition);
+            }
+            if (condition != null && condition.equals(this.etag)) {
+              notModified++;
+              exchange.sendResponseHeaders(304, -1);
+            } else {
+              byte[] bytes = this.body.getBytes(StandardCharsets.UTF_8);
+              if (this.etag != null) {
+                exchange.getResponseHeaders().set("ETag", this.etag);
+              }
+              exchange.getResponseHeaders().set("Content-Type", "application/json");
+              exchange.sendResponseHeaders(200, bytes.length);
+              exchange.getResponseBody().write(bytes);
+            }
+            exchange.close();
+          });
+      server.start();
+      url = "http://127.0.0.1:" + server.getAddress().getPort() + "/countries.json";
+    }
+
+    void update(String body, String etag) {
+      this.body = body;
+      this.etag = etag;
+    }
+
+    CountryService service(DatasetCache cache) {
+      return CountryService.builder(new ObjectMapper(), WebClient.create(), url)
+          .datasetCache(cache)
+          .build();
+    }
+
+    @Override
+    public void close() {
+      server.stop(0);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.routing.model.Country;
+
+class CountryStreamParserTest {
+
+  private static final String COUNTRIES =
+      "[{\"cca3\": \"CZE\", \"name\": {\"common\": \"Czechia\"}, \"borders\": [\"AUT\", \"DEU\"]},"
+          + " {\"cca3\": \"AUT\", \"unknown\": [1, {\"a\": null}], \"borders\": [\"CZE\"]},"
+          + " {\"cca3\": \"DEU\", \"cca2\": \"DE\", \"borders\": [\"CZE\"]}]";
+
+  private final List<Country> countries = new ArrayList<>();
+
+  @Test
+  void shouldEmitCountriesFedInOneChunk() throws IOException {
+    CountryStreamParser parser = parser();
+
+    feed(parser, COUNTRIES, COUNTRIES.length());
+    parser.finish();
+
+    assertEquals(List.of("CZE", "AUT", "DEU"), countries.stream().map(Country::cca3).toList());
+    assertEquals(List.of("AUT", "DEU"), countries.get(0).borders());
+    assertEquals("Czechia", countries.get(0).name().common());
+    assertEquals(List.of("DE"), countries.get(2).alternativeCodes());
+    assertEquals(3, parser.getCountries());
+    assertEquals(COUNTRIES.length(), parser.getBytes());
+  }
+
+  @Test
+  void shouldEmitSameCountriesFedByteByByte() throws IOException {
+    CountryStreamParser parser = parser();
+
+    feed(parser, COUNTRIES, 1);
+    parser.finish();
+
+    assertEquals(List.of("CZE", "AUT", "DEU"), countries.stream().map(Country::cca3).toList());
+    assertEquals(List.of("CZE"), countries.get(1).borders());
+  }
+
+  @Test
+  void shouldEmitEachCountryAsSoonAsItIsComplete() throws IOException {
+    CountryStreamParser parser = parser();
+    int firstEnd = COUNTRIES.indexOf("]},") + 2;
+
+    feed(parser, COUNTRIES.substring(0, firstEnd - 1), 16);
+    assertTrue(countries.isEmpty());
+    feed(parser, COUNTRIES.substring(firstEnd - 1, firstEnd), 1);
+
+    assertEquals(1, countries.size());
+  }
+
+  @Test
+  void shouldBoundBufferedInputBySingleCountry() throws IOException {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 1000; i++) {
+      json.append(i == 0 ? "" : ",").append("{\"cca3\": \"C").append(i).append("\"}");
+    }
+    json.append("]");
+    CountryStreamParser parser = parser();
+
+    feed(parser, json.toString(), 64);
+    parser.finish();
+
+    assertEquals(1000, countries.size());
+    // One chunk plus at most the start of a country that spans two chunks
+    assertTrue(parser.getPeakBufferedBytes() <= 64 + 20, "peak " + parser.getPeakBufferedBytes());
+  }
+
+  @Test
+  void shouldRejectTruncatedAndMalformedInput() throws IOException {
+    CountryStreamParser truncated = parser();
+    feed(truncated, COUNTRIES.substring(0, COUNTRIES.length() - 1), 32);
+    assertThrows(IOException.class, truncated::finish);
+
+    assertThrows(IOException.class, () -> feed(parser(), "{\"cca3\": \"CZE\"}", 8));
+    assertThrows(IOException.class, () -> feed(parser(), "[1, 2]", 8));
+    assertThrows(IOException.class, () -> parser().finish());
+  }
+
+  private CountryStreamParser parser() throws IOException {
+    return new CountryStreamParser(new ObjectMapper(), countries::add);
+  }
+
+  private static void feed(CountryStreamParser parser, String json, int chunkSize)
+      throws IOException {
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < bytes.length; i += chunkSize) {
+      byte[] chunk = Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + chunkSize));
+      parser.feed(DefaultDataBufferFactory.sharedInstance.wrap(chunk), 0);
+    }
+  }
+}
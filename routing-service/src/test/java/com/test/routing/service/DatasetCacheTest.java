@@ -0,0 +1,128 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+class DatasetCacheTest {
+
+  private static final String URL = "https://example.com/countries.json";
+
+  @Test
+  void shouldPersistEntriesAcrossInstances(@TempDir Path directory) {
+    write(
+        new DatasetCache(directory),
+        URL,
+        "[]",
+        new DatasetCache.Entry("\"v1\"", "Mon, 01 Jan 2024 00:00:00 GMT"));
+
+    DatasetCache cache = new DatasetCache(directory);
+
+    assertEquals(
+        new DatasetCache.Entry("\"v1\"", "Mon, 01 Jan 2024 00:00:00 GMT"), cache.read(URL));
+    assertEquals("[]", body(cache, URL));
+  }
+
+  @Test
+  void shouldKeepEntriesPerUrl(@TempDir Path directory) {
+    DatasetCache cache = new DatasetCache(directory);
+    write(cache, URL, "[1]", new DatasetCache.Entry(null, null));
+    write(cache, URL + "?v=2", "[2]", new DatasetCache.Entry(null, null));
+
+    assertEquals("[1]", body(cache, URL));
+    assertEquals("[2]", body(cache, URL + "?v=2"));
+    assertNull(cache.read("https://example.com/other.json"));
+  }
+
+  @Test
+  void shouldReplacePreviousEntry(@TempDir Path directory) {
+    DatasetCache cache = new DatasetCache(directory);
+    write(cache, URL, "[1]", new DatasetCache.Entry("\"v1\"", null));
+    write(cache, URL, "[2]", new DatasetCache.Entry(null, "Tue, 02 Jan 2024 00:00:00 GMT"));
+
+    assertEquals(new DatasetCache.Entry(null, "Tue, 02 Jan 2024 00:00:00 GMT"), cache.read(URL));
+    assertEquals("[2]", body(cache, URL));
+  }
+
+  @Test
+  void shouldWriteBodyInChunks(@TempDir Path directory) {
+    DatasetCache cache = new DatasetCache(directory);
+    String body = "[" + "1,".repeat(50_000) + "1]";
+
+    try (DatasetCache.BodyWriter writer = cache.writer(URL)) {
+      for (int i = 0; i < body.length(); i += 4096) {
+        writer.write(
+            DefaultDataBufferFactory.sharedInstance.wrap(
+                body.substring(i, Math.min(body.length(), i + 4096))
+                    .getBytes(StandardCharsets.UTF_8)));
+      }
+      writer.commit(new DatasetCache.Entry("\"v1\"", null));
+    }
+
+    assertEquals(body, body(cache, URL));
+  }
+
+  @Test
+  void shouldKeepPreviousEntryWhenWriterIsNotCommitted(@TempDir Path directory) throws Exception {
+    DatasetCache cache = new DatasetCache(directory);
+    write(cache, URL, "[1]", new DatasetCache.Entry("\"v1\"", null));
+
+    try (DatasetCache.BodyWriter writer = cache.writer(URL)) {
+      writer.write(DefaultDataBufferFactory.sharedInstance.wrap("[2".getBytes()));
+    }
+
+    assertEquals("\"v1\"", cache.read(URL).etag());
+    assertEquals("[1]", body(cache, URL));
+    try (var files = Files.list(directory)) {
+      assertEquals(2, files.count());
+    }
+  }
+
+  @Test
+  void shouldKeepOnlyValidatorsInMemoryWithoutDirectory() {
+    DatasetCache cache = DatasetCache.inMemory();
+    assertNull(cache.read(URL));
+
+    write(cache, URL, "[]", new DatasetCache.Entry("\"v1\"", null));
+
+    assertEquals("\"v1\"", cache.read(URL).etag());
+    assertFalse(cache.keepsBodies());
+    assertEquals(0, cache.body(URL).count().block());
+  }
+
+  @Test
+  void shouldIgnoreWriteFailures(@TempDir Path directory) throws Exception {
+    Path file = Files.createFile(directory.resolve("not-a-directory"));
+    DatasetCache cache = new DatasetCache(file);
+
+    write(cache, URL, "[]", new DatasetCache.Entry(null, null));
+
+    assertNull(cache.read(URL));
+  }
+
+  private static void write(DatasetCache cache, String url, String body, DatasetCache.Entry entry) {
+    try (DatasetCache.BodyWriter writer = cache.writer(url)) {
+      writer.write(
+          DefaultDataBufferFactory.sharedInstance.wrap(body.getBytes(StandardCharsets.UTF_8)));
+      writer.commit(entry);
+    }
+  }
+
+  private static String body(DatasetCache cache, String url) {
+    return DataBufferUtils.join(cache.body(url))
+        .map(
+            buffer -> {
+              String content = buffer.toString(StandardCharsets.UTF_8);
+              DataBufferUtils.release(buffer);
+              return content;
+            })
+        .block();
+  }
+}
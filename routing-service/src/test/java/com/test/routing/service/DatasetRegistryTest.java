@@ -0,0 +1,149 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import com.test.routing.exception.UnknownDatasetException;
+import com.test.routing.graph.GraphSnapshot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DatasetRegistryTest {
+
+  private CountryService defaultCountryService;
+  private CountryService historicalCountryService;
+  private DatasetRegistry datasetRegistry;
+
+  @BeforeEach
+  void setUp() {
+    defaultCountryService = mock(CountryService.class);
+    historicalCountryService = mock(CountryService.class);
+    datasetRegistry =
+        new DatasetRegistry(
+            DatasetRegistry.Dataset.builder(DatasetRegistry.DEFAULT_DATASET, defaultCountryService)
+                .routeCache(new RouteCache(10))
+                .routingService(new RoutingService(defaultCountryService))
+                .build());
+    datasetRegistry.register(
+        DatasetRegistry.Dataset.builder("historical", historicalCountryService)
+            .routeCache(new RouteCache(10, "historical"))
+            .routingService(new RoutingService(historicalCountryService))
+            .searchDeadlines(SearchDeadlines.none("historical"))
+            .build());
+  }
+
+  @Test
+  void shouldSelectDefaultDatasetWithoutName() {
+    assertEquals(DatasetRegistry.DEFAULT_DATASET, datasetRegistry.get(null).name());
+    assertEquals(DatasetRegistry.DEFAULT_DATASET, datasetRegistry.get(" ").name());
+    assertSame(historicalCountryService, datasetRegistry.get("historical").countryService());
+  }
+
+  @Test
+  void shouldRejectUnknownDataset() {
+    assertThrows(UnknownDatasetException.class, () -> datasetRegistry.get("missing"));
+  }
+
+  @Test
+  void shouldRejectDuplicateNames() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            datasetRegistry.register(
+                DatasetRegistry.Dataset.builder("historical", historicalCountryService)
+                    .routeCache(new RouteCache(10))
+                    .routingService(new RoutingService(historicalCountryService))
+                    .build()));
+  }
+
+  @Test
+  void shouldListDatasetsInRegistrationOrder() {
+    assertEquals(
+        List.of(DatasetRegistry.DEFAULT_DATASET, "historical"),
+        datasetRegistry.datasets().stream().map(DatasetRegistry.Dataset::name).toList());
+  }
+
+  @Test
+  void shouldLoadOnlyDatasetsThatAreNotLoadedYet() {
+    when(defaultCountryService.getSnapshot())
+        .thenReturn(GraphSnapshot.of(Map.of("CZE", List.of())));
+
+    datasetRegistry.start();
+
+    verify(defaultCountryService, never()).loadCountryData();
+    verify(historicalCountryService).loadCountryData();
+  }
+
+  @Test
+  void shouldStartAndShutDownOwnedServices() {
+    CountryService countryService = mock(CountryService.class);
+    RouteTableService routeTables = mock(RouteTableService.class);
+    CachePrewarmer prewarmer = mock(CachePrewarmer.class);
+    CentralityService centralityService = mock(CentralityService.class);
+    GraphAnalyticsService graphAnalyticsService = mock(GraphAnalyticsService.class);
+    datasetRegistry.register(
+        DatasetRegistry.Dataset.builder("recent", countryService)
+            .routeCache(new RouteCache(10, "recent"))
+            .routingService(new RoutingService(countryService))
+            .centralityService(centralityService)
+            .graphAnalyticsService(graphAnalyticsService)
+            .build(),
+        routeTables,
+        prewarmer);
+
+    datasetRegistry.start();
+
+    InOrder inOrder = inOrder(prewarmer, countryService);
+    inOrder.verify(prewarmer).start();
+    inOrder.verify(countryService).loadCountryData();
+
+    datasetRegistry.shutdown();
+
+    verify(prewarmer).shutdown();
+    verify(routeTables).shutdown();
+    verify(centralityService).shutdown();
+    verify(graphAnalyticsService).shutdown();
+  }
+
+  @Test
+  void shouldReloadOnlyTheSelectedDataset() {
+    GraphSnapshot reloaded = GraphSnapshot.of(Map.of("CZE", List.of()), 2);
+    when(historicalCountryService.getSnapshot()).thenReturn(reloaded);
+
+    assertSame(reloaded, datasetRegistry.reload("historical"));
+
+    verify(historicalCountryService).loadCountryData();
+    verify(defaultCountryService, never()).loadCountryData();
+  }
+
+  @Test
+  void shouldPartitionMetricsByDataset() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("CZE", List.of("AUT"));
+    borderGraph.put("AUT", List.of("CZE"));
+    when(historicalCountryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph, 3));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    datasetRegistry.bindTo(registry);
+
+    assertEquals(
+        3, registry.get("routing.dataset.version").tag("dataset", "historical").gauge().value());
+    assertEquals(
+        2, registry.get("routing.dataset.countries").tag("dataset", "historical").gauge().value());
+    assertNotNull(registry.get("routing.cache.size").tag("dataset", "historical").gauge());
+    assertNull(registry.find("routing.cache.size").tag("dataset", "default").gauge());
+    assertNotNull(
+        registry
+            .get("routing.search.aborted")
+            .tags("reason", "timeout", "dataset", "historical")
+            .functionCounter());
+  }
+}
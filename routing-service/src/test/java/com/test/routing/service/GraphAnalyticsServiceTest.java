@@ -0,0 +1,73 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.graph.GraphChange;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.GraphStructure;
+
+class GraphAnalyticsServiceTest {
+
+  private CountryService countryService;
+  private GraphAnalyticsService graphAnalyticsService;
+  private GraphSnapshot graph;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B"));
+    borderGraph.put("B", List.of("A", "C"));
+    borderGraph.put("C", List.of("B"));
+    graph = GraphSnapshot.of(borderGraph);
+
+    countryService = mock(CountryService.class);
+    when(countryService.getSnapshot()).thenReturn(graph);
+    graphAnalyticsService = new GraphAnalyticsService(countryService);
+  }
+
+  @AfterEach
+  void tearDown() {
+    graphAnalyticsService.shutdown();
+  }
+
+  @Test
+  void shouldAnalyzeGraphInBackgroundOnStart() {
+    graphAnalyticsService.start();
+
+    GraphStructure structure = graphAnalyticsService.getStructure().block(Duration.ofSeconds(5));
+
+    assertNotNull(structure);
+    assertSame(graph, structure.graph());
+    assertTrue(structure.isArticulationPoint(graph.idOf("B")));
+  }
+
+  @Test
+  void shouldReanalyzeAfterGraphChange() throws InterruptedException {
+    graphAnalyticsService.start();
+    graphAnalyticsService.getStructure().block(Duration.ofSeconds(5));
+
+    GraphChange change = graph.addBorder(graph.idOf("A"), graph.idOf("C"));
+    when(countryService.getSnapshot()).thenReturn(change.current());
+    graphAnalyticsService.onGraphChange(change);
+
+    for (int attempt = 0; attempt < 100; attempt++) {
+      GraphStructure structure = graphAnalyticsService.getStructure().block();
+      if (structure.graph().version() == 2) {
+        assertEquals(0, structure.bridgeCount());
+        return;
+      }
+      Thread.sleep(50);
+    }
+    fail("Graph version 2 was not analyzed");
+  }
+}
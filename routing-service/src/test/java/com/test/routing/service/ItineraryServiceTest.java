@@ -0,0 +1,194 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.exception.InvalidRequestException;
+import com.test.routing.exception.NoRouteFoundException;
+import com.test.routing.exception.SearchTimeoutException;
+import com.test.routing.exception.ServiceOverloadedException;
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.graph.GraphSnapshot;
+
+import reactor.test.StepVerifier;
+
+class ItineraryServiceTest {
+
+  private CountryService countryService;
+  private RoutingService routingService;
+  private ItineraryService itineraryService;
+
+  @BeforeEach
+  void setUp() {
+    // A chain PRT - ESP - FRA - DEU - POL, with CHE hanging off FRA and an island
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("PRT", List.of("ESP"));
+    borderGraph.put("ESP", List.of("PRT", "FRA"));
+    borderGraph.put("FRA", List.of("ESP", "DEU", "CHE"));
+    borderGraph.put("DEU", List.of("FRA", "POL"));
+    borderGraph.put("POL", List.of("DEU"));
+    borderGraph.put("CHE", List.of("FRA"));
+    borderGraph.put("ISL", List.of());
+
+    countryService = mock(CountryService.class);
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+    routingService = new RoutingService(countryService);
+    itineraryService = service(ConcurrencyLimiter.unlimited(), 12);
+  }
+
+  @Test
+  void shouldPlanOptimalOrderAndConcatenateRoute() {
+    StepVerifier.create(itineraryService.plan("prt", List.of("POL", "CHE", "ESP"), false))
+        .assertNext(
+            itinerary -> {
+              assertEquals("PRT", itinerary.start());
+              assertEquals(List.of("ESP", "CHE", "POL"), itinerary.order());
+              assertEquals(
+                  List.of("PRT", "ESP", "FRA", "CHE", "FRA", "DEU", "POL"), itinerary.route());
+              assertEquals(6, itinerary.crossings());
+              assertTrue(itinerary.exact());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldReturnToStartOnRoundTrip() {
+    StepVerifier.create(itineraryService.plan("FRA", List.of("CHE", "POL"), true))
+        .assertNext(
+            itinerary -> {
+              assertEquals(6, itinerary.crossings());
+              assertEquals("FRA", itinerary.route().get(0));
+              assertEquals("FRA", itinerary.route().get(itinerary.route().size() - 1));
+              assertEquals(itinerary.crossings(), itinerary.route().size() - 1);
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldPlanHeuristicallyAboveThreshold() {
+    itineraryService = service(ConcurrencyLimiter.unlimited(), 1);
+
+    StepVerifier.create(itineraryService.plan("PRT", List.of("POL", "ESP", "DEU"), false))
+        .assertNext(
+            itinerary -> {
+              assertFalse(itinerary.exact());
+              assertEquals(List.of("ESP", "DEU", "POL"), itinerary.order());
+              assertEquals(4, itinerary.crossings());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldIgnoreDuplicateStopsAndStart() {
+    StepVerifier.create(itineraryService.plan("PRT", List.of("ESP", "esp", "PRT"), false))
+        .assertNext(
+            itinerary -> {
+              assertEquals(List.of("ESP"), itinerary.order());
+              assertEquals(List.of("PRT", "ESP"), itinerary.route());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldRejectUnreachableStopBeforeSearching() {
+    StepVerifier.create(itineraryService.plan("PRT", List.of("ESP", "ISL"), false))
+        .expectErrorSatisfies(
+            error -> {
+              assertInstanceOf(NoRouteFoundException.class, error);
+              assertTrue(error.getMessage().contains("ISL"));
+            })
+        .verify();
+  }
+
+  @Test
+  void shouldRejectUnknownCountry() {
+    StepVerifier.create(itineraryService.plan("PRT", List.of("XXX"), false))
+        .expectError(UnknownCountryException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldRejectMissingOrTooManyStops() {
+    StepVerifier.create(itineraryService.plan("PRT", List.of(), false))
+        .expectError(InvalidRequestException.class)
+        .verify();
+    StepVerifier.create(
+            itineraryService.plan("PRT", List.of("ESP", "FRA", "DEU", "POL", "CHE"), false))
+        .expectError(InvalidRequestException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldPassAdmissionOnce() {
+    ConcurrencyLimiter limiter =
+        new ConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(1), 0.9, Duration.ofSeconds(1));
+    itineraryService = service(limiter, 12);
+
+    StepVerifier.create(itineraryService.plan("PRT", List.of("POL", "CHE"), false))
+        .expectNextCount(1)
+        .verifyComplete();
+
+    assertTrue(limiter.tryAcquire());
+    StepVerifier.create(itineraryService.plan("PRT", List.of("POL"), false))
+        .expectError(ServiceOverloadedException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldNotFeedItineraryLatencyIntoAdmissionLimit() {
+    // Every completed sample is above a zero threshold and would halve the limit
+    ConcurrencyLimiter limiter =
+        new ConcurrencyLimiter(8, 1, 8, Duration.ZERO, 0.5, Duration.ofSeconds(1));
+    itineraryService = service(limiter, 12);
+
+    StepVerifier.create(itineraryService.plan("PRT", List.of("POL", "CHE"), false))
+        .expectNextCount(1)
+        .verifyComplete();
+
+    assertEquals(8, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void shouldAbortItineraryThatExceedsItsBudget() {
+    SearchDeadlines deadlines = new SearchDeadlines(Duration.ofSeconds(10));
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.unlimited();
+    itineraryService = service(limiter, 12, deadlines);
+
+    StepVerifier.create(
+            itineraryService
+                .plan("PRT", List.of("POL", "CHE"), false)
+                .contextWrite(SearchDeadlines.withBudget(Duration.ofNanos(1))))
+        .expectError(SearchTimeoutException.class)
+        .verify();
+
+    assertTrue(deadlines.getTimedOutCount() > 0);
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  private ItineraryService service(ConcurrencyLimiter limiter, int exactThreshold) {
+    return service(limiter, exactThreshold, SearchDeadlines.none());
+  }
+
+  private ItineraryService service(
+      ConcurrencyLimiter limiter, int exactThreshold, SearchDeadlines deadlines) {
+    return new ItineraryService(
+        countryService,
+        routingService,
+        limiter,
+        PriorityLanes.direct(),
+        4,
+        exactThreshold,
+        Duration.ofMillis(100),
+        3,
+        deadlines);
+  }
+}
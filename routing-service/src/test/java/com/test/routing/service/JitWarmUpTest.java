@@ -0,0 +1,91 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.routing.graph.GraphSnapshot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JitWarmUpTest {
+
+  private CountryService countryService;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("CZE", List.of("AUT", "DEU"));
+    borderGraph.put("AUT", List.of("CZE", "ITA"));
+    borderGraph.put("DEU", List.of("CZE"));
+    borderGraph.put("ITA", List.of("AUT"));
+    borderGraph.put("JPN", List.of());
+    countryService = mock(CountryService.class);
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+  }
+
+  @Test
+  void shouldStopOnceCompilationSettles() {
+    // Any compilation counts as settled, so the first round ends the warm-up
+    JitWarmUp warmUp =
+        new JitWarmUp(
+            countryService, new ObjectMapper(), Duration.ofSeconds(30), 50, Duration.ofHours(1), 1);
+
+    JitWarmUp.Report report = warmUp.run();
+
+    assertTrue(report.settled());
+    assertEquals(1, report.rounds());
+    assertEquals(50, report.queries());
+    assertNotNull(report.compilationTime());
+    assertTrue(report.firstRoundNanosPerQuery() > 0);
+    assertEquals(report.firstRoundNanosPerQuery(), report.lastRoundNanosPerQuery());
+    assertSame(report, warmUp.getReport());
+  }
+
+  @Test
+  void shouldStopWhenBudgetRunsOut() {
+    JitWarmUp warmUp =
+        new JitWarmUp(
+            countryService, new ObjectMapper(), Duration.ofMillis(200), 10, Duration.ZERO, 1_000);
+
+    JitWarmUp.Report report = warmUp.run();
+
+    assertFalse(report.settled());
+    assertTrue(report.duration().compareTo(Duration.ofMillis(200)) >= 0);
+    assertTrue(report.duration().compareTo(Duration.ofSeconds(5)) < 0);
+    assertTrue(report.queries() > 0);
+  }
+
+  @Test
+  void shouldExposeReportAsMetrics() {
+    JitWarmUp warmUp =
+        new JitWarmUp(
+            countryService, new ObjectMapper(), Duration.ofSeconds(30), 20, Duration.ofHours(1), 1);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    warmUp.bindTo(registry);
+    assertEquals(0, registry.get("routing.warmup.queries").gauge().value());
+
+    warmUp.run();
+
+    assertEquals(20, registry.get("routing.warmup.queries").gauge().value());
+    assertEquals(1, registry.get("routing.warmup.settled").gauge().value());
+    assertTrue(registry.get("routing.warmup.duration").timeGauge().value() >= 0);
+  }
+
+  @Test
+  void shouldRejectInvalidRounds() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new JitWarmUp(
+                countryService, new ObjectMapper(), Duration.ofSeconds(1), 0, Duration.ZERO, 1));
+  }
+}
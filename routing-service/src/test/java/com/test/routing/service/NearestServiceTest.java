@@ -0,0 +1,131 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.exception.InvalidRequestException;
+import com.test.routing.exception.NoRouteFoundException;
+import com.test.routing.exception.SearchTimeoutException;
+import com.test.routing.exception.ServiceOverloadedException;
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.graph.CountryAttributes;
+import com.test.routing.graph.CountryCodes;
+import com.test.routing.graph.GraphSnapshot;
+
+import reactor.test.StepVerifier;
+
+class NearestServiceTest {
+
+  private CountryService countryService;
+  private NearestService nearestService;
+  private GraphSnapshot graph;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("BOL", List.of("PRY", "PER"));
+    borderGraph.put("PRY", List.of("BOL", "ARG"));
+    borderGraph.put("PER", List.of("BOL"));
+    borderGraph.put("ARG", List.of("PRY"));
+    borderGraph.put("AUS", List.of());
+    CountryCodes table = new CountryCodes();
+    graph = GraphSnapshot.of(borderGraph, 1, table);
+    CountryAttributes attributes =
+        CountryAttributes.builder(table)
+            .add("BOL", true, true, "Americas")
+            .add("PRY", true, true, "Americas")
+            .add("PER", false, true, "Americas")
+            .add("ARG", false, true, "Americas")
+            .add("AUS", false, true, "Oceania")
+            .build();
+
+    countryService = mock(CountryService.class);
+    when(countryService.getSnapshot()).thenReturn(graph);
+    when(countryService.getAttributes()).thenReturn(attributes);
+    nearestService = new NearestService(countryService, ConcurrencyLimiter.unlimited());
+  }
+
+  @Test
+  void shouldRouteToNearestMatchingCountry() {
+    StepVerifier.create(nearestService.nearest("bol", "coastal"))
+        .assertNext(
+            result -> {
+              assertEquals("BOL", result.origin());
+              assertEquals(List.of("BOL", "PER"), result.route());
+              assertEquals(1, result.graphVersion());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldRejectUnknownOrigin() {
+    StepVerifier.create(nearestService.nearest("XXX", "coastal"))
+        .expectError(UnknownCountryException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldRejectUnknownAttribute() {
+    StepVerifier.create(nearestService.nearest("BOL", "eu"))
+        .expectError(InvalidRequestException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldFailWhenNoMatchIsReachable() {
+    StepVerifier.create(nearestService.nearest("BOL", "region:Oceania"))
+        .expectErrorSatisfies(
+            error -> {
+              assertInstanceOf(NoRouteFoundException.class, error);
+              assertTrue(error.getMessage().contains("any country matching region:Oceania"));
+            })
+        .verify();
+  }
+
+  @Test
+  void shouldFailFromDisabledOrigin() {
+    when(countryService.getSnapshot())
+        .thenReturn(graph.disableCountry(graph.idOf("BOL")).current());
+
+    StepVerifier.create(nearestService.nearest("BOL", "landlocked"))
+        .expectError(NoRouteFoundException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldShedSearchesWhenLimitIsReached() {
+    ConcurrencyLimiter limiter =
+        new ConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(1), 0.9, Duration.ofSeconds(1));
+    assertTrue(limiter.tryAcquire());
+    nearestService = new NearestService(countryService, limiter);
+
+    StepVerifier.create(nearestService.nearest("BOL", "coastal"))
+        .expectError(ServiceOverloadedException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldAbortSearchThatExceedsItsBudget() {
+    SearchDeadlines deadlines = new SearchDeadlines(Duration.ofSeconds(10));
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.unlimited();
+    nearestService = new NearestService(countryService, limiter, PriorityLanes.direct(), deadlines);
+
+    StepVerifier.create(
+            nearestService
+                .nearest("BOL", "coastal")
+                .contextWrite(SearchDeadlines.withBudget(Duration.ofNanos(1))))
+        .expectError(SearchTimeoutException.class)
+        .verify();
+
+    assertEquals(1, deadlines.getTimedOutCount());
+    assertEquals(0, limiter.getInFlight());
+  }
+}
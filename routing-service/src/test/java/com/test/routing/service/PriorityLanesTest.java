@@ -0,0 +1,208 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.exception.ServiceOverloadedException;
+import com.test.routing.service.PriorityLanes.Lane;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+class PriorityLanesTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private PriorityLanes lanes;
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    if (lanes != null) {
+      lanes.shutdown();
+    }
+  }
+
+  @Test
+  void shouldRunWorkOnLaneWorkers() {
+    lanes = new PriorityLanes(2, 8, 2, 1, 8, Duration.ofSeconds(1));
+
+    StepVerifier.create(lanes.submit(Lane.INTERACTIVE, () -> Thread.currentThread().getName()))
+        .assertNext(name -> assertTrue(name.startsWith("lane-interactive-"), name))
+        .expectComplete()
+        .verify(TIMEOUT);
+    StepVerifier.create(lanes.submit(Lane.BULK, () -> Thread.currentThread().getName()))
+        .assertNext(name -> assertTrue(name.startsWith("lane-bulk-"), name))
+        .expectComplete()
+        .verify(TIMEOUT);
+    assertEquals(1, lanes.getCompletedCount(Lane.INTERACTIVE));
+    assertEquals(1, lanes.getCompletedCount(Lane.BULK));
+  }
+
+  @Test
+  void shouldPropagateErrorsAndEmptyResults() {
+    lanes = new PriorityLanes(1, 8, 1, 1, 8, Duration.ofSeconds(1));
+
+    StepVerifier.create(
+            lanes.submit(
+                Lane.INTERACTIVE,
+                () -> {
+                  throw new IllegalStateException("boom");
+                }))
+        .expectError(IllegalStateException.class)
+        .verify(TIMEOUT);
+    StepVerifier.create(lanes.submit(Lane.BULK, () -> null)).expectComplete().verify(TIMEOUT);
+  }
+
+  @Test
+  void shouldShedWorkBeyondQueueLimit() throws InterruptedException {
+    lanes = new PriorityLanes(1, 1, 1, 1, 1, Duration.ofSeconds(2));
+    CountDownLatch started = new CountDownLatch(1);
+    lanes.submit(Lane.INTERACTIVE, blocking(started)).subscribe();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    lanes.submit(Lane.INTERACTIVE, () -> "queued").subscribe();
+
+    StepVerifier.create(lanes.submit(Lane.INTERACTIVE, () -> "shed"))
+        .expectErrorSatisfies(
+            error -> {
+              assertInstanceOf(ServiceOverloadedException.class, error);
+              assertEquals(
+                  Duration.ofSeconds(2), ((ServiceOverloadedException) error).getRetryAfter());
+            })
+        .verify(TIMEOUT);
+    assertEquals(1, lanes.getRejectedCount(Lane.INTERACTIVE));
+    assertEquals(0, lanes.getRejectedCount(Lane.BULK));
+  }
+
+  @Test
+  void shouldKeepInteractiveCapacityWhileBulkLaneIsSaturated() throws InterruptedException {
+    lanes = new PriorityLanes(1, 8, 2, 1, 8, Duration.ofSeconds(1));
+    CountDownLatch started = new CountDownLatch(2);
+    lanes.submit(Lane.BULK, blocking(started)).subscribe();
+    lanes.submit(Lane.BULK, blocking(started)).subscribe();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    lanes.submit(Lane.BULK, () -> "queued").subscribe();
+
+    StepVerifier.create(lanes.submit(Lane.INTERACTIVE, () -> "lookup"))
+        .expectNext("lookup")
+        .expectComplete()
+        .verify(TIMEOUT);
+    assertEquals(2, lanes.getRunning(Lane.BULK));
+    assertEquals(1, lanes.getQueued(Lane.BULK));
+  }
+
+  @Test
+  void shouldThrottleBulkWorkWhileInteractiveWorkIsPending() throws InterruptedException {
+    lanes = new PriorityLanes(1, 8, 3, 1, 8, Duration.ofSeconds(1));
+    assertEquals(3, lanes.getLimit(Lane.BULK));
+
+    CountDownLatch interactiveStarted = new CountDownLatch(1);
+    lanes.submit(Lane.INTERACTIVE, blocking(interactiveStarted)).subscribe();
+    assertTrue(interactiveStarted.await(5, TimeUnit.SECONDS));
+    assertEquals(1, lanes.getLimit(Lane.BULK));
+
+    CountDownLatch bulkStarted = new CountDownLatch(1);
+    lanes.submit(Lane.BULK, blocking(bulkStarted)).subscribe();
+    assertTrue(bulkStarted.await(5, TimeUnit.SECONDS));
+    CountDownLatch throttledRan = new CountDownLatch(1);
+    lanes.submit(Lane.BULK, () -> ran(throttledRan)).subscribe();
+    assertEquals(1, lanes.getRunning(Lane.BULK));
+    assertEquals(1, lanes.getQueued(Lane.BULK));
+    assertEquals(1, throttledRan.getCount());
+
+    // Finishing the interactive work lifts the throttle
+    release.countDown();
+    assertTrue(throttledRan.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void shouldRemoveCancelledWorkFromQueue() throws InterruptedException {
+    lanes = new PriorityLanes(1, 8, 1, 1, 8, Duration.ofSeconds(1));
+    CountDownLatch started = new CountDownLatch(1);
+    lanes.submit(Lane.BULK, blocking(started)).subscribe();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    AtomicBoolean ran = new AtomicBoolean();
+    Disposable queued = lanes.submit(Lane.BULK, () -> ran.getAndSet(true)).subscribe();
+    assertEquals(1, lanes.getQueued(Lane.BULK));
+    queued.dispose();
+    assertEquals(0, lanes.getQueued(Lane.BULK));
+
+    release.countDown();
+    StepVerifier.create(lanes.submit(Lane.BULK, () -> "next"))
+        .expectNext("next")
+        .expectComplete()
+        .verify(TIMEOUT);
+    assertFalse(ran.get());
+  }
+
+  @Test
+  void shouldRunDirectlyWhenLanesAreDisabled() {
+    lanes = PriorityLanes.direct();
+    Thread caller = Thread.currentThread();
+
+    StepVerifier.create(lanes.submit(Lane.BULK, Thread::currentThread))
+        .expectNext(caller)
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldRejectInvalidConfiguration() {
+    Duration retryAfter = Duration.ofSeconds(1);
+    assertThrows(
+        IllegalArgumentException.class, () -> new PriorityLanes(0, 8, 1, 1, 8, retryAfter));
+    assertThrows(
+        IllegalArgumentException.class, () -> new PriorityLanes(1, 8, 1, 2, 8, retryAfter));
+    assertThrows(
+        IllegalArgumentException.class, () -> new PriorityLanes(1, -1, 1, 1, 8, retryAfter));
+  }
+
+  @Test
+  void shouldExposeMetricsPerLane() {
+    lanes = new PriorityLanes(2, 8, 1, 1, 8, Duration.ofSeconds(1));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    lanes.bindTo(registry);
+
+    StepVerifier.create(lanes.submit(Lane.INTERACTIVE, () -> "lookup"))
+        .expectNext("lookup")
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    assertEquals(2, registry.get("routing.lane.limit").tag("lane", "interactive").gauge().value());
+    assertEquals(1, registry.get("routing.lane.limit").tag("lane", "bulk").gauge().value());
+    assertEquals(
+        1,
+        registry
+            .get("routing.lane.completed")
+            .tag("lane", "interactive")
+            .functionCounter()
+            .count());
+    assertEquals(1, registry.get("routing.lane.wait").tag("lane", "interactive").timer().count());
+    assertEquals(0, registry.get("routing.lane.wait").tag("lane", "bulk").timer().count());
+    assertEquals(
+        0, registry.get("routing.lane.rejected").tag("lane", "bulk").functionCounter().count());
+  }
+
+  private static Object ran(CountDownLatch latch) {
+    latch.countDown();
+    return null;
+  }
+
+  private <T> Callable<T> blocking(CountDownLatch started) {
+    return () -> {
+      started.countDown();
+      release.await();
+      return null;
+    };
+  }
+}
@@ -0,0 +1,142 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.exception.InvalidRequestException;
+import com.test.routing.exception.SearchTimeoutException;
+import com.test.routing.exception.ServiceOverloadedException;
+import com.test.routing.exception.UnknownCountryException;
+import com.test.routing.graph.GraphSnapshot;
+
+import reactor.test.StepVerifier;
+
+class ReachabilityServiceTest {
+
+  private CountryService countryService;
+  private ReachabilityService reachabilityService;
+  private GraphSnapshot graph;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("CZE", List.of("AUT", "DEU"));
+    borderGraph.put("AUT", List.of("CZE", "ITA"));
+    borderGraph.put("DEU", List.of("CZE"));
+    borderGraph.put("ITA", List.of("AUT"));
+    graph = GraphSnapshot.of(borderGraph);
+
+    countryService = mock(CountryService.class);
+    when(countryService.getSnapshot()).thenReturn(graph);
+    reachabilityService =
+        new ReachabilityService(countryService, ConcurrencyLimiter.unlimited(), 4096);
+  }
+
+  @Test
+  void shouldFindCountriesWithinHops() {
+    StepVerifier.create(reachabilityService.reachableWithin("CZE", 2, false))
+        .assertNext(
+            result -> {
+              assertEquals(List.of("AUT", "DEU"), result.countries(0));
+              assertEquals(List.of("ITA"), result.countries(1));
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldRejectUnknownOrigin() {
+    StepVerifier.create(reachabilityService.reachableWithin("XXX", 2, false))
+        .expectError(UnknownCountryException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldRejectNegativeHops() {
+    StepVerifier.create(reachabilityService.reachableWithin("CZE", -1, false))
+        .expectError(InvalidRequestException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldReachNothingFromDisabledOrigin() {
+    when(countryService.getSnapshot())
+        .thenReturn(graph.disableCountry(graph.idOf("CZE")).current());
+
+    StepVerifier.create(reachabilityService.reachableWithin("CZE", 2, true))
+        .assertNext(result -> assertEquals(0, result.total()))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldShedSearchesWhenLimitIsReached() {
+    ConcurrencyLimiter limiter =
+        new ConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(1), 0.9, Duration.ofSeconds(1));
+    assertTrue(limiter.tryAcquire());
+    reachabilityService = new ReachabilityService(countryService, limiter, 4096);
+
+    StepVerifier.create(reachabilityService.reachableWithin("CZE", 2, false))
+        .expectError(ServiceOverloadedException.class)
+        .verify();
+  }
+
+  @Test
+  void shouldNotFeedBulkLatencyIntoAdmissionLimit() {
+    // Every completed sample is above a zero threshold and would halve the limit
+    ConcurrencyLimiter limiter =
+        new ConcurrencyLimiter(8, 1, 8, Duration.ZERO, 0.5, Duration.ofSeconds(1));
+    reachabilityService = new ReachabilityService(countryService, limiter, 4096);
+
+    StepVerifier.create(reachabilityService.reachableWithin("CZE", 2, false))
+        .expectNextCount(1)
+        .verifyComplete();
+
+    assertEquals(8, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void shouldSearchInBulkLane() {
+    PriorityLanes lanes = new PriorityLanes(1, 8, 1, 1, 8, Duration.ofSeconds(1));
+    reachabilityService =
+        new ReachabilityService(
+            countryService, ConcurrencyLimiter.unlimited(), 4096, lanes, SearchDeadlines.none());
+
+    try {
+      StepVerifier.create(reachabilityService.reachableWithin("CZE", 1, true))
+          .assertNext(result -> assertEquals(2, result.total()))
+          .expectComplete()
+          .verify(Duration.ofSeconds(5));
+
+      assertEquals(1, lanes.getCompletedCount(PriorityLanes.Lane.BULK));
+      assertEquals(0, lanes.getCompletedCount(PriorityLanes.Lane.INTERACTIVE));
+    } finally {
+      lanes.shutdown();
+    }
+  }
+
+  @Test
+  void shouldAbortSearchThatExceedsItsBudget() {
+    SearchDeadlines deadlines = new SearchDeadlines(Duration.ofSeconds(10));
+    ConcurrencyLimiter limiter = ConcurrencyLimiter.unlimited();
+    reachabilityService =
+        new ReachabilityService(countryService, limiter, 4096, PriorityLanes.direct(), deadlines);
+
+    StepVerifier.create(
+            reachabilityService
+                .reachableWithin("CZE", 2, false)
+                .contextWrite(SearchDeadlines.withBudget(Duration.ofNanos(1))))
+        .expectError(SearchTimeoutException.class)
+        .verify();
+
+    assertEquals(1, deadlines.getTimedOutCount());
+    assertEquals(0, limiter.getInFlight());
+  }
+}
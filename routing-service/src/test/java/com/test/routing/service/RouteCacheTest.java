@@ -0,0 +1,177 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.graph.GraphChange;
+import com.test.routing.graph.GraphSnapshot;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RouteCacheTest {
+
+  @Test
+  void shouldReturnNullForUnknownPair() {
+    RouteCache cache = new RouteCache(10);
+
+    assertNull(cache.get("CZE", "ITA"));
+  }
+
+  @Test
+  void shouldReturnCachedRoute() {
+    RouteCache cache = new RouteCache(10);
+    cache.put(1, "CZE", "ITA", List.of("CZE", "AUT", "ITA"));
+
+    assertEquals(List.of("CZE", "AUT", "ITA"), cache.get("CZE", "ITA"));
+    assertNull(cache.get("ITA", "CZE"));
+  }
+
+  @Test
+  void shouldCacheEmptyRoutes() {
+    RouteCache cache = new RouteCache(10);
+    cache.put(1, "USA", "JPN", List.of());
+
+    assertEquals(List.of(), cache.get("USA", "JPN"));
+  }
+
+  @Test
+  void shouldReportContainedPairsWithoutCountingLookups() {
+    RouteCache cache = new RouteCache(10);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    cache.bindTo(registry);
+    cache.put(1, "CZE", "ITA", List.of("CZE", "AUT", "ITA"));
+
+    assertTrue(cache.contains("CZE", "ITA"));
+    assertFalse(cache.contains("ITA", "CZE"));
+    assertEquals(0.0, registry.get("routing.cache.hits").functionCounter().count());
+    assertEquals(0.0, registry.get("routing.cache.misses").functionCounter().count());
+  }
+
+  @Test
+  void shouldStoreImmutableCopy() {
+    RouteCache cache = new RouteCache(10);
+    List<String> route = new ArrayList<>(List.of("CZE", "AUT"));
+    cache.put(1, "CZE", "AUT", route);
+    route.add("ITA");
+
+    assertEquals(2, cache.get("CZE", "AUT").size());
+    assertThrows(UnsupportedOperationException.class, () -> cache.get("CZE", "AUT").add("X"));
+  }
+
+  @Test
+  void shouldStayWithinMaxSize() {
+    RouteCache cache = new RouteCache(3);
+    for (int i = 0; i < 10; i++) {
+      cache.put(1, "O" + i, "D", List.of("O" + i, "D"));
+    }
+
+    assertEquals(3, cache.size());
+  }
+
+  @Test
+  void shouldNotCacheWhenDisabled() {
+    RouteCache cache = new RouteCache(0);
+    cache.put(1, "CZE", "AUT", List.of("CZE", "AUT"));
+
+    assertNull(cache.get("CZE", "AUT"));
+  }
+
+  @Test
+  void shouldCountHitsAndMisses() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    RouteCache cache = new RouteCache(10);
+    cache.bindTo(registry);
+
+    cache.get("CZE", "AUT");
+    cache.put(1, "CZE", "AUT", List.of("CZE", "AUT"));
+    cache.get("CZE", "AUT");
+    cache.get("CZE", "AUT");
+
+    assertEquals(2.0, registry.get("routing.cache.hits").functionCounter().count());
+    assertEquals(1.0, registry.get("routing.cache.misses").functionCounter().count());
+    assertEquals(1.0, registry.get("routing.cache.size").gauge().value());
+  }
+
+  @Test
+  void shouldClearEverythingOnReload() {
+    RouteCache cache = new RouteCache(10);
+    GraphSnapshot graph = GraphSnapshot.of(Map.of("CZE", List.of("AUT"), "AUT", List.of("CZE")));
+    cache.put(1, "CZE", "AUT", List.of("CZE", "AUT"));
+
+    cache.invalidate(GraphChange.reload(graph, GraphSnapshot.of(Map.of(), 2)));
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void shouldOnlyDropRoutesCrossingRemovedBorder() {
+    GraphSnapshot graph = GraphSnapshot.of(chain());
+    RouteCache cache = new RouteCache(10);
+    cache.put(1, "A", "C", List.of("A", "B", "C"));
+    cache.put(1, "C", "D", List.of("C", "D"));
+
+    cache.invalidate(graph.removeBorder(graph.idOf("B"), graph.idOf("C")));
+
+    assertNull(cache.get("A", "C"));
+    assertEquals(List.of("C", "D"), cache.get("C", "D"));
+  }
+
+  @Test
+  void shouldOnlyDropRoutesThroughDisabledCountry() {
+    GraphSnapshot graph = GraphSnapshot.of(chain());
+    RouteCache cache = new RouteCache(10);
+    cache.put(1, "A", "C", List.of("A", "B", "C"));
+    cache.put(1, "C", "D", List.of("C", "D"));
+
+    cache.invalidate(graph.disableCountry(graph.idOf("B")));
+
+    assertNull(cache.get("A", "C"));
+    assertEquals(List.of("C", "D"), cache.get("C", "D"));
+  }
+
+  @Test
+  void shouldDropRoutesWithinComponentsJoinedByNewBorder() {
+    Map<String, List<String>> borderGraph = chain();
+    borderGraph.put("X", List.of("Y"));
+    borderGraph.put("Y", List.of("X"));
+    borderGraph.put("P", List.of("Q"));
+    borderGraph.put("Q", List.of("P"));
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+    RouteCache cache = new RouteCache(10);
+    cache.put(1, "A", "D", List.of("A", "B", "C", "D"));
+    cache.put(1, "A", "Y", List.of());
+    cache.put(1, "P", "Q", List.of("P", "Q"));
+
+    cache.invalidate(graph.addBorder(graph.idOf("D"), graph.idOf("X")));
+
+    assertNull(cache.get("A", "D"));
+    assertNull(cache.get("A", "Y"));
+    assertEquals(List.of("P", "Q"), cache.get("P", "Q"));
+  }
+
+  @Test
+  void shouldNotStoreRoutesComputedOnOutdatedVersion() {
+    GraphSnapshot graph = GraphSnapshot.of(chain());
+    RouteCache cache = new RouteCache(10);
+    cache.invalidate(graph.removeBorder(graph.idOf("A"), graph.idOf("B")));
+
+    cache.put(1, "A", "C", List.of("A", "B", "C"));
+
+    assertNull(cache.get("A", "C"));
+  }
+
+  private static Map<String, List<String>> chain() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B"));
+    borderGraph.put("B", List.of("A", "C"));
+    borderGraph.put("C", List.of("B", "D"));
+    borderGraph.put("D", List.of("C"));
+    return borderGraph;
+  }
+}
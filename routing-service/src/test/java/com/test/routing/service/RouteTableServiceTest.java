@@ -0,0 +1,134 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.test.routing.graph.GraphChange;
+import com.test.routing.graph.GraphSnapshot;
+import com.test.routing.graph.RouteTable;
+
+class RouteTableServiceTest {
+
+  private static final Duration RETENTION = Duration.ofHours(1);
+
+  @TempDir Path directory;
+
+  private CountryService countryService;
+  private GraphSnapshot graph;
+  private RouteTableService routeTableService;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B"));
+    borderGraph.put("B", List.of("A", "C"));
+    borderGraph.put("C", List.of("B"));
+    graph = GraphSnapshot.of(borderGraph);
+    countryService = mock(CountryService.class);
+    when(countryService.getSnapshot()).thenReturn(graph);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (routeTableService != null) {
+      routeTableService.shutdown();
+    }
+  }
+
+  @Test
+  void shouldProvideTableOfCurrentSnapshotAfterStart() throws InterruptedException {
+    routeTableService = new RouteTableService(countryService, directory, 2, RETENTION);
+    routeTableService.start();
+
+    RouteTable table = awaitTable(graph);
+
+    assertTrue(table.file().startsWith(directory));
+    assertArrayEquals(new int[] {0, 1, 2}, table.route(0, 2));
+  }
+
+  @Test
+  void shouldNotServeTableOfPreviousSnapshot() throws InterruptedException {
+    routeTableService = new RouteTableService(countryService, directory, 2, RETENTION);
+    routeTableService.start();
+    awaitTable(graph);
+
+    GraphChange change = graph.addBorder(graph.idOf("A"), graph.idOf("C"));
+    when(countryService.getSnapshot()).thenReturn(change.current());
+    assertNull(routeTableService.tableFor(change.current()));
+    routeTableService.onGraphChange(change);
+
+    assertArrayEquals(new int[] {0, 2}, awaitTable(change.current()).route(0, 2));
+  }
+
+  @Test
+  void shouldDeleteOnlyTablesUnusedForRetention() throws Exception {
+    Path expired = Files.createFile(directory.resolve("route-table-00000000000000aa.bin"));
+    Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+    Path recent = Files.createFile(directory.resolve("route-table-00000000000000bb.bin"));
+    routeTableService = new RouteTableService(countryService, directory, 2, RETENTION);
+    routeTableService.start();
+    RouteTable previous = awaitTable(graph);
+
+    GraphChange change = graph.addBorder(graph.idOf("A"), graph.idOf("C"));
+    when(countryService.getSnapshot()).thenReturn(change.current());
+    routeTableService.onGraphChange(change);
+    RouteTable current = awaitTable(change.current());
+
+    assertFalse(Files.exists(expired));
+    // Written or mapped within the retention, possibly by another instance on the host
+    assertTrue(Files.exists(recent));
+    assertTrue(Files.exists(previous.file()));
+    assertTrue(Files.exists(current.file()));
+  }
+
+  @Test
+  void shouldRefreshModificationTimeOfMappedTable() throws Exception {
+    routeTableService = new RouteTableService(countryService, directory, 2, RETENTION);
+    routeTableService.start();
+    Path file = awaitTable(graph).file();
+    routeTableService.shutdown();
+    Instant old = Instant.now().minus(Duration.ofHours(2));
+    Files.setLastModifiedTime(file, FileTime.from(old));
+
+    // Another instance on the host maps the existing file
+    routeTableService = new RouteTableService(countryService, directory, 2, RETENTION);
+    routeTableService.start();
+    awaitTable(graph);
+
+    assertTrue(Files.getLastModifiedTime(file).toInstant().isAfter(old));
+  }
+
+  @Test
+  void shouldNeverProvideTablesWhenDisabled() throws InterruptedException {
+    routeTableService = new RouteTableService(countryService, null, 2, RETENTION);
+    routeTableService.start();
+    Thread.sleep(100);
+
+    assertNull(routeTableService.tableFor(graph));
+  }
+
+  private RouteTable awaitTable(GraphSnapshot snapshot) throws InterruptedException {
+    for (int i = 0; i < 500; i++) {
+      RouteTable table = routeTableService.tableFor(snapshot);
+      if (table != null) {
+        return table;
+      }
+      Thread.sleep(10);
+    }
+    return fail("No route table for graph version " + snapshot.version());
+  }
+}
@@ -0,0 +1,713 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.test.routing.exception.SearchTimeoutException;
+import com.test.routing.exception.ServiceOverloadedException;
+import com.test.routing.graph.GraphChange;
+import com.test.routing.graph.GraphSnapshot;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class RoutingServiceTest {
+
+  private RoutingService routingService;
+  private CountryService countryService;
+
+  @BeforeEach
+  void setUp() {
+    countryService = mock(CountryService.class);
+    routingService = new RoutingService(countryService);
+  }
+
+  @Test
+  void shouldFindDirectRoute() {
+    // Setup mock data: CZE -> AUT
+    Map<String, List<String>> borderGraph = new HashMap<>();
+    borderGraph.put("CZE", List.of("AUT", "DEU", "POL", "SVK"));
+    borderGraph.put("AUT", List.of("CZE", "DEU", "ITA", "CHE"));
+
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    Mono<List<String>> result = routingService.calculateRoute("CZE", "AUT");
+
+    StepVerifier.create(result)
+        .assertNext(
+            route -> {
+              assertEquals(2, route.size());
+              assertEquals("CZE", route.get(0));
+              assertEquals("AUT", route.get(1));
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldFindMultiHopRoute() {
+    // Setup mock data: CZE -> AUT -> ITA
+    Map<String, List<String>> borderGraph = new HashMap<>();
+    borderGraph.put("CZE", List.of("AUT", "DEU", "POL", "SVK"));
+    borderGraph.put("AUT", List.of("CZE", "DEU", "ITA", "CHE"));
+    borderGraph.put("ITA", List.of("AUT", "FRA", "SVN", "CHE"));
+
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    Mono<List<String>> result = routingService.calculateRoute("CZE", "ITA");
+
+    StepVerifier.create(result)
+        .assertNext(
+            route -> {
+              assertEquals(3, route.size());
+              assertEquals("CZE", route.get(0));
+              assertEquals("AUT", route.get(1));
+              assertEquals("ITA", route.get(2));
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldReturnEmptyListWhenNoRouteExists() {
+    // Setup mock data: CZE and JPN (no connection)
+    Map<String, List<String>> borderGraph = new HashMap<>();
+    borderGraph.put("CZE", List.of("AUT", "DEU", "POL", "SVK"));
+    borderGraph.put("JPN", Collections.emptyList());
+
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    Mono<List<String>> result = routingService.calculateRoute("CZE", "JPN");
+
+    StepVerifier.create(result).assertNext(route -> assertTrue(route.isEmpty())).verifyComplete();
+  }
+
+  @Test
+  void shouldReturnEmptyListWhenOriginDoesNotExist() {
+    Map<String, List<String>> borderGraph = new HashMap<>();
+    borderGraph.put("CZE", List.of("AUT"));
+
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    Mono<List<String>> result = routingService.calculateRoute("XXX", "CZE");
+
+    StepVerifier.create(result).assertNext(route -> assertTrue(route.isEmpty())).verifyComplete();
+  }
+
+  @Test
+  void shouldReturnEmptyListWhenDestinationDoesNotExist() {
+    Map<String, List<String>> borderGraph = new HashMap<>();
+    borderGraph.put("CZE", List.of("AUT"));
+
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    Mono<List<String>> result = routingService.calculateRoute("CZE", "XXX");
+
+    StepVerifier.create(result).assertNext(route -> assertTrue(route.isEmpty())).verifyComplete();
+  }
+
+  @Test
+  void shouldHandleSameOriginAndDestination() {
+    Map<String, List<String>> borderGraph = new HashMap<>();
+    borderGraph.put("CZE", List.of("AUT"));
+
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    Mono<List<String>> result = routingService.calculateRoute("CZE", "CZE");
+
+    StepVerifier.create(result)
+        .assertNext(
+            route -> {
+              assertEquals(1, route.size());
+              assertEquals("CZE", route.get(0));
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldFindShortestPath() {
+    // Setup: Multiple paths exist, should find shortest
+    // CZE -> DEU -> FRA (2 hops)
+    // CZE -> AUT -> ITA -> FRA (3 hops)
+    Map<String, List<String>> borderGraph = new HashMap<>();
+    borderGraph.put("CZE", List.of("AUT", "DEU"));
+    borderGraph.put("DEU", List.of("CZE", "FRA"));
+    borderGraph.put("AUT", List.of("CZE", "ITA"));
+    borderGraph.put("ITA", List.of("AUT", "FRA"));
+    borderGraph.put("FRA", List.of("DEU", "ITA"));
+
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    Mono<List<String>> result = routingService.calculateRoute("CZE", "FRA");
+
+    StepVerifier.create(result)
+        .assertNext(
+            route -> {
+              assertEquals(3, route.size());
+              assertEquals("CZE", route.get(0));
+              assertEquals("DEU", route.get(1));
+              assertEquals("FRA", route.get(2));
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldHandleLongRoute() {
+    // Setup: A -> B -> C -> D -> E
+    Map<String, List<String>> borderGraph = new HashMap<>();
+    borderGraph.put("A", List.of("B"));
+    borderGraph.put("B", List.of("A", "C"));
+    borderGraph.put("C", List.of("B", "D"));
+    borderGraph.put("D", List.of("C", "E"));
+    borderGraph.put("E", List.of("D"));
+
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    Mono<List<String>> result = routingService.calculateRoute("A", "E");
+
+    StepVerifier.create(result)
+        .assertNext(
+            route -> {
+              assertEquals(5, route.size());
+              assertEquals(List.of("A", "B", "C", "D", "E"), route);
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldHandleComplexGraph() {
+    // Complex graph with multiple connections
+    Map<String, List<String>> borderGraph = new HashMap<>();
+    borderGraph.put("CZE", List.of("AUT", "DEU", "POL", "SVK"));
+    borderGraph.put("AUT", List.of("CZE", "DEU", "ITA", "SVN", "CHE", "HUN", "SVK"));
+    borderGraph.put("DEU", List.of("CZE", "AUT", "POL", "CHE", "FRA"));
+    borderGraph.put("ITA", List.of("AUT", "FRA", "SVN", "CHE"));
+    borderGraph.put("FRA", List.of("DEU", "ITA", "CHE"));
+    borderGraph.put("CHE", List.of("AUT", "DEU", "ITA", "FRA"));
+    borderGraph.put("POL", List.of("CZE", "DEU"));
+    borderGraph.put("SVK", List.of("CZE", "AUT"));
+    borderGraph.put("SVN", List.of("AUT", "ITA"));
+    borderGraph.put("HUN", List.of("AUT"));
+
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    Mono<List<String>> result = routingService.calculateRoute("CZE", "ITA");
+
+    StepVerifier.create(result)
+        .assertNext(
+            route -> {
+              assertEquals(3, route.size());
+              assertEquals("CZE", route.get(0));
+              assertEquals("AUT", route.get(1));
+              assertEquals("ITA", route.get(2));
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldHandleEmptyBordersList() {
+    Map<String, List<String>> borderGraph = new HashMap<>();
+    borderGraph.put("CZE", Collections.emptyList());
+    borderGraph.put("AUT", Collections.emptyList());
+
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    Mono<List<String>> result = routingService.calculateRoute("CZE", "AUT");
+
+    StepVerifier.create(result).assertNext(route -> assertTrue(route.isEmpty())).verifyComplete();
+  }
+
+  @Test
+  void shouldServeRepeatedQueriesFromCache() {
+    Map<String, List<String>> borderGraph = new HashMap<>();
+    borderGraph.put("CZE", List.of("AUT"));
+    borderGraph.put("AUT", List.of("CZE"));
+
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    StepVerifier.create(routingService.calculateRoute("CZE", "AUT"))
+        .expectNext(List.of("CZE", "AUT"))
+        .verifyComplete();
+    StepVerifier.create(routingService.calculateRoute("CZE", "AUT"))
+        .expectNext(List.of("CZE", "AUT"))
+        .verifyComplete();
+
+    verify(countryService, times(1)).getSnapshot();
+  }
+
+  @Test
+  void shouldShedRequestsWhenConcurrencyLimitIsReached() {
+    ConcurrencyLimiter limiter =
+        new ConcurrencyLimiter(1, 1, 1, Duration.ofMillis(50), 0.5, Duration.ofSeconds(3));
+    routingService =
+        RoutingService.builder(countryService)
+            .routeCache(new RouteCache(100))
+            .concurrencyLimiter(limiter)
+            .build();
+    assertTrue(limiter.tryAcquire());
+
+    StepVerifier.create(routingService.calculateRoute("CZE", "AUT"))
+        .expectErrorSatisfies(
+            error -> {
+              assertInstanceOf(ServiceOverloadedException.class, error);
+              assertEquals(
+                  "3", ((ServiceOverloadedException) error).getHeaders().getFirst("Retry-After"));
+            })
+        .verify();
+
+    verify(countryService, never()).getSnapshot();
+  }
+
+  @Test
+  void shouldAdmitCacheHitsWhenConcurrencyLimitIsReached() {
+    ConcurrencyLimiter limiter =
+        new ConcurrencyLimiter(1, 1, 1, Duration.ofMillis(50), 0.5, Duration.ofSeconds(1));
+    RouteCache routeCache = new RouteCache(100);
+    routeCache.put(1, "CZE", "AUT", List.of("CZE", "AUT"));
+    routingService =
+        RoutingService.builder(countryService)
+            .routeCache(routeCache)
+            .concurrencyLimiter(limiter)
+            .build();
+    assertTrue(limiter.tryAcquire());
+
+    StepVerifier.create(routingService.calculateRoute("CZE", "AUT"))
+        .expectNext(List.of("CZE", "AUT"))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldReleaseAdmissionSlotAfterSearch() {
+    ConcurrencyLimiter limiter =
+        new ConcurrencyLimiter(1, 1, 1, Duration.ofMillis(50), 0.5, Duration.ofSeconds(1));
+    routingService =
+        RoutingService.builder(countryService)
+            .routeCache(new RouteCache(100))
+            .concurrencyLimiter(limiter)
+            .build();
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(Map.of("CZE", List.of())));
+
+    StepVerifier.create(routingService.calculateRoute("CZE", "CZE"))
+        .expectNext(List.of("CZE"))
+        .verifyComplete();
+
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void shouldRejectPairsInDifferentComponentsWithoutSearching() {
+    Map<String, List<String>> borderGraph = new HashMap<>();
+    borderGraph.put("FRA", List.of("ESP"));
+    borderGraph.put("ESP", List.of("FRA"));
+    borderGraph.put("USA", List.of("CAN"));
+    borderGraph.put("CAN", List.of("USA"));
+
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    StepVerifier.create(routingService.calculateRoute("FRA", "CAN"))
+        .assertNext(route -> assertTrue(route.isEmpty()))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldNotRouteThroughDisabledCountry() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B", "C"));
+    borderGraph.put("B", List.of("A", "D"));
+    borderGraph.put("C", List.of("A", "E"));
+    borderGraph.put("E", List.of("C", "D"));
+    borderGraph.put("D", List.of("B", "E"));
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+    GraphSnapshot withoutB = graph.disableCountry(graph.idOf("B")).current();
+
+    when(countryService.getSnapshot()).thenReturn(withoutB);
+
+    StepVerifier.create(routingService.calculateRoute("A", "D"))
+        .expectNext(List.of("A", "C", "E", "D"))
+        .verifyComplete();
+    StepVerifier.create(routingService.calculateRoute("A", "B"))
+        .assertNext(route -> assertTrue(route.isEmpty()))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldRecomputeRouteInvalidatedByGraphChange() {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B"));
+    borderGraph.put("B", List.of("A", "C"));
+    borderGraph.put("C", List.of("B"));
+    borderGraph.put("D", List.of());
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+    when(countryService.getSnapshot()).thenReturn(graph);
+
+    StepVerifier.create(routingService.calculateRoute("A", "C"))
+        .expectNext(List.of("A", "B", "C"))
+        .verifyComplete();
+
+    GraphChange change = graph.addBorder(graph.idOf("A"), graph.idOf("C"));
+    when(countryService.getSnapshot()).thenReturn(change.current());
+    routingService.onGraphChange(change);
+
+    StepVerifier.create(routingService.calculateRoute("A", "C"))
+        .expectNext(List.of("A", "C"))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldRecordRouteComputationEvents(@TempDir Path directory) throws Exception {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("A", List.of("B"));
+    borderGraph.put("B", List.of("A", "C"));
+    borderGraph.put("C", List.of("B"));
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    Path file = directory.resolve("routing.jfr");
+    try (Reader settings =
+            new InputStreamReader(
+                getClass().getResourceAsStream("/jfr/routing.jfc"), StandardCharsets.UTF_8);
+        Recording recording = new Recording(Configuration.create(settings))) {
+      recording.start();
+      routingService.calculateRoute("A", "C").block();
+      routingService.calculateRoute("A", "C").block();
+      recording.stop();
+      recording.dump(file);
+    }
+
+    List<RecordedEvent> events =
+        RecordingFile.readAllEvents(file).stream()
+            .filter(e -> e.getEventType().getName().equals("com.test.routing.RouteComputation"))
+            .toList();
+    assertEquals(2, events.size());
+
+    RecordedEvent miss = events.get(0);
+    assertEquals("A", miss.getString("origin"));
+    assertEquals("C", miss.getString("destination"));
+    assertEquals("miss", miss.getString("cacheOutcome"));
+    assertEquals("bfs", miss.getString("engine"));
+    assertEquals(2, miss.getInt("nodesExpanded"));
+    assertEquals(3, miss.getInt("routeLength"));
+
+    RecordedEvent hit = events.get(1);
+    assertEquals("hit", hit.getString("cacheOutcome"));
+    assertEquals("cache", hit.getString("engine"));
+    assertEquals(3, hit.getInt("routeLength"));
+  }
+
+  @Test
+  void shouldAnswerFromRouteTableWithSameRoutes(@TempDir Path directory) throws Exception {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    Random random = new Random(3);
+    for (int i = 0; i < 40; i++) {
+      borderGraph.put("C" + i, new ArrayList<>());
+    }
+    for (int i = 0; i < 60; i++) {
+      String a = "C" + random.nextInt(40);
+      String b = "C" + random.nextInt(40);
+      if (!a.equals(b) && !borderGraph.get(a).contains(b)) {
+        borderGraph.get(a).add(b);
+        borderGraph.get(b).add(a);
+      }
+    }
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph);
+    when(countryService.getSnapshot()).thenReturn(graph);
+    RouteTableService routeTables =
+        new RouteTableService(countryService, directory, 2, Duration.ofHours(1));
+    RoutingService tableRouting =
+        RoutingService.builder(countryService)
+            .routeCache(new RouteCache(0))
+            .routeTables(routeTables)
+            .build();
+    routeTables.start();
+    for (int i = 0; i < 500 && routeTables.tableFor(graph) == null; i++) {
+      Thread.sleep(10);
+    }
+    assertNotNull(routeTables.tableFor(graph));
+
+    try {
+      for (String origin : borderGraph.keySet()) {
+        for (String destination : borderGraph.keySet()) {
+          assertEquals(
+              routingService.calculateRoute(origin, destination).block(),
+              tableRouting.calculateRoute(origin, destination).block());
+        }
+      }
+    } finally {
+      routeTables.shutdown();
+    }
+  }
+
+  @Test
+  void shouldSearchInInteractiveLaneAndReleaseAdmissionSlot() {
+    PriorityLanes lanes = new PriorityLanes(1, 8, 1, 1, 8, Duration.ofSeconds(1));
+    ConcurrencyLimiter limiter =
+        new ConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(1), 0.5, Duration.ofSeconds(1));
+    routingService =
+        RoutingService.builder(countryService)
+            .routeCache(new RouteCache(100))
+            .concurrencyLimiter(limiter)
+            .lanes(lanes)
+            .build();
+    when(countryService.getSnapshot())
+        .thenReturn(GraphSnapshot.of(Map.of("CZE", List.of("AUT"), "AUT", List.of("CZE"))));
+
+    try {
+      StepVerifier.create(routingService.calculateRoute("CZE", "AUT"))
+          .expectNext(List.of("CZE", "AUT"))
+          .expectComplete()
+          .verify(Duration.ofSeconds(5));
+
+      assertEquals(1, lanes.getCompletedCount(PriorityLanes.Lane.INTERACTIVE));
+      assertEquals(0, lanes.getCompletedCount(PriorityLanes.Lane.BULK));
+      assertEquals(0, limiter.getInFlight());
+    } finally {
+      lanes.shutdown();
+    }
+  }
+
+  @Test
+  void shouldAbortSearchThatExceedsItsBudget() {
+    SearchDeadlines deadlines = new SearchDeadlines(Duration.ofSeconds(10));
+    RouteCache routeCache = new RouteCache(100);
+    ConcurrencyLimiter limiter =
+        new ConcurrencyLimiter(4, 1, 4, Duration.ofSeconds(1), 0.5, Duration.ofSeconds(1));
+    routingService =
+        RoutingService.builder(countryService)
+            .routeCache(routeCache)
+            .concurrencyLimiter(limiter)
+            .deadlines(deadlines)
+            .build();
+    when(countryService.getSnapshot()).thenReturn(chain(1000));
+
+    StepVerifier.create(
+            routingService
+                .calculateRoute("C0", "C999")
+                .contextWrite(SearchDeadlines.withBudget(Duration.ofNanos(1))))
+        .expectError(SearchTimeoutException.class)
+        .verify();
+
+    assertEquals(1, deadlines.getTimedOutCount());
+    assertNull(routeCache.get("C0", "C999"), "Aborted searches are not cached");
+    assertEquals(0, limiter.getInFlight());
+    StepVerifier.create(routingService.calculateRoute("C0", "C999"))
+        .assertNext(route -> assertEquals(1000, route.size()))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldStopSearchWhoseSubscriberCancelled() throws InterruptedException {
+    PriorityLanes lanes = new PriorityLanes(1, 8, 1, 1, 8, Duration.ofSeconds(1));
+    SearchDeadlines deadlines = SearchDeadlines.none();
+    RouteCache routeCache = new RouteCache(100);
+    routingService =
+        RoutingService.builder(countryService)
+            .routeCache(routeCache)
+            .lanes(lanes)
+            .deadlines(deadlines)
+            .build();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch disposed = new CountDownLatch(1);
+    GraphSnapshot graph = chain(1000);
+    when(countryService.getSnapshot())
+        .thenAnswer(
+            invocation -> {
+              // Holds the search on the lane worker until the subscriber has gone away
+              started.countDown();
+              disposed.await(5, TimeUnit.SECONDS);
+              return graph;
+            });
+
+    try {
+      Disposable request = routingService.calculateRoute("C0", "C999").subscribe();
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      request.dispose();
+      disposed.countDown();
+
+      long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (lanes.getCompletedCount(PriorityLanes.Lane.INTERACTIVE) == 0
+          && System.nanoTime() < waitUntil) {
+        Thread.sleep(10);
+      }
+      assertEquals(1, deadlines.getCancelledCount());
+      assertEquals(0, deadlines.getTimedOutCount());
+      assertNull(routeCache.get("C0", "C999"));
+    } finally {
+      lanes.shutdown();
+    }
+  }
+
+  @Test
+  void shouldExplainBfsSearchLevelByLevel() {
+    // CZE -> {AUT, DEU} -> {ITA, FRA} -> ESP
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    borderGraph.put("CZE", List.of("AUT", "DEU"));
+    borderGraph.put("AUT", List.of("CZE", "ITA"));
+    borderGraph.put("DEU", List.of("CZE", "FRA"));
+    borderGraph.put("ITA", List.of("AUT", "FRA"));
+    borderGraph.put("FRA", List.of("DEU", "ITA", "ESP"));
+    borderGraph.put("ESP", List.of("FRA"));
+    GraphSnapshot graph = GraphSnapshot.of(borderGraph, 7);
+    when(countryService.getSnapshot()).thenReturn(graph);
+
+    StepVerifier.create(routingService.explainRoute("CZE", "ESP"))
+        .assertNext(
+            explanation -> {
+              assertEquals(List.of("CZE", "DEU", "FRA", "ESP"), explanation.route());
+              assertEquals(RoutingService.ENGINE_BFS, explanation.engine());
+              assertEquals(7, explanation.graphVersion());
+              assertEquals(List.of(1, 2, 2), explanation.frontierSizes());
+              assertEquals(5, explanation.nodesExpanded());
+              assertTrue(explanation.searchNanos() > 0);
+              assertTrue(explanation.reconstructionNanos() > 0);
+            })
+        .verifyComplete();
+
+    // The search filled the cache like a plain route request
+    StepVerifier.create(routingService.explainRoute("CZE", "ESP"))
+        .assertNext(
+            explanation -> {
+              assertEquals(RoutingService.ENGINE_CACHE, explanation.engine());
+              assertEquals(7, explanation.graphVersion());
+              assertEquals(List.of("CZE", "DEU", "FRA", "ESP"), explanation.route());
+              assertTrue(explanation.frontierSizes().isEmpty());
+              assertEquals(0, explanation.searchNanos());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldExplainComponentRejection() {
+    Map<String, List<String>> borderGraph = new HashMap<>();
+    borderGraph.put("FRA", List.of("ESP"));
+    borderGraph.put("ESP", List.of("FRA"));
+    borderGraph.put("JPN", List.of());
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph));
+
+    StepVerifier.create(routingService.explainRoute("FRA", "JPN"))
+        .assertNext(
+            explanation -> {
+              assertTrue(explanation.route().isEmpty());
+              assertEquals(RoutingService.ENGINE_COMPONENT, explanation.engine());
+              assertEquals(0, explanation.nodesExpanded());
+            })
+        .verifyComplete();
+    StepVerifier.create(routingService.explainRoute("FRA", "XXX"))
+        .assertNext(
+            explanation -> assertEquals(RoutingService.ENGINE_PRECHECK, explanation.engine()))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldRecordRequestedPairsInTrafficSketch() {
+    TrafficSketch traffic = new TrafficSketch(4, 1024, 8, 1);
+    routingService =
+        RoutingService.builder(countryService)
+            .routeCache(new RouteCache(100))
+            .traffic(traffic)
+            .build();
+    when(countryService.getSnapshot())
+        .thenReturn(GraphSnapshot.of(Map.of("CZE", List.of("AUT"), "AUT", List.of("CZE"))));
+
+    routingService.calculateRoute("CZE", "AUT").block();
+    routingService.calculateRoute("CZE", "AUT").block();
+    routingService.calculateRoute("CZE", "XXX").block();
+
+    assertEquals(2, traffic.estimatePair("CZE", "AUT"));
+    assertEquals(3, traffic.estimateOrigin("CZE"));
+  }
+
+  @Test
+  void shouldPrecomputeUncachedPairsOnly() {
+    RouteCache routeCache = new RouteCache(100);
+    routingService = RoutingService.builder(countryService).routeCache(routeCache).build();
+    when(countryService.getSnapshot())
+        .thenReturn(
+            GraphSnapshot.of(
+                Map.of(
+                    "CZE", List.of("AUT"), "AUT", List.of("CZE", "ITA"), "ITA", List.of("AUT"))));
+
+    assertTrue(routingService.precompute("CZE", "ITA"));
+    assertFalse(routingService.precompute("CZE", "ITA"));
+
+    assertEquals(List.of("CZE", "AUT", "ITA"), routeCache.get("CZE", "ITA"));
+  }
+
+  @Test
+  void shouldComputeRoutesWithoutAdmissionAndCacheThem() {
+    RouteCache routeCache = new RouteCache(100);
+    ConcurrencyLimiter limiter =
+        new ConcurrencyLimiter(1, 1, 1, Duration.ofSeconds(1), 0.9, Duration.ofSeconds(1));
+    assertTrue(limiter.tryAcquire());
+    routingService =
+        RoutingService.builder(countryService)
+            .routeCache(routeCache)
+            .concurrencyLimiter(limiter)
+            .build();
+    when(countryService.getSnapshot())
+        .thenReturn(
+            GraphSnapshot.of(
+                Map.of(
+                    "CZE", List.of("AUT"), "AUT", List.of("CZE", "ITA"), "ITA", List.of("AUT"))));
+
+    assertEquals(List.of("CZE", "AUT", "ITA"), routingService.computeRoute("CZE", "ITA"));
+    assertEquals(List.of("CZE", "AUT", "ITA"), routeCache.get("CZE", "ITA"));
+    assertEquals(List.of(), routingService.computeRoute("CZE", "XXX"));
+  }
+
+  @Test
+  void shouldSearchLargeComponentsInParallelWithSameRoutes() {
+    // Countries on a ring with chords, so most pairs have several shortest routes
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    int countries = 400;
+    for (int i = 0; i < countries; i++) {
+      borderGraph.put("C" + i, List.of("C" + (i + 1) % countries, "C" + (i * 7 + 3) % countries));
+    }
+    when(countryService.getSnapshot()).thenReturn(GraphSnapshot.of(borderGraph, 3));
+    RoutingService sequential = new RoutingService(countryService);
+    RoutingService parallel =
+        RoutingService.builder(countryService)
+            .routeCache(new RouteCache(100))
+            .parallelThreshold(countries)
+            .build();
+
+    Random random = new Random(11);
+    for (int i = 0; i < 100; i++) {
+      String origin = "C" + random.nextInt(countries);
+      String destination = "C" + random.nextInt(countries);
+      assertEquals(
+          sequential.calculateRoute(origin, destination).block(),
+          parallel.calculateRoute(origin, destination).block());
+    }
+    StepVerifier.create(parallel.explainRoute("C0", "C200"))
+        .assertNext(
+            explanation -> {
+              assertEquals(RoutingService.ENGINE_PARALLEL_BFS, explanation.engine());
+              assertEquals(explanation.route().size(), explanation.frontierSizes().size());
+            })
+        .verifyComplete();
+  }
+
+  /** Countries C0 to C(n-1) in a line, so routes between the ends expand every country. */
+  private static GraphSnapshot chain(int countries) {
+    Map<String, List<String>> borderGraph = new LinkedHashMap<>();
+    for (int i = 0; i < countries; i++) {
+      borderGraph.put("C" + i, i + 1 < countries ? List.of("C" + (i + 1)) : List.of());
+    }
+    return GraphSnapshot.of(borderGraph);
+  }
+}
@@ -0,0 +1,101 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.test.routing.graph.SearchAbortedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.util.context.Context;
+
+class SearchDeadlinesTest {
+
+  @Test
+  void shouldUseDefaultBudgetWithoutRequestedOne() {
+    SearchDeadlines deadlines = new SearchDeadlines(Duration.ofSeconds(2));
+
+    assertEquals(Duration.ofSeconds(2), deadlines.start(Context.empty()).budget());
+  }
+
+  @Test
+  void shouldCapRequestedBudgetByDefault() {
+    SearchDeadlines deadlines = new SearchDeadlines(Duration.ofSeconds(2));
+
+    assertEquals(
+        Duration.ofMillis(100),
+        deadlines.start(budget(Duration.ofMillis(100))).budget(),
+        "A shorter budget is honored");
+    assertEquals(
+        Duration.ofSeconds(2),
+        deadlines.start(budget(Duration.ofMinutes(1))).budget(),
+        "A longer budget is capped");
+  }
+
+  @Test
+  void shouldOnlyStopOnCancellationWithoutAnyBudget() {
+    SearchDeadlines.Deadline deadline = SearchDeadlines.none().start(Context.empty());
+
+    assertNull(deadline.budget());
+    assertFalse(deadline.shouldStop());
+
+    deadline.cancel();
+
+    assertTrue(deadline.shouldStop());
+    assertTrue(deadline.isCancelled());
+    assertFalse(deadline.isExpired());
+  }
+
+  @Test
+  void shouldStopOnceBudgetIsUsedUp() throws InterruptedException {
+    SearchDeadlines deadlines = new SearchDeadlines(Duration.ofMillis(20));
+    SearchDeadlines.Deadline deadline = deadlines.start(Context.empty());
+
+    Thread.sleep(40);
+
+    assertTrue(deadline.isExpired());
+    assertTrue(deadline.shouldStop());
+    assertFalse(deadline.isCancelled());
+  }
+
+  @Test
+  void shouldRejectNonPositiveDefaultBudget() {
+    assertThrows(IllegalArgumentException.class, () -> new SearchDeadlines(Duration.ZERO));
+    assertThrows(IllegalArgumentException.class, () -> new SearchDeadlines(Duration.ofMillis(-1)));
+  }
+
+  @Test
+  void shouldReportAbortedSearchesAndWastedWork() {
+    SearchDeadlines deadlines = new SearchDeadlines(Duration.ofNanos(1));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    deadlines.bindTo(registry);
+    SearchDeadlines.Deadline expired = deadlines.start(Context.empty());
+    SearchDeadlines.Deadline cancelled = deadlines.start(Context.empty());
+    cancelled.cancel();
+
+    deadlines.aborted(expired, new SearchAbortedException(300), 5_000_000);
+    deadlines.aborted(cancelled, new SearchAbortedException(12), 1_000_000);
+
+    assertEquals(1, deadlines.getTimedOutCount());
+    assertEquals(1, deadlines.getCancelledCount());
+    assertEquals(312, deadlines.getWastedNodes());
+    assertEquals(
+        1,
+        registry.get("routing.search.aborted").tag("reason", "timeout").functionCounter().count());
+    assertEquals(
+        1,
+        registry
+            .get("routing.search.aborted")
+            .tag("reason", "cancelled")
+            .functionCounter()
+            .count());
+    assertEquals(312, registry.get("routing.search.aborted.nodes").functionCounter().count());
+    assertEquals(2, registry.get("routing.search.aborted.time").timer().count());
+  }
+
+  private static Context budget(Duration budget) {
+    return SearchDeadlines.withBudget(budget).apply(Context.empty());
+  }
+}
@@ -0,0 +1,114 @@
+package com.test.routing.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TrafficSketchTest {
+
+  @Test
+  void shouldRankPairsAndOriginsByRequests() {
+    TrafficSketch sketch = new TrafficSketch(4, 1024, 8, 1);
+    record(sketch, "CZE", "ITA", 5);
+    record(sketch, "FRA", "ESP", 9);
+    record(sketch, "CZE", "AUT", 2);
+
+    assertEquals(9, sketch.estimatePair("FRA", "ESP"));
+    assertEquals(7, sketch.estimateOrigin("CZE"));
+    assertEquals(0, sketch.estimatePair("ESP", "FRA"));
+    List<String[]> pairs = sketch.hotPairs(2);
+    assertEquals(2, pairs.size());
+    assertArrayEquals(new String[] {"FRA", "ESP"}, pairs.get(0));
+    assertArrayEquals(new String[] {"CZE", "ITA"}, pairs.get(1));
+    assertEquals(List.of("FRA", "CZE"), sketch.hotOrigins(5));
+    assertEquals(16, sketch.getSampleCount());
+  }
+
+  @Test
+  void shouldReplaceColdestEntryWhenFull() {
+    TrafficSketch sketch = new TrafficSketch(4, 1024, 2, 1);
+    record(sketch, "A", "B", 3);
+    record(sketch, "C", "D", 1);
+    record(sketch, "E", "F", 2);
+
+    List<String[]> pairs = sketch.hotPairs(10);
+    assertEquals(2, pairs.size());
+    assertArrayEquals(new String[] {"A", "B"}, pairs.get(0));
+    assertArrayEquals(new String[] {"E", "F"}, pairs.get(1));
+  }
+
+  @Test
+  void shouldRecordOnlySampledRequests() {
+    TrafficSketch sketch = new TrafficSketch(4, 1024, 8, 10);
+    record(sketch, "CZE", "ITA", 10_000);
+
+    // One in ten on average, far from both bounds
+    assertTrue(sketch.getSampleCount() > 500, "samples: " + sketch.getSampleCount());
+    assertTrue(sketch.getSampleCount() < 2000, "samples: " + sketch.getSampleCount());
+    assertEquals(sketch.getSampleCount(), sketch.estimatePair("CZE", "ITA"));
+  }
+
+  @Test
+  void shouldMergePersistedSketchWithHalvedCounts() throws IOException {
+    TrafficSketch previous = new TrafficSketch(4, 1024, 8, 1);
+    record(previous, "CZE", "ITA", 10);
+    record(previous, "FRA", "ESP", 4);
+
+    TrafficSketch sketch = new TrafficSketch(4, 1024, 8, 1);
+    record(sketch, "DEU", "POL", 3);
+    sketch.mergeFrom(read(write(previous)));
+
+    assertEquals(5, sketch.estimatePair("CZE", "ITA"));
+    assertEquals(2, sketch.estimatePair("FRA", "ESP"));
+    assertEquals(3, sketch.estimatePair("DEU", "POL"));
+    List<String[]> pairs = sketch.hotPairs(3);
+    assertArrayEquals(new String[] {"CZE", "ITA"}, pairs.get(0));
+    assertArrayEquals(new String[] {"DEU", "POL"}, pairs.get(1));
+    assertArrayEquals(new String[] {"FRA", "ESP"}, pairs.get(2));
+    assertEquals(List.of("CZE", "DEU", "FRA"), sketch.hotOrigins(3));
+  }
+
+  @Test
+  void shouldRejectSketchOfOtherDimensions() throws IOException {
+    TrafficSketch previous = new TrafficSketch(4, 512, 8, 1);
+    record(previous, "CZE", "ITA", 1);
+    byte[] data = write(previous);
+
+    TrafficSketch sketch = new TrafficSketch(4, 1024, 8, 1);
+    assertThrows(IOException.class, () -> sketch.mergeFrom(read(data)));
+    assertThrows(IOException.class, () -> sketch.mergeFrom(read(new byte[] {1, 2, 3, 4, 5})));
+    assertEquals(0, sketch.estimatePair("CZE", "ITA"));
+  }
+
+  @Test
+  void shouldRejectInvalidDimensions() {
+    assertThrows(IllegalArgumentException.class, () -> new TrafficSketch(0, 16, 8, 1));
+    assertThrows(IllegalArgumentException.class, () -> new TrafficSketch(9, 16, 8, 1));
+    assertThrows(IllegalArgumentException.class, () -> new TrafficSketch(4, 16, 8, 0));
+  }
+
+  private static void record(TrafficSketch sketch, String origin, String destination, int times) {
+    for (int i = 0; i < times; i++) {
+      sketch.record(origin, destination);
+    }
+  }
+
+  private static byte[] write(TrafficSketch sketch) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      sketch.writeTo(out);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static DataInputStream read(byte[] data) {
+    return new DataInputStream(new ByteArrayInputStream(data));
+  }
+}
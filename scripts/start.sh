@@ -0,0 +1,15 @@
+#!/bin/sh
+# Starts the service. Uses the AOT-processed application and its AppCDS archive when they were
+# built with `mvn -Pstartup package`, the executable jar otherwise. Arguments are passed to the
+# application, JAVA_OPTS to the JVM.
+set -e
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+CDS="$ROOT/routing-service/target/cds"
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+if [ -f "$CDS/app.jsa" ]; then
+  # The archive is only valid for the jar it was trained with, so keep the same absolute path
+  exec "$JAVA" -XX:SharedArchiveFile="$CDS/app.jsa" -Dspring.aot.enabled=true $JAVA_OPTS \
+    -jar "$CDS/task-test-1.0-SNAPSHOT-cds.jar" "$@"
+fi
+exec "$JAVA" $JAVA_OPTS -jar "$ROOT/routing-service/target/task-test-1.0-SNAPSHOT.jar" "$@"